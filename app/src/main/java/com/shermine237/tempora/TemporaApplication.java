@@ -0,0 +1,57 @@
+package com.shermine237.tempora;
+
+import android.app.Application;
+import android.util.Log;
+
+import com.shermine237.tempora.ai.backend.AIBackendService;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Application Tempero
+ * Possède le backend d'IA, unique pour tout le processus : un seul moteur apprend des
+ * activités de l'utilisateur et un seul point de reprise est écrit, quel que soit le
+ * nombre d'écrans et de services qui l'utilisent.
+ */
+public class TemporaApplication extends Application {
+    
+    private static final String TAG = "TemporaApplication";
+    
+    private AIBackendService aiBackendService;
+    
+    @Override
+    public void onCreate() {
+        super.onCreate();
+        
+        aiBackendService = new AIBackendService(this);
+        
+        // Reconstruire l'apprentissage une seule fois, hors du thread principal
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        executor.execute(() -> {
+            try {
+                aiBackendService.restoreUserActivities();
+            } catch (Exception e) {
+                Log.e(TAG, "Error restoring user activities", e);
+            }
+        });
+        executor.shutdown();
+    }
+    
+    /**
+     * Retourne le backend d'IA du processus
+     * @return Backend d'IA partagé
+     */
+    public AIBackendService getAIBackendService() {
+        return aiBackendService;
+    }
+    
+    /**
+     * Retourne le backend d'IA du processus à partir de l'application
+     * @param application Application (instance de TemporaApplication)
+     * @return Backend d'IA partagé
+     */
+    public static AIBackendService getAIBackendService(Application application) {
+        return ((TemporaApplication) application).getAIBackendService();
+    }
+}
@@ -3,47 +3,73 @@ package com.shermine237.tempora.ai.backend;
 import android.app.Application;
 import android.util.Log;
 
+import com.shermine237.tempora.repository.UserActivityRepository;
+
+import java.io.File;
+import java.io.IOException;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Date;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.Calendar;
+import java.util.concurrent.ForkJoinPool;
 
 /**
  * Service principal du backend d'IA
  * Cette classe coordonne les différents composants d'IA
- * et expose les fonctionnalités principales
+ * et expose les fonctionnalités principales.
+ * Une seule instance par processus, possédée par TemporaApplication : le moteur et le point
+ * de reprise sont partagés par tous les écrans. Les écritures qui font avancer le filigrane
+ * (ajout d'activités, restauration, point de reprise) sont sérialisées sur l'instance.
  */
 public class AIBackendService {
     
     private static final String TAG = "AIBackendService";
     
-    private UserHabitAnalyzer habitAnalyzer;
-    private IntelligentScheduler scheduler;
-    private UserPreferences userPreferences;
-    private TaskPerformanceAnalyzer performanceAnalyzer;
+    // Nombre d'activités lues par page lors du rejeu de l'historique
+    private static final int REPLAY_PAGE_SIZE = 500;
+    
+    // Nombre de nouvelles activités entre deux points de reprise
+    private static final int CHECKPOINT_INTERVAL = 100;
+    private static final String CHECKPOINT_FILE_NAME = "ai_checkpoint.bin";
+    
+    private final SchedulingEngine engine;
+    private final UserActivityRepository activityRepository;
+    private final File checkpointFile;
     private Application application;
     
+    // Identifiant de la dernière activité prise en compte par le moteur
+    private long lastActivityId;
+    private int activitiesSinceCheckpoint;
+    
+    // Vrai une fois l'historique rejoué : les nouvelles activités ne s'ajoutent qu'ensuite
+    private boolean restored;
+    
     // Nouvelles variables pour l'IA avancée
     private WeatherService weatherService;
     private CalendarIntegrationService calendarService;
     private LocationService locationService;
-    private TaskPatternRecognizer patternRecognizer;
     
     /**
-     * Constructeur
+     * Constructeur (réservé à TemporaApplication, qui partage l'instance)
      */
     public AIBackendService(Application application) {
+        // Les messages du moteur sont envoyés vers Logcat
+        EngineLog.setLogger(new AndroidEngineLogger());
+        
         this.application = application;
-        this.habitAnalyzer = new UserHabitAnalyzer();
-        this.userPreferences = new UserPreferences();
-        this.scheduler = new IntelligentScheduler(habitAnalyzer, userPreferences);
-        this.performanceAnalyzer = new TaskPerformanceAnalyzer();
+        this.engine = new SchedulingEngine();
+        this.activityRepository = new UserActivityRepository(application);
+        this.checkpointFile = new File(application.getFilesDir(), CHECKPOINT_FILE_NAME);
         
         // Initialiser les nouveaux services
         this.weatherService = new WeatherService();
         this.calendarService = new CalendarIntegrationService(application);
         this.locationService = new LocationService(application);
-        this.patternRecognizer = new TaskPatternRecognizer();
         
         Log.i(TAG, "Backend d'IA avancé initialisé avec succès");
     }
@@ -53,27 +79,166 @@ public class AIBackendService {
      * @param userPreferences Préférences utilisateur
      */
     public void initialize(UserPreferences userPreferences) {
-        this.userPreferences = userPreferences;
-        this.scheduler = new IntelligentScheduler(habitAnalyzer, userPreferences);
+        engine.initialize(userPreferences);
     }
     
     /**
-     * Ajoute une activité utilisateur pour analyse
+     * Active le solveur exact pour améliorer les plannings générés
+     * @param timeBudgetMillis Budget de temps par journée en millisecondes (0 pour la planification gloutonne seule)
+     */
+    public void setSolverTimeBudget(long timeBudgetMillis) {
+        engine.setSolverTimeBudget(timeBudgetMillis);
+    }
+    
+    /**
+     * Ajoute une activité utilisateur pour analyse et l'enregistre dans l'historique
+     * À appeler hors du thread principal : l'enregistrement est synchrone pour que le
+     * filigrane des points de reprise corresponde exactement à l'état du moteur.
+     * L'historique est rejoué d'abord s'il ne l'a pas encore été, pour que l'activité ne
+     * soit jamais comptée deux fois.
      * @param activity Activité utilisateur
      */
-    public void addUserActivity(UserActivity activity) {
-        habitAnalyzer.addUserActivity(activity);
-        
-        // Ajouter également à l'analyseur de performance
-        if (activity.isCompleted()) {
-            long durationMinutes = (activity.getEndTime().getTime() - activity.getStartTime().getTime()) / (60 * 1000);
-            performanceAnalyzer.addTaskPerformance(
-                activity.getTitle(),
-                activity.getCategory(),
-                activity.getStartTime(),
-                (int) durationMinutes,
-                activity.getProductivityScore()
-            );
+    public synchronized void addUserActivity(UserActivity activity) {
+        ensureRestored();
+        engine.addUserActivity(activity);
+        lastActivityId = activityRepository.insertSync(convertBackendActivityToAndroidActivity(activity));
+        countTowardCheckpoint(1);
+    }
+    
+    /**
+     * Ajoute un lot d'activités utilisateur pour analyse et l'enregistre dans l'historique
+     * Le moteur agrège tout le lot en un seul passage et l'historique est écrit en une
+     * seule transaction : à privilégier pour un planning entier ou un import d'historique.
+     * À appeler hors du thread principal, comme addUserActivity.
+     * @param activities Activités utilisateur
+     */
+    public synchronized void addUserActivities(Collection<UserActivity> activities) {
+        if (activities.isEmpty()) {
+            return;
+        }
+        
+        ensureRestored();
+        engine.addUserActivities(activities);
+        
+        List<com.shermine237.tempora.model.UserActivity> androidActivities = new ArrayList<>(activities.size());
+        for (UserActivity activity : activities) {
+            androidActivities.add(convertBackendActivityToAndroidActivity(activity));
+        }
+        for (long id : activityRepository.insertAllSync(androidActivities)) {
+            lastActivityId = Math.max(lastActivityId, id);
+        }
+        countTowardCheckpoint(activities.size());
+    }
+    
+    /**
+     * Compte des enregistrements de l'historique et écrit un point de reprise tous les
+     * CHECKPOINT_INTERVAL enregistrements (appelé sous le verrou de l'instance, une fois
+     * le moteur à jour et les enregistrements insérés)
+     * @param count Nombre d'enregistrements insérés
+     */
+    private void countTowardCheckpoint(int count) {
+        activitiesSinceCheckpoint += count;
+        if (activitiesSinceCheckpoint >= CHECKPOINT_INTERVAL) {
+            saveCheckpoint();
+        }
+    }
+    
+    /**
+     * Reconstruit l'apprentissage à partir du point de reprise et de l'historique enregistré
+     * Seules les activités postérieures au filigrane du point de reprise sont rejouées,
+     * page par page : l'historique n'est jamais chargé entièrement en mémoire. Les complétions
+     * et les reports enregistrés rétablissent les compteurs et les préférences de l'analyseur.
+     * Appelé au démarrage par TemporaApplication, hors du thread principal ; les appels
+     * suivants n'ont aucun effet.
+     * @return Nombre d'activités rejouées
+     */
+    public synchronized int restoreUserActivities() {
+        if (restored) {
+            return 0;
+        }
+        restored = true;
+        
+        long watermark = EngineCheckpoint.NO_CHECKPOINT;
+        try {
+            watermark = EngineCheckpoint.restore(engine, checkpointFile);
+        } catch (IOException e) {
+            Log.e(TAG, "Error reading AI checkpoint", e);
+        }
+        
+        int replayed = 0;
+        long lastId = Math.max(watermark, 0);
+        
+        List<com.shermine237.tempora.model.UserActivity> page;
+        List<UserActivity> batch = new ArrayList<>(REPLAY_PAGE_SIZE);
+        List<com.shermine237.tempora.model.UserActivity> events = new ArrayList<>();
+        do {
+            page = activityRepository.getPageAfterSync(lastId, REPLAY_PAGE_SIZE);
+            batch.clear();
+            events.clear();
+            for (com.shermine237.tempora.model.UserActivity androidActivity : page) {
+                if (androidActivity.getKind() != com.shermine237.tempora.model.UserActivity.KIND_POSTPONEMENT
+                        && androidActivity.getStartTime() != null && androidActivity.getEndTime() != null) {
+                    UserActivity activity = convertAndroidActivityToBackendActivity(androidActivity);
+                    activity.setDurationMeasured(androidActivity.getKind() == com.shermine237.tempora.model.UserActivity.KIND_ACTIVITY);
+                    batch.add(activity);
+                }
+                if (androidActivity.getKind() != com.shermine237.tempora.model.UserActivity.KIND_ACTIVITY) {
+                    events.add(androidActivity);
+                }
+                lastId = androidActivity.getId();
+            }
+            engine.addUserActivities(batch);
+            
+            // Compteurs et préférences : indépendants de l'ordre, appliqués après les activités de la page
+            for (com.shermine237.tempora.model.UserActivity event : events) {
+                replayTaskEvent(event);
+            }
+            replayed += page.size();
+        } while (page.size() == REPLAY_PAGE_SIZE);
+        lastActivityId = lastId;
+        
+        Log.i(TAG, "Historique rejoué: " + replayed + " activités après le filigrane " + watermark);
+        
+        // Éviter de rejouer les mêmes activités au prochain démarrage
+        if (replayed > 0) {
+            saveCheckpoint();
+        }
+        return replayed;
+    }
+    
+    /**
+     * Rejoue une complétion ou un report de tâche enregistré dans l'historique
+     * @param event Enregistrement de l'historique
+     */
+    private void replayTaskEvent(com.shermine237.tempora.model.UserActivity event) {
+        if (event.getKind() == com.shermine237.tempora.model.UserActivity.KIND_COMPLETION) {
+            if (event.getEndTime() != null) {
+                engine.recordTaskCompletion(event.getTitle(), event.getCategory(), event.getEndTime());
+            }
+        } else if (event.getKind() == com.shermine237.tempora.model.UserActivity.KIND_POSTPONEMENT) {
+            engine.recordTaskPostponement(event.getTitle());
+        }
+    }
+    
+    /**
+     * Rejoue l'historique s'il ne l'a pas encore été (appelé sous le verrou de l'instance)
+     */
+    private void ensureRestored() {
+        if (!restored) {
+            restoreUserActivities();
+        }
+    }
+    
+    /**
+     * Enregistre un point de reprise de l'état d'apprentissage
+     * À appeler hors du thread principal.
+     */
+    public synchronized void saveCheckpoint() {
+        try {
+            EngineCheckpoint.save(engine, lastActivityId, checkpointFile);
+            activitiesSinceCheckpoint = 0;
+        } catch (IOException e) {
+            Log.e(TAG, "Error writing AI checkpoint", e);
         }
     }
     
@@ -84,54 +249,39 @@ public class AIBackendService {
      * @return Planning optimisé
      */
     public Schedule generateSchedule(Date date, List<Task> tasks) {
-        // Optimiser les tâches en fonction des performances analysées
-        optimizeTasksBasedOnPerformance(tasks);
-        
-        return scheduler.generateSchedule(date, tasks);
+        // Éviter les plages déjà occupées par le calendrier
+        return engine.generateSchedule(date, tasks, buildCalendarTimeline(date));
     }
     
     /**
-     * Optimise les tâches en fonction des performances analysées
-     * @param tasks Liste des tâches à optimiser
+     * Génère les plannings de plusieurs journées en parallèle
+     * Les journées sont planifiées sur le pool ForkJoin commun,
+     * en évitant les événements du calendrier.
+     * @param from Premier jour de la période (inclus)
+     * @param to Dernier jour de la période (inclus)
+     * @param tasks Liste des tâches à répartir
+     * @return Plannings générés, un par jour, dans l'ordre chronologique
      */
-    private void optimizeTasksBasedOnPerformance(List<Task> tasks) {
-        for (Task task : tasks) {
-            // Ajuster la priorité des tâches en fonction de la période optimale
-            int bestPeriod = performanceAnalyzer.getBestPeriodForTaskCategory(task.getCategory());
-            
-            // Obtenir l'heure actuelle
-            Calendar calendar = Calendar.getInstance();
-            int currentHour = calendar.get(Calendar.HOUR_OF_DAY);
-            
-            // Vérifier si nous sommes dans la période optimale pour cette tâche
-            boolean isOptimalPeriod = false;
-            
-            switch (bestPeriod) {
-                case TaskPerformanceAnalyzer.MORNING:
-                    isOptimalPeriod = (currentHour >= 5 && currentHour < 12);
-                    break;
-                case TaskPerformanceAnalyzer.AFTERNOON:
-                    isOptimalPeriod = (currentHour >= 12 && currentHour < 18);
-                    break;
-                case TaskPerformanceAnalyzer.EVENING:
-                    isOptimalPeriod = (currentHour >= 18 && currentHour < 22);
-                    break;
-                case TaskPerformanceAnalyzer.NIGHT:
-                    isOptimalPeriod = (currentHour >= 22 || currentHour < 5);
-                    break;
-            }
-            
-            // Augmenter la priorité si nous sommes dans la période optimale
-            if (isOptimalPeriod && task.getPriority() < 5) {
-                task.setPriority(task.getPriority() + 1);
-            }
-            
-            // Mettre à jour la durée estimée si nous avons des données
-            int avgDuration = performanceAnalyzer.getAverageDurationForTask(task.getTitle());
-            if (avgDuration > 0) {
-                task.setEstimatedDuration(avgDuration);
-            }
+    public List<Schedule> generateSchedules(Date from, Date to, List<Task> tasks) {
+        return engine.generateSchedules(from, to, tasks, this::buildCalendarTimeline, ForkJoinPool.commonPool());
+    }
+    
+    /**
+     * Construit le masque des minutes occupées par les événements du calendrier
+     * @param date Date concernée
+     * @return Ligne de temps des événements de la journée
+     */
+    private DayTimeline buildCalendarTimeline(Date date) {
+        DayTimeline busyTime = new DayTimeline();
+        DayClock clock = new DayClock(date);
+        
+        for (CalendarIntegrationService.CalendarEvent event : calendarService.getEventsForDate(date)) {
+            int startMinute = clock.toMinuteOfDay(event.getStartTime());
+            int endMinute = clock.toMinuteOfDay(event.getEndTime().getTime() + 59999L);
+            busyTime.set(startMinute, endMinute);
         }
+        
+        return busyTime;
     }
     
     /**
@@ -141,14 +291,7 @@ public class AIBackendService {
      * @return Durée prédite en minutes
      */
     public int predictTaskDuration(String taskTitle, String category) {
-        // Vérifier d'abord si l'analyseur de performance a des données
-        int avgDuration = performanceAnalyzer.getAverageDurationForTask(taskTitle);
-        if (avgDuration > 0) {
-            return avgDuration;
-        }
-        
-        // Sinon, utiliser l'analyseur d'habitudes
-        return habitAnalyzer.predictTaskDuration(taskTitle, category);
+        return engine.predictTaskDuration(taskTitle, category);
     }
     
     /**
@@ -156,7 +299,7 @@ public class AIBackendService {
      * @return Conseil de productivité
      */
     public String generateProductivityTip() {
-        return habitAnalyzer.generateProductivityTip();
+        return engine.getHabitAnalyzer().generateProductivityTip();
     }
     
     /**
@@ -166,11 +309,13 @@ public class AIBackendService {
      * @return Recommandation personnalisée
      */
     public String generateTaskRecommendation(String taskTitle, String category) {
-        return performanceAnalyzer.generateTaskRecommendation(taskTitle, category);
+        return engine.getPerformanceAnalyzer().generateTaskRecommendation(taskTitle, category);
     }
     
     /**
      * Vérifie si un planning est surchargé et génère une alerte si nécessaire
+     * Le planning est surchargé s'il dépasse 8 heures de travail ou si ses tâches
+     * débordent du temps réellement disponible dans la journée de travail.
      * @param schedule Planning à vérifier
      * @return Message d'alerte ou null si pas de surcharge
      */
@@ -179,14 +324,16 @@ public class AIBackendService {
             return null;
         }
         
-        if (schedule.isOverloaded()) {
-            int totalWorkMinutes = 0;
-            for (ScheduleItem item : schedule.getItems()) {
-                if (item.getType().equals("task")) {
-                    totalWorkMinutes += item.getDurationMinutes();
-                }
-            }
-            
+        // Minutes de travail (les chevauchements ne sont comptés qu'une fois)
+        DayTimeline taskTime = engine.getScheduler().buildOccupancyTimeline(schedule.getItems(), "task", true);
+        int totalWorkMinutes = taskTime.count();
+        
+        // Capacité de la journée : heures de travail moins les éléments hors tâches
+        DayTimeline capacity = engine.getScheduler().buildWorkHoursTimeline(schedule.getDate());
+        capacity.andNot(engine.getScheduler().buildOccupancyTimeline(schedule.getItems(), "task", false));
+        int capacityMinutes = capacity.count();
+        
+        if (schedule.isOverloaded() || totalWorkMinutes > capacityMinutes) {
             return String.format(
                     "Attention : votre planning contient %d heures et %d minutes de travail. " +
                     "Pensez à répartir certaines tâches sur d'autres jours.",
@@ -196,6 +343,27 @@ public class AIBackendService {
         return null;
     }
     
+    /**
+     * Vérifie qu'un créneau choisi manuellement est libre dans un planning
+     * @param schedule Planning existant
+     * @param startTime Heure de début (H:mm ou HH:mm)
+     * @param endTime Heure de fin (H:mm ou HH:mm)
+     * @return true si le créneau est bien formé et disponible
+     */
+    public boolean isManualSlotAvailable(Schedule schedule, String startTime, String endTime) {
+        if (schedule == null) {
+            return false;
+        }
+        
+        int startMinute = IntelligentScheduler.parseTime(startTime);
+        int endMinute = IntelligentScheduler.parseTime(endTime);
+        if (startMinute < 0 || endMinute <= startMinute) {
+            Log.w(TAG, "Créneau manuel invalide : " + startTime + " - " + endTime);
+            return false;
+        }
+        return engine.getScheduler().isSlotAvailable(schedule, startMinute, endMinute);
+    }
+    
     /**
      * Convertit une tâche Android en tâche backend
      * @param androidTask Tâche Android
@@ -222,6 +390,40 @@ public class AIBackendService {
         return backendTask;
     }
     
+    /**
+     * Convertit une activité backend en activité Android (pour l'enregistrement)
+     * @param backendActivity Activité backend
+     * @return Activité Android
+     */
+    public com.shermine237.tempora.model.UserActivity convertBackendActivityToAndroidActivity(UserActivity backendActivity) {
+        return new com.shermine237.tempora.model.UserActivity(
+            backendActivity.getTitle(),
+            backendActivity.getDescription(),
+            backendActivity.getCategory(),
+            backendActivity.getStartTime(),
+            backendActivity.getEndTime(),
+            backendActivity.getProductivityScore(),
+            backendActivity.isCompleted()
+        );
+    }
+    
+    /**
+     * Convertit une activité Android en activité backend
+     * @param androidActivity Activité Android
+     * @return Activité backend
+     */
+    public UserActivity convertAndroidActivityToBackendActivity(com.shermine237.tempora.model.UserActivity androidActivity) {
+        return new UserActivity(
+            androidActivity.getTitle(),
+            androidActivity.getDescription(),
+            androidActivity.getCategory(),
+            androidActivity.getStartTime(),
+            androidActivity.getEndTime(),
+            androidActivity.getProductivityScore(),
+            androidActivity.isCompleted()
+        );
+    }
+    
     /**
      * Convertit un planning backend en planning Android
      * @param backendSchedule Planning backend
@@ -235,54 +437,164 @@ public class AIBackendService {
         );
         
         // Convertir chaque élément du planning
+        DayClock clock = new DayClock(backendSchedule.getDate());
         for (ScheduleItem backendItem : backendSchedule.getItems()) {
-            // Déterminer le type d'élément
-            String type = backendItem.getType();
-            
-            // Convertir les chaînes d'heure en objets Date
-            Date startTime = parseTimeString(backendSchedule.getDate(), backendItem.getStartTime());
-            Date endTime = parseTimeString(backendSchedule.getDate(), backendItem.getEndTime());
+            androidSchedule.getItems().add(convertBackendItemToAndroidItem(backendSchedule.getDate(), clock, backendItem));
+        }
+        
+        return androidSchedule;
+    }
+    
+    /**
+     * Convertit un élément de planning backend en élément Android
+     * @param scheduleDate Date du planning
+     * @param clock Horloge du jour du planning
+     * @param backendItem Élément backend
+     * @return Élément Android
+     */
+    private com.shermine237.tempora.model.ScheduleItem convertBackendItemToAndroidItem(Date scheduleDate, DayClock clock,
+                                                                                       ScheduleItem backendItem) {
+        // Déterminer le type d'élément
+        String type = backendItem.getType();
+        
+        // Convertir les minutes du jour en objets Date
+        Date startTime = clock.toDate(backendItem.getStartMinute());
+        Date endTime = clock.toDate(backendItem.getEndMinute());
+        
+        // Créer l'élément Android en fonction du type
+        com.shermine237.tempora.model.ScheduleItem androidItem;
+        
+        if ("task".equals(type)) {
+            // Pour une tâche
+            androidItem = new com.shermine237.tempora.model.ScheduleItem(
+                backendItem.getTaskId(),
+                backendItem.getTitle(),
+                startTime,
+                endTime
+            );
             
-            // Créer l'élément Android en fonction du type
-            com.shermine237.tempora.model.ScheduleItem androidItem;
+            // Log pour le débogage
+            Log.d("AIBackendService", "Création d'un élément de planning de type tâche: " + 
+                  backendItem.getTitle() + ", TaskId: " + backendItem.getTaskId());
             
-            if ("task".equals(type)) {
-                // Pour une tâche
-                androidItem = new com.shermine237.tempora.model.ScheduleItem(
-                    backendItem.getTaskId(),
-                    backendItem.getTitle(),
-                    startTime,
-                    endTime
-                );
-                
-                // Log pour le débogage
-                Log.d("AIBackendService", "Création d'un élément de planning de type tâche: " + 
-                      backendItem.getTitle() + ", TaskId: " + backendItem.getTaskId());
-                
-                // Mettre à jour la tâche avec les dates appropriées
-                if (backendItem.getTaskId() > 0) {
-                    updateTaskDates(backendItem.getTaskId(), backendSchedule.getDate());
-                } else {
-                    Log.w("AIBackendService", "TaskId invalide pour la tâche: " + backendItem.getTitle());
-                }
+            // Mettre à jour la tâche avec les dates appropriées
+            if (backendItem.getTaskId() > 0) {
+                updateTaskDates(backendItem.getTaskId(), scheduleDate);
             } else {
-                // Pour les autres types (pause, repas, etc.)
-                androidItem = new com.shermine237.tempora.model.ScheduleItem(
-                    backendItem.getTitle(),
-                    startTime,
-                    endTime,
-                    backendItem.getType()
-                );
+                Log.w("AIBackendService", "TaskId invalide pour la tâche: " + backendItem.getTitle());
             }
-            
-            // Définir si l'élément est complété
-            androidItem.setCompleted(backendItem.isCompleted());
-            
-            // Ajouter l'élément au planning
-            androidSchedule.getItems().add(androidItem);
+        } else {
+            // Pour les autres types (pause, repas, etc.)
+            androidItem = new com.shermine237.tempora.model.ScheduleItem(
+                backendItem.getTitle(),
+                startTime,
+                endTime,
+                backendItem.getType()
+            );
         }
         
-        return androidSchedule;
+        // Définir si l'élément est complété
+        androidItem.setCompleted(backendItem.isCompleted());
+        
+        return androidItem;
+    }
+    
+    /**
+     * Convertit un planning Android en planning backend (éléments dans le même ordre)
+     * @param androidSchedule Planning Android
+     * @return Planning backend
+     */
+    public Schedule convertAndroidScheduleToBackendSchedule(com.shermine237.tempora.model.Schedule androidSchedule) {
+        Schedule backendSchedule = new Schedule();
+        backendSchedule.setId(androidSchedule.getId());
+        backendSchedule.setDate(androidSchedule.getDate());
+        backendSchedule.setApproved(androidSchedule.isApproved());
+        backendSchedule.setItems(new ArrayList<>());
+        
+        DayClock clock = new DayClock(androidSchedule.getDate());
+        for (com.shermine237.tempora.model.ScheduleItem androidItem : androidSchedule.getItems()) {
+            ScheduleItem backendItem = new ScheduleItem();
+            backendItem.setTitle(androidItem.getTitle());
+            backendItem.setType(androidItem.getType());
+            backendItem.setTaskId(androidItem.getTaskId());
+            backendItem.setStartMinute(clock.toMinuteOfDay(androidItem.getStartTime()));
+            backendItem.setEndMinute(clock.toMinuteOfDay(androidItem.getEndTime()));
+            backendItem.setDurationMinutes(androidItem.getDurationMinutes());
+            backendItem.setCompleted(androidItem.isCompleted());
+            backendItem.setManuallyScheduled(androidItem.isManuallyScheduled());
+            backendSchedule.getItems().add(backendItem);
+        }
+        
+        return backendSchedule;
+    }
+    
+    /**
+     * Répare un planning existant après une modification, sans le régénérer
+     * Seuls les éléments modifiés par la réparation sont convertis ou mis à jour ;
+     * les autres éléments Android sont conservés tels quels.
+     * @param androidSchedule Planning à réparer (modifié en place)
+     * @param delta Modification à appliquer
+     * @param droppedTaskIds Reçoit les IDs des tâches retirées faute de place dans la journée
+     * @return true si le planning a changé et doit être enregistré
+     */
+    public boolean repairSchedule(com.shermine237.tempora.model.Schedule androidSchedule, ScheduleDelta delta,
+                                  List<Integer> droppedTaskIds) {
+        if (androidSchedule.getItems() == null) {
+            return false;
+        }
+        
+        // Les deux listes d'éléments sont alignées après la conversion
+        Schedule backendSchedule = convertAndroidScheduleToBackendSchedule(androidSchedule);
+        Map<ScheduleItem, com.shermine237.tempora.model.ScheduleItem> androidItems = new HashMap<>();
+        for (int i = 0; i < backendSchedule.getItems().size(); i++) {
+            androidItems.put(backendSchedule.getItems().get(i), androidSchedule.getItems().get(i));
+        }
+        
+        DayClock clock = new DayClock(backendSchedule.getDate());
+        List<ScheduleItem> changedItems = engine.getScheduler().repairSchedule(backendSchedule, delta,
+                buildCalendarTimeline(backendSchedule.getDate()), currentMinuteOf(clock));
+        if (changedItems.isEmpty()) {
+            return false;
+        }
+        
+        // Tâches modifiées qui ne sont plus dans le planning (hors la tâche retirée elle-même)
+        Set<ScheduleItem> remaining = new HashSet<>(backendSchedule.getItems());
+        for (ScheduleItem item : changedItems) {
+            if (!remaining.contains(item) && "task".equals(item.getType())
+                    && !(delta.getType() == ScheduleDelta.Type.TASK_REMOVED && item.getTaskId() == delta.getTaskId())) {
+                droppedTaskIds.add(item.getTaskId());
+            }
+        }
+        
+        // Reporter les changements sur les éléments Android
+        Set<ScheduleItem> changed = new HashSet<>(changedItems);
+        List<com.shermine237.tempora.model.ScheduleItem> items = new ArrayList<>();
+        for (ScheduleItem backendItem : backendSchedule.getItems()) {
+            com.shermine237.tempora.model.ScheduleItem androidItem = androidItems.get(backendItem);
+            if (androidItem == null) {
+                androidItem = convertBackendItemToAndroidItem(backendSchedule.getDate(), clock, backendItem);
+            } else if (changed.contains(backendItem)) {
+                androidItem.setStartTime(clock.toDate(backendItem.getStartMinute()));
+                androidItem.setEndTime(clock.toDate(backendItem.getEndMinute()));
+                androidItem.setCompleted(backendItem.isCompleted());
+            }
+            items.add(androidItem);
+        }
+        androidSchedule.setItems(items);
+        
+        Log.i(TAG, "Planning réparé (" + delta.getType() + ") : " + changedItems.size() + " éléments modifiés");
+        
+        return true;
+    }
+    
+    /**
+     * Retourne la minute à partir de laquelle un planning peut encore être modifié
+     * @param clock Horloge du jour du planning
+     * @return Minute courante pour aujourd'hui, 0 pour un jour futur, fin de journée pour un jour passé
+     */
+    private int currentMinuteOf(DayClock clock) {
+        int minute = clock.toMinuteOfDay(System.currentTimeMillis());
+        return Math.max(0, Math.min(minute, DayTimeline.MINUTES_PER_DAY));
     }
     
     /**
@@ -352,72 +664,6 @@ public class AIBackendService {
         }).start();
     }
     
-    /**
-     * Formate une date en chaîne de caractères (yyyy-MM-dd)
-     * @param date Date à formater
-     * @return Chaîne de caractères formatée
-     */
-    private String formatDate(Date date) {
-        if (date == null) {
-            return null;
-        }
-        
-        Calendar calendar = Calendar.getInstance();
-        calendar.setTime(date);
-        
-        int year = calendar.get(Calendar.YEAR);
-        int month = calendar.get(Calendar.MONTH) + 1; // Les mois commencent à 0
-        int day = calendar.get(Calendar.DAY_OF_MONTH);
-        
-        return String.format("%04d-%02d-%02d", year, month, day);
-    }
-    
-    /**
-     * Formate une heure en chaîne de caractères (HH:mm)
-     * @param date Date à formater
-     * @return Chaîne de caractères formatée
-     */
-    private String formatTime(Date date) {
-        if (date == null) {
-            return null;
-        }
-        
-        Calendar calendar = Calendar.getInstance();
-        calendar.setTime(date);
-        
-        int hours = calendar.get(Calendar.HOUR_OF_DAY);
-        int minutes = calendar.get(Calendar.MINUTE);
-        
-        return String.format("%02d:%02d", hours, minutes);
-    }
-    
-    /**
-     * Convertit une chaîne d'heure (HH:MM) en objet Date
-     * @param baseDate Date de base
-     * @param timeString Chaîne d'heure (HH:MM)
-     * @return Objet Date
-     */
-    private Date parseTimeString(Date baseDate, String timeString) {
-        try {
-            Calendar calendar = Calendar.getInstance();
-            calendar.setTime(baseDate);
-            
-            String[] parts = timeString.split(":");
-            int hours = Integer.parseInt(parts[0]);
-            int minutes = Integer.parseInt(parts[1]);
-            
-            calendar.set(Calendar.HOUR_OF_DAY, hours);
-            calendar.set(Calendar.MINUTE, minutes);
-            calendar.set(Calendar.SECOND, 0);
-            calendar.set(Calendar.MILLISECOND, 0);
-            
-            return calendar.getTime();
-        } catch (Exception e) {
-            Log.e(TAG, "Error parsing time string: " + timeString, e);
-            return baseDate;
-        }
-    }
-    
     /**
      * Génère des tâches avec des données de démonstration pour une date spécifique
      * Cette méthode utilise l'IA pour générer des tâches réalistes basées sur des données de démonstration
@@ -526,27 +772,15 @@ public class AIBackendService {
         calendar.setTime(date);
         int dayOfWeek = calendar.get(Calendar.DAY_OF_WEEK);
         
-        // 1. Vérifier si la tâche suit un modèle récurrent
-        if (patternRecognizer.hasRecurringPattern(taskTitle)) {
-            Date nextOccurrence = patternRecognizer.predictNextOccurrence(taskTitle, date);
-            if (nextOccurrence != null) {
-                // Vérifier si la prochaine occurrence est à cette date
-                Calendar occurrenceCalendar = Calendar.getInstance();
-                occurrenceCalendar.setTime(nextOccurrence);
-                
-                Calendar dateCalendar = Calendar.getInstance();
-                dateCalendar.setTime(date);
-                
-                if (occurrenceCalendar.get(Calendar.YEAR) == dateCalendar.get(Calendar.YEAR) &&
-                    occurrenceCalendar.get(Calendar.DAY_OF_YEAR) == dateCalendar.get(Calendar.DAY_OF_YEAR)) {
-                    Log.d(TAG, "Tâche '" + taskTitle + "' générée en fonction d'un modèle récurrent");
-                    return true;
-                }
-            }
+        // 1. Vérifier si un modèle récurrent prévoit la tâche ce jour-là (index des occurrences prévues)
+        TaskPatternRecognizer patternRecognizer = engine.getPatternRecognizer();
+        if (patternRecognizer.isPredictedOn(taskTitle, date)) {
+            Log.d(TAG, "Tâche '" + taskTitle + "' générée en fonction d'un modèle récurrent");
+            return true;
         }
         
         // 2. Vérifier si l'utilisateur a un jour préféré pour cette tâche
-        int preferredDay = habitAnalyzer.getPreferredDayForTask(taskTitle);
+        int preferredDay = engine.getHabitAnalyzer().getPreferredDayForTask(taskTitle);
         if (preferredDay != -1 && preferredDay == dayOfWeek - 1) {
             // L'utilisateur préfère faire cette tâche ce jour-là
             Log.d(TAG, "Tâche '" + taskTitle + "' générée en fonction du jour préféré");
@@ -584,7 +818,7 @@ public class AIBackendService {
         }
         
         // 6. Vérifier le taux de réussite de cette tâche
-        float successRate = habitAnalyzer.getTaskSuccessRate(taskTitle);
+        float successRate = engine.getHabitAnalyzer().getTaskSuccessRate(taskTitle);
         if (successRate > 0.7) {
             // Tâche avec un bon taux de réussite, plus susceptible d'être proposée
             Log.d(TAG, "Tâche '" + taskTitle + "' générée en raison d'un bon taux de réussite (" + successRate + ")");
@@ -657,7 +891,7 @@ public class AIBackendService {
         }
         
         // Ajouter des informations sur les modèles récurrents si pertinent
-        String patternDescription = patternRecognizer.getPatternDescription(task.getTitle());
+        String patternDescription = engine.getPatternRecognizer().getPatternDescription(task.getTitle());
         if (patternDescription != null) {
             enhancedDescription.append("\n\nFréquence habituelle: ").append(patternDescription);
         }
@@ -679,9 +913,13 @@ public class AIBackendService {
     
     /**
      * Enregistre la complétion d'une tâche pour l'apprentissage
+     * La complétion est enregistrée dans l'historique pour que ses compteurs et préférences
+     * soient reconstruits au démarrage. L'activité et la complétion sont appliquées au moteur
+     * avant l'insertion : un point de reprise déclenché ici inclut toujours la complétion.
+     * À appeler hors du thread principal.
      * @param task Tâche complétée
      */
-    public void recordTaskCompletion(com.shermine237.tempora.model.Task task) {
+    public synchronized void recordTaskCompletion(com.shermine237.tempora.model.Task task) {
         if (task == null) {
             return;
         }
@@ -689,8 +927,11 @@ public class AIBackendService {
         Log.d(TAG, "Enregistrement de la complétion de la tâche: " + task.getTitle());
         
         // Créer une activité utilisateur pour cette tâche
-        Date startTime = task.getScheduledDate() != null ? task.getScheduledDate() : task.getDueDate();
         Date endTime = new Date(); // Heure actuelle comme heure de fin
+        Date startTime = task.getScheduledDate() != null ? task.getScheduledDate() : task.getDueDate();
+        if (startTime == null) {
+            startTime = endTime;
+        }
         
         // Calculer un score de productivité basé sur la difficulté et la priorité
         float productivityScore = (task.getDifficulty() + task.getPriority()) / 2.0f;
@@ -705,18 +946,26 @@ public class AIBackendService {
             true                             // Complétée
         );
         
-        // Ajouter l'activité à l'analyseur d'habitudes
-        habitAnalyzer.addUserActivity(activity);
+        // Le début est la date prévue, pas l'heure réelle de début : la durée n'est pas mesurée
+        activity.setDurationMeasured(false);
+        
+        // Ajouter l'activité à l'analyseur d'habitudes et enregistrer spécifiquement la complétion
+        ensureRestored();
+        engine.addUserActivity(activity);
+        engine.recordTaskCompletion(task.getTitle(), task.getCategory(), endTime);
         
-        // Enregistrer spécifiquement la complétion
-        habitAnalyzer.recordTaskCompletion(task.getTitle(), task.getCategory(), new Date());
+        com.shermine237.tempora.model.UserActivity completion = convertBackendActivityToAndroidActivity(activity);
+        completion.setKind(com.shermine237.tempora.model.UserActivity.KIND_COMPLETION);
+        lastActivityId = activityRepository.insertSync(completion);
+        countTowardCheckpoint(1);
     }
     
     /**
      * Enregistre le report d'une tâche pour l'apprentissage
+     * Le report est enregistré dans l'historique, comme une complétion. À appeler hors du thread principal.
      * @param task Tâche reportée
      */
-    public void recordTaskPostponement(com.shermine237.tempora.model.Task task) {
+    public synchronized void recordTaskPostponement(com.shermine237.tempora.model.Task task) {
         if (task == null) {
             return;
         }
@@ -724,7 +973,15 @@ public class AIBackendService {
         Log.d(TAG, "Enregistrement du report de la tâche: " + task.getTitle());
         
         // Enregistrer le report dans l'analyseur d'habitudes
-        habitAnalyzer.recordTaskPostponement(task.getTitle());
+        ensureRestored();
+        engine.recordTaskPostponement(task.getTitle());
+        
+        Date now = new Date();
+        com.shermine237.tempora.model.UserActivity postponement = new com.shermine237.tempora.model.UserActivity(
+                task.getTitle(), task.getDescription(), task.getCategory(), now, now, 0, false);
+        postponement.setKind(com.shermine237.tempora.model.UserActivity.KIND_POSTPONEMENT);
+        lastActivityId = activityRepository.insertSync(postponement);
+        countTowardCheckpoint(1);
     }
     
     /**
@@ -735,7 +992,7 @@ public class AIBackendService {
      */
     private int calculatePriority(String taskTitle, int defaultPriority) {
         // Vérifier le taux de réussite de cette tâche
-        float successRate = habitAnalyzer.getTaskSuccessRate(taskTitle);
+        float successRate = engine.getHabitAnalyzer().getTaskSuccessRate(taskTitle);
         
         if (successRate > 0.8) {
             // Tâche avec un très bon taux de réussite, augmenter la priorité
@@ -758,7 +1015,7 @@ public class AIBackendService {
      */
     private int predictTaskDuration(String taskTitle, String category, int defaultDuration) {
         // Utiliser l'analyseur d'habitudes pour prédire la durée
-        int predictedDuration = habitAnalyzer.predictTaskDuration(taskTitle, category);
+        int predictedDuration = engine.getHabitAnalyzer().predictTaskDuration(taskTitle, category);
         
         if (predictedDuration > 0) {
             // Utiliser la durée prédite
@@ -0,0 +1,33 @@
+package com.shermine237.tempora.ai.backend;
+
+import android.util.Log;
+
+/**
+ * Journalisation du moteur d'IA vers Logcat
+ */
+public class AndroidEngineLogger implements EngineLogger {
+    
+    @Override
+    public boolean isLoggable(int level) {
+        // Le filtrage est laissé à Logcat
+        return true;
+    }
+    
+    @Override
+    public void log(int level, String tag, String message, Throwable error) {
+        switch (level) {
+            case DEBUG:
+                Log.d(tag, message, error);
+                break;
+            case INFO:
+                Log.i(tag, message, error);
+                break;
+            case WARN:
+                Log.w(tag, message, error);
+                break;
+            default:
+                Log.e(tag, message, error);
+                break;
+        }
+    }
+}
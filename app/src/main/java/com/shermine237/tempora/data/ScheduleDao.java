@@ -9,6 +9,7 @@ import androidx.room.Query;
 import androidx.room.Update;
 
 import com.shermine237.tempora.model.Schedule;
+import com.shermine237.tempora.model.ScheduleItem;
 
 import java.util.Date;
 import java.util.List;
@@ -28,6 +29,9 @@ public interface ScheduleDao {
     @Delete
     void delete(Schedule schedule);
     
+    @Query("UPDATE schedules SET items = :items, lastModifiedAt = :modifiedAt WHERE id = :id")
+    void updateItems(int id, List<ScheduleItem> items, Date modifiedAt);
+    
     @Query("DELETE FROM schedules")
     void deleteAll();
     
@@ -40,6 +44,9 @@ public interface ScheduleDao {
     @Query("SELECT * FROM schedules WHERE strftime('%Y-%m-%d', date / 1000, 'unixepoch') = strftime('%Y-%m-%d', :date / 1000, 'unixepoch') LIMIT 1")
     LiveData<Schedule> getScheduleForDate(Date date);
     
+    @Query("SELECT * FROM schedules WHERE strftime('%Y-%m-%d', date / 1000, 'unixepoch') = strftime('%Y-%m-%d', :date / 1000, 'unixepoch') LIMIT 1")
+    Schedule getScheduleForDateSync(Date date);
+    
     @Query("SELECT * FROM schedules WHERE date BETWEEN :startDate AND :endDate ORDER BY date ASC")
     LiveData<List<Schedule>> getSchedulesForDateRange(Date startDate, Date endDate);
     
@@ -40,9 +40,15 @@ public interface TaskDao {
     @Query("SELECT * FROM tasks WHERE id = :id")
     LiveData<Task> getTaskById(int id);
     
+    @Query("SELECT * FROM tasks WHERE id = :id")
+    Task getTaskByIdSync(int id);
+    
     @Query("SELECT * FROM tasks WHERE completed = 0 AND approved = 1 ORDER BY dueDate ASC")
     LiveData<List<Task>> getIncompleteTasks();
     
+    @Query("SELECT * FROM tasks WHERE completed = 0 AND approved = 1 ORDER BY dueDate ASC")
+    List<Task> getIncompleteTasksSync();
+    
     @Query("SELECT * FROM tasks WHERE completed = 1 AND approved = 1 ORDER BY completionDate DESC")
     LiveData<List<Task>> getCompletedTasks();
     
@@ -66,4 +72,7 @@ public interface TaskDao {
     
     @Query("SELECT * FROM tasks WHERE scheduledDate = :date AND approved = 1 ORDER BY priority DESC")
     LiveData<List<Task>> getTasksScheduledForDate(Date date);
+    
+    @Query("UPDATE tasks SET scheduledDate = NULL WHERE id = :id")
+    void clearScheduledDate(int id);
 }
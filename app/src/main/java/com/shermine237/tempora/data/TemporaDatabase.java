@@ -11,6 +11,7 @@ import androidx.sqlite.db.SupportSQLiteDatabase;
 
 import com.shermine237.tempora.model.Schedule;
 import com.shermine237.tempora.model.Task;
+import com.shermine237.tempora.model.UserActivity;
 import com.shermine237.tempora.model.UserProfile;
 import com.shermine237.tempora.utils.DateConverter;
 import com.shermine237.tempora.utils.ScheduleItemListConverter;
@@ -21,7 +22,7 @@ import com.shermine237.tempora.utils.WorkHoursListConverter;
  * Base de données principale de l'application Tempero.
  * Cette classe gère la création et la mise à jour de la base de données SQLite.
  */
-@Database(entities = {Task.class, UserProfile.class, Schedule.class}, version = 5, exportSchema = false)
+@Database(entities = {Task.class, UserProfile.class, Schedule.class, UserActivity.class}, version = 7, exportSchema = false)
 @TypeConverters({DateConverter.class, StringListConverter.class, ScheduleItemListConverter.class, WorkHoursListConverter.class})
 public abstract class TemporaDatabase extends RoomDatabase {
     
@@ -29,6 +30,7 @@ public abstract class TemporaDatabase extends RoomDatabase {
     public abstract TaskDao taskDao();
     public abstract UserProfileDao userProfileDao();
     public abstract ScheduleDao scheduleDao();
+    public abstract UserActivityDao userActivityDao();
     
     // Instance unique de la base de données
     private static volatile TemporaDatabase INSTANCE;
@@ -48,7 +50,7 @@ public abstract class TemporaDatabase extends RoomDatabase {
                             "tempora_database"
                     )
                     // Utiliser des migrations au lieu de détruire la base de données
-                    .addMigrations(MIGRATION_3_4, MIGRATION_4_5)
+                    .addMigrations(MIGRATION_3_4, MIGRATION_4_5, MIGRATION_5_6, MIGRATION_6_7)
                     // Conserver fallbackToDestructiveMigration comme solution de secours
                     .fallbackToDestructiveMigration()
                     .build();
@@ -85,4 +87,33 @@ public abstract class TemporaDatabase extends RoomDatabase {
             database.execSQL("ALTER TABLE user_profile ADD COLUMN includeBreaks INTEGER NOT NULL DEFAULT 1");
         }
     };
+    
+    /**
+     * Migration de la version 5 à 6 de la base de données
+     * Cette migration ajoute l'historique des activités utilisateur utilisé par l'IA
+     */
+    private static final Migration MIGRATION_5_6 = new Migration(5, 6) {
+        @Override
+        public void migrate(SupportSQLiteDatabase database) {
+            database.execSQL("CREATE TABLE IF NOT EXISTS user_activities ("
+                    + "id INTEGER PRIMARY KEY AUTOINCREMENT NOT NULL, "
+                    + "title TEXT, description TEXT, category TEXT, "
+                    + "startTime INTEGER, endTime INTEGER, "
+                    + "productivityScore REAL NOT NULL, completed INTEGER NOT NULL)");
+            database.execSQL("CREATE INDEX IF NOT EXISTS index_user_activities_startTime ON user_activities (startTime)");
+            database.execSQL("CREATE INDEX IF NOT EXISTS index_user_activities_title ON user_activities (title)");
+            database.execSQL("CREATE INDEX IF NOT EXISTS index_user_activities_category ON user_activities (category)");
+        }
+    };
+    
+    /**
+     * Migration de la version 6 à 7 de la base de données
+     * Cette migration distingue les complétions et les reports de tâches dans l'historique
+     */
+    private static final Migration MIGRATION_6_7 = new Migration(6, 7) {
+        @Override
+        public void migrate(SupportSQLiteDatabase database) {
+            database.execSQL("ALTER TABLE user_activities ADD COLUMN kind INTEGER NOT NULL DEFAULT 0");
+        }
+    };
 }
@@ -0,0 +1,46 @@
+package com.shermine237.tempora.data;
+
+import androidx.room.Dao;
+import androidx.room.Insert;
+import androidx.room.Query;
+
+import com.shermine237.tempora.model.UserActivity;
+
+import java.util.Date;
+import java.util.List;
+
+/**
+ * Interface DAO pour accéder à l'historique des activités utilisateur.
+ */
+@Dao
+public interface UserActivityDao {
+    
+    @Insert
+    long insert(UserActivity activity);
+    
+    @Insert
+    List<Long> insertAll(List<UserActivity> activities);
+    
+    @Query("DELETE FROM user_activities")
+    void deleteAll();
+    
+    @Query("SELECT COUNT(*) FROM user_activities")
+    int getCount();
+    
+    /**
+     * Page de l'historique dans l'ordre d'enregistrement (pagination par clé, sans OFFSET)
+     * @param afterId Identifiant de la dernière activité de la page précédente (0 pour la première)
+     * @param limit Taille de la page
+     */
+    @Query("SELECT * FROM user_activities WHERE id > :afterId ORDER BY id ASC LIMIT :limit")
+    List<UserActivity> getPageAfter(long afterId, int limit);
+    
+    @Query("SELECT * FROM user_activities WHERE startTime BETWEEN :startDate AND :endDate ORDER BY startTime ASC")
+    List<UserActivity> getActivitiesForDateRange(Date startDate, Date endDate);
+    
+    @Query("SELECT * FROM user_activities WHERE title = :title ORDER BY startTime ASC")
+    List<UserActivity> getActivitiesByTitle(String title);
+    
+    @Query("SELECT * FROM user_activities WHERE category = :category ORDER BY startTime ASC")
+    List<UserActivity> getActivitiesByCategory(String category);
+}
@@ -0,0 +1,137 @@
+package com.shermine237.tempora.model;
+
+import androidx.room.Entity;
+import androidx.room.Ignore;
+import androidx.room.Index;
+import androidx.room.PrimaryKey;
+import androidx.room.TypeConverters;
+
+import com.shermine237.tempora.utils.DateConverter;
+
+import java.util.Date;
+
+/**
+ * Entité représentant une activité utilisateur enregistrée pour l'apprentissage.
+ * L'historique est rejoué au démarrage pour reconstruire les analyseurs de l'IA.
+ * Les complétions et les reports de tâches y sont aussi enregistrés (voir kind) : ils
+ * alimentent les compteurs et les préférences de l'analyseur d'habitudes.
+ */
+@Entity(tableName = "user_activities",
+        indices = {@Index("startTime"), @Index("title"), @Index("category")})
+public class UserActivity {
+    
+    // Nature de l'enregistrement
+    public static final int KIND_ACTIVITY = 0; // Activité planifiée et réalisée
+    public static final int KIND_COMPLETION = 1; // Complétion d'une tâche (fin = heure de complétion)
+    public static final int KIND_POSTPONEMENT = 2; // Report d'une tâche (titre et date seulement)
+    
+    @PrimaryKey(autoGenerate = true)
+    private int id;
+    
+    private String title;
+    private String description;
+    private String category;
+    
+    @TypeConverters(DateConverter.class)
+    private Date startTime;
+    
+    @TypeConverters(DateConverter.class)
+    private Date endTime;
+    
+    private float productivityScore; // Score de 0 à 5
+    private boolean completed;
+    private int kind;
+    
+    // Constructeur par défaut
+    public UserActivity() {
+        this.title = "";
+        this.description = "";
+        this.category = "Autre";
+    }
+    
+    // Constructeur
+    @Ignore
+    public UserActivity(String title, String description, String category,
+                        Date startTime, Date endTime, float productivityScore, boolean completed) {
+        this.title = title;
+        this.description = description;
+        this.category = category;
+        this.startTime = startTime;
+        this.endTime = endTime;
+        this.productivityScore = productivityScore;
+        this.completed = completed;
+    }
+    
+    // Getters et Setters
+    public int getId() {
+        return id;
+    }
+    
+    public void setId(int id) {
+        this.id = id;
+    }
+    
+    public String getTitle() {
+        return title;
+    }
+    
+    public void setTitle(String title) {
+        this.title = title;
+    }
+    
+    public String getDescription() {
+        return description;
+    }
+    
+    public void setDescription(String description) {
+        this.description = description;
+    }
+    
+    public String getCategory() {
+        return category;
+    }
+    
+    public void setCategory(String category) {
+        this.category = category;
+    }
+    
+    public Date getStartTime() {
+        return startTime;
+    }
+    
+    public void setStartTime(Date startTime) {
+        this.startTime = startTime;
+    }
+    
+    public Date getEndTime() {
+        return endTime;
+    }
+    
+    public void setEndTime(Date endTime) {
+        this.endTime = endTime;
+    }
+    
+    public float getProductivityScore() {
+        return productivityScore;
+    }
+    
+    public void setProductivityScore(float productivityScore) {
+        this.productivityScore = productivityScore;
+    }
+    
+    public boolean isCompleted() {
+        return completed;
+    }
+    
+    public void setCompleted(boolean completed) {
+        this.completed = completed;
+    }
+    
+    public int getKind() {
+        return kind;
+    }
+    
+    public void setKind(int kind) {
+        this.kind = kind;
+    }
+}
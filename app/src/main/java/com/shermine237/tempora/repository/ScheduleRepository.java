@@ -5,14 +5,15 @@ import android.util.Log;
 
 import androidx.lifecycle.LiveData;
 
+import com.shermine237.tempora.TemporaApplication;
 import com.shermine237.tempora.data.ScheduleDao;
 import com.shermine237.tempora.data.TemporaDatabase;
 import com.shermine237.tempora.model.Schedule;
 import com.shermine237.tempora.model.ScheduleItem;
 import com.shermine237.tempora.service.NotificationService;
-import com.shermine237.tempora.service.AIService;
 import com.shermine237.tempora.model.Task;
 
+import java.util.ArrayList;
 import java.util.Date;
 import java.util.List;
 import java.util.concurrent.ExecutorService;
@@ -25,6 +26,7 @@ import java.util.Calendar;
  */
 public class ScheduleRepository {
     
+    private final TemporaDatabase database;
     private final ScheduleDao scheduleDao;
     private final ExecutorService executorService;
     private final NotificationService notificationService;
@@ -36,8 +38,8 @@ public class ScheduleRepository {
     private final LiveData<List<Schedule>> completedSchedules;
     
     public ScheduleRepository(Application application) {
-        TemporaDatabase db = TemporaDatabase.getDatabase(application);
-        scheduleDao = db.scheduleDao();
+        database = TemporaDatabase.getDatabase(application);
+        scheduleDao = database.scheduleDao();
         executorService = Executors.newFixedThreadPool(4);
         notificationService = new NotificationService(application);
         this.application = application;
@@ -70,6 +72,15 @@ public class ScheduleRepository {
         return scheduleDao.getScheduleForDate(date);
     }
     
+    /**
+     * Récupère le planning d'une date de manière synchrone (à appeler hors du thread principal)
+     * @param date Date du planning
+     * @return Planning, ou null s'il n'existe pas
+     */
+    public Schedule getScheduleForDateSync(Date date) {
+        return scheduleDao.getScheduleForDateSync(date);
+    }
+    
     public LiveData<List<Schedule>> getSchedulesForDateRange(Date startDate, Date endDate) {
         return scheduleDao.getSchedulesForDateRange(startDate, endDate);
     }
@@ -104,6 +115,38 @@ public class ScheduleRepository {
         });
     }
     
+    /**
+     * Enregistre uniquement les éléments d'un planning réparé
+     * @param schedule Planning dont les éléments ont changé
+     */
+    public void updateScheduleItems(Schedule schedule) {
+        executorService.execute(() -> {
+            scheduleDao.updateItems(schedule.getId(), schedule.getItems(), new Date());
+        });
+    }
+    
+    /**
+     * Enregistre plusieurs plannings en une seule transaction
+     * Un planning existant pour la même date est mis à jour, sinon un nouveau planning est inséré.
+     * @param schedules Plannings à enregistrer
+     */
+    public void saveSchedules(List<Schedule> schedules) {
+        executorService.execute(() -> {
+            database.runInTransaction(() -> {
+                for (Schedule schedule : schedules) {
+                    Schedule existingSchedule = scheduleDao.getScheduleForDateSync(schedule.getDate());
+                    if (existingSchedule != null) {
+                        existingSchedule.setItems(schedule.getItems());
+                        scheduleDao.update(existingSchedule);
+                    } else {
+                        scheduleDao.insert(schedule);
+                    }
+                }
+            });
+            Log.i("ScheduleRepository", schedules.size() + " plannings enregistrés");
+        });
+    }
+    
     /**
      * Approuve un planning généré par l'IA
      * @param schedule Planning à approuver
@@ -145,10 +188,9 @@ public class ScheduleRepository {
             // Convertir le score de productivité de 0-100 à 0-5
             float normalizedScore = productivityScore / 20.0f;
             
-            // Récupérer le service AI
-            AIService aiService = new AIService(application);
             
             // Collecter les données pour chaque élément du planning
+            List<com.shermine237.tempora.ai.backend.UserActivity> activities = new ArrayList<>();
             for (ScheduleItem item : schedule.getItems()) {
                 if (item.isCompleted() && item.getType().equals("task")) {
                     // Créer une activité utilisateur pour le backend d'IA
@@ -157,15 +199,15 @@ public class ScheduleRepository {
                     // Récupérer la catégorie de la tâche
                     String category = "Autre";
                     if (item.getTaskId() > 0) {
-                        Task task = aiService.getTaskById(item.getTaskId());
+                        Task task = database.taskDao().getTaskByIdSync(item.getTaskId());
                         if (task != null) {
                             category = task.getCategory();
                             description = task.getDescription();
                         }
                     }
                     
-                    // Ajouter l'activité au backend d'IA
-                    aiService.addUserActivity(
+                    // Créer l'activité pour le backend d'IA
+                    activities.add(new com.shermine237.tempora.ai.backend.UserActivity(
                         item.getTitle(),
                         description,
                         category,
@@ -173,9 +215,15 @@ public class ScheduleRepository {
                         item.getEndTime(),
                         normalizedScore,
                         true
-                    );
+                    ));
                 }
             }
+            
+            // Transmettre tout le planning au backend d'IA partagé en un seul lot
+            // (déjà hors du thread principal : pas de nouveau moteur ni de rejeu de l'historique)
+            if (!activities.isEmpty()) {
+                TemporaApplication.getAIBackendService(application).addUserActivities(activities);
+            }
         } catch (Exception e) {
             Log.e("ScheduleRepository", "Error collecting user activity data", e);
         }
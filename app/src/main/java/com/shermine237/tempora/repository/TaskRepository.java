@@ -53,6 +53,15 @@ public class TaskRepository {
         return incompleteTasks;
     }
     
+    /**
+     * Récupère les tâches incomplètes de manière synchrone
+     * À appeler hors du thread principal.
+     * @return Tâches incomplètes et approuvées
+     */
+    public List<Task> getIncompleteTasksSync() {
+        return taskDao.getIncompleteTasksSync();
+    }
+    
     public LiveData<List<Task>> getCompletedTasks() {
         return completedTasks;
     }
@@ -102,6 +111,18 @@ public class TaskRepository {
         });
     }
     
+    /**
+     * Insère une tâche puis exécute une action une fois son identifiant attribué
+     * @param task Tâche à insérer (reçoit son identifiant)
+     * @param onInserted Action exécutée sur le thread d'arrière-plan après l'insertion
+     */
+    public void insert(Task task, Runnable onInserted) {
+        executorService.execute(() -> {
+            task.setId((int) taskDao.insert(task));
+            onInserted.run();
+        });
+    }
+    
     public void update(Task task) {
         // Ajouter des logs pour le débogage
         Log.d("TaskRepository", "Mise à jour de la tâche: " + task.getTitle() + 
@@ -122,6 +143,15 @@ public class TaskRepository {
         });
     }
     
+    /**
+     * Retire la date planifiée d'une tâche, de manière synchrone
+     * À appeler hors du thread principal.
+     * @param taskId ID de la tâche
+     */
+    public void clearScheduledDateSync(int taskId) {
+        taskDao.clearScheduledDate(taskId);
+    }
+    
     public void deleteAll() {
         executorService.execute(() -> {
             taskDao.deleteAll();
@@ -0,0 +1,78 @@
+package com.shermine237.tempora.repository;
+
+import android.app.Application;
+
+import com.shermine237.tempora.data.TemporaDatabase;
+import com.shermine237.tempora.data.UserActivityDao;
+import com.shermine237.tempora.model.UserActivity;
+
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Repository pour gérer l'historique des activités utilisateur.
+ * Les écritures sont asynchrones ; les lectures par page sont synchrones et
+ * doivent être appelées hors du thread principal.
+ */
+public class UserActivityRepository {
+    
+    private final UserActivityDao userActivityDao;
+    private final ExecutorService executorService;
+    
+    public UserActivityRepository(Application application) {
+        TemporaDatabase database = TemporaDatabase.getDatabase(application);
+        userActivityDao = database.userActivityDao();
+        // Un seul thread pour conserver l'ordre d'enregistrement des activités
+        executorService = Executors.newSingleThreadExecutor();
+    }
+    
+    // Méthodes de modification des données
+    
+    public void insert(UserActivity activity) {
+        executorService.execute(() -> {
+            userActivityDao.insert(activity);
+        });
+    }
+    
+    /**
+     * Enregistre une activité de manière synchrone (à appeler hors du thread principal)
+     * @param activity Activité à enregistrer
+     * @return Identifiant attribué à l'activité
+     */
+    public long insertSync(UserActivity activity) {
+        return userActivityDao.insert(activity);
+    }
+    
+    /**
+     * Enregistre un lot d'activités de manière synchrone, dans une seule transaction
+     * (à appeler hors du thread principal)
+     * @param activities Activités à enregistrer
+     * @return Identifiants attribués, dans l'ordre des activités
+     */
+    public List<Long> insertAllSync(List<UserActivity> activities) {
+        return userActivityDao.insertAll(activities);
+    }
+    
+    public void deleteAll() {
+        executorService.execute(() -> {
+            userActivityDao.deleteAll();
+        });
+    }
+    
+    // Méthodes d'accès aux données
+    
+    /**
+     * Récupère une page de l'historique de manière synchrone (à appeler hors du thread principal)
+     * @param afterId Identifiant de la dernière activité déjà lue (0 pour commencer)
+     * @param limit Taille maximale de la page
+     * @return Activités suivantes, dans l'ordre d'enregistrement
+     */
+    public List<UserActivity> getPageAfterSync(long afterId, int limit) {
+        return userActivityDao.getPageAfter(afterId, limit);
+    }
+    
+    public int getCountSync() {
+        return userActivityDao.getCount();
+    }
+}
@@ -9,7 +9,9 @@ import android.util.Log;
 import androidx.lifecycle.LiveData;
 import androidx.lifecycle.MutableLiveData;
 
+import com.shermine237.tempora.TemporaApplication;
 import com.shermine237.tempora.ai.backend.AIBackendService;
+import com.shermine237.tempora.ai.backend.ScheduleDelta;
 import com.shermine237.tempora.ai.backend.UserPreferences;
 import com.shermine237.tempora.model.Schedule;
 import com.shermine237.tempora.model.ScheduleItem;
@@ -83,8 +85,8 @@ public class AIService {
         // Initialiser le service de notification
         notificationService = new NotificationService(application);
         
-        // Initialiser le backend d'IA
-        aiBackendService = new AIBackendService(application);
+        // Backend d'IA partagé par tout le processus (déjà restauré ou en cours de restauration)
+        aiBackendService = TemporaApplication.getAIBackendService(application);
         
         // Initialiser les exécuteurs
         executor = Executors.newSingleThreadExecutor();
@@ -219,7 +221,7 @@ public class AIService {
                 
                 // Indiquer que la génération est terminée
                 isGenerating.postValue(false);
-                
+            
             } catch (Exception e) {
                 Log.e(TAG, "Error generating schedule", e);
                 // En cas d'erreur, indiquer que la génération est terminée
@@ -228,6 +230,165 @@ public class AIService {
         });
     }
     
+    /**
+     * Génère les plannings d'une période (semaine, mois...) en une seule passe
+     * Chaque tâche incomplète est affectée à un seul jour, les journées sont planifiées
+     * en parallèle et tous les plannings sont enregistrés en une seule transaction.
+     * @param from Premier jour de la période (inclus)
+     * @param to Dernier jour de la période (inclus)
+     */
+    public void generateSchedules(Date from, Date to) {
+        // Indiquer que la génération commence
+        isGenerating.postValue(true);
+        
+        executor.execute(() -> {
+            try {
+                Log.i(TAG, "Starting schedule generation from " + from + " to " + to);
+                
+                // Configurer les préférences utilisateur pour le backend d'IA
+                configureUserPreferences();
+                
+                // Récupérer les tâches incomplètes (lecture synchrone : on est hors du thread principal)
+                List<Task> incompleteTasks = taskRepository.getIncompleteTasksSync();
+                
+                // Convertir les tâches Android en tâches backend
+                List<com.shermine237.tempora.ai.backend.Task> backendTasks = new ArrayList<>();
+                for (Task task : incompleteTasks) {
+                    backendTasks.add(aiBackendService.convertAndroidTaskToBackendTask(task));
+                }
+                
+                // Générer tous les plannings de la période
+                List<com.shermine237.tempora.ai.backend.Schedule> backendSchedules =
+                    aiBackendService.generateSchedules(from, to, backendTasks);
+                
+                // Convertir les plannings backend en plannings Android
+                List<Schedule> schedules = new ArrayList<>();
+                for (com.shermine237.tempora.ai.backend.Schedule backendSchedule : backendSchedules) {
+                    schedules.add(aiBackendService.convertBackendScheduleToAndroidSchedule(backendSchedule));
+                }
+                
+                // Enregistrer tous les plannings en une seule transaction
+                scheduleRepository.saveSchedules(schedules);
+                
+                Log.i(TAG, schedules.size() + " schedules generated");
+                
+                // Indiquer que la génération est terminée
+                isGenerating.postValue(false);
+            
+            } catch (Exception e) {
+                Log.e(TAG, "Error generating schedules", e);
+                // En cas d'erreur, indiquer que la génération est terminée
+                isGenerating.postValue(false);
+            }
+        });
+    }
+    
+    /**
+     * Reçoit le résultat de la vérification d'un créneau choisi manuellement
+     */
+    public interface SlotAvailabilityListener {
+        void onSlotChecked(boolean available);
+    }
+    
+    /**
+     * Vérifie en arrière-plan qu'un créneau choisi manuellement est libre dans le planning du jour
+     * Sans planning pour ce jour, seules les heures de travail sont vérifiées.
+     * @param date Jour du créneau
+     * @param startTime Heure de début (H:mm ou HH:mm)
+     * @param endTime Heure de fin (H:mm ou HH:mm)
+     * @param listener Appelé sur le thread principal avec le résultat
+     */
+    public void checkManualSlot(Date date, String startTime, String endTime, SlotAvailabilityListener listener) {
+        executor.execute(() -> {
+            boolean available = false;
+            try {
+                Schedule schedule = scheduleRepository.getScheduleForDateSync(date);
+                com.shermine237.tempora.ai.backend.Schedule backendSchedule = schedule != null && schedule.getItems() != null
+                        ? aiBackendService.convertAndroidScheduleToBackendSchedule(schedule)
+                        : new com.shermine237.tempora.ai.backend.Schedule(date, new ArrayList<>());
+                available = aiBackendService.isManualSlotAvailable(backendSchedule, startTime, endTime);
+            } catch (Exception e) {
+                Log.e(TAG, "Error checking manual slot", e);
+            }
+            
+            boolean result = available;
+            handler.post(() -> listener.onSlotChecked(result));
+        });
+    }
+    
+    /**
+     * Répare le planning d'une tâche nouvellement planifiée, sans le régénérer
+     * @param task Tâche ajoutée (avec sa date planifiée)
+     */
+    public void repairScheduleForNewTask(Task task) {
+        if (task == null || task.getScheduledDate() == null) {
+            return;
+        }
+        repairSchedule(task.getScheduledDate(),
+                ScheduleDelta.taskAdded(aiBackendService.convertAndroidTaskToBackendTask(task)));
+    }
+    
+    /**
+     * Répare un planning dont une tâche a été retirée (report, suppression)
+     * @param task Tâche retirée
+     * @param date Date du planning qui contenait la tâche
+     */
+    public void repairScheduleForRemovedTask(Task task, Date date) {
+        if (task == null || date == null) {
+            return;
+        }
+        repairSchedule(date, ScheduleDelta.taskRemoved(task.getId()));
+    }
+    
+    /**
+     * Répare le planning d'une tâche terminée : le temps restant de son créneau est réutilisé
+     * @param task Tâche terminée
+     */
+    public void repairScheduleForCompletedTask(Task task) {
+        if (task == null || task.getScheduledDate() == null) {
+            return;
+        }
+        
+        // Minute de complétion si la tâche est terminée le jour même, sinon le créneau est considéré comme utilisé
+        Calendar now = Calendar.getInstance();
+        Calendar scheduled = Calendar.getInstance();
+        scheduled.setTime(task.getScheduledDate());
+        int completedAtMinute = -1;
+        if (now.get(Calendar.YEAR) == scheduled.get(Calendar.YEAR)
+                && now.get(Calendar.DAY_OF_YEAR) == scheduled.get(Calendar.DAY_OF_YEAR)) {
+            completedAtMinute = now.get(Calendar.HOUR_OF_DAY) * 60 + now.get(Calendar.MINUTE);
+        }
+        repairSchedule(task.getScheduledDate(), ScheduleDelta.taskCompleted(task.getId(), completedAtMinute));
+    }
+    
+    /**
+     * Applique une modification au planning existant d'une date et n'enregistre que s'il a changé
+     * Les tâches qui ne tiennent plus dans la journée perdent leur date planifiée.
+     * @param date Date du planning
+     * @param delta Modification à appliquer
+     */
+    private void repairSchedule(Date date, ScheduleDelta delta) {
+        executor.execute(() -> {
+            try {
+                Schedule schedule = scheduleRepository.getScheduleForDateSync(date);
+                if (schedule == null) {
+                    Log.d(TAG, "No schedule to repair for date: " + date);
+                    return;
+                }
+                
+                List<Integer> droppedTaskIds = new ArrayList<>();
+                if (aiBackendService.repairSchedule(schedule, delta, droppedTaskIds)) {
+                    scheduleRepository.updateScheduleItems(schedule);
+                    for (int taskId : droppedTaskIds) {
+                        taskRepository.clearScheduledDateSync(taskId);
+                    }
+                }
+            } catch (Exception e) {
+                Log.e(TAG, "Error repairing schedule", e);
+            }
+        });
+    }
+    
     /**
      * Configure les préférences utilisateur pour le backend d'IA
      */
@@ -390,7 +551,7 @@ public class AIService {
                         notificationService.scheduleTaskReminder(task, reminderMinutes);
                     }
                 }
-                
+            
             } catch (Exception e) {
                 Log.e(TAG, "Error scheduling task reminders", e);
             }
@@ -418,7 +579,7 @@ public class AIService {
                         notificationService.notifyOverdueTask(task);
                     }
                 }
-                
+            
             } catch (Exception e) {
                 Log.e(TAG, "Error checking overdue tasks", e);
             }
@@ -429,7 +590,8 @@ public class AIService {
      * Génère un planning pour aujourd'hui
      */
     public void generateTodaySchedule() {
-        generateScheduleForDate(new Date());
+        Date today = new Date();
+        generateSchedules(today, today);
     }
     
     /**
@@ -438,7 +600,18 @@ public class AIService {
     public void generateTomorrowSchedule() {
         Calendar calendar = Calendar.getInstance();
         calendar.add(Calendar.DAY_OF_MONTH, 1);
-        generateScheduleForDate(calendar.getTime());
+        generateSchedules(calendar.getTime(), calendar.getTime());
+    }
+    
+    /**
+     * Génère les plannings des sept jours à partir d'une date
+     * @param from Premier jour de la semaine à planifier
+     */
+    public void generateWeekSchedules(Date from) {
+        Calendar calendar = Calendar.getInstance();
+        calendar.setTime(from);
+        calendar.add(Calendar.DAY_OF_MONTH, 6);
+        generateSchedules(from, calendar.getTime());
     }
     
     /**
@@ -544,6 +717,23 @@ public class AIService {
         });
     }
     
+    /**
+     * Ajoute un lot d'activités utilisateur pour l'apprentissage automatique
+     * Le lot est analysé et enregistré en une seule fois, en arrière-plan.
+     * @param activities Activités utilisateur
+     */
+    public void addUserActivities(List<com.shermine237.tempora.ai.backend.UserActivity> activities) {
+        executor.execute(() -> {
+            try {
+                aiBackendService.addUserActivities(activities);
+                
+                Log.i(TAG, "Added " + activities.size() + " user activities");
+            } catch (Exception e) {
+                Log.e(TAG, "Error adding user activities", e);
+            }
+        });
+    }
+    
     /**
      * Récupère une tâche par son ID
      * @param taskId ID de la tâche
@@ -584,8 +774,14 @@ public class AIService {
         
         Log.i(TAG, "Enregistrement de la complétion de la tâche: " + task.getTitle());
         
-        // Enregistrer la complétion dans l'analyseur d'habitudes
-        aiBackendService.recordTaskCompletion(task);
+        // Enregistrer la complétion dans l'analyseur d'habitudes (l'historique est écrit en base)
+        executor.execute(() -> {
+            try {
+                aiBackendService.recordTaskCompletion(task);
+            } catch (Exception e) {
+                Log.e(TAG, "Error recording task completion", e);
+            }
+        });
     }
     
     /**
@@ -599,7 +795,13 @@ public class AIService {
         
         Log.i(TAG, "Enregistrement du report de la tâche: " + task.getTitle());
         
-        // Enregistrer le report dans l'analyseur d'habitudes
-        aiBackendService.recordTaskPostponement(task);
+        // Enregistrer le report dans l'analyseur d'habitudes, après les activités en attente
+        executor.execute(() -> {
+            try {
+                aiBackendService.recordTaskPostponement(task);
+            } catch (Exception e) {
+                Log.e(TAG, "Error recording task postponement", e);
+            }
+        });
     }
 }
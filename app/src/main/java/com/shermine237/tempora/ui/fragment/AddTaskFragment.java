@@ -1,6 +1,7 @@
 package com.shermine237.tempora.ui.fragment;
 
 import android.app.DatePickerDialog;
+import android.app.TimePickerDialog;
 import android.os.Bundle;
 import android.view.LayoutInflater;
 import android.view.View;
@@ -32,6 +33,7 @@ public class AddTaskFragment extends Fragment {
     private UserProfileViewModel userProfileViewModel;
     private Date selectedDueDate;
     private Date selectedScheduledDate;
+    private int selectedScheduledMinute = -1; // Heure planifiée en minutes depuis minuit, -1 si aucune
     private final SimpleDateFormat dateFormat = new SimpleDateFormat("dd/MM/yyyy", Locale.getDefault());
 
     @Override
@@ -58,6 +60,11 @@ public class AddTaskFragment extends Fragment {
             showDatePicker(false);
         });
         
+        // Configurer le sélecteur d'heure planifiée (placement manuel dans le planning)
+        binding.buttonSelectScheduledTime.setOnClickListener(v -> {
+            showTimePicker();
+        });
+        
         // Configurer le spinner de catégories
         setupCategorySpinner();
         
@@ -102,6 +109,21 @@ public class AddTaskFragment extends Fragment {
         datePickerDialog.show();
     }
 
+    private void showTimePicker() {
+        TimePickerDialog timePickerDialog = new TimePickerDialog(
+                requireContext(),
+                (view, hourOfDay, minute) -> {
+                    selectedScheduledMinute = hourOfDay * 60 + minute;
+                    binding.textSelectedScheduledTime.setText(formatMinute(selectedScheduledMinute));
+                },
+                9, 0, true);
+        timePickerDialog.show();
+    }
+
+    private static String formatMinute(int minuteOfDay) {
+        return String.format(Locale.ROOT, "%02d:%02d", minuteOfDay / 60, minuteOfDay % 60);
+    }
+
     private void saveTask() {
         // Récupérer le titre et la description
         String title = binding.editTaskTitle.getText().toString().trim();
@@ -136,9 +158,44 @@ public class AddTaskFragment extends Fragment {
         // Récupérer la catégorie
         String category = binding.spinnerCategory.getSelectedItem().toString();
         
-        // Créer la tâche
+        // Sans heure choisie, la tâche est créée directement
+        if (selectedScheduledDate == null || selectedScheduledMinute < 0) {
+            createTask(title, description, selectedScheduledDate, priority, difficulty, estimatedDuration, category);
+            return;
+        }
+        
+        // Placement manuel : vérifier que le créneau est libre avant de créer la tâche
+        int endMinute = selectedScheduledMinute + estimatedDuration;
+        if (endMinute >= 24 * 60) {
+            Toast.makeText(requireContext(), "La tâche doit se terminer avant minuit", Toast.LENGTH_SHORT).show();
+            return;
+        }
+        Calendar calendar = Calendar.getInstance();
+        calendar.setTime(selectedScheduledDate);
+        calendar.set(Calendar.HOUR_OF_DAY, selectedScheduledMinute / 60);
+        calendar.set(Calendar.MINUTE, selectedScheduledMinute % 60);
+        calendar.set(Calendar.SECOND, 0);
+        calendar.set(Calendar.MILLISECOND, 0);
+        Date scheduledDate = calendar.getTime();
+        
+        taskViewModel.checkManualSlot(scheduledDate, formatMinute(selectedScheduledMinute), formatMinute(endMinute),
+                available -> {
+                    if (binding == null) {
+                        return; // Vue détruite pendant la vérification
+                    }
+                    if (!available) {
+                        Toast.makeText(requireContext(), "Ce créneau n'est pas libre dans le planning",
+                                Toast.LENGTH_SHORT).show();
+                        return;
+                    }
+                    createTask(title, description, scheduledDate, priority, difficulty, estimatedDuration, category);
+                });
+    }
+
+    private void createTask(String title, String description, Date scheduledDate, int priority,
+                            int difficulty, int estimatedDuration, String category) {
         taskViewModel.createTaskWithScheduledDate(title, description, selectedDueDate, 
-                selectedScheduledDate, priority, difficulty, estimatedDuration, category);
+                scheduledDate, priority, difficulty, estimatedDuration, category);
         
         // Retourner à la liste des tâches
         Toast.makeText(requireContext(), "Tâche créée avec succès", Toast.LENGTH_SHORT).show();
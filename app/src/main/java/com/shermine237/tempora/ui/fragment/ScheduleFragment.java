@@ -230,6 +230,14 @@ public class ScheduleFragment extends Fragment implements ScheduleAdapter.OnSche
     }
 
     private void generateSchedule() {
+        generateSchedule(false);
+    }
+    
+    /**
+     * Génère le planning de la date sélectionnée, ou ceux des sept jours qui commencent à cette date
+     * @param wholeWeek true pour planifier toute la semaine en une seule passe
+     */
+    private void generateSchedule(boolean wholeWeek) {
         // Afficher un indicateur de chargement
         binding.textEmptySchedule.setText("Génération du planning en cours...");
         binding.textEmptySchedule.setVisibility(View.VISIBLE);
@@ -253,7 +261,11 @@ public class ScheduleFragment extends Fragment implements ScheduleAdapter.OnSche
         
         // Générer le planning
         Log.d("ScheduleFragment", "Génération du planning pour la date sélectionnée: " + selectedDate);
-        aiService.generateScheduleForDate(selectedDate);
+        if (wholeWeek) {
+            aiService.generateWeekSchedules(selectedDate);
+        } else {
+            aiService.generateScheduleForDate(selectedDate);
+        }
     }
 
     private void showGenerateScheduleConfirmationDialog() {
@@ -265,6 +277,10 @@ public class ScheduleFragment extends Fragment implements ScheduleAdapter.OnSche
             generateSchedule();
         });
         
+        builder.setNeutralButton("Toute la semaine", (dialog, which) -> {
+            generateSchedule(true);
+        });
+        
         builder.setNegativeButton("Annuler", (dialog, which) -> {
             dialog.dismiss();
         });
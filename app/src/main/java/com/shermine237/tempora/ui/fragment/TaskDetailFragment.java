@@ -207,7 +207,8 @@ public class TaskDetailFragment extends Fragment {
             // Ici, on utilise simplement la durée estimée comme valeur par défaut
             currentTask.setActualDuration(currentTask.getEstimatedDuration());
             
-            taskViewModel.update(currentTask);
+            // Enregistre la complétion et libère le reste de son créneau dans le planning
+            taskViewModel.completeTask(currentTask);
             Toast.makeText(requireContext(), "Tâche marquée comme terminée", Toast.LENGTH_SHORT).show();
         }
     }
@@ -95,6 +95,9 @@ public class TaskViewModel extends AndroidViewModel {
     
     public void delete(Task task) {
         repository.delete(task);
+        
+        // Libérer son créneau dans le planning du jour
+        aiService.repairScheduleForRemovedTask(task, task.getScheduledDate());
     }
     
     public void deleteAll() {
@@ -111,6 +114,9 @@ public class TaskViewModel extends AndroidViewModel {
         
         // Mettre à jour la tâche dans la base de données
         repository.completeTask(task);
+        
+        // Réutiliser le temps libéré dans le planning du jour
+        aiService.repairScheduleForCompletedTask(task);
     }
     
     /**
@@ -123,8 +129,13 @@ public class TaskViewModel extends AndroidViewModel {
         aiService.recordTaskPostponement(task);
         
         // Mettre à jour la date planifiée
+        Date previousDate = task.getScheduledDate();
         task.setScheduledDate(newDate);
         update(task);
+        
+        // Réparer les deux plannings concernés plutôt que de les régénérer
+        aiService.repairScheduleForRemovedTask(task, previousDate);
+        aiService.repairScheduleForNewTask(task);
     }
     
     /**
@@ -146,6 +157,18 @@ public class TaskViewModel extends AndroidViewModel {
         insert(newTask);
     }
     
+    /**
+     * Vérifie qu'un créneau choisi manuellement est libre dans le planning du jour
+     * @param date Jour du créneau
+     * @param startTime Heure de début (H:mm ou HH:mm)
+     * @param endTime Heure de fin (H:mm ou HH:mm)
+     * @param listener Appelé sur le thread principal avec le résultat
+     */
+    public void checkManualSlot(Date date, String startTime, String endTime,
+                                AIService.SlotAvailabilityListener listener) {
+        aiService.checkManualSlot(date, startTime, endTime, listener);
+    }
+    
     /**
      * Crée une nouvelle tâche avec une date planifiée
      */
@@ -156,7 +179,9 @@ public class TaskViewModel extends AndroidViewModel {
                                estimatedDuration, category);
         newTask.setScheduledDate(scheduledDate);
         newTask.setApproved(true); // Les tâches créées manuellement sont approuvées par défaut
-        insert(newTask);
+        
+        // Insérer la tâche dans le planning existant de ce jour, une fois son ID attribué
+        repository.insert(newTask, () -> aiService.repairScheduleForNewTask(newTask));
     }
     
     /**
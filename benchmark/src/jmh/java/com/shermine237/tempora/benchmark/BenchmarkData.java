@@ -0,0 +1,119 @@
+package com.shermine237.tempora.benchmark;
+
+import com.shermine237.tempora.ai.backend.Task;
+import com.shermine237.tempora.ai.backend.UserActivity;
+import com.shermine237.tempora.model.ScheduleItem;
+
+import java.util.ArrayList;
+import java.util.Calendar;
+import java.util.Date;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Jeux de données reproductibles pour les benchmarks
+ * Chaque générateur prend une graine : deux exécutions avec la même graine
+ * produisent exactement les mêmes données.
+ */
+final class BenchmarkData {
+    
+    static final long SEED = 42L;
+    
+    static final String[] CATEGORIES = {"Travail", "Personnel", "Études", "Santé", "Loisirs"};
+    
+    private static final long MINUTE_MILLIS = 60L * 1000;
+    private static final long DAY_MILLIS = 24L * 60 * MINUTE_MILLIS;
+    
+    private BenchmarkData() {
+    }
+    
+    /**
+     * Retourne minuit du jour de référence des benchmarks (fixe, pour des résultats comparables)
+     * @return Date du jour de référence
+     */
+    static Date referenceDay() {
+        Calendar calendar = Calendar.getInstance();
+        calendar.clear();
+        calendar.set(2025, Calendar.MARCH, 3); // Un lundi
+        return calendar.getTime();
+    }
+    
+    /**
+     * Génère des tâches à planifier
+     * @param count Nombre de tâches
+     * @param seed Graine
+     * @return Tâches générées
+     */
+    static List<Task> tasks(int count, long seed) {
+        Random random = new Random(seed);
+        long day = referenceDay().getTime();
+        List<Task> tasks = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            Task task = new Task(
+                    "Tâche " + random.nextInt(Math.max(count / 4, 1)),
+                    "Description " + i,
+                    random.nextInt(4) == 0 ? null : new Date(day + random.nextInt(14) * DAY_MILLIS + 18 * 60 * MINUTE_MILLIS),
+                    1 + random.nextInt(5),
+                    1 + random.nextInt(5),
+                    15 + 5 * random.nextInt(24),
+                    CATEGORIES[random.nextInt(CATEGORIES.length)]);
+            task.setId(i + 1);
+            tasks.add(task);
+        }
+        return tasks;
+    }
+    
+    /**
+     * Génère un historique d'activités sur une période proportionnelle à sa taille
+     * Les titres suivent une distribution asymétrique : quelques tâches très fréquentes,
+     * beaucoup de tâches rares, comme dans un historique réel.
+     * @param count Nombre d'activités
+     * @param titleCount Nombre de titres distincts
+     * @param seed Graine
+     * @return Activités triées par date de début
+     */
+    static List<UserActivity> activities(int count, int titleCount, long seed) {
+        Random random = new Random(seed);
+        long start = referenceDay().getTime() - (count / 8 + 1) * DAY_MILLIS;
+        List<UserActivity> activities = new ArrayList<>(count);
+        long time = start;
+        for (int i = 0; i < count; i++) {
+            time += (20 + random.nextInt(160)) * MINUTE_MILLIS;
+            int titleIndex = (int) (titleCount * Math.pow(random.nextDouble(), 2));
+            int duration = 10 + random.nextInt(110);
+            activities.add(new UserActivity(
+                    "Activité " + titleIndex,
+                    null,
+                    CATEGORIES[titleIndex % CATEGORIES.length],
+                    new Date(time),
+                    new Date(time + duration * MINUTE_MILLIS),
+                    random.nextInt(6),
+                    random.nextInt(10) != 0));
+        }
+        return activities;
+    }
+    
+    /**
+     * Génère les éléments d'un planning stocké
+     * @param count Nombre d'éléments
+     * @param seed Graine
+     * @return Éléments du planning
+     */
+    static List<ScheduleItem> scheduleItems(int count, long seed) {
+        Random random = new Random(seed);
+        long time = referenceDay().getTime() + 8 * 60 * MINUTE_MILLIS;
+        List<ScheduleItem> items = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            int duration = 15 + random.nextInt(90);
+            Date startTime = new Date(time);
+            Date endTime = new Date(time + duration * MINUTE_MILLIS);
+            ScheduleItem item = random.nextInt(4) == 0
+                    ? new ScheduleItem("Pause", startTime, endTime, "break")
+                    : new ScheduleItem(i + 1, "Tâche " + i, startTime, endTime, random.nextInt(5) == 0);
+            item.setCompleted(random.nextBoolean());
+            items.add(item);
+            time += duration * MINUTE_MILLIS;
+        }
+        return items;
+    }
+}
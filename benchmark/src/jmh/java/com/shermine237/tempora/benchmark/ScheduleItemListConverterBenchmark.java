@@ -0,0 +1,48 @@
+package com.shermine237.tempora.benchmark;
+
+import com.shermine237.tempora.model.ScheduleItem;
+import com.shermine237.tempora.utils.ScheduleItemListConverter;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Sérialisation Gson des éléments de planning stockés dans Room
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class ScheduleItemListConverterBenchmark {
+    
+    @Param({"10", "100", "1000", "10000"})
+    public int itemCount;
+    
+    private List<ScheduleItem> items;
+    private String json;
+    
+    @Setup(Level.Trial)
+    public void setUp() {
+        items = BenchmarkData.scheduleItems(itemCount, BenchmarkData.SEED);
+        json = ScheduleItemListConverter.fromList(items);
+    }
+    
+    @Benchmark
+    public String fromList() {
+        return ScheduleItemListConverter.fromList(items);
+    }
+    
+    @Benchmark
+    public List<ScheduleItem> fromString() {
+        return ScheduleItemListConverter.fromString(json);
+    }
+}
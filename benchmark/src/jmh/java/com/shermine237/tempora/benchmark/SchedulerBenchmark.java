@@ -0,0 +1,60 @@
+package com.shermine237.tempora.benchmark;
+
+import com.shermine237.tempora.ai.backend.IntelligentScheduler;
+import com.shermine237.tempora.ai.backend.Schedule;
+import com.shermine237.tempora.ai.backend.Task;
+import com.shermine237.tempora.ai.backend.UserActivity;
+import com.shermine237.tempora.ai.backend.UserHabitAnalyzer;
+import com.shermine237.tempora.ai.backend.UserPreferences;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Génération du planning d'une journée par le planificateur glouton
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class SchedulerBenchmark {
+    
+    @Param({"10", "100", "1000", "10000"})
+    public int taskCount;
+    
+    private IntelligentScheduler scheduler;
+    private Date day;
+    private List<Task> tasks;
+    private List<Task> workingCopy;
+    
+    @Setup(Level.Trial)
+    public void setUp() {
+        UserHabitAnalyzer habitAnalyzer = new UserHabitAnalyzer();
+        for (UserActivity activity : BenchmarkData.activities(1000, 50, BenchmarkData.SEED)) {
+            habitAnalyzer.addUserActivity(activity);
+        }
+        scheduler = new IntelligentScheduler(habitAnalyzer, new UserPreferences());
+        day = BenchmarkData.referenceDay();
+        tasks = BenchmarkData.tasks(taskCount, BenchmarkData.SEED);
+        workingCopy = new ArrayList<>(taskCount);
+    }
+    
+    @Benchmark
+    public Schedule generateSchedule() {
+        // Le planificateur trie la liste reçue : repartir de l'ordre d'origine à chaque appel
+        workingCopy.clear();
+        workingCopy.addAll(tasks);
+        return scheduler.generateSchedule(day, workingCopy);
+    }
+}
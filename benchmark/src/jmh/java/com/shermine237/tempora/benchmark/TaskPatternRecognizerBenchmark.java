@@ -0,0 +1,83 @@
+package com.shermine237.tempora.benchmark;
+
+import com.shermine237.tempora.ai.backend.EngineLog;
+import com.shermine237.tempora.ai.backend.TaskPatternRecognizer;
+import com.shermine237.tempora.ai.backend.TimeBuckets;
+import com.shermine237.tempora.ai.backend.UserActivity;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Analyse complète d'un historique par la reconnaissance de modèles, ajout d'une
+ * occurrence à un historique déjà analysé et recherche des tâches prévues sur un mois
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class TaskPatternRecognizerBenchmark {
+    
+    @Param({"100", "10000", "1000000"})
+    public int historySize;
+    
+    private List<UserActivity> history;
+    private TaskPatternRecognizer analyzed;
+    private TaskPatternRecognizer current;
+    private List<UserActivity> incoming;
+    private int next;
+    private long today;
+    
+    @Setup(Level.Trial)
+    public void setUp() {
+        // Ne mesurer que l'analyse, pas l'écriture des journaux
+        EngineLog.setLogger(EngineLog.SILENT);
+        history = BenchmarkData.activities(historySize, Math.max(historySize / 50, 5), BenchmarkData.SEED);
+        analyzed = new TaskPatternRecognizer();
+        analyzed.analyzeTaskHistory(history);
+        incoming = BenchmarkData.activities(4096, Math.max(historySize / 50, 5), BenchmarkData.SEED + 1);
+        today = System.currentTimeMillis();
+    }
+    
+    @Setup(Level.Iteration)
+    public void setUpIteration() {
+        // Chaque itération repart de l'historique analysé
+        current = analyzed.snapshot();
+        next = 0;
+    }
+    
+    @Benchmark
+    public TaskPatternRecognizer analyzeTaskHistory() {
+        TaskPatternRecognizer recognizer = new TaskPatternRecognizer();
+        recognizer.analyzeTaskHistory(history);
+        return recognizer;
+    }
+    
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    public TaskPatternRecognizer addActivity() {
+        current.addActivity(incoming.get(next));
+        next = (next + 1) & (4096 - 1);
+        return current;
+    }
+    
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    public int tasksPredictedOverMonth() {
+        int predicted = 0;
+        for (int day = 0; day < 30; day++) {
+            predicted += analyzed.getTasksPredictedOn(new Date(today + day * TimeBuckets.DAY_MILLIS)).size();
+        }
+        return predicted;
+    }
+}
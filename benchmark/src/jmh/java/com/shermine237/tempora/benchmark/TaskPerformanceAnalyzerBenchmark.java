@@ -0,0 +1,63 @@
+package com.shermine237.tempora.benchmark;
+
+import com.shermine237.tempora.ai.backend.TaskPerformanceAnalyzer;
+import com.shermine237.tempora.ai.backend.UserActivity;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Ajout d'une mesure de performance dans un analyseur déjà alimenté
+ * Comme pour l'analyseur d'habitudes, les tailles au-delà de 10^4 se passent avec -p historySize=...
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class TaskPerformanceAnalyzerBenchmark {
+    
+    @Param({"100", "1000", "10000"})
+    public int historySize;
+    
+    private List<UserActivity> history;
+    private List<UserActivity> incoming;
+    private TaskPerformanceAnalyzer analyzer;
+    private int next;
+    
+    @Setup(Level.Trial)
+    public void setUpHistory() {
+        history = BenchmarkData.activities(historySize, Math.max(historySize / 20, 5), BenchmarkData.SEED);
+        incoming = BenchmarkData.activities(4096, Math.max(historySize / 20, 5), BenchmarkData.SEED + 1);
+    }
+    
+    @Setup(Level.Iteration)
+    public void setUpIteration() {
+        analyzer = new TaskPerformanceAnalyzer();
+        for (UserActivity activity : history) {
+            add(activity);
+        }
+        next = 0;
+    }
+    
+    @Benchmark
+    public TaskPerformanceAnalyzer addTaskPerformance() {
+        add(incoming.get(next));
+        next = (next + 1) & (4096 - 1);
+        return analyzer;
+    }
+    
+    private void add(UserActivity activity) {
+        int durationMinutes = (int) ((activity.getEndTime().getTime() - activity.getStartTime().getTime()) / 60000L);
+        analyzer.addTaskPerformance(activity.getTitle(), activity.getCategory(), activity.getStartTime(),
+                durationMinutes, activity.getProductivityScore());
+    }
+}
@@ -0,0 +1,70 @@
+package com.shermine237.tempora.benchmark;
+
+import com.shermine237.tempora.ai.backend.UserActivity;
+import com.shermine237.tempora.ai.backend.UserHabitAnalyzer;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Apprentissage et prédiction de l'analyseur d'habitudes sur un historique de taille donnée
+ * Les tailles par défaut restent modestes car le remplissage de l'historique est lui-même mesuré
+ * par addUserActivity ; des tailles plus grandes (jusqu'à 10^6) se passent avec -p historySize=...
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class UserHabitAnalyzerBenchmark {
+    
+    @Param({"100", "1000", "10000"})
+    public int historySize;
+    
+    private UserHabitAnalyzer history;
+    private UserHabitAnalyzer analyzer;
+    private List<UserActivity> incoming;
+    private int next;
+    
+    @Setup(Level.Trial)
+    public void setUpHistory() {
+        history = new UserHabitAnalyzer();
+        for (UserActivity activity : BenchmarkData.activities(historySize, Math.max(historySize / 20, 5), BenchmarkData.SEED)) {
+            history.addUserActivity(activity);
+        }
+        incoming = BenchmarkData.activities(4096, Math.max(historySize / 20, 5), BenchmarkData.SEED + 1);
+    }
+    
+    @Setup(Level.Iteration)
+    public void setUpIteration() {
+        // Chaque itération repart de l'historique initial
+        analyzer = history.snapshot();
+        next = 0;
+    }
+    
+    @Benchmark
+    public UserHabitAnalyzer addUserActivity() {
+        analyzer.addUserActivity(incoming.get(next));
+        next = (next + 1) & (4096 - 1);
+        return analyzer;
+    }
+    
+    @Benchmark
+    public int predictTaskDurationKnownTitle() {
+        return history.predictTaskDuration("Activité 0", BenchmarkData.CATEGORIES[0]);
+    }
+    
+    @Benchmark
+    public int predictTaskDurationByCategory() {
+        // Titre jamais vu : la prédiction retombe sur la moyenne de la catégorie
+        return history.predictTaskDuration("Tâche inconnue", BenchmarkData.CATEGORIES[1]);
+    }
+}
@@ -0,0 +1,387 @@
+package com.shermine237.tempora.ai.backend;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Solveur par séparation et évaluation (branch-and-bound) pour le planning d'une journée
+ * Le solveur explore les ordres de placement des tâches et, pour chaque tâche, deux débuts
+ * possibles dans le temps encore libre : au plus tôt, et au plus tôt à partir de l'heure la plus
+ * productive (quand elle est connue et que la tâche a une difficulté). Une tâche difficile peut
+ * ainsi attendre son heure productive en laissant la place plus tôt à d'autres tâches.
+ * Le coût d'un planning (à minimiser) est :
+ * - le retard de chaque tâche sur son échéance, en minutes, pondéré par sa priorité
+ * - l'écart entre le début de chaque tâche et l'heure la plus productive, pondéré par sa difficulté
+ * - une forte pénalité pour chaque tâche qui ne trouve aucune place (ou qui serait tronquée)
+ * La recherche est amorcée avec le planning glouton, qui n'est remplacé que par un planning
+ * strictement meilleur, et s'arrête à l'épuisement du budget de temps.
+ */
+public class BranchAndBoundScheduler {
+    
+    private static final String TYPE_TASK = "task";
+    
+    // Pénalité (par point de priorité) d'une tâche non planifiée : une journée entière de retard
+    private static final long UNSCHEDULED_PENALTY = 24L * 60;
+    
+    // Nombre de nœuds explorés entre deux lectures de l'horloge
+    private static final int CLOCK_CHECK_INTERVAL = 256;
+    
+    private final long timeBudgetNanos;
+    
+    /**
+     * Constructeur
+     * @param timeBudgetMillis Budget de temps de la recherche (millisecondes)
+     */
+    public BranchAndBoundScheduler(long timeBudgetMillis) {
+        this.timeBudgetNanos = timeBudgetMillis * 1000000L;
+    }
+    
+    /**
+     * Cherche un meilleur placement des tâches que celui du planning glouton
+     * Les éléments qui ne sont pas des tâches (repas, pauses) sont conservés tels quels.
+     * @param greedySchedule Planning glouton servant de point de départ
+     * @param tasks Tâches à planifier, dans l'ordre de priorité
+     * @param durations Durée prévue de chaque tâche (minutes)
+     * @param blocked Minutes indisponibles pour les tâches (hors heures de travail, événements, repas, pauses)
+     * @param dayStartMillis Minuit du jour planifié
+     * @param productiveHour Heure la plus productive, ou -1 pour l'ignorer
+     * @return Meilleur planning trouvé dans le budget (le planning glouton s'il n'a pas été amélioré)
+     */
+    public Schedule improve(Schedule greedySchedule, List<Task> tasks, int[] durations, DayTimeline blocked,
+                            long dayStartMillis, int productiveHour) {
+        if (tasks.isEmpty() || timeBudgetNanos <= 0) {
+            return greedySchedule;
+        }
+        
+        Search search = new Search(tasks, durations, dayStartMillis, productiveHour);
+        search.bestCost = search.evaluate(greedySchedule.getItems());
+        search.run(blocked, System.nanoTime() + timeBudgetNanos);
+        
+        if (search.bestStarts == null) {
+            return greedySchedule;
+        }
+        
+        // Reconstruire le planning : éléments fixes du planning glouton, puis tâches replacées
+        Schedule schedule = new Schedule();
+        schedule.setId(greedySchedule.getId());
+        schedule.setDate(greedySchedule.getDate());
+        schedule.setApproved(greedySchedule.isApproved());
+        
+        List<ScheduleItem> items = new ArrayList<>();
+        for (ScheduleItem item : greedySchedule.getItems()) {
+            if (!TYPE_TASK.equals(item.getType())) {
+                items.add(item);
+            }
+        }
+        for (int i = 0; i < tasks.size(); i++) {
+            int start = search.bestStarts[i];
+            if (start < 0) {
+                continue;
+            }
+            
+            Task task = tasks.get(i);
+            ScheduleItem item = new ScheduleItem();
+            item.setTitle(task.getTitle());
+            item.setDescription(task.getDescription());
+            item.setType(TYPE_TASK);
+            item.setTaskId(task.getId());
+            item.setStartMinute(start);
+            item.setEndMinute(start + durations[i]);
+            item.setDurationMinutes(durations[i]);
+            items.add(item);
+        }
+        schedule.setItems(items);
+        
+        return schedule;
+    }
+    
+    /**
+     * État d'une recherche (une instance par appel, le solveur reste utilisable en parallèle)
+     */
+    private static class Search {
+        
+        private final List<Task> tasks;
+        private final int taskCount;
+        private final int[] durations;
+        private final long[] dueMinutes;
+        private final int[] weights;
+        private final int[] difficulties;
+        private final int productiveHour;
+        
+        // Tâche équivalente précédente (mêmes durée, échéance, priorité et difficulté), ou -1
+        private final int[] equivalentTo;
+        
+        // Ordre d'exploration des branches : échéance la plus proche d'abord, puis priorité
+        private final int[] branchOrder;
+        
+        // Tampons de la borne de capacité
+        private final int[] dropCandidates;
+        private final long[] dropCosts;
+        
+        // Pile de recherche : minutes occupées et placements au plus tôt par profondeur
+        private DayTimeline[] timelines;
+        private int[][] earliestStarts;
+        private final int[] starts;
+        
+        private long bestCost;
+        private int[] bestStarts;
+        
+        private long deadline;
+        private long nodes;
+        private boolean timedOut;
+        
+        Search(List<Task> tasks, int[] durations, long dayStartMillis, int productiveHour) {
+            this.tasks = tasks;
+            this.taskCount = tasks.size();
+            this.durations = durations;
+            this.dueMinutes = new long[taskCount];
+            this.weights = new int[taskCount];
+            this.difficulties = new int[taskCount];
+            this.productiveHour = productiveHour;
+            this.equivalentTo = new int[taskCount];
+            this.starts = new int[taskCount];
+            this.dropCandidates = new int[taskCount];
+            this.dropCosts = new long[taskCount];
+            
+            for (int i = 0; i < taskCount; i++) {
+                Task task = tasks.get(i);
+                dueMinutes[i] = task.getDueDate() != null
+                        ? Math.floorDiv(task.getDueDate().getTime() - dayStartMillis, 60000L)
+                        : Long.MAX_VALUE;
+                weights[i] = Math.max(task.getPriority(), 1);
+                difficulties[i] = Math.max(task.getDifficulty(), 0);
+                starts[i] = -1;
+                
+                equivalentTo[i] = -1;
+                for (int j = i - 1; j >= 0; j--) {
+                    if (durations[j] == durations[i] && dueMinutes[j] == dueMinutes[i]
+                            && weights[j] == weights[i] && difficulties[j] == difficulties[i]) {
+                        equivalentTo[i] = j;
+                        break;
+                    }
+                }
+            }
+            
+            Integer[] order = new Integer[taskCount];
+            for (int i = 0; i < taskCount; i++) {
+                order[i] = i;
+            }
+            Arrays.sort(order, new Comparator<Integer>() {
+                @Override
+                public int compare(Integer a, Integer b) {
+                    if (dueMinutes[a] != dueMinutes[b]) {
+                        return Long.compare(dueMinutes[a], dueMinutes[b]);
+                    }
+                    if (weights[a] != weights[b]) {
+                        return Integer.compare(weights[b], weights[a]);
+                    }
+                    return Integer.compare(a, b);
+                }
+            });
+            branchOrder = new int[taskCount];
+            for (int i = 0; i < taskCount; i++) {
+                branchOrder[i] = order[i];
+            }
+        }
+        
+        /**
+         * Évalue le coût des tâches d'un planning existant
+         * @param items Éléments du planning
+         * @return Coût du planning
+         */
+        long evaluate(List<ScheduleItem> items) {
+            boolean[] matched = new boolean[taskCount];
+            long cost = 0;
+            for (ScheduleItem item : items) {
+                if (!TYPE_TASK.equals(item.getType())) {
+                    continue;
+                }
+                for (int i = 0; i < taskCount; i++) {
+                    Task task = tasks.get(i);
+                    if (!matched[i] && task.getId() == item.getTaskId()
+                            && (task.getTitle() == null ? item.getTitle() == null : task.getTitle().equals(item.getTitle()))) {
+                        // Une tâche tronquée n'est pas réalisée : elle reste pénalisée comme non planifiée
+                        matched[i] = item.getDurationMinutes() >= durations[i];
+                        if (matched[i]) {
+                            int start = item.getStartMinute();
+                            cost += lateness(i, item.getEndMinute()) + fit(i, start);
+                        }
+                        break;
+                    }
+                }
+            }
+            for (int i = 0; i < taskCount; i++) {
+                if (!matched[i]) {
+                    cost += weights[i] * UNSCHEDULED_PENALTY;
+                }
+            }
+            return cost;
+        }
+        
+        /**
+         * Lance la recherche en profondeur jusqu'à la preuve d'optimalité ou l'échéance
+         * @param blocked Minutes indisponibles pour les tâches
+         * @param deadline Échéance (System.nanoTime)
+         */
+        void run(DayTimeline blocked, long deadline) {
+            this.deadline = deadline;
+            timelines = new DayTimeline[taskCount + 1];
+            earliestStarts = new int[taskCount + 1][taskCount];
+            for (int depth = 0; depth <= taskCount; depth++) {
+                timelines[depth] = new DayTimeline();
+            }
+            timelines[0].copyFrom(blocked);
+            search(0, 0);
+        }
+        
+        private void search(int depth, long cost) {
+            if (++nodes % CLOCK_CHECK_INTERVAL == 0 && System.nanoTime() > deadline) {
+                timedOut = true;
+                return;
+            }
+            
+            // Borne inférieure : chaque tâche restante finira au plus tôt à sa position au plus tôt
+            // actuelle (le temps libre ne fait que diminuer, et aucun placement ne la devance),
+            // et l'écart à l'heure productive est >= 0
+            DayTimeline timeline = timelines[depth];
+            int[] earliest = earliestStarts[depth];
+            long bound = cost;
+            int candidates = 0;
+            long remainingMinutes = 0;
+            for (int i = 0; i < taskCount; i++) {
+                if (starts[i] >= 0) {
+                    continue;
+                }
+                earliest[i] = timeline.findFirstClearRun(0, durations[i]);
+                if (earliest[i] < 0) {
+                    bound += weights[i] * UNSCHEDULED_PENALTY; // Ne trouvera plus jamais de place
+                } else {
+                    long late = lateness(i, earliest[i] + durations[i]);
+                    bound += late;
+                    dropCandidates[candidates] = i;
+                    dropCosts[candidates++] = weights[i] * UNSCHEDULED_PENALTY - late;
+                    remainingMinutes += durations[i];
+                }
+            }
+            
+            // Feuille : plus aucune tâche ne peut être placée, la borne est le coût exact
+            if (candidates == 0) {
+                if (bound < bestCost) {
+                    bestCost = bound;
+                    bestStarts = starts.clone();
+                }
+                return;
+            }
+            
+            // Si le temps libre ne suffit pas, des tâches couvrant au moins l'excédent seront abandonnées
+            long excessMinutes = remainingMinutes - (DayTimeline.MINUTES_PER_DAY - timeline.count());
+            if (excessMinutes > 0) {
+                bound += minimumDropCost(candidates, excessMinutes);
+            }
+            
+            if (bound >= bestCost) {
+                return;
+            }
+            
+            for (int i : branchOrder) {
+                if (starts[i] >= 0 || earliest[i] < 0) {
+                    continue;
+                }
+                // Les tâches équivalentes sont placées dans leur ordre d'origine (symétrie)
+                if (equivalentTo[i] >= 0 && starts[equivalentTo[i]] < 0) {
+                    continue;
+                }
+                
+                // Placement au plus tôt, puis au plus tôt à partir de l'heure productive
+                branch(depth, cost, i, earliest[i]);
+                if (timedOut) {
+                    return;
+                }
+                int productiveStart = productiveStart(timeline, i);
+                if (productiveStart > earliest[i]) {
+                    branch(depth, cost, i, productiveStart);
+                    if (timedOut) {
+                        return;
+                    }
+                }
+            }
+        }
+        
+        /**
+         * Place une tâche et poursuit la recherche au niveau suivant
+         * @param depth Profondeur actuelle
+         * @param cost Coût des tâches déjà placées
+         * @param task Tâche à placer
+         * @param start Début du placement (le créneau doit être libre)
+         */
+        private void branch(int depth, long cost, int task, int start) {
+            DayTimeline next = timelines[depth + 1];
+            next.copyFrom(timelines[depth]);
+            next.set(start, start + durations[task]);
+            
+            starts[task] = start;
+            search(depth + 1, cost + lateness(task, start + durations[task]) + fit(task, start));
+            starts[task] = -1;
+        }
+        
+        /**
+         * Retourne le premier début libre d'une tâche à partir de l'heure la plus productive
+         * @param timeline Minutes occupées
+         * @param task Tâche
+         * @return Début, ou -1 si l'heure productive est ignorée ou si la tâche n'y trouve pas de place
+         */
+        private int productiveStart(DayTimeline timeline, int task) {
+            if (productiveHour < 0 || difficulties[task] == 0) {
+                return -1;
+            }
+            return timeline.findFirstClearRun(productiveHour * 60, durations[task]);
+        }
+        
+        /**
+         * Minore le surcoût des tâches à abandonner pour libérer un excédent de minutes
+         * (relaxation continue : les tâches au plus faible surcoût par minute sont abandonnées en premier)
+         * @param candidates Nombre de tâches encore plaçables (dans dropCandidates / dropCosts)
+         * @param excessMinutes Minutes à libérer
+         * @return Surcoût minimal
+         */
+        private long minimumDropCost(int candidates, long excessMinutes) {
+            // Tri par insertion sur le surcoût par minute (peu de tâches par journée)
+            for (int i = 1; i < candidates; i++) {
+                int task = dropCandidates[i];
+                long dropCost = dropCosts[i];
+                int j = i - 1;
+                while (j >= 0 && dropCosts[j] * durations[task] > dropCost * durations[dropCandidates[j]]) {
+                    dropCandidates[j + 1] = dropCandidates[j];
+                    dropCosts[j + 1] = dropCosts[j];
+                    j--;
+                }
+                dropCandidates[j + 1] = task;
+                dropCosts[j + 1] = dropCost;
+            }
+            
+            long total = 0;
+            for (int i = 0; i < candidates && excessMinutes > 0; i++) {
+                int duration = durations[dropCandidates[i]];
+                long dropCost = Math.max(dropCosts[i], 0);
+                if (duration <= excessMinutes) {
+                    total += dropCost;
+                    excessMinutes -= duration;
+                } else {
+                    total += dropCost * excessMinutes / duration; // Fraction arrondie par défaut
+                    excessMinutes = 0;
+                }
+            }
+            return total;
+        }
+        
+        private long lateness(int task, int endMinute) {
+            return endMinute > dueMinutes[task] ? weights[task] * (endMinute - dueMinutes[task]) : 0;
+        }
+        
+        private long fit(int task, int startMinute) {
+            return productiveHour >= 0 ? (long) difficulties[task] * Math.abs(startMinute / 60 - productiveHour) : 0;
+        }
+    }
+}
@@ -0,0 +1,113 @@
+package com.shermine237.tempora.ai.backend;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Tampon binaire extensible pour l'écriture et la lecture des points de reprise
+ * Les valeurs sont écrites en petit-boutiste ; les chaînes sont précédées de leur
+ * longueur en octets (UTF-8), -1 représentant null.
+ */
+final class CheckpointBuffer {
+    
+    private ByteBuffer buffer;
+    
+    /**
+     * Crée un tampon vide pour l'écriture
+     * @param initialCapacity Capacité initiale en octets
+     */
+    CheckpointBuffer(int initialCapacity) {
+        this.buffer = ByteBuffer.allocate(initialCapacity).order(ByteOrder.LITTLE_ENDIAN);
+    }
+    
+    /**
+     * Enveloppe un contenu existant pour la lecture
+     * @param content Contenu positionné sur la première valeur à lire
+     */
+    CheckpointBuffer(ByteBuffer content) {
+        this.buffer = content.order(ByteOrder.LITTLE_ENDIAN);
+    }
+    
+    /**
+     * Retourne le contenu écrit, prêt à être lu ou enregistré
+     * @return Vue sur les octets écrits
+     */
+    ByteBuffer toByteBuffer() {
+        ByteBuffer content = buffer.duplicate();
+        content.flip();
+        return content;
+    }
+    
+    void putInt(int value) {
+        ensureCapacity(4);
+        buffer.putInt(value);
+    }
+    
+    void putLong(long value) {
+        ensureCapacity(8);
+        buffer.putLong(value);
+    }
+    
+    void putFloat(float value) {
+        ensureCapacity(4);
+        buffer.putFloat(value);
+    }
+    
+    void putDouble(double value) {
+        ensureCapacity(8);
+        buffer.putDouble(value);
+    }
+    
+    void putString(String value) {
+        if (value == null) {
+            putInt(-1);
+            return;
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        putInt(bytes.length);
+        ensureCapacity(bytes.length);
+        buffer.put(bytes);
+    }
+    
+    int getInt() {
+        return buffer.getInt();
+    }
+    
+    long getLong() {
+        return buffer.getLong();
+    }
+    
+    float getFloat() {
+        return buffer.getFloat();
+    }
+    
+    double getDouble() {
+        return buffer.getDouble();
+    }
+    
+    String getString() {
+        int length = buffer.getInt();
+        if (length < 0) {
+            return null;
+        }
+        byte[] bytes = new byte[length];
+        buffer.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+    
+    /**
+     * Agrandit le tampon (en doublant sa taille) si nécessaire
+     * @param bytes Nombre d'octets à écrire
+     */
+    private void ensureCapacity(int bytes) {
+        if (buffer.remaining() >= bytes) {
+            return;
+        }
+        int capacity = Math.max(buffer.capacity() * 2, buffer.position() + bytes);
+        ByteBuffer larger = ByteBuffer.allocate(capacity).order(ByteOrder.LITTLE_ENDIAN);
+        buffer.flip();
+        larger.put(buffer);
+        buffer = larger;
+    }
+}
@@ -0,0 +1,93 @@
+package com.shermine237.tempora.ai.backend;
+
+import java.util.Date;
+
+/**
+ * Conversion entre les minutes d'une journée (heure locale) et des instants
+ * Le minuit local du jour et son décalage horaire sont calculés une seule fois ;
+ * chaque conversion n'est ensuite que de l'arithmétique, sans Calendar ni chaîne.
+ * Une minute peut sortir de [0, 1440) : elle désigne alors la veille ou le lendemain,
+ * ce qui permet de représenter les éléments qui passent minuit.
+ * Les changements d'heure sont pris en compte : la minute 600 vaut toujours 10h00 à l'horloge.
+ */
+public class DayClock {
+    
+    private static final long MINUTE_MILLIS = 60000L;
+    
+    private final TimeBuckets timeBuckets;
+    private final long midnightMillis;
+    private final int midnightOffset;
+    private final long localMidnightMillis;
+    
+    /**
+     * Constructeur pour le fuseau horaire par défaut
+     * @param day Jour (l'heure est ignorée)
+     */
+    public DayClock(Date day) {
+        this(day, TimeBuckets.getDefault());
+    }
+    
+    /**
+     * Constructeur
+     * @param day Jour (l'heure est ignorée)
+     * @param timeBuckets Découpage du fuseau horaire
+     */
+    public DayClock(Date day, TimeBuckets timeBuckets) {
+        this.timeBuckets = timeBuckets;
+        this.midnightMillis = timeBuckets.startOfDay(day.getTime());
+        this.midnightOffset = timeBuckets.getOffset(midnightMillis);
+        this.localMidnightMillis = midnightMillis + midnightOffset;
+    }
+    
+    /**
+     * Retourne l'instant de minuit du jour
+     * @return Millisecondes depuis l'époque
+     */
+    public long getMidnightMillis() {
+        return midnightMillis;
+    }
+    
+    /**
+     * Convertit une minute de la journée en instant
+     * @param minuteOfDay Minutes depuis minuit (heure locale)
+     * @return Millisecondes depuis l'époque
+     */
+    public long toMillis(int minuteOfDay) {
+        long localMillis = localMidnightMillis + minuteOfDay * MINUTE_MILLIS;
+        
+        // Estimation avec le décalage de minuit, corrigée si l'heure a changé depuis
+        long estimate = localMillis - midnightOffset;
+        long millis = localMillis - timeBuckets.getOffset(estimate);
+        
+        // Une heure sautée par le passage à l'heure d'été est décalée d'autant, comme avec Calendar
+        return timeBuckets.toLocalMillis(millis) == localMillis ? millis : estimate;
+    }
+    
+    /**
+     * Convertit une minute de la journée en date
+     * @param minuteOfDay Minutes depuis minuit (heure locale)
+     * @return Date correspondante
+     */
+    public Date toDate(int minuteOfDay) {
+        return new Date(toMillis(minuteOfDay));
+    }
+    
+    /**
+     * Convertit un instant en minute de la journée
+     * @param millis Millisecondes depuis l'époque
+     * @return Minutes depuis minuit (négatif la veille, 1440 ou plus le lendemain)
+     */
+    public int toMinuteOfDay(long millis) {
+        long localMillis = millis + timeBuckets.getOffset(millis);
+        return (int) Math.floorDiv(localMillis - localMidnightMillis, MINUTE_MILLIS);
+    }
+    
+    /**
+     * Convertit une date en minute de la journée
+     * @param date Date
+     * @return Minutes depuis minuit (négatif la veille, 1440 ou plus le lendemain)
+     */
+    public int toMinuteOfDay(Date date) {
+        return toMinuteOfDay(date.getTime());
+    }
+}
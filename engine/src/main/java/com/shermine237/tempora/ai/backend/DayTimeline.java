@@ -0,0 +1,327 @@
+package com.shermine237.tempora.ai.backend;
+
+import java.util.Arrays;
+
+/**
+ * Ligne de temps d'une journée à la minute près
+ * Les 1440 minutes de la journée sont stockées dans un tableau de 23 mots de 64 bits.
+ * Un bit à 1 signifie que la minute est occupée (ou couverte, pour un masque d'heures de travail).
+ * Toutes les opérations travaillent mot par mot et n'allouent aucun objet.
+ */
+public class DayTimeline {
+    
+    public static final int MINUTES_PER_DAY = 24 * 60;
+    private static final int WORDS = (MINUTES_PER_DAY + 63) >>> 6;
+    
+    private final long[] words;
+    
+    /**
+     * Constructeur d'une journée entièrement libre
+     */
+    public DayTimeline() {
+        words = new long[WORDS];
+    }
+    
+    /**
+     * Constructeur par copie
+     * @param other Ligne de temps à copier
+     */
+    public DayTimeline(DayTimeline other) {
+        words = Arrays.copyOf(other.words, WORDS);
+    }
+    
+    /**
+     * Remplace le contenu par celui d'une autre ligne de temps (sans allocation)
+     * @param other Ligne de temps à copier
+     */
+    public void copyFrom(DayTimeline other) {
+        System.arraycopy(other.words, 0, words, 0, WORDS);
+    }
+
+    /**
+     * Marque un intervalle comme occupé
+     * @param start Début (minutes depuis minuit, inclus)
+     * @param end Fin (minutes depuis minuit, exclue)
+     */
+    public void set(int start, int end) {
+        start = clamp(start);
+        end = clamp(end);
+        if (end <= start) {
+            return;
+        }
+        
+        int firstWord = start >>> 6;
+        int lastWord = (end - 1) >>> 6;
+        long firstMask = -1L << start;
+        long lastMask = -1L >>> -end;
+        
+        if (firstWord == lastWord) {
+            words[firstWord] |= firstMask & lastMask;
+            return;
+        }
+        
+        words[firstWord] |= firstMask;
+        for (int i = firstWord + 1; i < lastWord; i++) {
+            words[i] = -1L;
+        }
+        words[lastWord] |= lastMask;
+    }
+    
+    /**
+     * Marque un intervalle comme libre
+     * @param start Début (minutes depuis minuit, inclus)
+     * @param end Fin (minutes depuis minuit, exclue)
+     */
+    public void clear(int start, int end) {
+        start = clamp(start);
+        end = clamp(end);
+        if (end <= start) {
+            return;
+        }
+        
+        int firstWord = start >>> 6;
+        int lastWord = (end - 1) >>> 6;
+        long firstMask = -1L << start;
+        long lastMask = -1L >>> -end;
+        
+        if (firstWord == lastWord) {
+            words[firstWord] &= ~(firstMask & lastMask);
+            return;
+        }
+        
+        words[firstWord] &= ~firstMask;
+        for (int i = firstWord + 1; i < lastWord; i++) {
+            words[i] = 0L;
+        }
+        words[lastWord] &= ~lastMask;
+    }
+    
+    /**
+     * Vérifie si une minute est occupée
+     * @param minute Minute depuis minuit
+     * @return true si la minute est occupée
+     */
+    public boolean get(int minute) {
+        return minute >= 0 && minute < MINUTES_PER_DAY && (words[minute >>> 6] & (1L << minute)) != 0;
+    }
+    
+    /**
+     * Vérifie qu'aucune minute d'un intervalle n'est occupée
+     * @param start Début (inclus)
+     * @param end Fin (exclue)
+     * @return true si l'intervalle est entièrement libre
+     */
+    public boolean isClear(int start, int end) {
+        if (start < 0 || end > MINUTES_PER_DAY || end <= start) {
+            return false;
+        }
+        int next = nextSetMinute(start);
+        return next < 0 || next >= end;
+    }
+    
+    /**
+     * Vérifie que toutes les minutes d'un intervalle sont occupées
+     * @param start Début (inclus)
+     * @param end Fin (exclue)
+     * @return true si l'intervalle est entièrement couvert
+     */
+    public boolean isSet(int start, int end) {
+        if (start < 0 || end > MINUTES_PER_DAY || end <= start) {
+            return false;
+        }
+        int next = nextClearMinute(start);
+        return next < 0 || next >= end;
+    }
+    
+    /**
+     * Compte les minutes occupées dans un intervalle
+     * @param start Début (inclus)
+     * @param end Fin (exclue)
+     * @return Nombre de minutes occupées
+     */
+    public int count(int start, int end) {
+        start = clamp(start);
+        end = clamp(end);
+        if (end <= start) {
+            return 0;
+        }
+        
+        int firstWord = start >>> 6;
+        int lastWord = (end - 1) >>> 6;
+        long firstMask = -1L << start;
+        long lastMask = -1L >>> -end;
+        
+        if (firstWord == lastWord) {
+            return Long.bitCount(words[firstWord] & firstMask & lastMask);
+        }
+        
+        int total = Long.bitCount(words[firstWord] & firstMask);
+        for (int i = firstWord + 1; i < lastWord; i++) {
+            total += Long.bitCount(words[i]);
+        }
+        return total + Long.bitCount(words[lastWord] & lastMask);
+    }
+    
+    /**
+     * Compte toutes les minutes occupées de la journée
+     * @return Nombre de minutes occupées
+     */
+    public int count() {
+        int total = 0;
+        for (long word : words) {
+            total += Long.bitCount(word);
+        }
+        return total;
+    }
+    
+    /**
+     * Retourne la première minute occupée à partir d'une minute donnée
+     * @param from Minute de départ
+     * @return Minute occupée, ou -1 s'il n'y en a pas
+     */
+    public int nextSetMinute(int from) {
+        if (from < 0) {
+            from = 0;
+        }
+        if (from >= MINUTES_PER_DAY) {
+            return -1;
+        }
+        
+        int wordIndex = from >>> 6;
+        long word = words[wordIndex] & (-1L << from);
+        while (true) {
+            if (word != 0) {
+                int minute = (wordIndex << 6) + Long.numberOfTrailingZeros(word);
+                return minute < MINUTES_PER_DAY ? minute : -1;
+            }
+            if (++wordIndex == WORDS) {
+                return -1;
+            }
+            word = words[wordIndex];
+        }
+    }
+    
+    /**
+     * Retourne la première minute libre à partir d'une minute donnée
+     * @param from Minute de départ
+     * @return Minute libre, ou -1 s'il n'y en a pas
+     */
+    public int nextClearMinute(int from) {
+        if (from < 0) {
+            from = 0;
+        }
+        if (from >= MINUTES_PER_DAY) {
+            return -1;
+        }
+        
+        int wordIndex = from >>> 6;
+        long word = ~words[wordIndex] & (-1L << from);
+        while (true) {
+            if (word != 0) {
+                int minute = (wordIndex << 6) + Long.numberOfTrailingZeros(word);
+                return minute < MINUTES_PER_DAY ? minute : -1;
+            }
+            if (++wordIndex == WORDS) {
+                return -1;
+            }
+            word = ~words[wordIndex];
+        }
+    }
+    
+    /**
+     * Recherche le premier intervalle libre d'une durée donnée à partir d'une minute
+     * @param from Minute de départ
+     * @param durationMinutes Durée souhaitée
+     * @return Minute de début de l'intervalle, ou -1 si aucun ne convient
+     */
+    public int findFirstClearRun(int from, int durationMinutes) {
+        int start = nextClearMinute(from);
+        while (start >= 0) {
+            int end = nextSetMinute(start);
+            if (end < 0) {
+                end = MINUTES_PER_DAY;
+            }
+            if (end - start >= durationMinutes) {
+                return start;
+            }
+            start = nextClearMinute(end);
+        }
+        return -1;
+    }
+    
+    /**
+     * Ajoute les minutes occupées d'une autre ligne de temps (union)
+     * @param other Autre ligne de temps
+     */
+    public void or(DayTimeline other) {
+        for (int i = 0; i < WORDS; i++) {
+            words[i] |= other.words[i];
+        }
+    }
+    
+    /**
+     * Ne conserve que les minutes occupées dans les deux lignes de temps (intersection)
+     * @param other Autre ligne de temps
+     */
+    public void and(DayTimeline other) {
+        for (int i = 0; i < WORDS; i++) {
+            words[i] &= other.words[i];
+        }
+    }
+    
+    /**
+     * Retire les minutes occupées d'une autre ligne de temps (différence)
+     * @param other Autre ligne de temps
+     */
+    public void andNot(DayTimeline other) {
+        for (int i = 0; i < WORDS; i++) {
+            words[i] &= ~other.words[i];
+        }
+    }
+    
+    /**
+     * Vérifie si deux lignes de temps ont au moins une minute occupée en commun
+     * @param other Autre ligne de temps
+     * @return true en cas de conflit
+     */
+    public boolean intersects(DayTimeline other) {
+        for (int i = 0; i < WORDS; i++) {
+            if ((words[i] & other.words[i]) != 0) {
+                return true;
+            }
+        }
+        return false;
+    }
+    
+    /**
+     * Libère toute la journée
+     */
+    public void clearAll() {
+        Arrays.fill(words, 0L);
+    }
+    
+    /**
+     * Construit l'index des créneaux libres à partir des minutes occupées
+     * @param start Début de la plage à indexer (inclus)
+     * @param end Fin de la plage à indexer (exclue)
+     * @return Index des intervalles libres de la plage
+     */
+    public FreeSlotIndex toFreeSlotIndex(int start, int end) {
+        FreeSlotIndex index = new FreeSlotIndex();
+        end = clamp(end);
+        int runStart = nextClearMinute(start);
+        while (runStart >= 0 && runStart < end) {
+            int runEnd = nextSetMinute(runStart);
+            if (runEnd < 0 || runEnd > end) {
+                runEnd = end;
+            }
+            index.release(runStart, runEnd);
+            runStart = nextClearMinute(runEnd);
+        }
+        return index;
+    }
+    
+    private static int clamp(int minute) {
+        return minute < 0 ? 0 : Math.min(minute, MINUTES_PER_DAY);
+    }
+}
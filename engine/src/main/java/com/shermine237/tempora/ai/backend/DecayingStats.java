@@ -0,0 +1,158 @@
+package com.shermine237.tempora.ai.backend;
+
+import java.util.Arrays;
+
+/**
+ * Moyennes à décroissance exponentielle sur un nombre fixe d'intervalles
+ * Chaque intervalle conserve une somme pondérée, un poids total et l'instant de sa
+ * dernière mise à jour, dans des tableaux primitifs. À chaque ajout, l'ancien contenu
+ * est atténué selon le temps écoulé : une observation vieille d'une demi-vie pèse
+ * deux fois moins qu'une observation récente. La mémoire utilisée ne dépend que du
+ * nombre d'intervalles, jamais de la longueur de l'historique. Les intervalles indexés
+ * par identifiant de tâche ou de catégorie sont ajoutés au besoin avec ensureSize.
+ */
+final class DecayingStats {
+    
+    private static final long EMPTY = Long.MIN_VALUE;
+    
+    // Poids d'un score nul ajouté à chaque intervalle pour le classement :
+    // un intervalle sans observation récente s'efface au profit des habitudes actuelles
+    private static final double PRIOR_WEIGHT = 1.0;
+    
+    private double[] sums;
+    private double[] weights;
+    private long[] lastMillis;
+    
+    /**
+     * Constructeur
+     * @param size Nombre d'intervalles
+     */
+    DecayingStats(int size) {
+        sums = new double[size];
+        weights = new double[size];
+        lastMillis = new long[size];
+        Arrays.fill(lastMillis, EMPTY);
+    }
+    
+    /**
+     * Calcule le taux de décroissance correspondant à une demi-vie
+     * @param halfLifeMillis Demi-vie en millisecondes (0 ou moins : pas de décroissance)
+     * @return Taux par milliseconde
+     */
+    static double decayRate(long halfLifeMillis) {
+        return halfLifeMillis > 0 ? Math.log(2) / halfLifeMillis : 0.0;
+    }
+    
+    int size() {
+        return sums.length;
+    }
+    
+    /**
+     * Agrandit le nombre d'intervalles (les nouveaux sont vides)
+     * @param size Nombre minimal d'intervalles
+     */
+    void ensureSize(int size) {
+        if (size <= sums.length) {
+            return;
+        }
+        int previous = sums.length;
+        sums = Arrays.copyOf(sums, size);
+        weights = Arrays.copyOf(weights, size);
+        lastMillis = Arrays.copyOf(lastMillis, size);
+        Arrays.fill(lastMillis, previous, size, EMPTY);
+    }
+    
+    /**
+     * Ajoute une observation
+     * Une observation plus ancienne que la dernière mise à jour est elle-même atténuée,
+     * ce qui rend le résultat indépendant de l'ordre d'arrivée.
+     * @param bucket Intervalle concerné
+     * @param value Valeur observée
+     * @param millis Instant de l'observation
+     * @param decayRate Taux de décroissance par milliseconde
+     */
+    void add(int bucket, double value, long millis, double decayRate) {
+        long last = lastMillis[bucket];
+        if (last == EMPTY) {
+            sums[bucket] = value;
+            weights[bucket] = 1.0;
+            lastMillis[bucket] = millis;
+        } else if (millis >= last) {
+            double factor = Math.exp(-decayRate * (millis - last));
+            sums[bucket] = sums[bucket] * factor + value;
+            weights[bucket] = weights[bucket] * factor + 1.0;
+            lastMillis[bucket] = millis;
+        } else {
+            double factor = Math.exp(-decayRate * (last - millis));
+            sums[bucket] += value * factor;
+            weights[bucket] += factor;
+        }
+    }
+    
+    /**
+     * Retourne la moyenne pondérée d'un intervalle
+     * @param bucket Intervalle
+     * @return Moyenne, ou 0 si l'intervalle est vide
+     */
+    double mean(int bucket) {
+        return weights[bucket] > 0 ? sums[bucket] / weights[bucket] : 0.0;
+    }
+    
+    boolean isEmpty(int bucket) {
+        return lastMillis[bucket] == EMPTY;
+    }
+    
+    /**
+     * Retourne l'intervalle de meilleur score à un instant donné (le premier en cas d'égalité)
+     * Le score est la moyenne, atténuée jusqu'à l'instant de référence et tirée vers 0 par
+     * un poids a priori : une moyenne ancienne ou fondée sur peu d'observations compte moins.
+     * @param nowMillis Instant de référence
+     * @param decayRate Taux de décroissance par milliseconde
+     * @return Indice de l'intervalle (0 si aucune donnée)
+     */
+    int argmax(long nowMillis, double decayRate) {
+        int best = 0;
+        double bestScore = -1;
+        
+        for (int i = 0; i < sums.length; i++) {
+            double score = 0.0;
+            if (lastMillis[i] != EMPTY) {
+                double factor = Math.exp(-decayRate * Math.max(nowMillis - lastMillis[i], 0L));
+                score = sums[i] * factor / (weights[i] * factor + PRIOR_WEIGHT);
+            }
+            if (score > bestScore) {
+                bestScore = score;
+                best = i;
+            }
+        }
+        
+        return best;
+    }
+    
+    DecayingStats copy() {
+        DecayingStats copy = new DecayingStats(sums.length);
+        System.arraycopy(sums, 0, copy.sums, 0, sums.length);
+        System.arraycopy(weights, 0, copy.weights, 0, weights.length);
+        System.arraycopy(lastMillis, 0, copy.lastMillis, 0, lastMillis.length);
+        return copy;
+    }
+    
+    void write(CheckpointBuffer out) {
+        out.putInt(sums.length);
+        for (int i = 0; i < sums.length; i++) {
+            out.putDouble(sums[i]);
+            out.putDouble(weights[i]);
+            out.putLong(lastMillis[i]);
+        }
+    }
+    
+    static DecayingStats read(CheckpointBuffer in) {
+        DecayingStats stats = new DecayingStats(in.getInt());
+        for (int i = 0; i < stats.sums.length; i++) {
+            stats.sums[i] = in.getDouble();
+            stats.weights[i] = in.getDouble();
+            stats.lastMillis[i] = in.getLong();
+        }
+        return stats;
+    }
+}
@@ -0,0 +1,221 @@
+package com.shermine237.tempora.ai.backend;
+
+import java.util.Arrays;
+
+/**
+ * Estimateur en flux de la distribution des durées d'une tâche
+ * Combine une moyenne et une variance de Welford pondérées et une esquisse de quantiles
+ * à intervalles logarithmiques (erreur relative d'environ 2 %). L'esquisse compte au plus
+ * MAX_BUCKETS intervalles : l'empreinte mémoire est bornée quelle que soit la longueur de
+ * l'historique, et deux esquisses se fusionnent en additionnant leurs intervalles.
+ * La pondération est une décroissance « vers l'avant » : chaque observation reçoit le poids
+ * exp(taux * (t - repère)), ce qui atténue les anciennes durées sans jamais reparcourir les
+ * intervalles ; le repère est déplacé avant que les poids ne deviennent trop grands.
+ */
+final class DurationEstimator {
+    
+    // Précision relative de l'esquisse et raison géométrique des intervalles
+    private static final double RELATIVE_ACCURACY = 0.02;
+    private static final double GAMMA = (1 + RELATIVE_ACCURACY) / (1 - RELATIVE_ACCURACY);
+    private static final double LOG_GAMMA = Math.log(GAMMA);
+    
+    // Intervalle 0 : durées inférieures à une minute ; le dernier couvre environ 18 jours
+    static final int MAX_BUCKETS = 256;
+    
+    // Exposant au-delà duquel les poids sont ramenés à un nouveau repère
+    private static final double MAX_EXPONENT = 300.0;
+    
+    private long count;
+    private double weight;
+    private double mean;
+    private double squaredDeviations;
+    private double[] buckets = new double[0];
+    private long landmarkMillis = Long.MIN_VALUE;
+    
+    /**
+     * Ajoute une durée observée
+     * @param minutes Durée en minutes
+     * @param millis Instant de l'observation
+     * @param decayRate Taux de décroissance par milliseconde (0 : toutes les durées pèsent autant)
+     */
+    void add(double minutes, long millis, double decayRate) {
+        if (landmarkMillis == Long.MIN_VALUE) {
+            landmarkMillis = millis;
+        }
+        
+        double exponent = decayRate * (millis - landmarkMillis);
+        if (exponent > MAX_EXPONENT) {
+            moveLandmark(millis, decayRate);
+            exponent = 0.0;
+        }
+        double w = Math.exp(exponent);
+        
+        // Welford pondéré
+        count++;
+        weight += w;
+        double delta = minutes - mean;
+        mean += delta * w / weight;
+        squaredDeviations += w * delta * (minutes - mean);
+        
+        int bucket = bucketOf(minutes);
+        if (bucket >= buckets.length) {
+            buckets = Arrays.copyOf(buckets, Math.min(MAX_BUCKETS, Math.max(bucket + 1, buckets.length * 2)));
+        }
+        buckets[bucket] += w;
+    }
+    
+    /**
+     * Fusionne un autre estimateur dans celui-ci
+     * @param other Estimateur à fusionner (non modifié)
+     * @param decayRate Taux de décroissance des deux estimateurs
+     */
+    void merge(DurationEstimator other, double decayRate) {
+        if (other.count == 0) {
+            return;
+        }
+        if (count == 0) {
+            copyFrom(other);
+            return;
+        }
+        
+        // Exprimer les poids de l'autre estimateur par rapport au repère le plus récent
+        if (other.landmarkMillis > landmarkMillis) {
+            moveLandmark(other.landmarkMillis, decayRate);
+        }
+        double scale = Math.exp(decayRate * (other.landmarkMillis - landmarkMillis));
+        double otherWeight = other.weight * scale;
+        
+        // Combinaison des moyennes et variances (Chan et al.)
+        double total = weight + otherWeight;
+        double delta = other.mean - mean;
+        squaredDeviations += other.squaredDeviations * scale + delta * delta * weight * otherWeight / total;
+        mean += delta * otherWeight / total;
+        weight = total;
+        count += other.count;
+        
+        if (other.buckets.length > buckets.length) {
+            buckets = Arrays.copyOf(buckets, other.buckets.length);
+        }
+        for (int i = 0; i < other.buckets.length; i++) {
+            buckets[i] += other.buckets[i] * scale;
+        }
+    }
+    
+    long getCount() {
+        return count;
+    }
+    
+    double getMean() {
+        return mean;
+    }
+    
+    double getVariance() {
+        return weight > 0 ? squaredDeviations / weight : 0.0;
+    }
+    
+    double getStandardDeviation() {
+        return Math.sqrt(getVariance());
+    }
+    
+    /**
+     * Retourne un quantile de la distribution des durées
+     * @param quantile Rang entre 0 et 1 (0.5 pour la médiane, 0.8 pour P80...)
+     * @return Durée en minutes, ou 0 si aucune donnée
+     */
+    double getQuantile(double quantile) {
+        if (count == 0) {
+            return 0.0;
+        }
+        
+        double rank = Math.max(0.0, Math.min(1.0, quantile)) * weight;
+        double cumulated = 0.0;
+        for (int i = 0; i < buckets.length; i++) {
+            cumulated += buckets[i];
+            if (cumulated >= rank && buckets[i] > 0) {
+                return valueOf(i);
+            }
+        }
+        return valueOf(buckets.length - 1);
+    }
+    
+    DurationEstimator copy() {
+        DurationEstimator copy = new DurationEstimator();
+        copy.copyFrom(this);
+        return copy;
+    }
+    
+    void write(CheckpointBuffer out) {
+        out.putLong(count);
+        out.putDouble(weight);
+        out.putDouble(mean);
+        out.putDouble(squaredDeviations);
+        out.putLong(landmarkMillis);
+        out.putInt(buckets.length);
+        for (double bucket : buckets) {
+            out.putDouble(bucket);
+        }
+    }
+    
+    static DurationEstimator read(CheckpointBuffer in) {
+        DurationEstimator estimator = new DurationEstimator();
+        estimator.count = in.getLong();
+        estimator.weight = in.getDouble();
+        estimator.mean = in.getDouble();
+        estimator.squaredDeviations = in.getDouble();
+        estimator.landmarkMillis = in.getLong();
+        estimator.buckets = new double[in.getInt()];
+        for (int i = 0; i < estimator.buckets.length; i++) {
+            estimator.buckets[i] = in.getDouble();
+        }
+        return estimator;
+    }
+    
+    private void copyFrom(DurationEstimator other) {
+        count = other.count;
+        weight = other.weight;
+        mean = other.mean;
+        squaredDeviations = other.squaredDeviations;
+        landmarkMillis = other.landmarkMillis;
+        buckets = other.buckets.clone();
+    }
+    
+    /**
+     * Ramène tous les poids à un nouveau repère (ils sont multipliés par un même facteur)
+     * @param millis Nouveau repère
+     * @param decayRate Taux de décroissance par milliseconde
+     */
+    private void moveLandmark(long millis, double decayRate) {
+        double scale = Math.exp(-decayRate * (millis - landmarkMillis));
+        weight *= scale;
+        squaredDeviations *= scale;
+        for (int i = 0; i < buckets.length; i++) {
+            buckets[i] *= scale;
+        }
+        landmarkMillis = millis;
+    }
+    
+    /**
+     * Retourne l'intervalle d'une durée : [GAMMA^(i-1), GAMMA^i) pour i >= 1
+     * @param minutes Durée en minutes
+     * @return Indice de l'intervalle
+     */
+    private static int bucketOf(double minutes) {
+        if (minutes < 1.0) {
+            return 0;
+        }
+        int index = (int) Math.floor(Math.log(minutes) / LOG_GAMMA) + 1;
+        return Math.min(index, MAX_BUCKETS - 1);
+    }
+    
+    /**
+     * Retourne la valeur représentative d'un intervalle (erreur relative bornée par RELATIVE_ACCURACY)
+     * @param bucket Indice de l'intervalle
+     * @return Durée en minutes
+     */
+    private static double valueOf(int bucket) {
+        if (bucket == 0) {
+            return 0.0;
+        }
+        return 2 * Math.pow(GAMMA, bucket - 1) * GAMMA / (GAMMA + 1);
+    }
+}
@@ -0,0 +1,133 @@
+package com.shermine237.tempora.ai.backend;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.util.zip.CRC32;
+
+/**
+ * Point de reprise binaire de l'état d'apprentissage d'un moteur
+ * Le fichier contient le dictionnaire des titres et catégories, les agrégats des analyseurs
+ * (histogrammes, statistiques par tâche, modèles identifiés) et un filigrane : l'identifiant de la dernière activité prise en
+ * compte. Au démarrage, seules les activités plus récentes sont rejouées.
+ * Format : en-tête (signature, version, filigrane, taille et CRC32 du contenu) puis contenu.
+ * L'écriture passe par un fichier temporaire renommé, si bien qu'un arrêt brutal laisse
+ * toujours l'ancien point de reprise intact.
+ */
+public final class EngineCheckpoint {
+    
+    private static final String TAG = "EngineCheckpoint";
+    
+    // Signature "TMPC" et version du format
+    private static final int MAGIC = 0x43504D54;
+    static final int VERSION = 10;
+    
+    private static final int HEADER_SIZE = 4 + 4 + 8 + 4 + 4;
+    
+    /**
+     * Valeur retournée lorsqu'aucun point de reprise utilisable n'existe
+     */
+    public static final long NO_CHECKPOINT = -1L;
+    
+    private EngineCheckpoint() {
+    }
+    
+    /**
+     * Enregistre l'état d'apprentissage d'un moteur
+     * @param engine Moteur à enregistrer
+     * @param watermark Identifiant de la dernière activité prise en compte
+     * @param file Fichier de destination
+     * @throws IOException En cas d'erreur d'écriture
+     */
+    public static void save(SchedulingEngine engine, long watermark, File file) throws IOException {
+        CheckpointBuffer payload = new CheckpointBuffer(64 * 1024);
+        engine.writeState(payload);
+        ByteBuffer content = payload.toByteBuffer();
+        int length = content.remaining();
+        
+        CRC32 crc = new CRC32();
+        crc.update(content.duplicate());
+        
+        ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+        header.putInt(MAGIC);
+        header.putInt(VERSION);
+        header.putLong(watermark);
+        header.putInt(length);
+        header.putInt((int) crc.getValue());
+        header.flip();
+        
+        File temporary = new File(file.getPath() + ".tmp");
+        try (FileOutputStream output = new FileOutputStream(temporary);
+             FileChannel channel = output.getChannel()) {
+            while (header.hasRemaining() || content.hasRemaining()) {
+                channel.write(new ByteBuffer[] {header, content});
+            }
+            channel.force(true);
+        }
+        
+        if (!temporary.renameTo(file)) {
+            temporary.delete();
+            throw new IOException("Impossible de remplacer le point de reprise " + file);
+        }
+        
+        EngineLog.d(TAG, "Point de reprise enregistré (" + (HEADER_SIZE + length)
+                + " octets, filigrane " + watermark + ")");
+    }
+    
+    /**
+     * Restaure l'état d'apprentissage d'un moteur neuf
+     * Un fichier absent, corrompu ou d'une autre version est ignoré : le moteur reste
+     * alors intact et tout l'historique doit être rejoué.
+     * @param engine Moteur à restaurer (sans activité enregistrée)
+     * @param file Fichier du point de reprise
+     * @return Filigrane du point de reprise, ou NO_CHECKPOINT
+     * @throws IOException En cas d'erreur de lecture
+     */
+    public static long restore(SchedulingEngine engine, File file) throws IOException {
+        if (!file.isFile() || file.length() < HEADER_SIZE) {
+            return NO_CHECKPOINT;
+        }
+        
+        ByteBuffer mapped;
+        try (FileInputStream input = new FileInputStream(file);
+             FileChannel channel = input.getChannel()) {
+            mapped = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        }
+        mapped.order(ByteOrder.LITTLE_ENDIAN);
+        
+        if (mapped.getInt() != MAGIC) {
+            EngineLog.w(TAG, "Point de reprise ignoré : signature inconnue");
+            return NO_CHECKPOINT;
+        }
+        int version = mapped.getInt();
+        if (version != VERSION) {
+            EngineLog.i(TAG, "Point de reprise ignoré : version " + version + " au lieu de " + VERSION);
+            return NO_CHECKPOINT;
+        }
+        long watermark = mapped.getLong();
+        int length = mapped.getInt();
+        int expectedCrc = mapped.getInt();
+        if (length != mapped.remaining()) {
+            EngineLog.w(TAG, "Point de reprise ignoré : taille incohérente");
+            return NO_CHECKPOINT;
+        }
+        
+        ByteBuffer content = mapped.slice();
+        CRC32 crc = new CRC32();
+        crc.update(content.duplicate());
+        if ((int) crc.getValue() != expectedCrc) {
+            EngineLog.w(TAG, "Point de reprise ignoré : contenu corrompu");
+            return NO_CHECKPOINT;
+        }
+        
+        CheckpointBuffer payload = new CheckpointBuffer(content);
+        engine.readState(payload);
+        
+        EngineLog.d(TAG, "Point de reprise restauré (filigrane " + watermark + ")");
+        return watermark;
+    }
+}
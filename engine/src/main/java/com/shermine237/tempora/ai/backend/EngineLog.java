@@ -0,0 +1,130 @@
+package com.shermine237.tempora.ai.backend;
+
+import java.io.PrintStream;
+
+/**
+ * Journalisation des composants du moteur d'IA
+ * Les appels ont la même forme que ceux de android.util.Log et sont transmis
+ * à l'implémentation de EngineLogger installée. Par défaut, les messages à partir
+ * du niveau INFO sont écrits sur la sortie d'erreur.
+ */
+public final class EngineLog {
+    
+    /**
+     * Implémentation qui n'écrit rien
+     */
+    public static final EngineLogger SILENT = new EngineLogger() {
+        @Override
+        public void log(int level, String tag, String message, Throwable error) {
+        }
+        
+        @Override
+        public boolean isLoggable(int level) {
+            return false;
+        }
+    };
+    
+    private static volatile EngineLogger logger = new StreamLogger(System.err, EngineLogger.INFO);
+    
+    private EngineLog() {
+    }
+    
+    /**
+     * Installe l'implémentation de journalisation
+     * @param engineLogger Implémentation à utiliser (null pour ne plus rien écrire)
+     */
+    public static void setLogger(EngineLogger engineLogger) {
+        logger = engineLogger != null ? engineLogger : SILENT;
+    }
+    
+    /**
+     * Retourne l'implémentation de journalisation installée
+     * @return Implémentation courante
+     */
+    public static EngineLogger getLogger() {
+        return logger;
+    }
+    
+    public static boolean isLoggable(int level) {
+        return logger.isLoggable(level);
+    }
+    
+    public static void d(String tag, String message) {
+        log(EngineLogger.DEBUG, tag, message, null);
+    }
+    
+    public static void i(String tag, String message) {
+        log(EngineLogger.INFO, tag, message, null);
+    }
+    
+    public static void w(String tag, String message) {
+        log(EngineLogger.WARN, tag, message, null);
+    }
+    
+    public static void w(String tag, String message, Throwable error) {
+        log(EngineLogger.WARN, tag, message, error);
+    }
+    
+    public static void e(String tag, String message) {
+        log(EngineLogger.ERROR, tag, message, null);
+    }
+    
+    public static void e(String tag, String message, Throwable error) {
+        log(EngineLogger.ERROR, tag, message, error);
+    }
+    
+    private static void log(int level, String tag, String message, Throwable error) {
+        EngineLogger current = logger;
+        if (current.isLoggable(level)) {
+            current.log(level, tag, message, error);
+        }
+    }
+    
+    /**
+     * Implémentation qui écrit les messages dans un flux, à partir d'un niveau minimal
+     */
+    public static class StreamLogger implements EngineLogger {
+        
+        private final PrintStream stream;
+        private final int minLevel;
+        
+        /**
+         * Constructeur
+         * @param stream Flux de sortie
+         * @param minLevel Niveau minimal écrit
+         */
+        public StreamLogger(PrintStream stream, int minLevel) {
+            this.stream = stream;
+            this.minLevel = minLevel;
+        }
+        
+        @Override
+        public boolean isLoggable(int level) {
+            return level >= minLevel;
+        }
+        
+        @Override
+        public void log(int level, String tag, String message, Throwable error) {
+            // Une seule écriture par message pour ne pas mélanger les lignes des différents threads
+            synchronized (stream) {
+                stream.println(levelName(level) + "/" + tag + ": " + message);
+                if (error != null) {
+                    error.printStackTrace(stream);
+                }
+            }
+        }
+        
+        private static String levelName(int level) {
+            switch (level) {
+                case DEBUG:
+                    return "D";
+                case INFO:
+                    return "I";
+                case WARN:
+                    return "W";
+                default:
+                    return "E";
+            }
+        }
+    }
+}
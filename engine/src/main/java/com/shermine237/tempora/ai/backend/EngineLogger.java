@@ -0,0 +1,31 @@
+package com.shermine237.tempora.ai.backend;
+
+/**
+ * Point d'extension pour la journalisation du moteur d'IA
+ * Le moteur ne dépend d'aucune bibliothèque de journalisation : l'application Android
+ * branche Logcat, un serveur peut brancher sa propre implémentation.
+ * Les implémentations doivent pouvoir être appelées depuis plusieurs threads.
+ */
+public interface EngineLogger {
+    
+    int DEBUG = 3;
+    int INFO = 4;
+    int WARN = 5;
+    int ERROR = 6;
+    
+    /**
+     * Écrit un message
+     * @param level Niveau (DEBUG, INFO, WARN ou ERROR)
+     * @param tag Étiquette du composant émetteur
+     * @param message Message
+     * @param error Exception associée, ou null
+     */
+    void log(int level, String tag, String message, Throwable error);
+    
+    /**
+     * Vérifie si un niveau est écrit, pour éviter de construire des messages inutiles
+     * @param level Niveau
+     * @return true si les messages de ce niveau sont écrits
+     */
+    boolean isLoggable(int level);
+}
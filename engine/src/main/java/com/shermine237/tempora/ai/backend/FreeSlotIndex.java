@@ -0,0 +1,267 @@
+package com.shermine237.tempora.ai.backend;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+/**
+ * Index des créneaux libres d'une journée
+ * Les créneaux sont des intervalles [début, fin) exprimés en minutes depuis minuit,
+ * triés, disjoints et fusionnés. Trois vues sont maintenues :
+ * - par heure de début, pour retrouver le créneau qui contient une minute
+ * - par longueur, pour les recherches "au plus juste" (best-fit)
+ * - un arbre de segments sur les minutes de début, qui garde la longueur maximale des
+ *   créneaux de chaque sous-arbre : la recherche "au plus tôt" (earliest-fit) y descend en
+ *   O(log n) sans parcourir les créneaux trop courts
+ */
+public class FreeSlotIndex {
+    
+    // Feuilles de l'arbre de segments : une par minute de la journée (puissance de deux)
+    private static final int LEAVES = Integer.highestOneBit(DayTimeline.MINUTES_PER_DAY - 1) << 1;
+    
+    // Créneaux libres indexés par minute de début (valeur = minute de fin exclusive)
+    private final TreeMap<Integer, Integer> slotsByStart;
+    
+    // Créneaux libres triés par longueur puis par début : (longueur << 32) | début
+    private final TreeSet<Long> slotsBySize;
+    
+    // Arbre de segments : longueur du créneau commençant à chaque minute (feuilles LEAVES
+    // à 2 * LEAVES - 1), maximum des deux enfants pour chaque nœud interne (racine en 1)
+    private final int[] longestSlot;
+    
+    // Nombre total de minutes libres
+    private int freeMinutes;
+    
+    /**
+     * Constructeur d'un index vide
+     */
+    public FreeSlotIndex() {
+        slotsByStart = new TreeMap<>();
+        slotsBySize = new TreeSet<>();
+        longestSlot = new int[2 * LEAVES];
+        freeMinutes = 0;
+    }
+    
+    /**
+     * Crée un index couvrant une plage de travail entièrement libre
+     * @param startMinute Début de la plage (minutes depuis minuit)
+     * @param endMinute Fin de la plage (minutes depuis minuit, exclusive)
+     * @return Index initialisé
+     */
+    public static FreeSlotIndex forRange(int startMinute, int endMinute) {
+        FreeSlotIndex index = new FreeSlotIndex();
+        index.release(startMinute, endMinute);
+        return index;
+    }
+    
+    /**
+     * Libère un intervalle et le fusionne avec les créneaux adjacents ou chevauchants
+     * @param start Début (inclus, ramené à la journée)
+     * @param end Fin (exclue, ramenée à la journée)
+     */
+    public void release(int start, int end) {
+        start = Math.max(start, 0);
+        end = Math.min(end, DayTimeline.MINUTES_PER_DAY);
+        if (end <= start) {
+            return;
+        }
+        
+        // Absorber le créneau qui commence avant et touche l'intervalle
+        Map.Entry<Integer, Integer> lower = slotsByStart.floorEntry(start);
+        if (lower != null && lower.getValue() >= start) {
+            start = lower.getKey();
+            end = Math.max(end, lower.getValue());
+            removeSlot(lower.getKey(), lower.getValue());
+        }
+        
+        // Absorber les créneaux qui commencent dans l'intervalle
+        Map.Entry<Integer, Integer> next = slotsByStart.ceilingEntry(start);
+        while (next != null && next.getKey() <= end) {
+            end = Math.max(end, next.getValue());
+            removeSlot(next.getKey(), next.getValue());
+            next = slotsByStart.ceilingEntry(start);
+        }
+        
+        addSlot(start, end);
+    }
+    
+    /**
+     * Réserve un intervalle (le retire des créneaux libres)
+     * @param start Début (inclus)
+     * @param end Fin (exclue)
+     */
+    public void reserve(int start, int end) {
+        if (end <= start) {
+            return;
+        }
+        
+        Map.Entry<Integer, Integer> entry = slotsByStart.lowerEntry(end);
+        while (entry != null && entry.getValue() > start) {
+            int slotStart = entry.getKey();
+            int slotEnd = entry.getValue();
+            removeSlot(slotStart, slotEnd);
+            
+            // Conserver les morceaux qui dépassent de part et d'autre
+            if (slotStart < start) {
+                addSlot(slotStart, start);
+            }
+            if (slotEnd > end) {
+                addSlot(end, slotEnd);
+            }
+            
+            entry = slotsByStart.lowerEntry(Math.min(slotStart, end));
+        }
+    }
+    
+    /**
+     * Vérifie qu'un intervalle est entièrement libre
+     * @param start Début (inclus)
+     * @param end Fin (exclue)
+     * @return true si l'intervalle est contenu dans un seul créneau libre
+     */
+    public boolean isFree(int start, int end) {
+        if (end <= start) {
+            return false;
+        }
+        Map.Entry<Integer, Integer> slot = slotsByStart.floorEntry(start);
+        return slot != null && slot.getValue() >= end;
+    }
+    
+    /**
+     * Recherche le premier créneau pouvant contenir une durée donnée
+     * @param notBefore Minute à partir de laquelle chercher
+     * @param durationMinutes Durée souhaitée
+     * @return Minute de début du placement, ou -1 si aucun créneau ne convient
+     */
+    public int findEarliestFit(int notBefore, int durationMinutes) {
+        // Le créneau contenant notBefore peut convenir à partir de notBefore
+        Map.Entry<Integer, Integer> slot = slotsByStart.floorEntry(notBefore);
+        if (slot != null && slot.getValue() - notBefore >= durationMinutes) {
+            return notBefore;
+        }
+        
+        // Sinon, premier créneau suivant assez long, par descente dans l'arbre de segments
+        return findFirstSlot(1, 0, LEAVES, Math.max(notBefore + 1, 0), Math.max(durationMinutes, 1));
+    }
+    
+    /**
+     * Recherche dans un sous-arbre le premier créneau assez long commençant à partir d'une minute
+     * Seuls les sous-arbres qui chevauchent la borne et contiennent un créneau assez long
+     * sont explorés : O(log n) nœuds visités.
+     * @param node Nœud de l'arbre de segments
+     * @param low Première minute couverte par le nœud
+     * @param high Minute suivant la dernière couverte par le nœud
+     * @param from Première minute de début acceptée
+     * @param length Longueur minimale du créneau
+     * @return Minute de début du créneau, ou -1 s'il n'y en a pas
+     */
+    private int findFirstSlot(int node, int low, int high, int from, int length) {
+        if (high <= from || longestSlot[node] < length) {
+            return -1;
+        }
+        if (high - low == 1) {
+            return low;
+        }
+        int middle = (low + high) >>> 1;
+        int found = findFirstSlot(2 * node, low, middle, from, length);
+        return found >= 0 ? found : findFirstSlot(2 * node + 1, middle, high, from, length);
+    }
+    
+    /**
+     * Recherche le plus petit créneau pouvant contenir une durée donnée
+     * (le plus tôt en cas d'égalité)
+     * @param durationMinutes Durée souhaitée
+     * @return Minute de début du créneau, ou -1 si aucun créneau ne convient
+     */
+    public int findBestFit(int durationMinutes) {
+        Long key = slotsBySize.ceiling(((long) durationMinutes) << 32);
+        return key != null ? (int) (key & 0xFFFFFFFFL) : -1;
+    }
+    
+    /**
+     * Retourne le début du plus long créneau libre (le plus tardif en cas d'égalité)
+     * @return Minute de début du créneau, ou -1 si aucun créneau n'est libre
+     */
+    public int findLargestSlot() {
+        return slotsBySize.isEmpty() ? -1 : (int) (slotsBySize.last() & 0xFFFFFFFFL);
+    }
+    
+    /**
+     * Retourne la première minute libre à partir d'une minute donnée
+     * @param fromMinute Minute de référence
+     * @return Première minute libre, ou -1 s'il n'y en a plus
+     */
+    public int nextFreeMinute(int fromMinute) {
+        Map.Entry<Integer, Integer> slot = slotsByStart.floorEntry(fromMinute);
+        if (slot != null && slot.getValue() > fromMinute) {
+            return fromMinute;
+        }
+        Integer next = slotsByStart.higherKey(fromMinute);
+        return next != null ? next : -1;
+    }
+    
+    /**
+     * Retourne la fin du créneau libre contenant une minute donnée
+     * @param minute Minute libre
+     * @return Fin (exclue) du créneau, ou -1 si la minute n'est pas libre
+     */
+    public int slotEndAt(int minute) {
+        Map.Entry<Integer, Integer> slot = slotsByStart.floorEntry(minute);
+        return slot != null && slot.getValue() > minute ? slot.getValue() : -1;
+    }
+    
+    /**
+     * Retourne le nombre total de minutes libres
+     * @return Minutes libres
+     */
+    public int getFreeMinutes() {
+        return freeMinutes;
+    }
+    
+    /**
+     * Retourne le nombre de créneaux libres
+     * @return Nombre de créneaux
+     */
+    public int getSlotCount() {
+        return slotsByStart.size();
+    }
+    
+    /**
+     * Vérifie s'il reste du temps libre
+     * @return true si aucun créneau n'est libre
+     */
+    public boolean isEmpty() {
+        return slotsByStart.isEmpty();
+    }
+    
+    private void addSlot(int start, int end) {
+        slotsByStart.put(start, end);
+        slotsBySize.add(sizeKey(start, end));
+        setLongestSlot(start, end - start);
+        freeMinutes += end - start;
+    }
+    
+    private void removeSlot(int start, int end) {
+        slotsByStart.remove(start);
+        slotsBySize.remove(sizeKey(start, end));
+        setLongestSlot(start, 0);
+        freeMinutes -= end - start;
+    }
+    
+    /**
+     * Met à jour la longueur du créneau commençant à une minute, puis les maxima de ses ancêtres
+     * @param start Minute de début
+     * @param length Longueur du créneau (0 s'il n'y en a plus)
+     */
+    private void setLongestSlot(int start, int length) {
+        int node = LEAVES + start;
+        longestSlot[node] = length;
+        for (node >>>= 1; node > 0; node >>>= 1) {
+            longestSlot[node] = Math.max(longestSlot[2 * node], longestSlot[2 * node + 1]);
+        }
+    }
+    
+    private static long sizeKey(int start, int end) {
+        return (((long) (end - start)) << 32) | (start & 0xFFFFFFFFL);
+    }
+}
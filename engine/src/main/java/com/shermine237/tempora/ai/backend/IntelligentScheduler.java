@@ -0,0 +1,780 @@
+package com.shermine237.tempora.ai.backend;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Planificateur intelligent basé sur l'IA
+ * Cette classe est responsable de la génération de plannings optimisés
+ * en tenant compte des habitudes de l'utilisateur, des priorités et des contraintes
+ */
+public class IntelligentScheduler {
+    
+    private UserHabitAnalyzer habitAnalyzer;
+    private UserPreferences userPreferences;
+    private TaskPatternRecognizer patternRecognizer;
+    private final TimeBuckets timeBuckets = TimeBuckets.getDefault();
+    
+    // Constantes pour les types d'éléments de planning
+    private static final String TYPE_TASK = "task";
+    private static final String TYPE_BREAK = "break";
+    private static final String TYPE_MEAL = "meal";
+    
+    // Horaires des repas (minutes depuis minuit)
+    private static final int BREAKFAST_START = 8 * 60;
+    private static final int LUNCH_START = 12 * 60 + 30;
+    private static final int DINNER_START = 19 * 60;
+    
+    // Délai habituel maximal pour enchaîner une tâche juste après celle qui la précède
+    private static final int CHAIN_MAX_DELAY_MINUTES = 60;
+    
+    // Budget de temps du solveur par séparation et évaluation (0 = planification gloutonne seule)
+    private long solverTimeBudgetMillis;
+    
+    // Quantile des durées observées réservé pour chaque tâche (P80 par défaut, 0 = estimation seule)
+    public static final double DEFAULT_DURATION_QUANTILE = 0.8;
+    private double durationQuantile = DEFAULT_DURATION_QUANTILE;
+    
+    // Marge maximale réservée au-delà de l'estimation (multiple de l'estimation)
+    private static final int MAX_DURATION_MARGIN_FACTOR = 2;
+    
+    /**
+     * Constructeur
+     * @param habitAnalyzer Analyseur d'habitudes utilisateur
+     * @param userPreferences Préférences utilisateur
+     */
+    public IntelligentScheduler(UserHabitAnalyzer habitAnalyzer, UserPreferences userPreferences) {
+        this.habitAnalyzer = habitAnalyzer;
+        this.userPreferences = userPreferences;
+    }
+    
+    /**
+     * Génère un planning optimisé pour une journée donnée
+     * @param date Date pour laquelle générer le planning
+     * @param tasks Liste des tâches à planifier
+     * @return Planning optimisé
+     */
+    public Schedule generateSchedule(Date date, List<Task> tasks) {
+        return generateSchedule(date, tasks, null);
+    }
+    
+    /**
+     * Génère un planning optimisé pour une journée donnée en évitant des plages déjà occupées
+     * @param date Date pour laquelle générer le planning
+     * @param tasks Liste des tâches à planifier
+     * @param busyTime Plages occupées (événements du calendrier), ou null
+     * @return Planning optimisé
+     */
+    public Schedule generateSchedule(Date date, List<Task> tasks, DayTimeline busyTime) {
+        // Créer un nouveau planning
+        Schedule schedule = new Schedule();
+        schedule.setDate(date);
+        schedule.setItems(new ArrayList<>());
+        
+        // Vérifier s'il y a des tâches à planifier
+        if (tasks == null || tasks.isEmpty()) {
+            return schedule;
+        }
+        
+        // Trier les tâches par priorité (décroissante)
+        Collections.sort(tasks, new Comparator<Task>() {
+            @Override
+            public int compare(Task t1, Task t2) {
+                return Integer.compare(t2.getPriority(), t1.getPriority());
+            }
+        });
+        
+        // Obtenir les heures de travail de l'utilisateur
+        int dayOfWeek = timeBuckets.dayOfWeek(date.getTime()) - 1; // 0=Dimanche, 1=Lundi, etc.
+        long dayStartMillis = timeBuckets.startOfDay(date.getTime());
+        
+        int startMinute = userPreferences.getWorkStartHour(dayOfWeek) * 60;
+        int endMinute = userPreferences.getWorkEndHour(dayOfWeek) * 60;
+        
+        // Ajuster en fonction du jour le plus productif
+        int mostProductiveDay = habitAnalyzer.getMostProductiveDay();
+        int mostProductiveHour = habitAnalyzer.getMostProductiveHour();
+        
+        // Si c'est le jour le plus productif, placer les tâches importantes pendant l'heure la plus productive
+        boolean isProductiveDay = (dayOfWeek == mostProductiveDay);
+        
+        // Masques de la journée : heures de travail, et minutes occupées (événements, repas)
+        DayTimeline workHours = new DayTimeline();
+        workHours.set(startMinute, endMinute);
+        DayTimeline occupied = busyTime != null ? new DayTimeline(busyTime) : new DayTimeline();
+        addMeals(schedule, occupied, startMinute, endMinute);
+        
+        // Construire l'index des créneaux libres : heures de travail moins les minutes occupées
+        DayTimeline blocked = new DayTimeline();
+        blocked.set(0, DayTimeline.MINUTES_PER_DAY);
+        blocked.andNot(workHours);
+        blocked.or(occupied);
+        FreeSlotIndex freeSlots = blocked.toFreeSlotIndex(0, DayTimeline.MINUTES_PER_DAY);
+        
+        // Planifier les tâches dans les créneaux libres
+        planTasks(schedule, tasks, freeSlots, occupied, dayStartMillis, isProductiveDay, mostProductiveHour);
+        
+        // Chercher un meilleur ordre des tâches dans le budget de temps, à partir du planning glouton
+        if (solverTimeBudgetMillis > 0) {
+            DayTimeline fixed = new DayTimeline(blocked);
+            fixed.or(buildOccupancyTimeline(schedule.getItems(), TYPE_BREAK, true));
+            List<Task> solverTasks = new ArrayList<>();
+            List<Integer> solverDurations = new ArrayList<>();
+            selectSolverTasks(schedule.getItems(), tasks, fixed, solverTasks, solverDurations);
+            int[] durations = new int[solverTasks.size()];
+            for (int i = 0; i < durations.length; i++) {
+                durations[i] = solverDurations.get(i);
+            }
+            schedule = new BranchAndBoundScheduler(solverTimeBudgetMillis)
+                    .improve(schedule, solverTasks, durations, fixed, dayStartMillis, mostProductiveHour);
+        }
+        
+        // Trier les éléments du planning par heure de début
+        sortByStartTime(schedule.getItems());
+        
+        return schedule;
+    }
+    
+    /**
+     * Sélectionne les tâches confiées au solveur : celles qui peuvent entrer dans la journée
+     * Les tâches du planning glouton sont toujours retenues (le solveur ne peut que les replacer) ;
+     * les autres le sont par priorité, si un créneau libre peut les contenir et tant que leur
+     * durée cumulée ne dépasse pas le temps libre. Le reste du backlog ne peut de toute façon pas
+     * être planifié ce jour-là et n'entre pas dans la recherche.
+     * @param items Éléments du planning glouton
+     * @param tasks Tâches à planifier (triées par priorité)
+     * @param fixed Minutes indisponibles pour les tâches
+     * @param solverTasks Tâches retenues (remplie)
+     * @param solverDurations Durée prévue de chaque tâche retenue (remplie)
+     */
+    private void selectSolverTasks(List<ScheduleItem> items, List<Task> tasks, DayTimeline fixed,
+                                   List<Task> solverTasks, List<Integer> solverDurations) {
+        // Nombre d'éléments du planning glouton par tâche (identifiant et titre)
+        Map<String, Integer> scheduled = new HashMap<>();
+        for (ScheduleItem item : items) {
+            if (TYPE_TASK.equals(item.getType())) {
+                String key = item.getTaskId() + "\n" + item.getTitle();
+                Integer count = scheduled.get(key);
+                scheduled.put(key, count != null ? count + 1 : 1);
+            }
+        }
+        
+        FreeSlotIndex freeSlots = fixed.toFreeSlotIndex(0, DayTimeline.MINUTES_PER_DAY);
+        int freeMinutes = freeSlots.getFreeMinutes();
+        boolean[] selected = new boolean[tasks.size()];
+        int[] durations = new int[tasks.size()];
+        for (int i = 0; i < tasks.size(); i++) {
+            Task task = tasks.get(i);
+            durations[i] = estimateDuration(task);
+            String key = task.getId() + "\n" + task.getTitle();
+            Integer count = scheduled.get(key);
+            if (count != null) {
+                selected[i] = true;
+                freeMinutes -= durations[i];
+                if (count > 1) {
+                    scheduled.put(key, count - 1);
+                } else {
+                    scheduled.remove(key);
+                }
+            }
+        }
+        for (int i = 0; i < tasks.size() && freeMinutes > 0; i++) {
+            if (!selected[i] && durations[i] <= freeMinutes && freeSlots.findBestFit(durations[i]) >= 0) {
+                selected[i] = true;
+                freeMinutes -= durations[i];
+            }
+        }
+        
+        for (int i = 0; i < tasks.size(); i++) {
+            if (selected[i]) {
+                solverTasks.add(tasks.get(i));
+                solverDurations.add(durations[i]);
+            }
+        }
+    }
+        
+    /**
+     * Ajoute les repas au planning et marque leurs minutes comme occupées
+     * @param schedule Planning à remplir, ou null pour seulement marquer les minutes
+     * @param occupied Minutes occupées de la journée
+     * @param startMinute Début de la journée de travail (minutes depuis minuit)
+     * @param endMinute Fin de la journée de travail (minutes depuis minuit)
+     */
+    private void addMeals(Schedule schedule, DayTimeline occupied, int startMinute, int endMinute) {
+        // Petit-déjeuner si la journée commence avant 8h
+        if (startMinute < BREAKFAST_START && userPreferences.includeBreakfast()) {
+            addFixedItem(schedule, occupied, "Petit-déjeuner", TYPE_MEAL, BREAKFAST_START, 30);
+        }
+        
+        // Déjeuner
+        if (userPreferences.includeLunch()) {
+            addFixedItem(schedule, occupied, "Déjeuner", TYPE_MEAL, LUNCH_START, 60);
+        }
+        
+        // Dîner si la journée se termine à 19h ou plus tard
+        if (userPreferences.includeDinner() && endMinute >= DINNER_START) {
+            addFixedItem(schedule, occupied, "Dîner", TYPE_MEAL, DINNER_START, 60);
+        }
+    }
+    
+    /**
+     * Ajoute un élément à horaire fixe (repas, événement) au planning
+     * @param schedule Planning à remplir, ou null pour seulement marquer les minutes
+     * @param occupied Minutes occupées de la journée
+     * @param title Titre de l'élément
+     * @param type Type de l'élément
+     * @param startMinute Début (minutes depuis minuit)
+     * @param durationMinutes Durée en minutes
+     */
+    private void addFixedItem(Schedule schedule, DayTimeline occupied, String title, String type,
+                              int startMinute, int durationMinutes) {
+        occupied.set(startMinute, startMinute + durationMinutes);
+        if (schedule == null) {
+            return;
+        }
+        
+        ScheduleItem item = new ScheduleItem();
+        item.setTitle(title);
+        item.setType(type);
+        item.setStartMinute(startMinute);
+        item.setEndMinute(startMinute + durationMinutes);
+        item.setDurationMinutes(durationMinutes);
+        
+        schedule.getItems().add(item);
+    }
+    
+    /**
+     * Planifie les tâches dans les créneaux libres de la journée
+     * Chaque tâche est placée au plus tôt dans un créneau assez long pour la contenir ;
+     * si aucun créneau ne convient, elle est tronquée dans le plus long créneau libre.
+     * @param schedule Planning à remplir
+     * @param tasks Liste des tâches à planifier (triée par priorité)
+     * @param freeSlots Index des créneaux libres
+     * @param occupied Minutes occupées de la journée
+     * @param dayStartMillis Minuit du jour planifié
+     * @param isProductiveDay Si c'est le jour le plus productif
+     * @param mostProductiveHour Heure la plus productive
+     */
+    private void planTasks(Schedule schedule, List<Task> tasks, FreeSlotIndex freeSlots, DayTimeline occupied,
+                          long dayStartMillis,
+                          boolean isProductiveDay, int mostProductiveHour) {
+        // File de sélection des tâches (ne modifie pas la liste originale)
+        int firstFreeMinute = freeSlots.nextFreeMinute(0);
+        TaskSelectionQueue remainingTasks = new TaskSelectionQueue(tasks,
+                dayStartMillis + Math.max(firstFreeMinute, 0) * 60000L);
+        
+        // Rang de chaque titre dans la file, pour enchaîner les tâches sans parcourir la liste
+        Map<String, Integer> taskRanksByTitle = new HashMap<>();
+        if (patternRecognizer != null) {
+            for (int i = tasks.size() - 1; i >= 0; i--) {
+                taskRanksByTitle.put(SymbolTable.normalize(tasks.get(i).getTitle()), i);
+            }
+        }
+        Task previousTask = null;
+        Task lastTask = null;
+        
+        // Planifier les tâches tant qu'il reste du temps libre et des tâches
+        while (!freeSlots.isEmpty() && !remainingTasks.isEmpty()) {
+            // Première minute libre de la journée (ne recule jamais)
+            int currentMinute = freeSlots.nextFreeMinute(0);
+            
+            // Trouver la meilleure tâche à planifier maintenant
+            int chainedTask = findChainedTask(taskRanksByTitle, previousTask, lastTask);
+            Task bestTask = selectBestTask(remainingTasks, dayStartMillis, currentMinute, isProductiveDay,
+                    mostProductiveHour, chainedTask);
+            previousTask = lastTask;
+            lastTask = bestTask;
+            
+            // Prédire la durée de la tâche
+            int durationMinutes = estimateDuration(bestTask);
+            
+            // Chercher le premier créneau assez long, sinon tronquer dans le plus long créneau
+            int taskStart = freeSlots.findEarliestFit(currentMinute, durationMinutes);
+            if (taskStart < 0) {
+                taskStart = freeSlots.findLargestSlot();
+                durationMinutes = freeSlots.slotEndAt(taskStart) - taskStart;
+            }
+            int taskEnd = taskStart + durationMinutes;
+            
+            // Créer un élément de planning pour cette tâche
+            ScheduleItem item = createTaskItem(bestTask, taskStart, durationMinutes);
+            
+            // Ajouter l'élément au planning et réserver le créneau
+            schedule.getItems().add(item);
+            freeSlots.reserve(taskStart, taskEnd);
+            occupied.set(taskStart, taskEnd);
+            
+            // Ajouter une pause de 15 minutes après la tâche si nécessaire
+            if (userPreferences.includeBreaks() && !remainingTasks.isEmpty()
+                    && schedule.getItems().size() % 3 == 0 && freeSlots.isFree(taskEnd, taskEnd + 15)
+                    && occupied.isClear(taskEnd, taskEnd + 15)) {
+                ScheduleItem breakItem = new ScheduleItem();
+                breakItem.setTitle("Pause");
+                breakItem.setType(TYPE_BREAK);
+                breakItem.setStartMinute(taskEnd);
+                breakItem.setEndMinute(taskEnd + 15);
+                breakItem.setDurationMinutes(15);
+                
+                schedule.getItems().add(breakItem);
+                freeSlots.reserve(taskEnd, taskEnd + 15);
+                occupied.set(taskEnd, taskEnd + 15);
+            }
+        }
+    }
+    
+    /**
+     * Crée l'élément de planning d'une tâche
+     * @param task Tâche
+     * @param startMinute Début (minutes depuis minuit)
+     * @param durationMinutes Durée en minutes
+     * @return Élément de planning
+     */
+    private ScheduleItem createTaskItem(Task task, int startMinute, int durationMinutes) {
+        ScheduleItem item = new ScheduleItem();
+        item.setTitle(task.getTitle());
+        item.setDescription(task.getDescription());
+        item.setType(TYPE_TASK);
+        item.setTaskId(task.getId());
+        item.setStartMinute(startMinute);
+        item.setEndMinute(startMinute + durationMinutes);
+        item.setDurationMinutes(durationMinutes);
+        return item;
+    }
+    
+    /**
+     * Répare un planning existant après une modification, sans le régénérer
+     * Seule la fin de journée concernée est replanifiée : les tâches déplaçables qui commencent
+     * après le point de modification sont replacées au plus tôt, dans leur ordre actuel.
+     * Les repas, les pauses, les tâches terminées ou placées manuellement, tous les éléments
+     * d'un planning approuvé et tout ce qui précède le point de modification restent en place.
+     * Une tâche terminée reste dans le planning ; une tâche qui ne peut pas être déplacée n'est
+     * agrandie que jusqu'à l'élément fixe ou l'événement suivant. Une tâche déplaçable qui ne
+     * tient plus dans la journée est retirée : elle figure parmi les éléments retournés mais
+     * plus dans le planning. Ajouter une tâche déjà présente ne change rien.
+     * @param schedule Planning à réparer (modifié en place)
+     * @param delta Modification à appliquer
+     * @param busyTime Plages occupées (événements du calendrier), ou null
+     * @param notBeforeMinute Aucun élément n'est déplacé avant cette minute (l'heure courante pour aujourd'hui)
+     * @return Éléments ajoutés, déplacés, modifiés ou retirés (liste vide si rien n'a changé)
+     */
+    public List<ScheduleItem> repairSchedule(Schedule schedule, ScheduleDelta delta, DayTimeline busyTime,
+                                             int notBeforeMinute) {
+        List<ScheduleItem> items = schedule.getItems();
+        List<ScheduleItem> changed = new ArrayList<>();
+        
+        // Retrouver l'élément concerné par la modification
+        ScheduleItem target = null;
+        for (ScheduleItem item : items) {
+            if (TYPE_TASK.equals(item.getType()) && item.getTaskId() == delta.getTaskId()) {
+                target = item;
+                break;
+            }
+        }
+        if (delta.getType() == ScheduleDelta.Type.TASK_ADDED) {
+            if (target != null) {
+                return changed; // Tâche déjà planifiée ce jour-là
+            }
+        } else if (target == null) {
+            return changed;
+        }
+        
+        // Appliquer la modification et déterminer le point à partir duquel replanifier
+        int repairFrom;
+        ScheduleItem addedItem = null;
+        switch (delta.getType()) {
+            case TASK_REMOVED:
+                items.remove(target);
+                changed.add(target);
+                repairFrom = target.getStartMinute();
+                break;
+            
+            case TASK_COMPLETED: {
+                target.setCompleted(true);
+                changed.add(target);
+                int start = target.getStartMinute();
+                int doneAt = delta.getMinuteOfDay();
+                if (doneAt < 0 || doneAt >= target.getEndMinute()) {
+                    return changed; // Le créneau a été entièrement utilisé
+                }
+                // La tâche reste affichée, réduite à ce qu'elle a réellement occupé ; terminée
+                // avant son créneau, elle n'en garde aucune minute et le créneau est libéré
+                int end = Math.max(doneAt, start);
+                target.setEndMinute(end);
+                target.setDurationMinutes(end - start);
+                repairFrom = end;
+                break;
+            }
+            
+            case TASK_RESIZED:
+                if (delta.getDurationMinutes() <= 0) {
+                    return changed;
+                }
+                repairFrom = target.getStartMinute();
+                break;
+            
+            case TASK_ADDED:
+            default: {
+                Task task = delta.getTask();
+                addedItem = createTaskItem(task, 0, estimateDuration(task));
+                repairFrom = 0;
+                break;
+            }
+        }
+        repairFrom = Math.max(repairFrom, notBeforeMinute);
+        
+        // Tâches à replacer : déplaçables et commençant au point de réparation ou après
+        List<ScheduleItem> movable = new ArrayList<>();
+        for (ScheduleItem item : items) {
+            if (isMovable(item, schedule.isApproved()) && item.getStartMinute() >= repairFrom) {
+                movable.add(item);
+            }
+        }
+        Collections.sort(movable, new Comparator<ScheduleItem>() {
+            @Override
+            public int compare(ScheduleItem i1, ScheduleItem i2) {
+                return Integer.compare(i1.getStartMinute(), i2.getStartMinute());
+            }
+        });
+        Set<ScheduleItem> movableItems = new HashSet<>(movable);
+        
+        // Une tâche redimensionnée qui ne peut pas être déplacée garde son début et s'arrête
+        // au plus tard à l'élément fixe ou à l'événement suivant
+        if (target != null && delta.getType() == ScheduleDelta.Type.TASK_RESIZED) {
+            int durationMinutes = delta.getDurationMinutes();
+            if (!movableItems.contains(target)) {
+                int start = target.getStartMinute();
+                DayTimeline fixed = busyTime != null ? new DayTimeline(busyTime) : new DayTimeline();
+                for (ScheduleItem item : items) {
+                    if (item != target && !movableItems.contains(item)) {
+                        fixed.set(item.getStartMinute(), item.getEndMinute());
+                    }
+                }
+                int next = fixed.nextSetMinute(start);
+                if (next >= 0) {
+                    durationMinutes = Math.min(durationMinutes, next - start);
+                }
+                if (durationMinutes <= 0) {
+                    return changed; // Le créneau est déjà pris : redimensionnement refusé
+                }
+                target.setEndMinute(start + durationMinutes);
+                changed.add(target);
+            }
+            target.setDurationMinutes(durationMinutes);
+        }
+        
+        // Minutes indisponibles : hors heures de travail, événements, avant le point de réparation,
+        // et tous les éléments qui restent en place
+        DayTimeline blocked = new DayTimeline();
+        blocked.set(0, DayTimeline.MINUTES_PER_DAY);
+        blocked.andNot(buildWorkHoursTimeline(schedule.getDate()));
+        if (busyTime != null) {
+            blocked.or(busyTime);
+        }
+        blocked.set(0, repairFrom);
+        for (ScheduleItem item : items) {
+            if (!movableItems.contains(item)) {
+                blocked.set(item.getStartMinute(), item.getEndMinute());
+            }
+        }
+        
+        // Une nouvelle tâche va d'abord dans le premier trou libre, sans rien déplacer
+        if (addedItem != null) {
+            DayTimeline occupied = new DayTimeline(blocked);
+            for (ScheduleItem item : movable) {
+                occupied.set(item.getStartMinute(), item.getEndMinute());
+            }
+            int start = occupied.findFirstClearRun(repairFrom, addedItem.getDurationMinutes());
+            if (start >= 0) {
+                addedItem.setStartMinute(start);
+                addedItem.setEndMinute(start + addedItem.getDurationMinutes());
+                items.add(addedItem);
+                changed.add(addedItem);
+                sortByStartTime(items);
+                return changed;
+            }
+            
+            // Sinon elle passe après les tâches déjà prévues et la fin de journée est recompactée
+            movable.add(addedItem);
+        }
+        
+        // Replacer les tâches au plus tôt, dans leur ordre actuel
+        FreeSlotIndex freeSlots = blocked.toFreeSlotIndex(0, DayTimeline.MINUTES_PER_DAY);
+        for (ScheduleItem item : movable) {
+            int durationMinutes = item.getDurationMinutes();
+            int start = freeSlots.findEarliestFit(repairFrom, durationMinutes);
+            if (start < 0) {
+                // Plus de place dans la journée : la tâche sort du planning
+                if (item != addedItem) {
+                    items.remove(item);
+                    changed.add(item);
+                }
+                continue;
+            }
+            freeSlots.reserve(start, start + durationMinutes);
+            
+            if (item == addedItem) {
+                items.add(item);
+            } else if (start == item.getStartMinute() && start + durationMinutes == item.getEndMinute()) {
+                continue;
+            }
+            item.setStartMinute(start);
+            item.setEndMinute(start + durationMinutes);
+            if (!changed.contains(item)) {
+                changed.add(item);
+            }
+        }
+        
+        sortByStartTime(items);
+        return changed;
+    }
+    
+    /**
+     * Vérifie si un élément peut être déplacé lors d'une réparation
+     * @param item Élément du planning
+     * @param approved Si le planning a été approuvé par l'utilisateur
+     * @return true pour une tâche non terminée, placée automatiquement, dans un planning non approuvé
+     */
+    private boolean isMovable(ScheduleItem item, boolean approved) {
+        return !approved && TYPE_TASK.equals(item.getType()) && !item.isCompleted() && !item.isManuallyScheduled();
+    }
+    
+    /**
+     * Trie les éléments d'un planning par heure de début
+     * @param items Éléments du planning
+     */
+    private void sortByStartTime(List<ScheduleItem> items) {
+        Collections.sort(items, new Comparator<ScheduleItem>() {
+            @Override
+            public int compare(ScheduleItem i1, ScheduleItem i2) {
+                return Integer.compare(i1.getStartMinute(), i2.getStartMinute());
+            }
+        });
+    }
+    
+    /**
+     * Retourne la durée réservée pour une tâche
+     * Part de l'estimation de l'utilisateur (sinon de la durée moyenne prédite) et la relève
+     * au quantile choisi des durées déjà observées pour cette tâche : une tâche qui déborde
+     * souvent se voit réserver une marge, bornée à MAX_DURATION_MARGIN_FACTOR fois l'estimation.
+     * @param task Tâche
+     * @return Durée en minutes
+     */
+    int estimateDuration(Task task) {
+        int durationMinutes = task.getEstimatedDuration();
+        if (durationMinutes <= 0) {
+            durationMinutes = habitAnalyzer.predictTaskDuration(task.getTitle(), task.getCategory());
+        }
+        
+        if (durationQuantile > 0) {
+            int riskAdjusted = habitAnalyzer.getTaskDurationQuantile(task.getTitle(), durationQuantile);
+            durationMinutes = Math.max(durationMinutes,
+                    Math.min(riskAdjusted, MAX_DURATION_MARGIN_FACTOR * durationMinutes));
+        }
+        return durationMinutes;
+    }
+    
+    /**
+     * Définit le quantile des durées observées à réserver pour chaque tâche
+     * @param durationQuantile Rang entre 0 et 1 (0.8 pour P80, 0 pour s'en tenir aux estimations)
+     */
+    public void setDurationQuantile(double durationQuantile) {
+        this.durationQuantile = Math.max(0.0, Math.min(1.0, durationQuantile));
+    }
+    
+    public double getDurationQuantile() {
+        return durationQuantile;
+    }
+    
+    /**
+     * Définit la reconnaissance de modèles consultée pour enchaîner les tâches
+     * Une tâche qui suit habituellement la tâche qui vient d'être placée est planifiée
+     * juste après elle, sauf pendant l'heure la plus productive.
+     * @param patternRecognizer Reconnaissance de modèles (copie figée), ou null pour ne pas enchaîner
+     */
+    public void setPatternRecognizer(TaskPatternRecognizer patternRecognizer) {
+        this.patternRecognizer = patternRecognizer;
+    }
+    
+    /**
+     * Définit le budget de temps du solveur exact
+     * Avec un budget positif, le planning glouton sert de point de départ à une recherche
+     * par séparation et évaluation qui ne le remplace que par un planning strictement meilleur.
+     * @param solverTimeBudgetMillis Budget en millisecondes (0 pour désactiver)
+     */
+    public void setSolverTimeBudgetMillis(long solverTimeBudgetMillis) {
+        this.solverTimeBudgetMillis = Math.max(solverTimeBudgetMillis, 0);
+    }
+    
+    /**
+     * Retourne le budget de temps du solveur exact
+     * @return Budget en millisecondes (0 si désactivé)
+     */
+    public long getSolverTimeBudgetMillis() {
+        return solverTimeBudgetMillis;
+    }
+    
+    /**
+     * Construit le masque des heures de travail pour une date
+     * @param date Date du planning
+     * @return Ligne de temps dont les minutes de travail sont marquées
+     */
+    public DayTimeline buildWorkHoursTimeline(Date date) {
+        int dayOfWeek = timeBuckets.dayOfWeek(date.getTime()) - 1; // 0=Dimanche, 1=Lundi, etc.
+        
+        DayTimeline workHours = new DayTimeline();
+        workHours.set(userPreferences.getWorkStartHour(dayOfWeek) * 60,
+                userPreferences.getWorkEndHour(dayOfWeek) * 60);
+        return workHours;
+    }
+    
+    /**
+     * Calcule le temps disponible pour les tâches un jour donné
+     * @param date Date du planning
+     * @return Minutes de travail hors repas
+     */
+    public int getAvailableMinutes(Date date) {
+        DayTimeline workHours = buildWorkHoursTimeline(date);
+        int startMinute = workHours.nextSetMinute(0);
+        if (startMinute < 0) {
+            return 0;
+        }
+        int endMinute = workHours.nextClearMinute(startMinute);
+        
+        DayTimeline meals = new DayTimeline();
+        addMeals(null, meals, startMinute, endMinute < 0 ? DayTimeline.MINUTES_PER_DAY : endMinute);
+        workHours.andNot(meals);
+        return workHours.count();
+    }
+    
+    /**
+     * Construit le masque des minutes occupées par les éléments d'un planning
+     * @param items Éléments du planning
+     * @param type Type d'éléments à retenir, ou null pour tous
+     * @param matchType true pour retenir ce type, false pour retenir tous les autres
+     * @return Ligne de temps des minutes occupées
+     */
+    public DayTimeline buildOccupancyTimeline(List<ScheduleItem> items, String type, boolean matchType) {
+        DayTimeline occupied = new DayTimeline();
+        if (items == null) {
+            return occupied;
+        }
+        
+        for (ScheduleItem item : items) {
+            if (type == null || type.equals(item.getType()) == matchType) {
+                occupied.set(item.getStartMinute(), item.getEndMinute());
+            }
+        }
+        return occupied;
+    }
+    
+    /**
+     * Vérifie qu'un créneau choisi manuellement est libre dans un planning
+     * @param schedule Planning existant
+     * @param startMinute Début du créneau (minutes depuis minuit)
+     * @param endMinute Fin du créneau (minutes depuis minuit)
+     * @return true si le créneau est dans les heures de travail et ne chevauche aucun élément
+     */
+    public boolean isSlotAvailable(Schedule schedule, int startMinute, int endMinute) {
+        return buildWorkHoursTimeline(schedule.getDate()).isSet(startMinute, endMinute)
+                && buildOccupancyTimeline(schedule.getItems(), null, true).isClear(startMinute, endMinute);
+    }
+    
+    /**
+     * Retire de la file la meilleure tâche à planifier à un moment donné
+     * @param remainingTasks File des tâches restantes
+     * @param dayStartMillis Minuit du jour planifié
+     * @param currentMinute Minute courante (depuis minuit)
+     * @param isProductiveDay Si c'est le jour le plus productif
+     * @param mostProductiveHour Heure la plus productive
+     * @param chainedTask Rang de la tâche qui suit habituellement la précédente, ou -1
+     * @return Meilleure tâche à planifier
+     */
+    private Task selectBestTask(TaskSelectionQueue remainingTasks, long dayStartMillis, int currentMinute,
+                                boolean isProductiveDay, int mostProductiveHour, int chainedTask) {
+        // Si c'est le jour le plus productif et l'heure la plus productive, choisir la tâche la plus importante
+        if (isProductiveDay && currentMinute / 60 == mostProductiveHour) {
+            return remainingTasks.pollFirst(); // La file conserve l'ordre de priorité
+        }
+        
+        // Enchaîner la tâche qui suit habituellement la précédente, si elle reste à planifier
+        if (chainedTask >= 0) {
+            Task task = remainingTasks.poll(chainedTask);
+            if (task != null) {
+                return task;
+            }
+        }
+        
+        // Sinon, choisir la tâche en fonction de la priorité, de la difficulté et de l'échéance
+        return remainingTasks.pollBest(dayStartMillis + currentMinute * 60000L);
+    }
+    
+    /**
+     * Cherche la tâche qui suit habituellement les dernières tâches placées
+     * @param taskRanksByTitle Rang dans la file de chaque titre normalisé
+     * @param previousTask Avant-dernière tâche placée, ou null
+     * @param lastTask Dernière tâche placée, ou null
+     * @return Rang de la tâche à enchaîner, ou -1 si aucune
+     */
+    private int findChainedTask(Map<String, Integer> taskRanksByTitle, Task previousTask, Task lastTask) {
+        if (patternRecognizer == null || lastTask == null) {
+            return -1;
+        }
+        
+        TaskPatternRecognizer.TaskPattern next = patternRecognizer.predictNextTask(
+                previousTask != null ? previousTask.getTitle() : null, lastTask.getTitle());
+        if (next == null || next.getDelayMinutes() > CHAIN_MAX_DELAY_MINUTES) {
+            return -1;
+        }
+        
+        Integer rank = taskRanksByTitle.get(SymbolTable.normalize(next.getNextTaskTitle()));
+        return rank != null ? rank : -1;
+    }
+    
+    /**
+     * Convertit une chaîne d'heure (H:mm ou HH:mm) en minutes depuis minuit
+     * @param time Heure formatée
+     * @return Minutes depuis minuit, ou -1 si l'heure est mal formée ou hors de la journée
+     */
+    public static int parseTime(String time) {
+        if (time == null) {
+            return -1;
+        }
+        int colon = time.indexOf(':');
+        if (colon < 1 || colon > 2 || time.length() != colon + 3) {
+            return -1;
+        }
+        
+        int hours = parseDigits(time, 0, colon);
+        int minutes = parseDigits(time, colon + 1, colon + 3);
+        if (hours < 0 || hours > 23 || minutes < 0 || minutes > 59) {
+            return -1;
+        }
+        return hours * 60 + minutes;
+    }
+    
+    /**
+     * Lit un nombre décimal dans une chaîne
+     * @param text Chaîne
+     * @param from Premier caractère (inclus)
+     * @param to Dernier caractère (exclu)
+     * @return Nombre lu, ou -1 si un caractère n'est pas un chiffre
+     */
+    private static int parseDigits(String text, int from, int to) {
+        int value = 0;
+        for (int i = from; i < to; i++) {
+            char c = text.charAt(i);
+            if (c < '0' || c > '9') {
+                return -1;
+            }
+            value = value * 10 + (c - '0');
+        }
+        return value;
+    }
+}
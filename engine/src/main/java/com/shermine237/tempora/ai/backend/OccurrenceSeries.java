@@ -0,0 +1,360 @@
+package com.shermine237.tempora.ai.backend;
+
+import java.util.BitSet;
+
+/**
+ * Jours d'occurrence d'une tâche et détection de sa période de récurrence
+ * Les occurrences forment une série indicatrice journalière (1 si la tâche a eu lieu ce
+ * jour-là). Son autocorrélation, calculée par transformée de Fourier rapide en O(n log n),
+ * donne pour chaque décalage p le nombre d'occurrences suivies d'une autre exactement p
+ * jours plus tard. La période retenue maximise ce taux, corrigé du hasard (densité de la
+ * série) et pondéré par le nombre d'occurrences qui l'attestent. Les multiples d'une période
+ * ont presque le même score qu'elle, et l'un d'eux peut la dépasser par hasard quand des
+ * occurrences manquent : le plus petit diviseur de la meilleure période dont le score en est
+ * proche, ou dont le taux moyen sur ses multiples reste dans l'erreur d'échantillonnage du
+ * sien, est donc préféré (un diviseur qui n'est pas une vraie période, comme une semaine pour
+ * une tâche de tous les quinze jours, n'atteint que la moitié de ce taux). Le score du
+ * diviseur retenu se calcule alors sur ce taux moyen.
+ * Une série où il ne manque qu'un jour sur huit au plus est quotidienne et n'a pas de période.
+ * Une série creuse (m occurrences, m² inférieur au coût n log n de la transformée) compte
+ * plutôt directement ses paires d'occurrences, ce qui revient au même résultat.
+ * La détection est mise en cache et n'est refaite que lorsque la série a gagné un huitième
+ * de jours d'occurrence : son coût est amorti à O(log n) par occurrence ajoutée.
+ */
+final class OccurrenceSeries {
+    
+    // Fenêtre d'analyse : les trois dernières années au plus
+    static final int MAX_SERIES_DAYS = 3 * 366;
+    
+    // Période maximale recherchée (un an)
+    static final int MAX_PERIOD_DAYS = 366;
+    
+    // Taille maximale des transformées (puissance de deux, au moins double de la fenêtre)
+    private static final int MAX_FFT_SIZE = Integer.highestOneBit(2 * MAX_SERIES_DAYS) << 1;
+    
+    // Facteurs de rotation pour la taille maximale, partagés par les tailles inférieures
+    private static final double[] COS = new double[MAX_FFT_SIZE / 2];
+    private static final double[] SIN = new double[MAX_FFT_SIZE / 2];
+    
+    static {
+        for (int i = 0; i < MAX_FFT_SIZE / 2; i++) {
+            double angle = -2 * Math.PI * i / MAX_FFT_SIZE;
+            COS[i] = Math.cos(angle);
+            SIN[i] = Math.sin(angle);
+        }
+    }
+    
+    // Poids a priori : nombre d'occurrences fictives sans successeur ajoutées au score
+    private static final int PRIOR_WEIGHT = 2;
+    
+    // Part du meilleur score suffisant pour préférer un diviseur de la meilleure période
+    private static final double HARMONIC_TOLERANCE = 0.9;
+    
+    // Écarts-types d'échantillonnage tolérés entre le taux moyen d'un diviseur et celui de la meilleure période
+    private static final double HARMONIC_STANDARD_ERRORS = 2;
+    
+    // Une série dont au plus un jour sur DAILY_GAP_RATIO est vide est quotidienne
+    private static final int DAILY_GAP_RATIO = 8;
+    
+    // Jours d'occurrence, relatifs à originDay
+    private BitSet days = new BitSet();
+    private int originDay;
+    private int lastDay;
+    private int dayCount;
+    
+    // Dernière détection et nombre de jours d'occurrence à ce moment (-1 si aucune)
+    private Recurrence recurrence;
+    private int daysAtDetection = -1;
+    
+    /**
+     * Ajoute une occurrence
+     * @param epochDay Jour de l'occurrence (jours depuis le 1er janvier 1970)
+     */
+    void add(int epochDay) {
+        if (days.isEmpty()) {
+            originDay = epochDay;
+            lastDay = epochDay;
+        } else if (epochDay < originDay) {
+            // Occurrence antérieure à l'origine : décaler la série
+            BitSet shifted = new BitSet();
+            int shift = originDay - epochDay;
+            for (int i = days.nextSetBit(0); i >= 0; i = days.nextSetBit(i + 1)) {
+                shifted.set(i + shift);
+            }
+            days = shifted;
+            originDay = epochDay;
+        }
+        
+        int index = epochDay - originDay;
+        if (!days.get(index)) {
+            days.set(index);
+            dayCount++;
+        }
+        lastDay = Math.max(lastDay, epochDay);
+    }
+    
+    /**
+     * Retourne le dernier jour d'occurrence
+     * @return Jours depuis le 1er janvier 1970
+     */
+    int getLastDay() {
+        return lastDay;
+    }
+    
+    /**
+     * Retourne la période dominante de la série, détectée à nouveau si la série a assez grandi
+     * @param minOccurrences Nombre minimal d'occurrences suivies d'une autre à la période retenue
+     * @return Période et score, ou null si la série est trop courte, trop dense ou sans période
+     */
+    Recurrence getRecurrence(int minOccurrences) {
+        if (daysAtDetection < 0 || dayCount >= daysAtDetection + Math.max(1, daysAtDetection >> 3)) {
+            recurrence = detect(minOccurrences);
+            daysAtDetection = dayCount;
+        }
+        return recurrence;
+    }
+    
+    /**
+     * Détecte la période dominante de la série
+     * @param minOccurrences Nombre minimal d'occurrences suivies d'une autre à la période retenue
+     * @return Période et score, ou null si la série est trop courte, trop dense ou sans période
+     */
+    Recurrence detect(int minOccurrences) {
+        // Fenêtre analysée : jours [start, lastDay]
+        int start = Math.max(originDay, lastDay - MAX_SERIES_DAYS + 1);
+        int length = lastDay - start + 1;
+        int offset = start - originDay;
+        int occurrences = days.get(offset, offset + length).cardinality();
+        
+        // Une période doit tenir au moins minOccurrences fois dans la fenêtre
+        int maxPeriod = Math.min(MAX_PERIOD_DAYS, (length - 1) / Math.max(1, minOccurrences - 1));
+        if (maxPeriod < 2 || occurrences < minOccurrences
+                || length - occurrences <= Math.max(1, length / DAILY_GAP_RATIO)) {
+            // Série trop courte, ou tâche quotidienne à quelques jours manqués près :
+            // le modèle quotidien suffit (une tâche d'un jour sur deux remplit la moitié de la série)
+            return null;
+        }
+        
+        // Nombre cumulé d'occurrences
+        int[] cumulative = new int[length + 1];
+        for (int i = 0; i < length; i++) {
+            cumulative[i + 1] = cumulative[i] + (days.get(offset + i) ? 1 : 0);
+        }
+        
+        double density = (double) occurrences / length;
+        int[] lagCounts = countLags(offset, length, occurrences, maxPeriod);
+        
+        double[] scores = new double[maxPeriod + 1];
+        double[] rates = new double[maxPeriod + 1];
+        int bestPeriod = -1;
+        for (int period = 2; period <= maxPeriod; period++) {
+            // Occurrences suivies d'une autre p jours plus tard, parmi celles qui pouvaient l'être
+            int hits = lagCounts[period];
+            int eligible = cumulative[length - period];
+            rates[period] = eligible > 0 ? (double) hits / eligible : 0;
+            if (hits < minOccurrences - 1 || eligible == 0) {
+                scores[period] = Double.NEGATIVE_INFINITY;
+                continue;
+            }
+            
+            double rate = rates[period];
+            double lift = (rate - density) / (1 - density);
+            scores[period] = lift * eligible / (eligible + PRIOR_WEIGHT);
+            if (bestPeriod < 0 || scores[period] > scores[bestPeriod]) {
+                bestPeriod = period;
+            }
+        }
+        if (bestPeriod < 0) {
+            return null;
+        }
+        
+        // Préférer la période fondamentale à ses multiples
+        double bestRate = rates[bestPeriod];
+        double minRate = bestRate - HARMONIC_STANDARD_ERRORS
+                * Math.sqrt(bestRate * (1 - bestRate) / cumulative[length - bestPeriod]);
+        for (int period = 2; period < bestPeriod; period++) {
+            if (bestPeriod % period != 0 || scores[period] <= 0) {
+                continue;
+            }
+            double combRate = 0;
+            for (int multiple = period; multiple <= bestPeriod; multiple += period) {
+                combRate += rates[multiple];
+            }
+            combRate /= bestPeriod / period;
+            if (scores[period] >= scores[bestPeriod] * HARMONIC_TOLERANCE || combRate >= minRate) {
+                int eligible = cumulative[length - period];
+                double combScore = (combRate - density) / (1 - density) * eligible / (eligible + PRIOR_WEIGHT);
+                return new Recurrence(period, (float) Math.max(scores[period], combScore));
+            }
+        }
+        return new Recurrence(bestPeriod, (float) scores[bestPeriod]);
+    }
+    
+    /**
+     * Compte, pour chaque décalage, les paires d'occurrences de la fenêtre séparées de ce décalage
+     * @param offset Début de la fenêtre dans la série
+     * @param length Longueur de la fenêtre en jours
+     * @param occurrences Nombre d'occurrences dans la fenêtre
+     * @param maxPeriod Plus grand décalage utile
+     * @return Nombre de paires par décalage (0 à maxPeriod)
+     */
+    private int[] countLags(int offset, int length, int occurrences, int maxPeriod) {
+        int[] lagCounts = new int[maxPeriod + 1];
+        int size = fftSize(length);
+        
+        if ((long) occurrences * occurrences < (long) size * Integer.numberOfTrailingZeros(size)) {
+            // Série creuse : parcourir les paires d'occurrences assez proches
+            int end = offset + length;
+            for (int i = days.nextSetBit(offset); i >= 0 && i < end; i = days.nextSetBit(i + 1)) {
+                int limit = Math.min(i + maxPeriod, end - 1);
+                for (int j = days.nextSetBit(i + 1); j >= 0 && j <= limit; j = days.nextSetBit(j + 1)) {
+                    lagCounts[j - i]++;
+                }
+            }
+            return lagCounts;
+        }
+        
+        double[] series = new double[length];
+        for (int i = 0; i < length; i++) {
+            series[i] = days.get(offset + i) ? 1 : 0;
+        }
+        double[] autocorrelation = autocorrelation(series);
+        for (int lag = 0; lag <= maxPeriod; lag++) {
+            lagCounts[lag] = (int) Math.round(autocorrelation[lag]);
+        }
+        return lagCounts;
+    }
+    
+    OccurrenceSeries copy() {
+        OccurrenceSeries copy = new OccurrenceSeries();
+        copy.days = (BitSet) days.clone();
+        copy.originDay = originDay;
+        copy.lastDay = lastDay;
+        copy.dayCount = dayCount;
+        copy.recurrence = recurrence;
+        copy.daysAtDetection = daysAtDetection;
+        return copy;
+    }
+    
+    void write(CheckpointBuffer out) {
+        out.putInt(originDay);
+        out.putInt(lastDay);
+        long[] words = days.toLongArray();
+        out.putInt(words.length);
+        for (long word : words) {
+            out.putLong(word);
+        }
+    }
+    
+    static OccurrenceSeries read(CheckpointBuffer in) {
+        OccurrenceSeries series = new OccurrenceSeries();
+        series.originDay = in.getInt();
+        series.lastDay = in.getInt();
+        long[] words = new long[in.getInt()];
+        for (int i = 0; i < words.length; i++) {
+            words[i] = in.getLong();
+        }
+        series.days = BitSet.valueOf(words);
+        series.dayCount = series.days.cardinality();
+        return series;
+    }
+    
+    /**
+     * Calcule l'autocorrélation d'une série réelle (théorème de Wiener-Khintchine)
+     * La série est complétée de zéros jusqu'à une puissance de deux au moins double de sa
+     * longueur, pour que la corrélation circulaire ne replie pas la fin sur le début.
+     * @param series Série (au plus MAX_SERIES_DAYS valeurs)
+     * @return Autocorrélation : somme des series[t] * series[t + k] pour chaque décalage k
+     */
+    static double[] autocorrelation(double[] series) {
+        int size = fftSize(series.length);
+        
+        double[] re = new double[size];
+        double[] im = new double[size];
+        System.arraycopy(series, 0, re, 0, series.length);
+        fft(re, im);
+        
+        // Densité spectrale de puissance, puis transformée inverse (le spectre est réel et pair)
+        for (int i = 0; i < size; i++) {
+            re[i] = re[i] * re[i] + im[i] * im[i];
+            im[i] = 0;
+        }
+        fft(re, im);
+        
+        double[] result = new double[series.length];
+        for (int k = 0; k < series.length; k++) {
+            result[k] = re[k] / size;
+        }
+        return result;
+    }
+    
+    /**
+     * Retourne la taille de transformée nécessaire à l'autocorrélation d'une série
+     * @param length Longueur de la série
+     * @return Plus petite puissance de deux supérieure ou égale à 2 * length - 1
+     */
+    private static int fftSize(int length) {
+        int size = Integer.highestOneBit(Math.max(1, 2 * length - 1));
+        return size < 2 * length - 1 ? size << 1 : size;
+    }
+    
+    /**
+     * Transformée de Fourier rapide en place (radix 2, itérative)
+     * @param re Parties réelles (taille : puissance de deux, au plus MAX_FFT_SIZE)
+     * @param im Parties imaginaires
+     */
+    private static void fft(double[] re, double[] im) {
+        int n = re.length;
+        
+        // Permutation par inversion des bits
+        for (int i = 1, j = 0; i < n; i++) {
+            int bit = n >> 1;
+            for (; (j & bit) != 0; bit >>= 1) {
+                j ^= bit;
+            }
+            j ^= bit;
+            if (i < j) {
+                double t = re[i];
+                re[i] = re[j];
+                re[j] = t;
+                t = im[i];
+                im[i] = im[j];
+                im[j] = t;
+            }
+        }
+        
+        // Papillons
+        for (int length = 2; length <= n; length <<= 1) {
+            int half = length >> 1;
+            int step = MAX_FFT_SIZE / length;
+            for (int i = 0; i < n; i += length) {
+                for (int k = 0; k < half; k++) {
+                    double wr = COS[k * step];
+                    double wi = SIN[k * step];
+                    int a = i + k;
+                    int b = a + half;
+                    double tr = re[b] * wr - im[b] * wi;
+                    double ti = re[b] * wi + im[b] * wr;
+                    re[b] = re[a] - tr;
+                    im[b] = im[a] - ti;
+                    re[a] += tr;
+                    im[a] += ti;
+                }
+            }
+        }
+    }
+    
+    /**
+     * Période de récurrence détectée
+     */
+    static final class Recurrence {
+        
+        final int periodDays;
+        final float score;
+        
+        Recurrence(int periodDays, float score) {
+            this.periodDays = periodDays;
+            this.score = score;
+        }
+    }
+}
@@ -0,0 +1,183 @@
+package com.shermine237.tempora.ai.backend;
+
+import java.util.Arrays;
+import java.util.BitSet;
+
+/**
+ * Index chronologique des occurrences prévues des tâches sur un horizon glissant de 60 jours
+ * Pour chaque tâche (identifiant de titre), les jours de l'horizon où une occurrence est
+ * prévue tiennent dans un entier long, un bit par jour ; pour chaque jour, un ensemble de
+ * bits donne les tâches prévues ce jour-là. Les jours de l'horizon sont décrits une fois
+ * pour toutes (masques par jour de la semaine et par jour du mois) : projeter un modèle ne
+ * demande que des opérations sur les bits, sans calcul de calendrier.
+ */
+final class OccurrenceTimeline {
+    
+    // Nombre de jours couverts (au plus 64 : un bit par jour dans un entier long)
+    static final int HORIZON_DAYS = 60;
+    
+    private static final long ALL_DAYS = (1L << HORIZON_DAYS) - 1;
+    
+    // Premier jour de l'horizon (jours depuis le 1er janvier 1970, heure locale)
+    private final int startDay;
+    
+    // Jours de l'horizon par jour de la semaine (dimanche en premier) et par jour du mois ;
+    // le masque d'un jour du mois inclut le dernier jour des mois plus courts
+    private final long[] weekdayDays;
+    private final long[] monthDayDays;
+    
+    // Jours prévus par identifiant de titre, et titres prévus par jour de l'horizon
+    private long[] titleDays;
+    private final BitSet[] titlesByDay;
+    
+    /**
+     * Constructeur
+     * @param startDay Premier jour de l'horizon (jours depuis le 1er janvier 1970)
+     * @param titleCapacity Nombre de titres attendus
+     */
+    OccurrenceTimeline(int startDay, int titleCapacity) {
+        this.startDay = startDay;
+        weekdayDays = new long[7];
+        monthDayDays = new long[31];
+        titleDays = new long[titleCapacity];
+        titlesByDay = new BitSet[HORIZON_DAYS];
+        
+        for (int i = 0; i < HORIZON_DAYS; i++) {
+            int day = startDay + i;
+            int dayOfMonth = TimeBuckets.dayOfMonthOfEpochDay(day);
+            weekdayDays[TimeBuckets.dayOfWeekOfEpochDay(day) - 1] |= 1L << i;
+            
+            // Le dernier jour d'un mois compte aussi pour les jours du mois qu'il n'atteint pas
+            int lastMatched = TimeBuckets.dayOfMonthOfEpochDay(day + 1) == 1 ? 31 : dayOfMonth;
+            for (int target = dayOfMonth; target <= lastMatched; target++) {
+                monthDayDays[target - 1] |= 1L << i;
+            }
+            titlesByDay[i] = new BitSet();
+        }
+    }
+    
+    private OccurrenceTimeline(OccurrenceTimeline source) {
+        startDay = source.startDay;
+        weekdayDays = source.weekdayDays;
+        monthDayDays = source.monthDayDays;
+        titleDays = source.titleDays.clone();
+        titlesByDay = new BitSet[HORIZON_DAYS];
+        for (int i = 0; i < HORIZON_DAYS; i++) {
+            titlesByDay[i] = (BitSet) source.titlesByDay[i].clone();
+        }
+    }
+    
+    /**
+     * Crée une copie modifiable de l'index
+     * @return Copie de l'index
+     */
+    OccurrenceTimeline copy() {
+        return new OccurrenceTimeline(this);
+    }
+    
+    int getStartDay() {
+        return startDay;
+    }
+    
+    /**
+     * Indique si un jour appartient à l'horizon
+     * @param epochDay Jour (jours depuis le 1er janvier 1970)
+     * @return true si le jour est couvert
+     */
+    boolean covers(int epochDay) {
+        return epochDay >= startDay && epochDay < startDay + HORIZON_DAYS;
+    }
+    
+    /**
+     * Retourne les jours de l'horizon d'un modèle quotidien
+     * @return Tous les jours
+     */
+    long dailyDays() {
+        return ALL_DAYS;
+    }
+    
+    /**
+     * Retourne les jours de l'horizon d'un modèle hebdomadaire
+     * @param dayOfWeek Jour de la semaine (1=Dimanche ... 7=Samedi)
+     * @return Jours prévus
+     */
+    long weeklyDays(int dayOfWeek) {
+        return weekdayDays[dayOfWeek - 1];
+    }
+    
+    /**
+     * Retourne les jours de l'horizon d'un modèle mensuel
+     * @param dayOfMonth Jour du mois (1-31), ramené au dernier jour des mois plus courts
+     * @return Jours prévus
+     */
+    long monthlyDays(int dayOfMonth) {
+        return monthDayDays[dayOfMonth - 1];
+    }
+    
+    /**
+     * Retourne les jours de l'horizon d'un modèle périodique
+     * @param lastDay Jour de la dernière occurrence
+     * @param periodDays Période en jours
+     * @return Jours prévus, à partir de la dernière occurrence
+     */
+    long periodicDays(int lastDay, int periodDays) {
+        int offset = lastDay - startDay;
+        if (offset < 0) {
+            offset = Math.floorMod(offset, periodDays);
+        }
+        
+        long days = 0;
+        for (int i = offset; i < HORIZON_DAYS; i += periodDays) {
+            days |= 1L << i;
+        }
+        return days;
+    }
+    
+    /**
+     * Retourne les jours prévus d'une tâche
+     * @param titleId Identifiant du titre
+     * @return Un bit par jour de l'horizon
+     */
+    long getDays(int titleId) {
+        return titleId >= 0 && titleId < titleDays.length ? titleDays[titleId] : 0;
+    }
+    
+    /**
+     * Indique si une occurrence d'une tâche est prévue un jour de l'horizon
+     * @param titleId Identifiant du titre
+     * @param epochDay Jour couvert par l'horizon
+     * @return true si une occurrence est prévue ce jour-là
+     */
+    boolean isPredicted(int titleId, int epochDay) {
+        return (getDays(titleId) & (1L << (epochDay - startDay))) != 0;
+    }
+    
+    /**
+     * Retourne les tâches prévues un jour de l'horizon
+     * @param epochDay Jour couvert par l'horizon
+     * @return Identifiants des titres (à ne pas modifier)
+     */
+    BitSet getTitles(int epochDay) {
+        return titlesByDay[epochDay - startDay];
+    }
+    
+    /**
+     * Remplace les jours prévus d'une tâche
+     * @param titleId Identifiant du titre
+     * @param days Un bit par jour de l'horizon
+     */
+    void setDays(int titleId, long days) {
+        if (titleId >= titleDays.length) {
+            titleDays = Arrays.copyOf(titleDays, SymbolTable.capacityFor(titleId, titleDays.length));
+        }
+        
+        // Ne mettre à jour que les jours qui changent
+        long changed = titleDays[titleId] ^ days;
+        while (changed != 0) {
+            int i = Long.numberOfTrailingZeros(changed);
+            titlesByDay[i].set(titleId, (days & (1L << i)) != 0);
+            changed &= changed - 1;
+        }
+        titleDays[titleId] = days;
+    }
+}
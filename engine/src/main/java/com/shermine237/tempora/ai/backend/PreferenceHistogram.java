@@ -0,0 +1,69 @@
+package com.shermine237.tempora.ai.backend;
+
+/**
+ * Histogramme de préférences à nombre fixe de cases (7 jours, 24 heures...)
+ * La case la plus fréquente est tenue à jour à chaque ajout : les compteurs ne faisant
+ * que croître, seule la case incrémentée peut devenir la nouvelle favorite. En cas
+ * d'égalité, la plus petite case l'emporte. Lecture en temps constant et mémoire fixe,
+ * quel que soit le nombre d'observations.
+ */
+final class PreferenceHistogram {
+    
+    private final int[] counts;
+    private int best = -1;
+    
+    /**
+     * Constructeur
+     * @param size Nombre de cases
+     */
+    PreferenceHistogram(int size) {
+        counts = new int[size];
+    }
+    
+    /**
+     * Ajoute une observation
+     * @param bucket Case observée
+     */
+    void add(int bucket) {
+        int count = ++counts[bucket];
+        if (best < 0 || count > counts[best] || (count == counts[best] && bucket < best)) {
+            best = bucket;
+        }
+    }
+    
+    /**
+     * Retourne la case la plus fréquente
+     * @return Case, ou -1 si aucune observation
+     */
+    int getBest() {
+        return best;
+    }
+    
+    int getCount(int bucket) {
+        return counts[bucket];
+    }
+    
+    PreferenceHistogram copy() {
+        PreferenceHistogram copy = new PreferenceHistogram(counts.length);
+        System.arraycopy(counts, 0, copy.counts, 0, counts.length);
+        copy.best = best;
+        return copy;
+    }
+    
+    void write(CheckpointBuffer out) {
+        out.putInt(counts.length);
+        out.putInt(best);
+        for (int count : counts) {
+            out.putInt(count);
+        }
+    }
+    
+    static PreferenceHistogram read(CheckpointBuffer in) {
+        PreferenceHistogram histogram = new PreferenceHistogram(in.getInt());
+        histogram.best = in.getInt();
+        for (int i = 0; i < histogram.counts.length; i++) {
+            histogram.counts[i] = in.getInt();
+        }
+        return histogram;
+    }
+}
@@ -0,0 +1,101 @@
+package com.shermine237.tempora.ai.backend;
+
+import java.util.Arrays;
+
+/**
+ * Fenêtre glissante de sommes journalières
+ * Un tampon circulaire contient un intervalle par jour ; un intervalle est réutilisé
+ * dès qu'un jour plus récent tombe sur la même case. Les requêtes sur les 7, 30 ou
+ * 90 derniers jours ne parcourent que ces cases, en mémoire constante.
+ */
+final class RollingWindow {
+    
+    private static final int NO_DAY = Integer.MIN_VALUE;
+    
+    private final double[] sums;
+    private final int[] counts;
+    private final int[] epochDays;
+    
+    /**
+     * Constructeur
+     * @param days Longueur maximale de la fenêtre en jours
+     */
+    RollingWindow(int days) {
+        sums = new double[days];
+        counts = new int[days];
+        epochDays = new int[days];
+        Arrays.fill(epochDays, NO_DAY);
+    }
+    
+    int getDays() {
+        return sums.length;
+    }
+    
+    /**
+     * Ajoute une valeur à un jour
+     * Les jours sortis de la fenêtre (plus anciens que la case qu'ils occuperaient) sont ignorés.
+     * @param epochDay Jour de la valeur
+     * @param value Valeur
+     */
+    void add(int epochDay, double value) {
+        int slot = Math.floorMod(epochDay, sums.length);
+        if (epochDays[slot] != epochDay) {
+            if (epochDays[slot] != NO_DAY && epochDays[slot] > epochDay) {
+                return;
+            }
+            epochDays[slot] = epochDay;
+            sums[slot] = 0.0;
+            counts[slot] = 0;
+        }
+        sums[slot] += value;
+        counts[slot]++;
+    }
+    
+    /**
+     * Calcule la moyenne des valeurs des derniers jours
+     * @param days Nombre de jours (au plus la longueur de la fenêtre)
+     * @param today Dernier jour inclus
+     * @return Moyenne, ou -1 si aucune valeur
+     */
+    double mean(int days, int today) {
+        double sum = 0.0;
+        int count = 0;
+        
+        for (int slot = 0; slot < sums.length; slot++) {
+            int epochDay = epochDays[slot];
+            if (epochDay != NO_DAY && epochDay <= today && epochDay > today - days) {
+                sum += sums[slot];
+                count += counts[slot];
+            }
+        }
+        
+        return count > 0 ? sum / count : -1.0;
+    }
+    
+    RollingWindow copy() {
+        RollingWindow copy = new RollingWindow(sums.length);
+        System.arraycopy(sums, 0, copy.sums, 0, sums.length);
+        System.arraycopy(counts, 0, copy.counts, 0, counts.length);
+        System.arraycopy(epochDays, 0, copy.epochDays, 0, epochDays.length);
+        return copy;
+    }
+    
+    void write(CheckpointBuffer out) {
+        out.putInt(sums.length);
+        for (int i = 0; i < sums.length; i++) {
+            out.putInt(epochDays[i]);
+            out.putDouble(sums[i]);
+            out.putInt(counts[i]);
+        }
+    }
+    
+    static RollingWindow read(CheckpointBuffer in) {
+        RollingWindow window = new RollingWindow(in.getInt());
+        for (int i = 0; i < window.sums.length; i++) {
+            window.epochDays[i] = in.getInt();
+            window.sums[i] = in.getDouble();
+            window.counts[i] = in.getInt();
+        }
+        return window;
+    }
+}
@@ -0,0 +1,92 @@
+package com.shermine237.tempora.ai.backend;
+
+/**
+ * Modification ponctuelle d'un planning existant
+ * (tâche ajoutée, retirée, redimensionnée ou terminée), utilisée pour réparer
+ * un planning sans le régénérer entièrement.
+ */
+public class ScheduleDelta {
+    
+    /**
+     * Type de modification
+     */
+    public enum Type {
+        TASK_ADDED,
+        TASK_REMOVED,
+        TASK_RESIZED,
+        TASK_COMPLETED
+    }
+    
+    private final Type type;
+    private final int taskId;
+    private final Task task;
+    private final int durationMinutes;
+    private final int minuteOfDay;
+    
+    private ScheduleDelta(Type type, int taskId, Task task, int durationMinutes, int minuteOfDay) {
+        this.type = type;
+        this.taskId = taskId;
+        this.task = task;
+        this.durationMinutes = durationMinutes;
+        this.minuteOfDay = minuteOfDay;
+    }
+    
+    /**
+     * Crée une modification pour une nouvelle tâche à placer
+     * @param task Tâche ajoutée
+     * @return Modification
+     */
+    public static ScheduleDelta taskAdded(Task task) {
+        return new ScheduleDelta(Type.TASK_ADDED, task.getId(), task, task.getEstimatedDuration(), -1);
+    }
+    
+    /**
+     * Crée une modification pour une tâche retirée du planning
+     * @param taskId ID de la tâche
+     * @return Modification
+     */
+    public static ScheduleDelta taskRemoved(int taskId) {
+        return new ScheduleDelta(Type.TASK_REMOVED, taskId, null, 0, -1);
+    }
+    
+    /**
+     * Crée une modification pour une tâche dont la durée a changé
+     * @param taskId ID de la tâche
+     * @param durationMinutes Nouvelle durée en minutes
+     * @return Modification
+     */
+    public static ScheduleDelta taskResized(int taskId, int durationMinutes) {
+        return new ScheduleDelta(Type.TASK_RESIZED, taskId, null, durationMinutes, -1);
+    }
+    
+    /**
+     * Crée une modification pour une tâche terminée
+     * @param taskId ID de la tâche
+     * @param completedAtMinute Minute de la journée à laquelle la tâche a été terminée,
+     *                          ou -1 si elle occupe tout son créneau
+     * @return Modification
+     */
+    public static ScheduleDelta taskCompleted(int taskId, int completedAtMinute) {
+        return new ScheduleDelta(Type.TASK_COMPLETED, taskId, null, 0, completedAtMinute);
+    }
+    
+    public Type getType() {
+        return type;
+    }
+    
+    public int getTaskId() {
+        return taskId;
+    }
+    
+    public Task getTask() {
+        return task;
+    }
+    
+    public int getDurationMinutes() {
+        return durationMinutes;
+    }
+    
+    public int getMinuteOfDay() {
+        return minuteOfDay;
+    }
+}
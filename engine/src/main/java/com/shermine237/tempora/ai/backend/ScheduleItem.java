@@ -8,11 +8,13 @@ public class ScheduleItem {
     private String title;
     private String description;
     private String type; // "task", "break", "meal", etc.
-    private String startTime; // Format "HH:MM"
-    private String endTime; // Format "HH:MM"
+    // Minutes depuis minuit du jour du planning (au-delà de 1440 pour un élément qui passe minuit)
+    private int startMinute;
+    private int endMinute;
     private int durationMinutes;
     private int taskId; // ID de la tâche associée (si type="task")
     private boolean completed;
+    private boolean manuallyScheduled; // Placé par l'utilisateur : ne jamais déplacer
     
     /**
      * Constructeur par défaut
@@ -26,17 +28,17 @@ public class ScheduleItem {
      * @param title Titre de l'élément
      * @param description Description de l'élément
      * @param type Type d'élément
-     * @param startTime Heure de début
-     * @param endTime Heure de fin
+     * @param startMinute Début (minutes depuis minuit du jour du planning)
+     * @param endMinute Fin (minutes depuis minuit du jour du planning)
      * @param durationMinutes Durée en minutes
      */
     public ScheduleItem(String title, String description, String type, 
-                        String startTime, String endTime, int durationMinutes) {
+                        int startMinute, int endMinute, int durationMinutes) {
         this.title = title;
         this.description = description;
         this.type = type;
-        this.startTime = startTime;
-        this.endTime = endTime;
+        this.startMinute = startMinute;
+        this.endMinute = endMinute;
         this.durationMinutes = durationMinutes;
         this.completed = false;
     }
@@ -67,20 +69,20 @@ public class ScheduleItem {
         this.type = type;
     }
     
-    public String getStartTime() {
-        return startTime;
+    public int getStartMinute() {
+        return startMinute;
     }
     
-    public void setStartTime(String startTime) {
-        this.startTime = startTime;
+    public void setStartMinute(int startMinute) {
+        this.startMinute = startMinute;
     }
     
-    public String getEndTime() {
-        return endTime;
+    public int getEndMinute() {
+        return endMinute;
     }
     
-    public void setEndTime(String endTime) {
-        this.endTime = endTime;
+    public void setEndMinute(int endMinute) {
+        this.endMinute = endMinute;
     }
     
     public int getDurationMinutes() {
@@ -108,4 +110,12 @@ public class ScheduleItem {
     public void setCompleted(boolean completed) {
         this.completed = completed;
     }
+    
+    public boolean isManuallyScheduled() {
+        return manuallyScheduled;
+    }
+    
+    public void setManuallyScheduled(boolean manuallyScheduled) {
+        this.manuallyScheduled = manuallyScheduled;
+    }
 }
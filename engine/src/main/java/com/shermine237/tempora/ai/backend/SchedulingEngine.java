@@ -0,0 +1,581 @@
+package com.shermine237.tempora.ai.backend;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Moteur de planification d'un utilisateur
+ * Regroupe les analyseurs d'apprentissage, les préférences et le planificateur,
+ * sans aucune dépendance au SDK Android. Il est utilisé par AIBackendService dans
+ * l'application et par le traitement par lots sur la JVM.
+ * Concurrence : les écritures (activités, complétions, préférences, restauration) sont
+ * sérialisées par un verrou et modifient les analyseurs de travail en temps constant ;
+ * elles ne font qu'incrémenter une version. Les lectures (plannings, prédictions,
+ * statistiques) utilisent une copie figée de l'état (copie sur écriture) : si elle est
+ * périmée et que le verrou est libre, la lecture en publie une nouvelle, dont le coût est
+ * ainsi payé une fois par rafale d'écritures et non à chaque activité. Si une écriture est
+ * en cours, la lecture se contente de la dernière copie publiée : elle ne bloque jamais et
+ * ne voit jamais un état à moitié mis à jour.
+ */
+public class SchedulingEngine {
+    
+    private static final String TAG = "SchedulingEngine";
+    
+    /**
+     * Source des plages déjà occupées d'une journée (calendrier, rendez-vous...)
+     */
+    public interface BusyTimeSource {
+        
+        /**
+         * Retourne les minutes occupées d'une journée
+         * @param date Jour concerné
+         * @return Ligne de temps des minutes occupées
+         */
+        DayTimeline getBusyTime(Date date);
+    }
+    
+    /**
+     * État publié pour les lectures : analyseurs figés et planificateur associé
+     */
+    private static final class PublishedState {
+        
+        final UserHabitAnalyzer habitAnalyzer;
+        final TaskPerformanceAnalyzer performanceAnalyzer;
+        final TaskPatternRecognizer patternRecognizer;
+        final IntelligentScheduler scheduler;
+        
+        // Version des analyseurs de travail figée dans cet état
+        final long version;
+        
+        PublishedState(UserHabitAnalyzer habitAnalyzer, TaskPerformanceAnalyzer performanceAnalyzer,
+                       TaskPatternRecognizer patternRecognizer, IntelligentScheduler scheduler, long version) {
+            this.habitAnalyzer = habitAnalyzer;
+            this.performanceAnalyzer = performanceAnalyzer;
+            this.patternRecognizer = patternRecognizer;
+            this.scheduler = scheduler;
+            this.version = version;
+        }
+    }
+    
+    private final SymbolTable symbols;
+    
+    // Analyseurs de travail, modifiés uniquement sous writeLock
+    private final UserHabitAnalyzer habitAnalyzer;
+    private final TaskPerformanceAnalyzer performanceAnalyzer;
+    private final TaskPatternRecognizer patternRecognizer;
+    private final ReentrantLock writeLock = new ReentrantLock();
+    
+    // Version des analyseurs de travail, incrémentée à chaque écriture (sous writeLock)
+    private volatile long version;
+    
+    // Dernier état publié, lu sans verrou
+    private volatile PublishedState published;
+    
+    private volatile UserPreferences userPreferences;
+    private long solverTimeBudgetMillis;
+    private double durationQuantile = IntelligentScheduler.DEFAULT_DURATION_QUANTILE;
+    private final TimeBuckets timeBuckets = TimeBuckets.getDefault();
+    
+    /**
+     * Constructeur avec les préférences par défaut
+     */
+    public SchedulingEngine() {
+        this.symbols = new SymbolTable();
+        this.habitAnalyzer = new UserHabitAnalyzer(symbols);
+        this.performanceAnalyzer = new TaskPerformanceAnalyzer(symbols);
+        this.patternRecognizer = new TaskPatternRecognizer(symbols);
+        this.userPreferences = new UserPreferences();
+        publish(habitAnalyzer.snapshot(), performanceAnalyzer.snapshot(), patternRecognizer.snapshot(), version);
+    }
+    
+    /**
+     * Remplace les préférences utilisateur
+     * @param userPreferences Préférences utilisateur
+     */
+    public void initialize(UserPreferences userPreferences) {
+        writeLock.lock();
+        try {
+            this.userPreferences = userPreferences;
+            publishSettings();
+        } finally {
+            writeLock.unlock();
+        }
+    }
+    
+    /**
+     * Active le solveur exact pour améliorer les plannings générés
+     * @param timeBudgetMillis Budget de temps par journée en millisecondes (0 pour la planification gloutonne seule)
+     */
+    public void setSolverTimeBudget(long timeBudgetMillis) {
+        writeLock.lock();
+        try {
+            this.solverTimeBudgetMillis = timeBudgetMillis;
+            publishSettings();
+        } finally {
+            writeLock.unlock();
+        }
+    }
+    
+    /**
+     * Définit le quantile des durées observées réservé pour chaque tâche
+     * @param durationQuantile Rang entre 0 et 1 (0 pour s'en tenir aux estimations)
+     */
+    public void setDurationQuantile(double durationQuantile) {
+        writeLock.lock();
+        try {
+            this.durationQuantile = durationQuantile;
+            publishSettings();
+        } finally {
+            writeLock.unlock();
+        }
+    }
+    
+    /**
+     * Retourne l'état à lire, republié au passage s'il est périmé et que le verrou est libre
+     * @return État publié le plus récent possible sans attendre une écriture en cours
+     */
+    private PublishedState currentState() {
+        PublishedState state = published;
+        if (state.version == version || !writeLock.tryLock()) {
+            return state;
+        }
+        try {
+            return refreshState();
+        } finally {
+            writeLock.unlock();
+        }
+    }
+    
+    /**
+     * Publie une copie figée des analyseurs de travail si l'état publié est périmé (appelé sous writeLock)
+     * @return État publié, à jour
+     */
+    private PublishedState refreshState() {
+        PublishedState state = published;
+        if (state.version != version) {
+            publish(habitAnalyzer.snapshot(), performanceAnalyzer.snapshot(), patternRecognizer.snapshot(), version);
+        }
+        return published;
+    }
+    
+    /**
+     * Publie un nouveau planificateur avec les analyseurs déjà publiés (appelé sous writeLock)
+     */
+    private void publishSettings() {
+        PublishedState state = published;
+        publish(state.habitAnalyzer, state.performanceAnalyzer, state.patternRecognizer, state.version);
+    }
+    
+    private void publish(UserHabitAnalyzer habitSnapshot, TaskPerformanceAnalyzer performanceSnapshot,
+                         TaskPatternRecognizer patternSnapshot, long snapshotVersion) {
+        IntelligentScheduler scheduler = new IntelligentScheduler(habitSnapshot, userPreferences);
+        scheduler.setSolverTimeBudgetMillis(solverTimeBudgetMillis);
+        scheduler.setDurationQuantile(durationQuantile);
+        scheduler.setPatternRecognizer(patternSnapshot);
+        published = new PublishedState(habitSnapshot, performanceSnapshot, patternSnapshot, scheduler, snapshotVersion);
+    }
+    
+    /**
+     * Ajoute une activité utilisateur pour analyse
+     * @param activity Activité utilisateur
+     */
+    public void addUserActivity(UserActivity activity) {
+        writeLock.lock();
+        try {
+            habitAnalyzer.addUserActivity(activity);
+            patternRecognizer.addActivity(activity);
+            
+            // Ajouter également à l'analyseur de performance
+            if (activity.isCompleted()) {
+                performanceAnalyzer.addTaskPerformance(activity);
+            }
+            version++;
+        } finally {
+            writeLock.unlock();
+        }
+    }
+    
+    /**
+     * Ajoute un lot d'activités utilisateur pour analyse
+     * Les activités sont triées une fois par heure de début puis agrégées en un seul
+     * passage par chaque analyseur, ce qui convient à l'import d'un historique complet.
+     * @param activities Activités utilisateur
+     */
+    public void addUserActivities(Collection<UserActivity> activities) {
+        List<UserActivity> sorted = new ArrayList<>(activities);
+        Collections.sort(sorted, new Comparator<UserActivity>() {
+            @Override
+            public int compare(UserActivity a, UserActivity b) {
+                return a.getStartTime().compareTo(b.getStartTime());
+            }
+        });
+        
+        writeLock.lock();
+        try {
+            habitAnalyzer.addUserActivities(sorted);
+            patternRecognizer.analyzeTaskHistory(sorted);
+            performanceAnalyzer.addTaskPerformances(sorted);
+            version++;
+        } finally {
+            writeLock.unlock();
+        }
+    }
+    
+    /**
+     * Enregistre qu'une tâche a été complétée
+     * @param taskTitle Titre de la tâche
+     * @param category Catégorie de la tâche
+     * @param completionDate Date de complétion
+     */
+    public void recordTaskCompletion(String taskTitle, String category, Date completionDate) {
+        writeLock.lock();
+        try {
+            habitAnalyzer.recordTaskCompletion(taskTitle, category, completionDate);
+            version++;
+        } finally {
+            writeLock.unlock();
+        }
+    }
+    
+    /**
+     * Enregistre qu'une tâche a été reportée
+     * @param taskTitle Titre de la tâche
+     */
+    public void recordTaskPostponement(String taskTitle) {
+        writeLock.lock();
+        try {
+            habitAnalyzer.recordTaskPostponement(taskTitle);
+            version++;
+        } finally {
+            writeLock.unlock();
+        }
+    }
+    
+    /**
+     * Écrit l'état courant dans un point de reprise, en ne bloquant les écritures que le temps de le figer
+     * @param out Tampon de destination
+     */
+    void writeState(CheckpointBuffer out) {
+        // Figer l'état avant le dictionnaire : celui-ci contient alors tous ses identifiants
+        PublishedState state;
+        writeLock.lock();
+        try {
+            state = refreshState();
+        } finally {
+            writeLock.unlock();
+        }
+        symbols.writeState(out);
+        state.habitAnalyzer.writeState(out);
+        state.performanceAnalyzer.writeState(out);
+        state.patternRecognizer.writeState(out);
+    }
+    
+    /**
+     * Remplace l'état d'apprentissage par celui d'un point de reprise, puis le publie
+     * @param in Tampon source
+     */
+    void readState(CheckpointBuffer in) {
+        writeLock.lock();
+        try {
+            symbols.readState(in);
+            habitAnalyzer.readState(in);
+            performanceAnalyzer.readState(in);
+            patternRecognizer.readState(in);
+            version++;
+        } finally {
+            writeLock.unlock();
+        }
+    }
+    
+    /**
+     * Génère un planning optimisé pour une journée donnée
+     * @param date Date pour laquelle générer le planning
+     * @param tasks Liste des tâches à planifier
+     * @param busyTime Minutes déjà occupées de la journée (peut être null)
+     * @return Planning optimisé
+     */
+    public Schedule generateSchedule(Date date, List<Task> tasks, DayTimeline busyTime) {
+        PublishedState state = currentState();
+        
+        // Optimiser les tâches en fonction des performances analysées
+        optimizeTasksBasedOnPerformance(tasks, state.performanceAnalyzer);
+        
+        return state.scheduler.generateSchedule(date, tasks, busyTime);
+    }
+    
+    /**
+     * Génère les plannings de plusieurs journées
+     * Les habitudes et les préférences sont figées une seule fois pour toute la période,
+     * chaque tâche est affectée à exactement un jour, puis les journées sont planifiées
+     * sur l'exécuteur fourni.
+     * @param from Premier jour de la période (inclus)
+     * @param to Dernier jour de la période (inclus)
+     * @param tasks Liste des tâches à répartir
+     * @param busyTimeSource Source des plages occupées, interrogée séquentiellement (peut être null)
+     * @param executor Exécuteur des journées, ou null pour les planifier dans le thread appelant
+     * @return Plannings générés, un par jour, dans l'ordre chronologique
+     */
+    public List<Schedule> generateSchedules(Date from, Date to, List<Task> tasks,
+                                            BusyTimeSource busyTimeSource, ExecutorService executor) {
+        List<Date> days = listDays(from, to);
+        if (days.isEmpty()) {
+            return new ArrayList<>();
+        }
+        
+        // Figer l'état d'apprentissage pour toute la période (l'état publié l'est déjà)
+        PublishedState state = currentState();
+        IntelligentScheduler snapshotScheduler = new IntelligentScheduler(
+                state.habitAnalyzer, new UserPreferences(userPreferences));
+        snapshotScheduler.setSolverTimeBudgetMillis(state.scheduler.getSolverTimeBudgetMillis());
+        snapshotScheduler.setDurationQuantile(state.scheduler.getDurationQuantile());
+        snapshotScheduler.setPatternRecognizer(state.patternRecognizer);
+        
+        // Optimiser les tâches une seule fois, puis les répartir sur les jours
+        optimizeTasksBasedOnPerformance(tasks, state.performanceAnalyzer);
+        List<List<Task>> tasksByDay = assignTasksToDays(days, tasks, snapshotScheduler);
+        
+        // Préparer les jobs (l'accès aux plages occupées reste séquentiel)
+        List<Callable<Schedule>> jobs = new ArrayList<>();
+        for (int i = 0; i < days.size(); i++) {
+            final Date day = days.get(i);
+            final List<Task> dayTasks = tasksByDay.get(i);
+            final DayTimeline busyTime = busyTimeSource != null ? busyTimeSource.getBusyTime(day) : null;
+            jobs.add(() -> snapshotScheduler.generateSchedule(day, dayTasks, busyTime));
+        }
+        
+        List<Schedule> schedules = new ArrayList<>();
+        try {
+            if (executor == null) {
+                for (Callable<Schedule> job : jobs) {
+                    schedules.add(job.call());
+                }
+            } else {
+                // Planifier les journées en parallèle
+                for (Future<Schedule> result : executor.invokeAll(jobs)) {
+                    schedules.add(result.get());
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Génération des plannings interrompue", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Erreur lors de la génération des plannings", e.getCause());
+        } catch (Exception e) {
+            throw new IllegalStateException("Erreur lors de la génération des plannings", e);
+        }
+        
+        EngineLog.i(TAG, schedules.size() + " plannings générés pour " + tasks.size() + " tâches");
+        
+        return schedules;
+    }
+    
+    /**
+     * Liste les jours d'une période (à minuit)
+     * @param from Premier jour (inclus)
+     * @param to Dernier jour (inclus)
+     * @return Liste des jours
+     */
+    private List<Date> listDays(Date from, Date to) {
+        List<Date> days = new ArrayList<>();
+        
+        int lastDay = timeBuckets.epochDay(to.getTime());
+        for (int day = timeBuckets.epochDay(from.getTime()); day <= lastDay; day++) {
+            days.add(new Date(timeBuckets.startOfEpochDay(day)));
+        }
+        
+        return days;
+    }
+    
+    /**
+     * Affecte chaque tâche à un seul jour de la période
+     * Une tâche déjà planifiée dans la période garde son jour. Les autres sont traitées
+     * par échéance croissante et placées au premier jour, avant leur échéance, qui a encore
+     * assez de temps de travail libre ; à défaut, au jour le moins chargé avant l'échéance.
+     * @param days Jours de la période
+     * @param tasks Tâches à répartir
+     * @param snapshotScheduler Planificateur figé de la période
+     * @return Tâches de chaque jour, dans l'ordre des jours
+     */
+    private List<List<Task>> assignTasksToDays(List<Date> days, List<Task> tasks,
+                                               IntelligentScheduler snapshotScheduler) {
+        List<List<Task>> tasksByDay = new ArrayList<>();
+        int[] remainingMinutes = new int[days.size()];
+        for (int i = 0; i < days.size(); i++) {
+            tasksByDay.add(new ArrayList<>());
+            remainingMinutes[i] = snapshotScheduler.getAvailableMinutes(days.get(i));
+        }
+        
+        // Traiter les tâches par échéance croissante, puis par priorité décroissante
+        List<Task> sortedTasks = new ArrayList<>(tasks);
+        Collections.sort(sortedTasks, new Comparator<Task>() {
+            @Override
+            public int compare(Task t1, Task t2) {
+                if (t1.getDueDate() == null || t2.getDueDate() == null) {
+                    if (t1.getDueDate() != t2.getDueDate()) {
+                        return t1.getDueDate() == null ? 1 : -1;
+                    }
+                } else if (!t1.getDueDate().equals(t2.getDueDate())) {
+                    return t1.getDueDate().compareTo(t2.getDueDate());
+                }
+                return Integer.compare(t2.getPriority(), t1.getPriority());
+            }
+        });
+        
+        int firstDay = timeBuckets.epochDay(days.get(0).getTime());
+        int lastDay = days.size() - 1;
+        
+        for (Task task : sortedTasks) {
+            int duration = snapshotScheduler.estimateDuration(task);
+            int dayIndex = task.getScheduledDate() != null
+                    ? dayIndexOf(task.getScheduledDate(), firstDay) : -1;
+            
+            if (dayIndex < 0 || dayIndex > lastDay) {
+                // Dernier jour possible : l'échéance, bornée à la période
+                int latestDay = lastDay;
+                if (task.getDueDate() != null) {
+                    latestDay = Math.max(0, Math.min(lastDay, dayIndexOf(task.getDueDate(), firstDay)));
+                }
+                
+                // Premier jour qui peut contenir la tâche, sinon le jour le moins chargé
+                dayIndex = -1;
+                int leastLoadedDay = 0;
+                for (int i = 0; i <= latestDay; i++) {
+                    if (remainingMinutes[i] >= duration) {
+                        dayIndex = i;
+                        break;
+                    }
+                    if (remainingMinutes[i] > remainingMinutes[leastLoadedDay]) {
+                        leastLoadedDay = i;
+                    }
+                }
+                if (dayIndex < 0) {
+                    dayIndex = leastLoadedDay;
+                }
+            }
+            
+            tasksByDay.get(dayIndex).add(task);
+            remainingMinutes[dayIndex] -= duration;
+        }
+        
+        return tasksByDay;
+    }
+    
+    /**
+     * Calcule l'indice d'une date dans une période
+     * @param date Date
+     * @param firstDay Premier jour de la période (jours depuis le 1er janvier 1970)
+     * @return Nombre de jours entre le premier jour et la date (négatif si avant)
+     */
+    private int dayIndexOf(Date date, int firstDay) {
+        return timeBuckets.epochDay(date.getTime()) - firstDay;
+    }
+    
+    /**
+     * Optimise les tâches en fonction des performances analysées
+     * @param tasks Liste des tâches à optimiser
+     * @param performanceAnalyzer Analyseur de performance publié
+     */
+    private void optimizeTasksBasedOnPerformance(List<Task> tasks, TaskPerformanceAnalyzer performanceAnalyzer) {
+        // Obtenir l'heure actuelle
+        int currentHour = timeBuckets.hourOfDay(System.currentTimeMillis());
+        
+        for (Task task : tasks) {
+            // Ajuster la priorité des tâches en fonction de la période optimale
+            int bestPeriod = performanceAnalyzer.getBestPeriodForTaskCategory(task.getCategory());
+            
+            // Vérifier si nous sommes dans la période optimale pour cette tâche
+            boolean isOptimalPeriod = false;
+            
+            switch (bestPeriod) {
+                case TaskPerformanceAnalyzer.MORNING:
+                    isOptimalPeriod = (currentHour >= 5 && currentHour < 12);
+                    break;
+                case TaskPerformanceAnalyzer.AFTERNOON:
+                    isOptimalPeriod = (currentHour >= 12 && currentHour < 18);
+                    break;
+                case TaskPerformanceAnalyzer.EVENING:
+                    isOptimalPeriod = (currentHour >= 18 && currentHour < 22);
+                    break;
+                case TaskPerformanceAnalyzer.NIGHT:
+                    isOptimalPeriod = (currentHour >= 22 || currentHour < 5);
+                    break;
+            }
+            
+            // Augmenter la priorité si nous sommes dans la période optimale
+            if (isOptimalPeriod && task.getPriority() < 5) {
+                task.setPriority(task.getPriority() + 1);
+            }
+            
+            // Mettre à jour la durée estimée si nous avons des données
+            int avgDuration = performanceAnalyzer.getAverageDurationForTask(task.getTitle());
+            if (avgDuration > 0) {
+                task.setEstimatedDuration(avgDuration);
+            }
+        }
+    }
+    
+    /**
+     * Prédit la durée d'une tâche en fonction de son titre et de sa catégorie
+     * @param taskTitle Titre de la tâche
+     * @param category Catégorie de la tâche
+     * @return Durée prédite en minutes
+     */
+    public int predictTaskDuration(String taskTitle, String category) {
+        PublishedState state = currentState();
+        
+        // Vérifier d'abord si l'analyseur de performance a des données
+        int avgDuration = state.performanceAnalyzer.getAverageDurationForTask(taskTitle);
+        if (avgDuration > 0) {
+            return avgDuration;
+        }
+        
+        // Sinon, utiliser l'analyseur d'habitudes
+        return state.habitAnalyzer.predictTaskDuration(taskTitle, category);
+    }
+    
+    public SymbolTable getSymbolTable() {
+        return symbols;
+    }
+    
+    /**
+     * Retourne l'analyseur d'habitudes publié (copie figée, en lecture seule)
+     * Les écritures passent par le moteur ; un appel ultérieur reflète les dernières activités.
+     * @return Analyseur d'habitudes
+     */
+    public UserHabitAnalyzer getHabitAnalyzer() {
+        return currentState().habitAnalyzer;
+    }
+    
+    /**
+     * Retourne l'analyseur de performance publié (copie figée, en lecture seule)
+     * @return Analyseur de performance
+     */
+    public TaskPerformanceAnalyzer getPerformanceAnalyzer() {
+        return currentState().performanceAnalyzer;
+    }
+    
+    /**
+     * Retourne le service de reconnaissance de modèles publié (copie figée, en lecture seule)
+     * @return Service de reconnaissance de modèles
+     */
+    public TaskPatternRecognizer getPatternRecognizer() {
+        return currentState().patternRecognizer;
+    }
+    
+    public UserPreferences getUserPreferences() {
+        return userPreferences;
+    }
+    
+    public IntelligentScheduler getScheduler() {
+        return currentState().scheduler;
+    }
+}
@@ -0,0 +1,308 @@
+package com.shermine237.tempora.ai.backend;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Dictionnaire des titres et catégories de tâches
+ * Chaque titre (et chaque catégorie) normalisé reçoit un identifiant entier dense, attribué
+ * dans l'ordre d'apparition à partir de 0. Les analyseurs indexent leurs statistiques par
+ * ces identifiants dans des tableaux : une recherche ne compare plus de chaînes, et chaque
+ * nom n'est conservé qu'une fois. Les identifiants ne sont jamais réattribués ; le
+ * dictionnaire est partagé par les analyseurs d'un moteur et par leurs copies figées.
+ * Les titres quasi identiques ("Réunion d'équipe", "Reunion equipe") partagent un même
+ * identifiant, attribué par regroupement (voir TitleClusterIndex) : les analyseurs agrègent
+ * ainsi leurs statistiques par groupe de titres. Les catégories restent comparées exactement.
+ * Les lectures sont sans verrou, y compris la recherche du groupe d'un nom inconnu ; seule
+ * l'attribution d'un identifiant est synchronisée.
+ */
+public final class SymbolTable {
+    
+    /**
+     * Identifiant retourné pour un nom inconnu
+     */
+    public static final int UNKNOWN = -1;
+    
+    private final Namespace titles = new Namespace(new TitleClusterIndex());
+    private final Namespace categories = new Namespace(null);
+    
+    /**
+     * Normalise un nom : espaces de début et de fin retirés, espaces internes réduits, minuscules
+     * @param name Nom brut (null accepté)
+     * @return Nom normalisé
+     */
+    public static String normalize(String name) {
+        if (name == null) {
+            return "";
+        }
+        
+        StringBuilder normalized = new StringBuilder(name.length());
+        boolean pendingSpace = false;
+        for (int i = 0; i < name.length(); i++) {
+            char c = name.charAt(i);
+            if (Character.isWhitespace(c)) {
+                pendingSpace = normalized.length() > 0;
+            } else {
+                if (pendingSpace) {
+                    normalized.append(' ');
+                    pendingSpace = false;
+                }
+                normalized.append(c);
+            }
+        }
+        return normalized.toString().toLowerCase(Locale.ROOT);
+    }
+    
+    /**
+     * Retourne l'identifiant d'un titre, attribué au besoin
+     * @param title Titre brut
+     * @return Identifiant
+     */
+    public int internTitle(String title) {
+        return titles.intern(title);
+    }
+    
+    /**
+     * Retourne l'identifiant d'un titre sans en attribuer de nouveau
+     * @param title Titre brut
+     * @return Identifiant, ou UNKNOWN si le titre n'a jamais été vu
+     */
+    public int lookupTitle(String title) {
+        return titles.lookup(title);
+    }
+    
+    /**
+     * Retourne le titre d'un identifiant : le premier titre vu de son groupe
+     * @param id Identifiant
+     * @return Titre
+     */
+    public String getTitle(int id) {
+        return titles.nameOf(id);
+    }
+    
+    /**
+     * Retourne le nombre de titres connus (les identifiants vont de 0 à ce nombre exclu)
+     * @return Nombre de titres
+     */
+    public int getTitleCount() {
+        return titles.size();
+    }
+    
+    /**
+     * Retourne l'identifiant d'une catégorie, attribué au besoin
+     * @param category Catégorie brute
+     * @return Identifiant
+     */
+    public int internCategory(String category) {
+        return categories.intern(category);
+    }
+    
+    /**
+     * Retourne l'identifiant d'une catégorie sans en attribuer de nouveau
+     * @param category Catégorie brute
+     * @return Identifiant, ou UNKNOWN si la catégorie n'a jamais été vue
+     */
+    public int lookupCategory(String category) {
+        return categories.lookup(category);
+    }
+    
+    /**
+     * Retourne la catégorie d'un identifiant, telle qu'elle a été vue la première fois
+     * @param id Identifiant
+     * @return Catégorie
+     */
+    public String getCategory(int id) {
+        return categories.nameOf(id);
+    }
+    
+    /**
+     * Retourne le nombre de catégories connues
+     * @return Nombre de catégories
+     */
+    public int getCategoryCount() {
+        return categories.size();
+    }
+    
+    /**
+     * Retourne l'élément d'une liste indexée par identifiant
+     * @param byId Liste indexée par identifiant
+     * @param id Identifiant (UNKNOWN accepté)
+     * @return Élément, ou null s'il n'existe pas
+     */
+    static <T> T get(List<T> byId, int id) {
+        return id >= 0 && id < byId.size() ? byId.get(id) : null;
+    }
+    
+    /**
+     * Place un élément dans une liste indexée par identifiant, en l'agrandissant au besoin
+     * @param byId Liste indexée par identifiant
+     * @param id Identifiant
+     * @param value Élément
+     */
+    static <T> void set(List<T> byId, int id, T value) {
+        while (byId.size() <= id) {
+            byId.add(null);
+        }
+        byId.set(id, value);
+    }
+    
+    /**
+     * Retourne une capacité suffisante pour un identifiant (croissance géométrique)
+     * @param id Identifiant à loger
+     * @param capacity Capacité actuelle
+     * @return Nouvelle capacité
+     */
+    static int capacityFor(int id, int capacity) {
+        return Math.max(id + 1, Math.max(8, capacity * 2));
+    }
+    
+    /**
+     * Écrit le dictionnaire dans un point de reprise
+     * @param out Tampon de destination
+     */
+    void writeState(CheckpointBuffer out) {
+        titles.write(out);
+        categories.write(out);
+    }
+    
+    /**
+     * Remplace le contenu du dictionnaire par celui d'un point de reprise
+     * @param in Tampon source
+     */
+    void readState(CheckpointBuffer in) {
+        titles.read(in);
+        categories.read(in);
+    }
+    
+    /**
+     * Espace de noms : noms normalisés (et variantes brutes déjà vues) vers identifiants
+     */
+    private static final class Namespace {
+        
+        private final ConcurrentHashMap<String, Integer> ids = new ConcurrentHashMap<>();
+        private volatile String[] names = new String[16];
+        private volatile int size;
+        
+        // Regroupement des noms quasi identiques (null : comparaison exacte)
+        private final TitleClusterIndex clusters;
+        
+        // Noms normalisés rattachés à un groupe existant, à conserver dans les points de reprise
+        private final Map<String, Integer> clusteredNames = new HashMap<>();
+        
+        Namespace(TitleClusterIndex clusters) {
+            this.clusters = clusters;
+        }
+        
+        int lookup(String name) {
+            String key = name != null ? name : "";
+            Integer id = ids.get(key);
+            if (id == null) {
+                id = ids.get(normalize(key));
+            }
+            if (id == null && clusters != null) {
+                // Recherche sans verrou dans l'index des groupes (le nom n'est pas enregistré)
+                int cluster = clusters.find(key);
+                return cluster >= 0 ? cluster : UNKNOWN;
+            }
+            return id != null ? id : UNKNOWN;
+        }
+        
+        int intern(String name) {
+            String key = name != null ? name : "";
+            Integer id = ids.get(key);
+            if (id != null) {
+                return id;
+            }
+            return internSlow(key);
+        }
+        
+        private synchronized int internSlow(String key) {
+            String normalized = normalize(key);
+            Integer id = ids.get(normalized);
+            if (id == null && clusters != null) {
+                // Rattacher le nom au groupe d'un nom quasi identique
+                int cluster = clusters.find(key);
+                if (cluster >= 0) {
+                    id = cluster;
+                    ids.put(normalized, id);
+                    clusteredNames.put(normalized, id);
+                }
+            }
+            if (id == null) {
+                id = size;
+                if (id == names.length) {
+                    names = Arrays.copyOf(names, names.length * 2);
+                }
+                names[id] = key;
+                ids.put(normalized, id);
+                if (clusters != null) {
+                    clusters.add(id, key);
+                }
+                size = id + 1;
+            }
+            
+            // Mémoriser la variante brute pour éviter de la normaliser à nouveau
+            ids.put(key, id);
+            return id;
+        }
+        
+        String nameOf(int id) {
+            return id >= 0 && id < size ? names[id] : null;
+        }
+        
+        int size() {
+            return size;
+        }
+        
+        synchronized void write(CheckpointBuffer out) {
+            out.putInt(size);
+            for (int i = 0; i < size; i++) {
+                out.putString(names[i]);
+            }
+            
+            // Rattachements, triés pour un point de reprise indépendant de l'ordre d'insertion
+            List<String> clustered = new ArrayList<>(clusteredNames.keySet());
+            Collections.sort(clustered);
+            out.putInt(clustered.size());
+            for (String name : clustered) {
+                out.putString(name);
+                out.putInt(clusteredNames.get(name));
+            }
+        }
+        
+        synchronized void read(CheckpointBuffer in) {
+            ids.clear();
+            clusteredNames.clear();
+            if (clusters != null) {
+                clusters.clear();
+            }
+            
+            int count = in.getInt();
+            String[] restored = new String[Math.max(16, count)];
+            for (int i = 0; i < count; i++) {
+                restored[i] = in.getString();
+                ids.put(normalize(restored[i]), i);
+                ids.put(restored[i], i);
+                if (clusters != null) {
+                    clusters.add(i, restored[i]);
+                }
+            }
+            
+            int clusteredCount = in.getInt();
+            for (int i = 0; i < clusteredCount; i++) {
+                String name = in.getString();
+                int id = in.getInt();
+                ids.put(name, id);
+                clusteredNames.put(name, id);
+            }
+            names = restored;
+            size = count;
+        }
+    }
+}
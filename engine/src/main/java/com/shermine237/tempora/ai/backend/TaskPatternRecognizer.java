@@ -0,0 +1,962 @@
+package com.shermine237.tempora.ai.backend;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Calendar;
+import java.util.Date;
+import java.util.List;
+
+/**
+ * Reconnaissance de modèles pour les tâches
+ * Ce service identifie des schémas récurrents dans les tâches de l'utilisateur
+ */
+public class TaskPatternRecognizer {
+    
+    private static final String TAG = "TaskPatternRecognizer";
+    
+    // Types de modèles
+    public static final int PATTERN_DAILY = 0;
+    public static final int PATTERN_WEEKLY = 1;
+    public static final int PATTERN_MONTHLY = 2;
+    public static final int PATTERN_SEQUENTIAL = 3;
+    public static final int PATTERN_PERIODIC = 4;
+    
+    // Nombre minimal d'occurrences d'une tâche pour rechercher des modèles
+    private static final int MIN_OCCURRENCES = 3;
+    
+    // Part minimale des occurrences dans une même case pour retenir un modèle
+    private static final double PATTERN_THRESHOLD = 0.5;
+    
+    // Délai maximal entre deux tâches complétées pour les considérer comme enchaînées
+    private static final int MAX_CHAIN_DELAY_MINUTES = 240;
+    
+    // Stockage des modèles identifiés, indexés par identifiant de titre
+    private List<List<TaskPattern>> taskPatterns;
+    
+    // Compteurs d'occurrences par identifiant de titre : total, heure de la journée (24 cases),
+    // jour de la semaine (7 cases, dimanche en premier) et jour du mois (31 cases)
+    private int[] occurrenceCounts;
+    private PreferenceHistogram[] hourCounters;
+    private PreferenceHistogram[] dayOfWeekCounters;
+    private PreferenceHistogram[] dayOfMonthCounters;
+    
+    // Jours d'occurrence par identifiant de titre, pour détecter des périodes quelconques
+    private OccurrenceSeries[] occurrenceDays;
+    
+    // Titres dont les compteurs appartiennent à ce service ; les autres sont partagés avec
+    // une copie figée et dupliqués avant toute modification
+    private BitSet ownedTitles = new BitSet();
+    
+    // Enchaînements entre tâches complétées (premier et second ordre)
+    private TransitionTable transitions;
+    
+    // Dernières tâches complétées de l'enchaînement en cours (-1 si aucune)
+    private int lastTitleId = -1;
+    private int previousTitleId = -1;
+    private long lastStartMillis;
+    private long lastEndMillis;
+    
+    // Occurrences prévues sur un horizon glissant, ancré sur le jour courant et tenu à jour
+    // quand les modèles changent (jamais par les lectures) ; partagé avec les copies figées et
+    // dupliqué avant modification
+    private volatile OccurrenceTimeline timeline;
+    private boolean timelineOwned;
+    
+    // Dictionnaire des titres et catégories (partagé avec les autres analyseurs du moteur)
+    private final SymbolTable symbols;
+    
+    private final TimeBuckets timeBuckets = TimeBuckets.getDefault();
+    
+    /**
+     * Constructeur avec un dictionnaire propre
+     */
+    public TaskPatternRecognizer() {
+        this(new SymbolTable());
+    }
+    
+    /**
+     * Constructeur
+     * @param symbols Dictionnaire des titres et catégories
+     */
+    public TaskPatternRecognizer(SymbolTable symbols) {
+        this(symbols, new ArrayList<List<TaskPattern>>());
+        occurrenceCounts = new int[0];
+        hourCounters = new PreferenceHistogram[0];
+        dayOfWeekCounters = new PreferenceHistogram[0];
+        dayOfMonthCounters = new PreferenceHistogram[0];
+        occurrenceDays = new OccurrenceSeries[0];
+        transitions = new TransitionTable();
+        EngineLog.i(TAG, "Service de reconnaissance de modèles initialisé");
+    }
+    
+    private TaskPatternRecognizer(SymbolTable symbols, List<List<TaskPattern>> taskPatterns) {
+        this.symbols = symbols;
+        this.taskPatterns = taskPatterns;
+    }
+    
+    /**
+     * Crée une copie figée des modèles identifiés
+     * Les listes de modèles de chaque tâche sont remplacées, jamais modifiées, et les
+     * compteurs sont partagés (copie sur écriture) : la copie ne duplique que les tables
+     * indexées par titre. La copie ne doit pas être modifiée tant qu'elle est lue.
+     * @return Copie du service
+     */
+    public TaskPatternRecognizer snapshot() {
+        TaskPatternRecognizer copy = new TaskPatternRecognizer(symbols, new ArrayList<>(taskPatterns));
+        copy.occurrenceCounts = occurrenceCounts.clone();
+        copy.hourCounters = hourCounters.clone();
+        copy.dayOfWeekCounters = dayOfWeekCounters.clone();
+        copy.dayOfMonthCounters = dayOfMonthCounters.clone();
+        copy.occurrenceDays = occurrenceDays.clone();
+        copy.transitions = transitions.snapshot();
+        copy.lastTitleId = lastTitleId;
+        copy.previousTitleId = previousTitleId;
+        copy.lastStartMillis = lastStartMillis;
+        copy.lastEndMillis = lastEndMillis;
+        copy.timeline = timeline;
+        ownedTitles.clear();
+        timelineOwned = false;
+        return copy;
+    }
+    
+    /**
+     * Ajoute une occurrence de tâche et réévalue les modèles de cette seule tâche
+     * Coût constant, quelle que soit la longueur de l'historique.
+     * @param activity Activité utilisateur
+     */
+    public void addActivity(UserActivity activity) {
+        int titleId = recordOccurrence(activity);
+        int predecessorId = recordTransition(titleId, activity);
+        
+        evaluatePatterns(titleId);
+        if (predecessorId >= 0 && predecessorId != titleId) {
+            evaluatePatterns(predecessorId);
+        }
+    }
+    
+    /**
+     * Analyse un historique de tâches pour identifier des modèles
+     * Les occurrences s'ajoutent aux compteurs déjà connus ; les modèles de chaque tâche
+     * concernée sont réévalués une seule fois pour tout l'historique.
+     * @param taskHistory Historique des tâches
+     */
+    public void analyzeTaskHistory(List<UserActivity> taskHistory) {
+        if (taskHistory == null || taskHistory.isEmpty()) {
+            EngineLog.d(TAG, "Aucun historique de tâches à analyser");
+            return;
+        }
+        
+        EngineLog.d(TAG, "Analyse de " + taskHistory.size() + " tâches pour identifier des modèles");
+        
+        // Compter les occurrences de chaque tâche
+        BitSet touchedTitles = new BitSet();
+        for (UserActivity activity : taskHistory) {
+            int titleId = recordOccurrence(activity);
+            touchedTitles.set(titleId);
+            
+            // La tâche précédente a un successeur de plus : ses modèles changent aussi
+            int predecessorId = recordTransition(titleId, activity);
+            if (predecessorId >= 0) {
+                touchedTitles.set(predecessorId);
+            }
+        }
+        
+        // Réévaluer chaque tâche concernée
+        int recognized = 0;
+        for (int titleId = touchedTitles.nextSetBit(0); titleId >= 0; titleId = touchedTitles.nextSetBit(titleId + 1)) {
+            if (evaluatePatterns(titleId)) {
+                recognized++;
+            }
+        }
+        
+        EngineLog.d(TAG, "Modèles identifiés pour " + recognized + " tâches");
+    }
+    
+    /**
+     * Compte une occurrence de tâche
+     * @param activity Activité utilisateur
+     * @return Identifiant du titre de la tâche
+     */
+    private int recordOccurrence(UserActivity activity) {
+        int titleId = symbols.internTitle(activity.getTitle());
+        long startMillis = activity.getStartTime().getTime();
+        
+        ownTitle(titleId);
+        if (titleId >= occurrenceCounts.length) {
+            int capacity = SymbolTable.capacityFor(titleId, occurrenceCounts.length);
+            occurrenceCounts = Arrays.copyOf(occurrenceCounts, capacity);
+            hourCounters = Arrays.copyOf(hourCounters, capacity);
+            dayOfWeekCounters = Arrays.copyOf(dayOfWeekCounters, capacity);
+            dayOfMonthCounters = Arrays.copyOf(dayOfMonthCounters, capacity);
+            occurrenceDays = Arrays.copyOf(occurrenceDays, capacity);
+        }
+        if (hourCounters[titleId] == null) {
+            hourCounters[titleId] = new PreferenceHistogram(24);
+            dayOfWeekCounters[titleId] = new PreferenceHistogram(7);
+            dayOfMonthCounters[titleId] = new PreferenceHistogram(31);
+            occurrenceDays[titleId] = new OccurrenceSeries();
+        }
+        
+        occurrenceCounts[titleId]++;
+        hourCounters[titleId].add(timeBuckets.hourOfDay(startMillis));
+        dayOfWeekCounters[titleId].add(timeBuckets.dayOfWeek(startMillis) - 1);
+        dayOfMonthCounters[titleId].add(timeBuckets.dayOfMonth(startMillis) - 1);
+        occurrenceDays[titleId].add(timeBuckets.epochDay(startMillis));
+        return titleId;
+    }
+    
+    /**
+     * Compte l'enchaînement d'une tâche complétée avec la tâche complétée précédente
+     * Les activités doivent arriver par heure de début croissante ; une activité plus
+     * ancienne que la précédente est ignorée, et un délai de plus de quatre heures
+     * entre deux tâches rompt l'enchaînement.
+     * @param titleId Identifiant du titre de la tâche
+     * @param activity Activité utilisateur
+     * @return Identifiant du titre de la tâche précédente, ou -1 si aucun enchaînement n'est compté
+     */
+    private int recordTransition(int titleId, UserActivity activity) {
+        if (!activity.isCompleted() || activity.getEndTime() == null) {
+            return -1;
+        }
+        
+        long startMillis = activity.getStartTime().getTime();
+        if (lastTitleId >= 0 && startMillis < lastStartMillis) {
+            return -1;
+        }
+        
+        int predecessorId = -1;
+        if (lastTitleId >= 0) {
+            long delayMinutes = Math.max(0, startMillis - lastEndMillis) / TimeBuckets.MINUTE_MILLIS;
+            if (delayMinutes <= MAX_CHAIN_DELAY_MINUTES) {
+                transitions.add(previousTitleId, lastTitleId, titleId, (int) delayMinutes);
+                predecessorId = lastTitleId;
+            }
+        }
+        
+        previousTitleId = predecessorId;
+        lastTitleId = titleId;
+        lastStartMillis = startMillis;
+        lastEndMillis = activity.getEndTime().getTime();
+        return predecessorId;
+    }
+    
+    /**
+     * Prépare les compteurs d'un titre à être modifiés
+     * Les compteurs encore partagés avec une copie figée sont d'abord dupliqués.
+     * @param titleId Identifiant du titre
+     */
+    private void ownTitle(int titleId) {
+        if (ownedTitles.get(titleId)) {
+            return;
+        }
+        if (titleId < hourCounters.length && hourCounters[titleId] != null) {
+            hourCounters[titleId] = hourCounters[titleId].copy();
+            dayOfWeekCounters[titleId] = dayOfWeekCounters[titleId].copy();
+            dayOfMonthCounters[titleId] = dayOfMonthCounters[titleId].copy();
+            occurrenceDays[titleId] = occurrenceDays[titleId].copy();
+        }
+        ownedTitles.set(titleId);
+    }
+    
+    /**
+     * Réévalue les modèles d'une tâche à partir de ses compteurs
+     * @param titleId Identifiant du titre
+     * @return true si au moins un modèle est identifié
+     */
+    private boolean evaluatePatterns(int titleId) {
+        // Ignorer les tâches avec trop peu d'occurrences
+        if (occurrenceCounts[titleId] < MIN_OCCURRENCES) {
+            return false;
+        }
+        
+        List<TaskPattern> patterns = identifyPatterns(titleId, symbols.getTitle(titleId));
+        SymbolTable.set(taskPatterns, titleId, patterns);
+        updateTimeline(titleId, patterns);
+        return !patterns.isEmpty();
+    }
+    
+    /**
+     * Reporte les modèles d'une tâche dans l'index des occurrences prévues
+     * L'index est reconstruit quand le jour courant change, sinon seule la tâche est projetée.
+     * @param titleId Identifiant du titre
+     * @param patterns Nouveaux modèles de la tâche
+     */
+    private void updateTimeline(int titleId, List<TaskPattern> patterns) {
+        int today = timeBuckets.epochDay(System.currentTimeMillis());
+        OccurrenceTimeline current = timeline;
+        if (current == null || current.getStartDay() != today) {
+            timeline = buildTimeline(today);
+            timelineOwned = true;
+            return;
+        }
+        
+        long days = projectDays(current, patterns);
+        if (days == current.getDays(titleId)) {
+            return;
+        }
+        if (!timelineOwned) {
+            current = current.copy();
+            timeline = current;
+            timelineOwned = true;
+        }
+        current.setDays(titleId, days);
+    }
+    
+    /**
+     * Construit l'index des occurrences prévues de toutes les tâches
+     * @param startDay Premier jour de l'horizon
+     * @return Nouvel index
+     */
+    private OccurrenceTimeline buildTimeline(int startDay) {
+        OccurrenceTimeline built = new OccurrenceTimeline(startDay, taskPatterns.size());
+        for (int titleId = 0; titleId < taskPatterns.size(); titleId++) {
+            List<TaskPattern> patterns = taskPatterns.get(titleId);
+            if (patterns != null && !patterns.isEmpty()) {
+                built.setDays(titleId, projectDays(built, patterns));
+            }
+        }
+        return built;
+    }
+    
+    /**
+     * Projette le modèle principal d'une tâche sur l'horizon d'un index
+     * Même modèle que predictNextOccurrence : un modèle séquentiel ne date pas la tâche.
+     * @param horizon Index dont l'horizon est utilisé
+     * @param patterns Modèles de la tâche
+     * @return Jours prévus, un bit par jour de l'horizon
+     */
+    private long projectDays(OccurrenceTimeline horizon, List<TaskPattern> patterns) {
+        TaskPattern bestPattern = findBestPattern(patterns, true);
+        if (bestPattern == null) {
+            return 0;
+        }
+        
+        switch (bestPattern.getPatternType()) {
+            case PATTERN_DAILY:
+                return horizon.dailyDays();
+            
+            case PATTERN_WEEKLY:
+                return horizon.weeklyDays(bestPattern.getDayOfWeek());
+            
+            case PATTERN_MONTHLY:
+                return horizon.monthlyDays(bestPattern.getDayOfMonth());
+            
+            case PATTERN_PERIODIC:
+                int lastDay = timeBuckets.epochDay(bestPattern.getLastOccurrence().getTime());
+                return horizon.periodicDays(lastDay, bestPattern.getPeriodDays());
+            
+            default:
+                return 0;
+        }
+    }
+    
+    /**
+     * Retourne l'index des occurrences prévues s'il couvre un jour
+     * Lecture seule : un jour hors de l'horizon ne remplace pas l'index, il est évalué
+     * directement à partir des modèles.
+     * @param epochDay Jour recherché
+     * @return Index couvrant le jour, ou null
+     */
+    private OccurrenceTimeline timelineCovering(int epochDay) {
+        OccurrenceTimeline current = timeline;
+        return current != null && current.covers(epochDay) ? current : null;
+    }
+    
+    /**
+     * Indique si le modèle principal d'une tâche prévoit une occurrence un jour donné
+     * Même projection que l'index des occurrences prévues, pour les jours hors de son horizon.
+     * @param patterns Modèles de la tâche, ou null
+     * @param epochDay Jour (jours depuis le 1er janvier 1970)
+     * @return true si une occurrence est prévue ce jour-là
+     */
+    private boolean isPredictedDirectly(List<TaskPattern> patterns, int epochDay) {
+        TaskPattern bestPattern = patterns != null ? findBestPattern(patterns, true) : null;
+        if (bestPattern == null) {
+            return false;
+        }
+        
+        switch (bestPattern.getPatternType()) {
+            case PATTERN_DAILY:
+                return true;
+            
+            case PATTERN_WEEKLY:
+                return TimeBuckets.dayOfWeekOfEpochDay(epochDay) == bestPattern.getDayOfWeek();
+            
+            case PATTERN_MONTHLY:
+                // Le dernier jour d'un mois compte aussi pour les jours du mois qu'il n'atteint pas
+                int dayOfMonth = TimeBuckets.dayOfMonthOfEpochDay(epochDay);
+                int target = bestPattern.getDayOfMonth();
+                return target == dayOfMonth
+                        || (target > dayOfMonth && TimeBuckets.dayOfMonthOfEpochDay(epochDay + 1) == 1);
+            
+            case PATTERN_PERIODIC:
+                int elapsedDays = epochDay - timeBuckets.epochDay(bestPattern.getLastOccurrence().getTime());
+                return elapsedDays >= 0 && elapsedDays % bestPattern.getPeriodDays() == 0;
+            
+            default:
+                return false;
+        }
+    }
+    
+    /**
+     * Écrit les compteurs d'occurrences et les enchaînements dans un point de reprise
+     * Les modèles s'en déduisent : ils sont réévalués à la lecture.
+     * @param out Tampon de destination
+     */
+    void writeState(CheckpointBuffer out) {
+        out.putInt(occurrenceCounts.length);
+        for (int titleId = 0; titleId < occurrenceCounts.length; titleId++) {
+            out.putInt(occurrenceCounts[titleId]);
+            if (occurrenceCounts[titleId] > 0) {
+                hourCounters[titleId].write(out);
+                dayOfWeekCounters[titleId].write(out);
+                dayOfMonthCounters[titleId].write(out);
+                occurrenceDays[titleId].write(out);
+            }
+        }
+        
+        transitions.write(out);
+        out.putInt(lastTitleId);
+        out.putInt(previousTitleId);
+        out.putLong(lastStartMillis);
+        out.putLong(lastEndMillis);
+    }
+    
+    /**
+     * Remplace les compteurs et les modèles par ceux d'un point de reprise
+     * @param in Tampon source
+     */
+    void readState(CheckpointBuffer in) {
+        int titleCount = in.getInt();
+        occurrenceCounts = new int[titleCount];
+        hourCounters = new PreferenceHistogram[titleCount];
+        dayOfWeekCounters = new PreferenceHistogram[titleCount];
+        dayOfMonthCounters = new PreferenceHistogram[titleCount];
+        occurrenceDays = new OccurrenceSeries[titleCount];
+        ownedTitles = new BitSet();
+        taskPatterns = new ArrayList<>();
+        timeline = null;
+        
+        for (int titleId = 0; titleId < titleCount; titleId++) {
+            occurrenceCounts[titleId] = in.getInt();
+            if (occurrenceCounts[titleId] > 0) {
+                hourCounters[titleId] = PreferenceHistogram.read(in);
+                dayOfWeekCounters[titleId] = PreferenceHistogram.read(in);
+                dayOfMonthCounters[titleId] = PreferenceHistogram.read(in);
+                occurrenceDays[titleId] = OccurrenceSeries.read(in);
+            }
+        }
+        
+        transitions = new TransitionTable();
+        transitions.read(in);
+        lastTitleId = in.getInt();
+        previousTitleId = in.getInt();
+        lastStartMillis = in.getLong();
+        lastEndMillis = in.getLong();
+        
+        for (int titleId = 0; titleId < titleCount; titleId++) {
+            if (occurrenceCounts[titleId] > 0) {
+                evaluatePatterns(titleId);
+            }
+        }
+    }
+    
+    /**
+     * Identifie des modèles pour une tâche spécifique
+     * @param titleId Identifiant du titre de la tâche
+     * @param taskTitle Titre de la tâche
+     * @return Liste des modèles identifiés
+     */
+    private List<TaskPattern> identifyPatterns(int titleId, String taskTitle) {
+        List<TaskPattern> patterns = new ArrayList<>();
+        int occurrences = occurrenceCounts[titleId];
+        
+        // Vérifier les modèles quotidiens
+        TaskPattern dailyPattern = identifyPattern(taskTitle, PATTERN_DAILY, hourCounters[titleId], occurrences);
+        if (dailyPattern != null) {
+            dailyPattern.setHourOfDay(hourCounters[titleId].getBest());
+            patterns.add(dailyPattern);
+        }
+        
+        // Vérifier les modèles hebdomadaires
+        TaskPattern weeklyPattern = identifyPattern(taskTitle, PATTERN_WEEKLY, dayOfWeekCounters[titleId], occurrences);
+        if (weeklyPattern != null) {
+            weeklyPattern.setDayOfWeek(dayOfWeekCounters[titleId].getBest() + 1);
+            patterns.add(weeklyPattern);
+        }
+        
+        // Vérifier les modèles mensuels
+        TaskPattern monthlyPattern = identifyPattern(taskTitle, PATTERN_MONTHLY, dayOfMonthCounters[titleId], occurrences);
+        if (monthlyPattern != null) {
+            monthlyPattern.setDayOfMonth(dayOfMonthCounters[titleId].getBest() + 1);
+            patterns.add(monthlyPattern);
+        }
+        
+        // Vérifier les modèles périodiques (tous les n jours)
+        TaskPattern periodicPattern = identifyPeriodicPattern(titleId, taskTitle);
+        if (periodicPattern != null) {
+            patterns.add(periodicPattern);
+        }
+        
+        // Vérifier les modèles séquentiels
+        TaskPattern sequentialPattern = identifySequentialPattern(titleId, taskTitle);
+        if (sequentialPattern != null) {
+            patterns.add(sequentialPattern);
+        }
+        
+        return patterns;
+    }
+    
+    /**
+     * Identifie un modèle quotidien, hebdomadaire ou mensuel à partir d'un histogramme
+     * Le modèle est retenu si au moins la moitié des occurrences tombent dans la même case.
+     * @param taskTitle Titre de la tâche
+     * @param patternType Type de modèle recherché
+     * @param counters Occurrences par case (heure, jour de la semaine ou jour du mois)
+     * @param occurrences Nombre total d'occurrences de la tâche
+     * @return Modèle identifié ou null si aucun modèle n'est trouvé
+     */
+    private TaskPattern identifyPattern(String taskTitle, int patternType, PreferenceHistogram counters, int occurrences) {
+        int bestCount = counters.getCount(counters.getBest());
+        if (bestCount < occurrences * PATTERN_THRESHOLD) {
+            return null;
+        }
+        
+        TaskPattern pattern = new TaskPattern(taskTitle, patternType);
+        pattern.setConfidence((float) bestCount / occurrences);
+        return pattern;
+    }
+    
+    /**
+     * Identifie un modèle périodique (tâche répétée tous les n jours, n quelconque)
+     * La période est détectée par autocorrélation de la série des jours d'occurrence ;
+     * son score sert de confiance et doit atteindre le seuil des autres modèles.
+     * @param titleId Identifiant du titre de la tâche
+     * @param taskTitle Titre de la tâche
+     * @return Modèle identifié ou null si aucun modèle n'est trouvé
+     */
+    private TaskPattern identifyPeriodicPattern(int titleId, String taskTitle) {
+        OccurrenceSeries.Recurrence recurrence = occurrenceDays[titleId].getRecurrence(MIN_OCCURRENCES);
+        if (recurrence == null || recurrence.score < PATTERN_THRESHOLD) {
+            return null;
+        }
+        
+        // Dernière occurrence, à l'heure habituelle de la tâche
+        int hourOfDay = hourCounters[titleId].getBest();
+        long lastOccurrence = timeBuckets.startOfEpochDay(occurrenceDays[titleId].getLastDay())
+                + hourOfDay * TimeBuckets.HOUR_MILLIS;
+        
+        TaskPattern pattern = new TaskPattern(taskTitle, PATTERN_PERIODIC);
+        pattern.setPeriodDays(recurrence.periodDays);
+        pattern.setHourOfDay(hourOfDay);
+        pattern.setLastOccurrence(new Date(lastOccurrence));
+        pattern.setConfidence(recurrence.score);
+        return pattern;
+    }
+    
+    /**
+     * Identifie un modèle séquentiel (tâches qui se suivent régulièrement)
+     * @param titleId Identifiant du titre de la tâche
+     * @param taskTitle Titre de la tâche
+     * @return Modèle identifié ou null si aucun modèle n'est trouvé
+     */
+    private TaskPattern identifySequentialPattern(int titleId, String taskTitle) {
+        return sequentialPattern(taskTitle, transitions.row(titleId));
+    }
+    
+    /**
+     * Construit un modèle séquentiel à partir d'une ligne de la table des enchaînements
+     * Le successeur le plus fréquent est retenu s'il a été observé au moins trois fois et
+     * s'il suit la tâche dans au moins la moitié des enchaînements.
+     * @param taskTitle Titre de la tâche
+     * @param row Successeurs observés, ou null
+     * @return Modèle identifié ou null si aucun modèle n'est trouvé
+     */
+    private TaskPattern sequentialPattern(String taskTitle, TransitionTable.Row row) {
+        if (row == null) {
+            return null;
+        }
+        
+        int best = row.best();
+        int bestCount = row.getCount(best);
+        if (bestCount < MIN_OCCURRENCES || bestCount < row.getTotal() * PATTERN_THRESHOLD) {
+            return null;
+        }
+        
+        TaskPattern pattern = new TaskPattern(taskTitle, PATTERN_SEQUENTIAL);
+        pattern.setNextTaskTitle(symbols.getTitle(row.getSuccessor(best)));
+        pattern.setDelayMinutes(row.getMeanDelay(best));
+        pattern.setConfidence((float) bestCount / row.getTotal());
+        return pattern;
+    }
+    
+    /**
+     * Prédit la tâche qui suit habituellement une tâche complétée
+     * @param taskTitle Titre de la tâche complétée
+     * @return Modèle séquentiel (tâche suivante et délai moyen), ou null si aucun enchaînement n'est habituel
+     */
+    public TaskPattern predictNextTask(String taskTitle) {
+        return sequentialPattern(taskTitle, transitions.row(symbols.lookupTitle(taskTitle)));
+    }
+    
+    /**
+     * Prédit la tâche qui suit habituellement un enchaînement de deux tâches complétées
+     * L'enchaînement des deux tâches est consulté d'abord ; à défaut de successeur habituel,
+     * la prédiction retombe sur la seule dernière tâche.
+     * @param previousTaskTitle Titre de l'avant-dernière tâche, ou null
+     * @param taskTitle Titre de la dernière tâche
+     * @return Modèle séquentiel (tâche suivante et délai moyen), ou null si aucun enchaînement n'est habituel
+     */
+    public TaskPattern predictNextTask(String previousTaskTitle, String taskTitle) {
+        int titleId = symbols.lookupTitle(taskTitle);
+        if (previousTaskTitle != null) {
+            TaskPattern pattern = sequentialPattern(taskTitle,
+                    transitions.row(symbols.lookupTitle(previousTaskTitle), titleId));
+            if (pattern != null) {
+                return pattern;
+            }
+        }
+        return sequentialPattern(taskTitle, transitions.row(titleId));
+    }
+    
+    /**
+     * Prédit la prochaine occurrence d'une tâche en fonction des modèles identifiés
+     * @param taskTitle Titre de la tâche
+     * @param referenceDate Date de référence
+     * @return Date prédite pour la prochaine occurrence, ou null si aucune prédiction n'est possible
+     */
+    public Date predictNextOccurrence(String taskTitle, Date referenceDate) {
+        // Vérifier si nous avons des modèles pour cette tâche
+        List<TaskPattern> patterns = SymbolTable.get(taskPatterns, symbols.lookupTitle(taskTitle));
+        
+        if (patterns == null || patterns.isEmpty()) {
+            EngineLog.d(TAG, "Aucun modèle trouvé pour la tâche '" + taskTitle + "'");
+            return null;
+        }
+        
+        // Trouver le modèle avec la plus grande confiance (un modèle séquentiel ne date pas la tâche)
+        TaskPattern bestPattern = findBestPattern(patterns, true);
+        
+        if (bestPattern == null) {
+            return null;
+        }
+        
+        // Prédire la prochaine occurrence en fonction du type de modèle
+        Calendar calendar = Calendar.getInstance();
+        calendar.setTime(referenceDate);
+        
+        switch (bestPattern.getPatternType()) {
+            case PATTERN_DAILY:
+                // Définir l'heure prédite
+                calendar.set(Calendar.HOUR_OF_DAY, bestPattern.getHourOfDay());
+                calendar.set(Calendar.MINUTE, 0);
+                calendar.set(Calendar.SECOND, 0);
+                
+                // Si l'heure est déjà passée, passer au jour suivant
+                if (calendar.getTime().before(referenceDate)) {
+                    calendar.add(Calendar.DAY_OF_MONTH, 1);
+                }
+                break;
+            
+            case PATTERN_WEEKLY:
+                // Définir le jour de la semaine prédit
+                int currentDayOfWeek = calendar.get(Calendar.DAY_OF_WEEK);
+                int targetDayOfWeek = bestPattern.getDayOfWeek();
+                
+                // Calculer le nombre de jours à ajouter
+                int daysToAdd = (targetDayOfWeek - currentDayOfWeek + 7) % 7;
+                if (daysToAdd == 0) {
+                    // Si c'est le même jour, passer à la semaine suivante
+                    daysToAdd = 7;
+                }
+                
+                calendar.add(Calendar.DAY_OF_MONTH, daysToAdd);
+                
+                // Définir l'heure (par défaut 9h)
+                calendar.set(Calendar.HOUR_OF_DAY, 9);
+                calendar.set(Calendar.MINUTE, 0);
+                calendar.set(Calendar.SECOND, 0);
+                break;
+            
+            case PATTERN_PERIODIC:
+                // Avancer de période en période depuis la dernière occurrence jusqu'à la date de référence
+                int periodDays = bestPattern.getPeriodDays();
+                calendar.setTime(bestPattern.getLastOccurrence());
+                long elapsedDays = (referenceDate.getTime() - calendar.getTimeInMillis()) / TimeBuckets.DAY_MILLIS;
+                if (elapsedDays > periodDays) {
+                    calendar.add(Calendar.DAY_OF_MONTH, (int) (elapsedDays / periodDays - 1) * periodDays);
+                }
+                while (calendar.getTime().before(referenceDate)) {
+                    calendar.add(Calendar.DAY_OF_MONTH, periodDays);
+                }
+                break;
+            
+            case PATTERN_MONTHLY:
+                // Définir le jour du mois prédit
+                int targetDayOfMonth = bestPattern.getDayOfMonth();
+                int currentDayOfMonth = calendar.get(Calendar.DAY_OF_MONTH);
+                int maxDayOfMonth = calendar.getActualMaximum(Calendar.DAY_OF_MONTH);
+                
+                // Ajuster si le jour cible est supérieur au nombre de jours dans le mois
+                targetDayOfMonth = Math.min(targetDayOfMonth, maxDayOfMonth);
+                
+                if (targetDayOfMonth < currentDayOfMonth) {
+                    // Passer au mois suivant
+                    calendar.add(Calendar.MONTH, 1);
+                }
+                
+                calendar.set(Calendar.DAY_OF_MONTH, targetDayOfMonth);
+                
+                // Définir l'heure (par défaut 9h)
+                calendar.set(Calendar.HOUR_OF_DAY, 9);
+                calendar.set(Calendar.MINUTE, 0);
+                calendar.set(Calendar.SECOND, 0);
+                break;
+            
+            default:
+                return null;
+        }
+        
+        EngineLog.d(TAG, "Prochaine occurrence prédite pour '" + taskTitle + "': " + calendar.getTime());
+        
+        return calendar.getTime();
+    }
+    
+    /**
+     * Indique si une occurrence d'une tâche est prévue le jour d'une date
+     * Simple lecture de l'index des occurrences prévues : aucun calcul de calendrier tant
+     * que la date reste dans l'horizon de 60 jours ; au-delà, le modèle de la tâche est
+     * évalué directement.
+     * @param taskTitle Titre de la tâche
+     * @param date Date à évaluer
+     * @return true si le modèle principal de la tâche prévoit une occurrence ce jour-là
+     */
+    public boolean isPredictedOn(String taskTitle, Date date) {
+        int titleId = symbols.lookupTitle(taskTitle);
+        if (titleId == SymbolTable.UNKNOWN) {
+            return false;
+        }
+        int epochDay = timeBuckets.epochDay(date.getTime());
+        OccurrenceTimeline current = timelineCovering(epochDay);
+        if (current != null) {
+            return current.isPredicted(titleId, epochDay);
+        }
+        return isPredictedDirectly(SymbolTable.get(taskPatterns, titleId), epochDay);
+    }
+    
+    /**
+     * Retourne les tâches dont une occurrence est prévue le jour d'une date
+     * Dans l'horizon de l'index, une seule lecture ; au-delà, les modèles de chaque tâche
+     * sont évalués sans modifier l'index.
+     * @param date Date à évaluer
+     * @return Titres des tâches prévues
+     */
+    public List<String> getTasksPredictedOn(Date date) {
+        int epochDay = timeBuckets.epochDay(date.getTime());
+        OccurrenceTimeline current = timelineCovering(epochDay);
+        
+        List<String> predicted = new ArrayList<>();
+        if (current != null) {
+            BitSet titles = current.getTitles(epochDay);
+            for (int titleId = titles.nextSetBit(0); titleId >= 0; titleId = titles.nextSetBit(titleId + 1)) {
+                predicted.add(symbols.getTitle(titleId));
+            }
+            return predicted;
+        }
+        
+        for (int titleId = 0; titleId < taskPatterns.size(); titleId++) {
+            if (isPredictedDirectly(taskPatterns.get(titleId), epochDay)) {
+                predicted.add(symbols.getTitle(titleId));
+            }
+        }
+        return predicted;
+    }
+    
+    /**
+     * Vérifie si une tâche suit un modèle récurrent
+     * @param taskTitle Titre de la tâche
+     * @return true si la tâche suit un modèle, false sinon
+     */
+    public boolean hasRecurringPattern(String taskTitle) {
+        List<TaskPattern> patterns = SymbolTable.get(taskPatterns, symbols.lookupTitle(taskTitle));
+        return patterns != null && findBestPattern(patterns, true) != null;
+    }
+    
+    /**
+     * Obtient la description textuelle du modèle principal d'une tâche
+     * @param taskTitle Titre de la tâche
+     * @return Description du modèle ou null si aucun modèle n'est trouvé
+     */
+    public String getPatternDescription(String taskTitle) {
+        // Vérifier si nous avons des modèles pour cette tâche
+        List<TaskPattern> patterns = SymbolTable.get(taskPatterns, symbols.lookupTitle(taskTitle));
+        
+        if (patterns == null || patterns.isEmpty()) {
+            return null;
+        }
+        
+        // Décrire de préférence le modèle qui date la tâche, sinon le modèle séquentiel
+        TaskPattern bestPattern = findBestPattern(patterns, true);
+        if (bestPattern == null) {
+            bestPattern = findBestPattern(patterns, false);
+        }
+        
+        if (bestPattern == null) {
+            return null;
+        }
+        
+        // Générer une description en fonction du type de modèle
+        switch (bestPattern.getPatternType()) {
+            case PATTERN_DAILY:
+                return String.format("Tous les jours à %dh", bestPattern.getHourOfDay());
+            
+            case PATTERN_WEEKLY:
+                String[] dayNames = {"", "dimanche", "lundi", "mardi", "mercredi", "jeudi", "vendredi", "samedi"};
+                return String.format("Tous les %s", dayNames[bestPattern.getDayOfWeek()]);
+            
+            case PATTERN_MONTHLY:
+                return String.format("Le %d de chaque mois", bestPattern.getDayOfMonth());
+            
+            case PATTERN_PERIODIC:
+                int period = bestPattern.getPeriodDays();
+                if (period == 7) {
+                    return "Toutes les semaines";
+                }
+                if (period % 7 == 0) {
+                    return String.format("Toutes les %d semaines", period / 7);
+                }
+                return String.format("Tous les %d jours", period);
+            
+            case PATTERN_SEQUENTIAL:
+                return String.format("Souvent suivie de '%s' environ %d minutes plus tard",
+                        bestPattern.getNextTaskTitle(), bestPattern.getDelayMinutes());
+            
+            default:
+                return null;
+        }
+    }
+    
+    /**
+     * Retourne le modèle de plus grande confiance
+     * Pour dater la tâche, un modèle périodique l'emporte : seul à mesurer l'écart réel
+     * entre les occurrences, il distingue une tâche de tous les quinze jours d'une tâche
+     * hebdomadaire que les histogrammes confondent.
+     * @param patterns Modèles d'une tâche
+     * @param calendarOnly Ignorer les modèles séquentiels et privilégier le modèle périodique
+     * @return Meilleur modèle, ou null si aucun ne convient
+     */
+    private static TaskPattern findBestPattern(List<TaskPattern> patterns, boolean calendarOnly) {
+        TaskPattern bestPattern = null;
+        float bestConfidence = 0;
+        
+        for (TaskPattern pattern : patterns) {
+            if (calendarOnly && pattern.getPatternType() == PATTERN_PERIODIC) {
+                return pattern;
+            }
+            if (calendarOnly && pattern.getPatternType() == PATTERN_SEQUENTIAL) {
+                continue;
+            }
+            if (pattern.getConfidence() > bestConfidence) {
+                bestConfidence = pattern.getConfidence();
+                bestPattern = pattern;
+            }
+        }
+        
+        return bestPattern;
+    }
+    
+    /**
+     * Classe représentant un modèle de tâche
+     */
+    public class TaskPattern {
+        private String taskTitle;
+        private int patternType;
+        private int hourOfDay;
+        private int dayOfWeek;
+        private int dayOfMonth;
+        private String nextTaskTitle;
+        private int delayMinutes;
+        private int periodDays;
+        private Date lastOccurrence;
+        private float confidence;
+        
+        public TaskPattern(String taskTitle, int patternType) {
+            this.taskTitle = taskTitle;
+            this.patternType = patternType;
+            this.confidence = 0.0f;
+        }
+        
+        public String getTaskTitle() {
+            return taskTitle;
+        }
+        
+        public int getPatternType() {
+            return patternType;
+        }
+        
+        public int getHourOfDay() {
+            return hourOfDay;
+        }
+        
+        public void setHourOfDay(int hourOfDay) {
+            this.hourOfDay = hourOfDay;
+        }
+        
+        public int getDayOfWeek() {
+            return dayOfWeek;
+        }
+        
+        public void setDayOfWeek(int dayOfWeek) {
+            this.dayOfWeek = dayOfWeek;
+        }
+        
+        public int getDayOfMonth() {
+            return dayOfMonth;
+        }
+        
+        public void setDayOfMonth(int dayOfMonth) {
+            this.dayOfMonth = dayOfMonth;
+        }
+        
+        public String getNextTaskTitle() {
+            return nextTaskTitle;
+        }
+        
+        public void setNextTaskTitle(String nextTaskTitle) {
+            this.nextTaskTitle = nextTaskTitle;
+        }
+        
+        public int getDelayMinutes() {
+            return delayMinutes;
+        }
+        
+        public void setDelayMinutes(int delayMinutes) {
+            this.delayMinutes = delayMinutes;
+        }
+        
+        public int getPeriodDays() {
+            return periodDays;
+        }
+        
+        public void setPeriodDays(int periodDays) {
+            this.periodDays = periodDays;
+        }
+        
+        public Date getLastOccurrence() {
+            return lastOccurrence;
+        }
+        
+        public void setLastOccurrence(Date lastOccurrence) {
+            this.lastOccurrence = lastOccurrence;
+        }
+        
+        public float getConfidence() {
+            return confidence;
+        }
+        
+        public void setConfidence(float confidence) {
+            this.confidence = confidence;
+        }
+    }
+}
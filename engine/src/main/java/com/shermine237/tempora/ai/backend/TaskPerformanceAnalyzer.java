@@ -0,0 +1,317 @@
+package com.shermine237.tempora.ai.backend;
+
+import java.util.Arrays;
+import java.util.Collection;
+
+/**
+ * Analyseur de performance des tâches par période de la journée
+ * Cette classe implémente un algorithme d'apprentissage automatique simple
+ * pour déterminer les meilleures périodes pour différents types de tâches
+ * Les moyennes sont tenues à jour à chaque donnée (quatre scores et quatre compteurs par
+ * catégorie, un cumul de durées par titre) : ajouts et recommandations se font en temps
+ * constant, quelle que soit la longueur de l'historique.
+ */
+public class TaskPerformanceAnalyzer {
+    
+    // Périodes de la journée
+    public static final int MORNING = 0;   // 5h-12h
+    public static final int AFTERNOON = 1; // 12h-17h
+    public static final int EVENING = 2;   // 17h-22h
+    public static final int NIGHT = 3;     // 22h-5h
+    
+    private static final int PERIOD_COUNT = 4;
+    
+    // Résultats d'analyse : score moyen et nombre de données par période, indexés par
+    // identifiant de catégorie (null si la catégorie n'a aucune donnée)
+    private float[][] taskPerformanceByPeriod;
+    private int[][] taskCountsByPeriod;
+    
+    // Durées cumulées et nombre de données, indexés par identifiant de titre
+    private long[] durationTotals;
+    private int[] durationCounts;
+    
+    // Dictionnaire des titres et catégories (partagé avec les autres analyseurs du moteur)
+    private final SymbolTable symbols;
+    
+    private final TimeBuckets timeBuckets = TimeBuckets.getDefault();
+    
+    /**
+     * Constructeur avec un dictionnaire propre
+     */
+    public TaskPerformanceAnalyzer() {
+        this(new SymbolTable());
+    }
+    
+    /**
+     * Constructeur
+     * @param symbols Dictionnaire des titres et catégories
+     */
+    public TaskPerformanceAnalyzer(SymbolTable symbols) {
+        this.symbols = symbols;
+        taskPerformanceByPeriod = new float[0][];
+        taskCountsByPeriod = new int[0][];
+        durationTotals = new long[0];
+        durationCounts = new int[0];
+    }
+    
+    /**
+     * Crée une copie figée de l'analyseur
+     * Les agrégats tiennent en quelques entiers par catégorie et par titre : la copie les
+     * duplique entièrement. La copie ne doit pas être modifiée tant qu'elle est lue.
+     * @return Copie de l'analyseur
+     */
+    public TaskPerformanceAnalyzer snapshot() {
+        TaskPerformanceAnalyzer copy = new TaskPerformanceAnalyzer(symbols);
+        copy.taskPerformanceByPeriod = new float[taskPerformanceByPeriod.length][];
+        copy.taskCountsByPeriod = new int[taskCountsByPeriod.length][];
+        for (int i = 0; i < taskPerformanceByPeriod.length; i++) {
+            if (taskPerformanceByPeriod[i] != null) {
+                copy.taskPerformanceByPeriod[i] = taskPerformanceByPeriod[i].clone();
+                copy.taskCountsByPeriod[i] = taskCountsByPeriod[i].clone();
+            }
+        }
+        copy.durationTotals = durationTotals.clone();
+        copy.durationCounts = durationCounts.clone();
+        return copy;
+    }
+    
+    /**
+     * Ajoute une donnée de performance pour une tâche
+     * @param taskTitle Titre de la tâche
+     * @param taskCategory Catégorie de la tâche
+     * @param startTime Heure de début
+     * @param durationMinutes Durée en minutes
+     * @param productivityScore Score de productivité (0-5)
+     */
+    public void addTaskPerformance(String taskTitle, String taskCategory, 
+                                  java.util.Date startTime, int durationMinutes, 
+                                  float productivityScore) {
+        int titleId = symbols.internTitle(taskTitle);
+        int categoryId = symbols.internCategory(taskCategory);
+        
+        // Mettre à jour le score moyen de la période
+        addPeriodScore(categoryId, startTime, productivityScore);
+        
+        // Cumuler la durée de la tâche
+        ensureTitle(titleId);
+        durationTotals[titleId] += durationMinutes;
+        durationCounts[titleId]++;
+    }
+    
+    /**
+     * Met à jour le score moyen d'une catégorie pour la période de la journée
+     * @param categoryId Identifiant de la catégorie
+     * @param startTime Heure de début
+     * @param productivityScore Score de productivité (0-5)
+     */
+    private void addPeriodScore(int categoryId, java.util.Date startTime, float productivityScore) {
+        ensureCategory(categoryId);
+        int period = getPeriodOfDay(startTime);
+        float[] periodScores = taskPerformanceByPeriod[categoryId];
+        int[] periodCounts = taskCountsByPeriod[categoryId];
+        float currentScore = periodScores[period];
+        int currentCount = periodCounts[period];
+        periodScores[period] = (currentScore * currentCount + productivityScore) / (currentCount + 1);
+        periodCounts[period] = currentCount + 1;
+    }
+    
+    /**
+     * Ajoute les données de performance d'une activité complétée
+     * La durée n'est cumulée que si elle a été mesurée.
+     * @param activity Activité utilisateur complétée
+     */
+    void addTaskPerformance(UserActivity activity) {
+        if (activity.isDurationMeasured()) {
+            long durationMinutes = (activity.getEndTime().getTime() - activity.getStartTime().getTime()) / (60 * 1000);
+            addTaskPerformance(
+                activity.getTitle(),
+                activity.getCategory(),
+                activity.getStartTime(),
+                (int) durationMinutes,
+                activity.getProductivityScore());
+            return;
+        }
+        
+        // Score de la période seulement
+        symbols.internTitle(activity.getTitle());
+        int categoryId = symbols.internCategory(activity.getCategory());
+        addPeriodScore(categoryId, activity.getStartTime(), activity.getProductivityScore());
+    }
+    
+    /**
+     * Ajoute les données de performance d'un lot d'activités
+     * Seules les activités complétées sont retenues.
+     * @param activities Activités utilisateur
+     */
+    public void addTaskPerformances(Collection<UserActivity> activities) {
+        for (UserActivity activity : activities) {
+            if (activity.isCompleted()) {
+                addTaskPerformance(activity);
+            }
+        }
+    }
+    
+    private void ensureCategory(int categoryId) {
+        if (categoryId >= taskPerformanceByPeriod.length) {
+            int capacity = SymbolTable.capacityFor(categoryId, taskPerformanceByPeriod.length);
+            taskPerformanceByPeriod = Arrays.copyOf(taskPerformanceByPeriod, capacity);
+            taskCountsByPeriod = Arrays.copyOf(taskCountsByPeriod, capacity);
+        }
+        if (taskPerformanceByPeriod[categoryId] == null) {
+            taskPerformanceByPeriod[categoryId] = new float[PERIOD_COUNT];
+            taskCountsByPeriod[categoryId] = new int[PERIOD_COUNT];
+        }
+    }
+    
+    private void ensureTitle(int titleId) {
+        if (titleId >= durationTotals.length) {
+            int capacity = SymbolTable.capacityFor(titleId, durationTotals.length);
+            durationTotals = Arrays.copyOf(durationTotals, capacity);
+            durationCounts = Arrays.copyOf(durationCounts, capacity);
+        }
+    }
+    
+    /**
+     * Écrit les agrégats de performance dans un point de reprise
+     * @param out Tampon de destination
+     */
+    void writeState(CheckpointBuffer out) {
+        out.putInt(taskPerformanceByPeriod.length);
+        for (int i = 0; i < taskPerformanceByPeriod.length; i++) {
+            out.putInt(taskPerformanceByPeriod[i] != null ? 1 : 0);
+            if (taskPerformanceByPeriod[i] != null) {
+                for (int period = 0; period < PERIOD_COUNT; period++) {
+                    out.putFloat(taskPerformanceByPeriod[i][period]);
+                    out.putInt(taskCountsByPeriod[i][period]);
+                }
+            }
+        }
+        
+        out.putInt(durationTotals.length);
+        for (int i = 0; i < durationTotals.length; i++) {
+            out.putLong(durationTotals[i]);
+            out.putInt(durationCounts[i]);
+        }
+    }
+    
+    /**
+     * Remplace les agrégats de performance par ceux d'un point de reprise
+     * @param in Tampon source
+     */
+    void readState(CheckpointBuffer in) {
+        int categoryCount = in.getInt();
+        taskPerformanceByPeriod = new float[categoryCount][];
+        taskCountsByPeriod = new int[categoryCount][];
+        for (int i = 0; i < categoryCount; i++) {
+            if (in.getInt() != 0) {
+                taskPerformanceByPeriod[i] = new float[PERIOD_COUNT];
+                taskCountsByPeriod[i] = new int[PERIOD_COUNT];
+                for (int period = 0; period < PERIOD_COUNT; period++) {
+                    taskPerformanceByPeriod[i][period] = in.getFloat();
+                    taskCountsByPeriod[i][period] = in.getInt();
+                }
+            }
+        }
+        
+        int titleCount = in.getInt();
+        durationTotals = new long[titleCount];
+        durationCounts = new int[titleCount];
+        for (int i = 0; i < titleCount; i++) {
+            durationTotals[i] = in.getLong();
+            durationCounts[i] = in.getInt();
+        }
+    }
+    
+    /**
+     * Détermine la période de la journée pour une heure donnée
+     * @param time Heure
+     * @return Période (MORNING, AFTERNOON, EVENING, NIGHT)
+     */
+    private int getPeriodOfDay(java.util.Date time) {
+        int hour = timeBuckets.hourOfDay(time.getTime());
+        
+        if (hour >= 5 && hour < 12) {
+            return MORNING;
+        } else if (hour >= 12 && hour < 18) {
+            return AFTERNOON;
+        } else if (hour >= 18 && hour < 22) {
+            return EVENING;
+        } else {
+            return NIGHT;
+        }
+    }
+    
+    /**
+     * Retourne la meilleure période pour une catégorie de tâche
+     * @param taskCategory Catégorie de tâche
+     * @return Meilleure période (MORNING, AFTERNOON, EVENING, NIGHT)
+     */
+    public int getBestPeriodForTaskCategory(String taskCategory) {
+        int categoryId = symbols.lookupCategory(taskCategory);
+        if (categoryId < 0 || categoryId >= taskPerformanceByPeriod.length
+                || taskPerformanceByPeriod[categoryId] == null) {
+            return MORNING; // Par défaut, le matin est souvent meilleur
+        }
+        
+        float[] periodScores = taskPerformanceByPeriod[categoryId];
+        int bestPeriod = MORNING;
+        float bestScore = -1;
+        
+        for (int period = 0; period < periodScores.length; period++) {
+            if (periodScores[period] > bestScore) {
+                bestScore = periodScores[period];
+                bestPeriod = period;
+            }
+        }
+        
+        return bestPeriod;
+    }
+    
+    /**
+     * Retourne la durée moyenne pour une tâche spécifique
+     * @param taskTitle Titre de la tâche
+     * @return Durée moyenne en minutes
+     */
+    public int getAverageDurationForTask(String taskTitle) {
+        int titleId = symbols.lookupTitle(taskTitle);
+        if (titleId < 0 || titleId >= durationCounts.length || durationCounts[titleId] == 0) {
+            return 60; // 60 minutes par défaut
+        }
+        return (int) (durationTotals[titleId] / durationCounts[titleId]);
+    }
+    
+    /**
+     * Génère une recommandation personnalisée pour une tâche
+     * @param taskTitle Titre de la tâche
+     * @param taskCategory Catégorie de la tâche
+     * @return Recommandation personnalisée
+     */
+    public String generateTaskRecommendation(String taskTitle, String taskCategory) {
+        int bestPeriod = getBestPeriodForTaskCategory(taskCategory);
+        int avgDuration = getAverageDurationForTask(taskTitle);
+        
+        String periodName;
+        switch (bestPeriod) {
+            case MORNING:
+                periodName = "le matin";
+                break;
+            case AFTERNOON:
+                periodName = "l'après-midi";
+                break;
+            case EVENING:
+                periodName = "en soirée";
+                break;
+            case NIGHT:
+                periodName = "la nuit";
+                break;
+            default:
+                periodName = "le matin";
+        }
+        
+        return String.format(
+            "Vous êtes plus efficace pour les tâches de type '%s' %s. " +
+            "Vous mettez généralement %d minutes pour accomplir '%s'. " +
+            "Je vous recommande de planifier cette tâche %s pour une meilleure productivité.",
+            taskCategory, periodName, avgDuration, taskTitle, periodName);
+    }
+}
@@ -0,0 +1,294 @@
+package com.shermine237.tempora.ai.backend;
+
+import java.util.List;
+
+/**
+ * File de priorité indexée pour choisir la prochaine tâche à planifier
+ * Le score d'une tâche combine sa priorité, sa difficulté et l'urgence de son échéance.
+ * Seule l'urgence dépend de l'heure courante, et elle ne change qu'au passage d'un palier
+ * (7, 3 puis 1 jour avant l'échéance). Chaque tâche est donc rangée dans un second tas
+ * trié par date du prochain changement de palier, et son score n'est recalculé qu'à ce moment.
+ * Le temps courant ne doit jamais reculer entre deux appels.
+ */
+public class TaskSelectionQueue {
+    
+    private static final long DAY_MILLIS = 24L * 60 * 60 * 1000;
+    private static final long NEVER = Long.MAX_VALUE;
+    
+    // Tâches dans l'ordre de priorité fourni (l'indice sert aussi à départager les égalités)
+    private final Task[] tasks;
+    private final int[] scores;
+    private final long[] expiries;
+    
+    // Tas max par score (indices de tâches) et position de chaque tâche dans ce tas
+    private final int[] scoreHeap;
+    private final int[] scorePositions;
+    private int scoreHeapSize;
+    
+    // Tas min par date de changement de palier d'urgence
+    private final int[] expiryHeap;
+    private final int[] expiryPositions;
+    private int expiryHeapSize;
+    
+    // Première tâche restante dans l'ordre de priorité
+    private int firstRemaining;
+    
+    /**
+     * Constructeur
+     * @param tasksByPriority Tâches triées par priorité décroissante
+     * @param now Heure courante (millisecondes)
+     */
+    public TaskSelectionQueue(List<Task> tasksByPriority, long now) {
+        int size = tasksByPriority.size();
+        tasks = tasksByPriority.toArray(new Task[size]);
+        scores = new int[size];
+        expiries = new long[size];
+        scoreHeap = new int[size];
+        scorePositions = new int[size];
+        expiryHeap = new int[size];
+        expiryPositions = new int[size];
+        
+        for (int i = 0; i < size; i++) {
+            scores[i] = score(tasks[i], now);
+            expiries[i] = nextUrgencyChange(tasks[i], now);
+            scoreHeap[i] = i;
+            scorePositions[i] = i;
+            expiryHeap[i] = i;
+            expiryPositions[i] = i;
+        }
+        scoreHeapSize = size;
+        expiryHeapSize = size;
+        
+        // Construction des tas en O(n)
+        for (int i = size / 2 - 1; i >= 0; i--) {
+            siftDownScore(i);
+            siftDownExpiry(i);
+        }
+    }
+    
+    /**
+     * Vérifie s'il reste des tâches
+     * @return true si la file est vide
+     */
+    public boolean isEmpty() {
+        return scoreHeapSize == 0;
+    }
+    
+    /**
+     * Retourne le nombre de tâches restantes
+     * @return Nombre de tâches
+     */
+    public int size() {
+        return scoreHeapSize;
+    }
+    
+    /**
+     * Retire et retourne la tâche au meilleur score à l'heure donnée
+     * (la plus prioritaire dans l'ordre initial en cas d'égalité)
+     * @param now Heure courante (millisecondes)
+     * @return Meilleure tâche, ou null si la file est vide
+     */
+    public Task pollBest(long now) {
+        if (scoreHeapSize == 0) {
+            return null;
+        }
+        
+        refreshUrgencies(now);
+        int best = scoreHeap[0];
+        remove(best);
+        return tasks[best];
+    }
+    
+    /**
+     * Retire et retourne la première tâche restante dans l'ordre de priorité initial
+     * @return Tâche la plus prioritaire, ou null si la file est vide
+     */
+    public Task pollFirst() {
+        if (scoreHeapSize == 0) {
+            return null;
+        }
+        
+        while (scorePositions[firstRemaining] < 0) {
+            firstRemaining++;
+        }
+        int first = firstRemaining;
+        remove(first);
+        return tasks[first];
+    }
+    
+    /**
+     * Retire et retourne une tâche désignée par son rang dans l'ordre de priorité initial
+     * @param task Rang de la tâche dans la liste fournie au constructeur
+     * @return Tâche, ou null si elle a déjà été retirée
+     */
+    public Task poll(int task) {
+        if (scorePositions[task] < 0) {
+            return null;
+        }
+        
+        remove(task);
+        return tasks[task];
+    }
+    
+    /**
+     * Calcule le score d'une tâche à une heure donnée
+     * @param task Tâche
+     * @param now Heure courante (millisecondes)
+     * @return Score (plus il est élevé, plus la tâche doit passer tôt)
+     */
+    public static int score(Task task, long now) {
+        int score = task.getPriority() * 2 - task.getDifficulty();
+        
+        // Bonus pour les tâches avec date d'échéance proche
+        if (task.getDueDate() != null) {
+            long daysUntilDue = (task.getDueDate().getTime() - now) / DAY_MILLIS;
+            if (daysUntilDue <= 1) {
+                score += 5; // Bonus important pour les tâches dues aujourd'hui ou demain
+            } else if (daysUntilDue <= 3) {
+                score += 3; // Bonus moyen pour les tâches dues dans 2-3 jours
+            } else if (daysUntilDue <= 7) {
+                score += 1; // Petit bonus pour les tâches dues dans la semaine
+            }
+        }
+        
+        return score;
+    }
+    
+    /**
+     * Calcule l'instant où le bonus d'urgence d'une tâche changera de palier
+     * @param task Tâche
+     * @param now Heure courante (millisecondes)
+     * @return Instant du prochain changement, ou Long.MAX_VALUE s'il n'y en a plus
+     */
+    static long nextUrgencyChange(Task task, long now) {
+        if (task.getDueDate() == null) {
+            return NEVER;
+        }
+        
+        // Le palier "k jours" est atteint dès que due - now < (k + 1) jours
+        long due = task.getDueDate().getTime();
+        if (now < due - 8 * DAY_MILLIS + 1) {
+            return due - 8 * DAY_MILLIS + 1;
+        } else if (now < due - 4 * DAY_MILLIS + 1) {
+            return due - 4 * DAY_MILLIS + 1;
+        } else if (now < due - 2 * DAY_MILLIS + 1) {
+            return due - 2 * DAY_MILLIS + 1;
+        }
+        return NEVER;
+    }
+    
+    /**
+     * Recalcule le score des tâches dont le palier d'urgence a changé
+     * @param now Heure courante (millisecondes)
+     */
+    private void refreshUrgencies(long now) {
+        while (expiryHeapSize > 0 && expiries[expiryHeap[0]] <= now) {
+            int task = expiryHeap[0];
+            
+            // Le score ne peut qu'augmenter avec le temps
+            scores[task] = score(tasks[task], now);
+            siftUpScore(scorePositions[task]);
+            
+            expiries[task] = nextUrgencyChange(tasks[task], now);
+            siftDownExpiry(0);
+        }
+    }
+    
+    private void remove(int task) {
+        int position = scorePositions[task];
+        int last = scoreHeap[--scoreHeapSize];
+        scorePositions[task] = -1;
+        if (position < scoreHeapSize) {
+            scoreHeap[position] = last;
+            scorePositions[last] = position;
+            siftDownScore(position);
+            siftUpScore(scorePositions[last]);
+        }
+        
+        position = expiryPositions[task];
+        last = expiryHeap[--expiryHeapSize];
+        expiryPositions[task] = -1;
+        if (position < expiryHeapSize) {
+            expiryHeap[position] = last;
+            expiryPositions[last] = position;
+            siftDownExpiry(position);
+            siftUpExpiry(expiryPositions[last]);
+        }
+    }
+    
+    private boolean betterScore(int a, int b) {
+        return scores[a] > scores[b] || (scores[a] == scores[b] && a < b);
+    }
+    
+    private void siftUpScore(int position) {
+        int task = scoreHeap[position];
+        while (position > 0) {
+            int parent = (position - 1) >>> 1;
+            if (!betterScore(task, scoreHeap[parent])) {
+                break;
+            }
+            scoreHeap[position] = scoreHeap[parent];
+            scorePositions[scoreHeap[position]] = position;
+            position = parent;
+        }
+        scoreHeap[position] = task;
+        scorePositions[task] = position;
+    }
+    
+    private void siftDownScore(int position) {
+        int task = scoreHeap[position];
+        while (true) {
+            int child = 2 * position + 1;
+            if (child >= scoreHeapSize) {
+                break;
+            }
+            if (child + 1 < scoreHeapSize && betterScore(scoreHeap[child + 1], scoreHeap[child])) {
+                child++;
+            }
+            if (!betterScore(scoreHeap[child], task)) {
+                break;
+            }
+            scoreHeap[position] = scoreHeap[child];
+            scorePositions[scoreHeap[position]] = position;
+            position = child;
+        }
+        scoreHeap[position] = task;
+        scorePositions[task] = position;
+    }
+    
+    private void siftUpExpiry(int position) {
+        int task = expiryHeap[position];
+        while (position > 0) {
+            int parent = (position - 1) >>> 1;
+            if (expiries[task] >= expiries[expiryHeap[parent]]) {
+                break;
+            }
+            expiryHeap[position] = expiryHeap[parent];
+            expiryPositions[expiryHeap[position]] = position;
+            position = parent;
+        }
+        expiryHeap[position] = task;
+        expiryPositions[task] = position;
+    }
+    
+    private void siftDownExpiry(int position) {
+        int task = expiryHeap[position];
+        while (true) {
+            int child = 2 * position + 1;
+            if (child >= expiryHeapSize) {
+                break;
+            }
+            if (child + 1 < expiryHeapSize && expiries[expiryHeap[child + 1]] < expiries[expiryHeap[child]]) {
+                child++;
+            }
+            if (expiries[expiryHeap[child]] >= expiries[task]) {
+                break;
+            }
+            expiryHeap[position] = expiryHeap[child];
+            expiryPositions[expiryHeap[position]] = position;
+            position = child;
+        }
+        expiryHeap[position] = task;
+        expiryPositions[task] = position;
+    }
+}
@@ -0,0 +1,258 @@
+package com.shermine237.tempora.ai.backend;
+
+import java.util.Arrays;
+import java.util.TimeZone;
+
+/**
+ * Découpage rapide des instants en champs de calendrier (heure, jour de la semaine, jour du mois, jour)
+ * Les changements de décalage horaire du fuseau sont calculés une seule fois et rangés dans une table
+ * triée ; chaque conversion n'est ensuite qu'une recherche dichotomique suivie d'arithmétique entière,
+ * sans allocation de Calendar. La table couvre d'abord l'année autour du premier instant demandé et
+ * s'étend automatiquement. Les instances sont immuables vues de l'extérieur et thread-safe.
+ */
+public final class TimeBuckets {
+    
+    public static final long MINUTE_MILLIS = 60000L;
+    public static final long HOUR_MILLIS = 60 * MINUTE_MILLIS;
+    public static final long DAY_MILLIS = 24 * HOUR_MILLIS;
+    
+    // Pas de recherche des changements d'heure (deux changements sont toujours plus espacés)
+    private static final long SCAN_STEP_MILLIS = 6 * HOUR_MILLIS;
+    // Granularité de l'extension de la table (environ un an)
+    private static final long BLOCK_MILLIS = 1L << 35;
+    
+    private static volatile TimeBuckets defaultInstance;
+    
+    private final TimeZone timeZone;
+    private volatile Table table;
+    
+    /**
+     * Retourne l'instance du fuseau horaire par défaut
+     * Elle est recréée si le fuseau par défaut change (voyage, réglage système).
+     * @return Découpage du fuseau par défaut
+     */
+    public static TimeBuckets getDefault() {
+        TimeZone timeZone = TimeZone.getDefault();
+        TimeBuckets instance = defaultInstance;
+        if (instance == null || !instance.timeZone.getID().equals(timeZone.getID())) {
+            instance = new TimeBuckets(timeZone);
+            defaultInstance = instance;
+        }
+        return instance;
+    }
+    
+    /**
+     * Constructeur
+     * @param timeZone Fuseau horaire
+     */
+    public TimeBuckets(TimeZone timeZone) {
+        this.timeZone = (TimeZone) timeZone.clone();
+    }
+    
+    public TimeZone getTimeZone() {
+        return (TimeZone) timeZone.clone();
+    }
+    
+    /**
+     * Retourne le décalage du fuseau par rapport à UTC à un instant donné
+     * @param millis Millisecondes depuis l'époque
+     * @return Décalage en millisecondes (heure d'été comprise)
+     */
+    public int getOffset(long millis) {
+        Table current = table;
+        if (current == null || millis < current.from || millis >= current.to) {
+            current = extendTo(millis);
+        }
+        
+        int index = Arrays.binarySearch(current.starts, millis);
+        if (index < 0) {
+            index = -index - 2;
+        }
+        return current.offsets[index];
+    }
+    
+    /**
+     * Convertit un instant en millisecondes locales depuis l'époque
+     * @param millis Millisecondes depuis l'époque (UTC)
+     * @return Millisecondes « à l'horloge » depuis le 1er janvier 1970 à minuit local
+     */
+    public long toLocalMillis(long millis) {
+        return millis + getOffset(millis);
+    }
+    
+    /**
+     * Retourne le jour local d'un instant
+     * @param millis Millisecondes depuis l'époque
+     * @return Nombre de jours depuis le 1er janvier 1970 (heure locale)
+     */
+    public int epochDay(long millis) {
+        return (int) Math.floorDiv(toLocalMillis(millis), DAY_MILLIS);
+    }
+    
+    /**
+     * Retourne la minute de la journée d'un instant
+     * @param millis Millisecondes depuis l'époque
+     * @return Minutes depuis minuit (0-1439)
+     */
+    public int minuteOfDay(long millis) {
+        return (int) (Math.floorMod(toLocalMillis(millis), DAY_MILLIS) / MINUTE_MILLIS);
+    }
+    
+    /**
+     * Retourne l'heure d'un instant
+     * @param millis Millisecondes depuis l'époque
+     * @return Heure (0-23), comme Calendar.HOUR_OF_DAY
+     */
+    public int hourOfDay(long millis) {
+        return (int) (Math.floorMod(toLocalMillis(millis), DAY_MILLIS) / HOUR_MILLIS);
+    }
+    
+    /**
+     * Retourne le jour de la semaine d'un instant
+     * @param millis Millisecondes depuis l'époque
+     * @return Jour de la semaine (1=Dimanche ... 7=Samedi), comme Calendar.DAY_OF_WEEK
+     */
+    public int dayOfWeek(long millis) {
+        return dayOfWeekOfEpochDay(epochDay(millis));
+    }
+    
+    /**
+     * Retourne le jour du mois d'un instant
+     * @param millis Millisecondes depuis l'époque
+     * @return Jour du mois (1-31), comme Calendar.DAY_OF_MONTH
+     */
+    public int dayOfMonth(long millis) {
+        return dayOfMonthOfEpochDay(epochDay(millis));
+    }
+    
+    /**
+     * Retourne l'instant de minuit (heure locale) d'un jour
+     * @param epochDay Nombre de jours depuis le 1er janvier 1970
+     * @return Millisecondes depuis l'époque
+     */
+    public long startOfEpochDay(int epochDay) {
+        long localMillis = epochDay * DAY_MILLIS;
+        
+        // Estimation avec le décalage de la veille, corrigée si l'heure change dans la journée
+        long estimate = localMillis - getOffset(localMillis - DAY_MILLIS);
+        long millis = localMillis - getOffset(estimate);
+        
+        // Si minuit n'existe pas (passage à l'heure d'été à minuit), la journée commence au changement d'heure
+        return toLocalMillis(millis) == localMillis ? millis : estimate;
+    }
+    
+    /**
+     * Retourne l'instant de minuit (heure locale) du jour d'un instant
+     * @param millis Millisecondes depuis l'époque
+     * @return Millisecondes depuis l'époque
+     */
+    public long startOfDay(long millis) {
+        return startOfEpochDay(epochDay(millis));
+    }
+    
+    /**
+     * Calcule le jour de la semaine d'un jour
+     * @param epochDay Nombre de jours depuis le 1er janvier 1970 (un jeudi)
+     * @return Jour de la semaine (1=Dimanche ... 7=Samedi)
+     */
+    public static int dayOfWeekOfEpochDay(int epochDay) {
+        return Math.floorMod(epochDay + 4, 7) + 1;
+    }
+    
+    /**
+     * Calcule le jour du mois d'un jour (calendrier grégorien)
+     * @param epochDay Nombre de jours depuis le 1er janvier 1970
+     * @return Jour du mois (1-31)
+     */
+    public static int dayOfMonthOfEpochDay(int epochDay) {
+        // Années comptées à partir du 1er mars pour placer le 29 février en fin d'année
+        long days = epochDay + 719468L;
+        long era = Math.floorDiv(days, 146097L);
+        int dayOfEra = (int) (days - era * 146097L);
+        int yearOfEra = (dayOfEra - dayOfEra / 1460 + dayOfEra / 36524 - dayOfEra / 146096) / 365;
+        int dayOfYear = dayOfEra - (365 * yearOfEra + yearOfEra / 4 - yearOfEra / 100);
+        int monthIndex = (5 * dayOfYear + 2) / 153;
+        return dayOfYear - (153 * monthIndex + 2) / 5 + 1;
+    }
+    
+    /**
+     * Étend la table des décalages pour couvrir un instant
+     * @param millis Instant à couvrir
+     * @return Nouvelle table
+     */
+    private synchronized Table extendTo(long millis) {
+        Table current = table;
+        if (current != null && millis >= current.from && millis < current.to) {
+            return current;
+        }
+        
+        long from = Math.floorDiv(millis, BLOCK_MILLIS) * BLOCK_MILLIS;
+        long to = from + BLOCK_MILLIS;
+        if (current != null) {
+            from = Math.min(from, current.from);
+            to = Math.max(to, current.to);
+        }
+        
+        current = Table.build(timeZone, from, to);
+        table = current;
+        return current;
+    }
+    
+    /**
+     * Table des décalages sur une plage : starts[i] est le début du segment i, de décalage offsets[i]
+     */
+    private static final class Table {
+        
+        final long from;
+        final long to;
+        final long[] starts;
+        final int[] offsets;
+        
+        private Table(long from, long to, long[] starts, int[] offsets) {
+            this.from = from;
+            this.to = to;
+            this.starts = starts;
+            this.offsets = offsets;
+        }
+        
+        static Table build(TimeZone timeZone, long from, long to) {
+            long[] starts = new long[8];
+            int[] offsets = new int[8];
+            int size = 0;
+            
+            starts[size] = from;
+            offsets[size++] = timeZone.getOffset(from);
+            
+            long previous = from;
+            int previousOffset = offsets[0];
+            while (previous < to) {
+                long next = Math.min(previous + SCAN_STEP_MILLIS, to);
+                int nextOffset = timeZone.getOffset(next);
+                if (nextOffset != previousOffset) {
+                    // Recherche dichotomique de la première milliseconde du nouveau décalage
+                    long low = previous;
+                    long high = next;
+                    while (high - low > 1) {
+                        long middle = low + (high - low) / 2;
+                        if (timeZone.getOffset(middle) == previousOffset) {
+                            low = middle;
+                        } else {
+                            high = middle;
+                        }
+                    }
+                    
+                    if (size == starts.length) {
+                        starts = Arrays.copyOf(starts, size * 2);
+                        offsets = Arrays.copyOf(offsets, size * 2);
+                    }
+                    starts[size] = high;
+                    offsets[size++] = nextOffset;
+                    previousOffset = nextOffset;
+                }
+                previous = next;
+            }
+            
+            return new Table(from, to, Arrays.copyOf(starts, size), Arrays.copyOf(offsets, size));
+        }
+    }
+}
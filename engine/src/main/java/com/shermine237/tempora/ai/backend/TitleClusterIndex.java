@@ -0,0 +1,277 @@
+package com.shermine237.tempora.ai.backend;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Regroupement des titres de tâches quasi identiques ("Réunion d'équipe", "Reunion equipe",
+ * "Réunion d'équipe hebdo")
+ * Chaque titre est d'abord mis sous forme canonique : accents, ponctuation et mots vides
+ * retirés. Sa signature MinHash sur les trigrammes de caractères estime la similarité de
+ * Jaccard avec les autres titres, et un index LSH (16 bandes de 4 valeurs) ne propose
+ * comme candidats que les groupes qui partagent une bande entière avec lui : la recherche
+ * ne compare jamais le titre à tous les groupes. Les identifiants du titre (nombres, lettres
+ * isolées) entrent dans la clé des bandes, pour que "Chapitre 3" et "Chapitre 4" restent
+ * distincts sans remplir les mêmes seaux ; un candidat est retenu si sa similarité estimée
+ * atteint le seuil et s'il porte exactement les mêmes identifiants.
+ * Les recherches sont sans verrou ; les ajouts sont sérialisés par l'appelant. Un ajout
+ * remplit la signature du groupe avant de le publier dans les tables concurrentes, et
+ * remplace les seaux qu'il modifie (copie sur écriture) : une recherche concurrente voit
+ * chaque seau avant ou après l'ajout, jamais à moitié écrit.
+ */
+final class TitleClusterIndex {
+    
+    private static final int BANDS = 16;
+    private static final int ROWS = 4;
+    private static final int SIGNATURE_SIZE = BANDS * ROWS;
+    
+    // Similarité de Jaccard estimée minimale pour rejoindre un groupe
+    static final double SIMILARITY_THRESHOLD = 0.5;
+    private static final int MIN_AGREEMENT = (int) Math.ceil(SIMILARITY_THRESHOLD * SIGNATURE_SIZE);
+    
+    // Mots sans valeur distinctive dans un titre ("à" et "y" deviennent "a" et "y" sans accents :
+    // ils ne doivent pas compter comme des lettres isolées, donc comme des identifiants)
+    private static final Set<String> STOP_WORDS = new HashSet<>(Arrays.asList(
+            "de", "du", "des", "d", "la", "le", "les", "l", "un", "une", "et", "au", "aux",
+            "a", "y", "en", "pour", "avec", "sur", "the", "of", "and", "for", "to"));
+    
+    // Fonctions de hachage de la signature (graine fixe : signatures stables d'un démarrage à l'autre)
+    private static final long[] MULTIPLIERS = new long[SIGNATURE_SIZE];
+    private static final long[] ADDENDS = new long[SIGNATURE_SIZE];
+    
+    static {
+        Random random = new Random(0x7E4D5EEDL);
+        for (int i = 0; i < SIGNATURE_SIZE; i++) {
+            MULTIPLIERS[i] = random.nextLong() | 1;
+            ADDENDS[i] = random.nextLong();
+        }
+    }
+    
+    // Groupe de chaque forme canonique déjà vue
+    private final Map<String, Integer> clustersByCanonical = new ConcurrentHashMap<>();
+    
+    // Seaux LSH : (bande, hachage de la bande et des identifiants) vers les groupes qui y
+    // sont rangés ; un seau n'est jamais modifié après sa publication
+    private final Map<Long, int[]> buckets = new ConcurrentHashMap<>();
+    
+    // Signature et identifiants du titre représentatif de chaque groupe, indexés par groupe
+    private volatile int[][] signatures = new int[16][];
+    private volatile String[] identifiers = new String[16];
+    
+    /**
+     * Met un titre sous forme canonique : sans accents, en minuscules, ponctuation remplacée
+     * par des espaces, mots vides retirés
+     * @param title Titre brut
+     * @return Forme canonique (vide si le titre ne contient aucun mot distinctif)
+     */
+    static String canonicalize(String title) {
+        String stripped = Normalizer.normalize(title != null ? title : "", Normalizer.Form.NFD)
+                .replaceAll("\\p{M}+", "")
+                .toLowerCase(Locale.ROOT);
+        
+        StringBuilder canonical = new StringBuilder(stripped.length());
+        for (String token : tokenize(stripped)) {
+            if (canonical.length() > 0) {
+                canonical.append(' ');
+            }
+            canonical.append(token);
+        }
+        return canonical.toString();
+    }
+    
+    /**
+     * Cherche le groupe d'un titre
+     * @param title Titre brut
+     * @return Identifiant du groupe, ou -1 si aucun groupe n'est assez proche
+     */
+    int find(String title) {
+        String canonical = canonicalize(title);
+        if (canonical.isEmpty()) {
+            return -1;
+        }
+        
+        Integer cluster = clustersByCanonical.get(canonical);
+        if (cluster != null) {
+            return cluster;
+        }
+        
+        int[] signature = signature(canonical);
+        String titleIdentifiers = identifiersOf(canonical);
+        int identifiersHash = titleIdentifiers.hashCode();
+        int best = -1;
+        int bestAgreement = MIN_AGREEMENT - 1;
+        
+        for (int band = 0; band < BANDS; band++) {
+            int[] members = buckets.get(bucketKey(signature, band, identifiersHash));
+            if (members == null) {
+                continue;
+            }
+            
+            // Tables lues après le seau : elles contiennent déjà ses membres
+            int[][] clusterSignatures = signatures;
+            String[] clusterIdentifiers = identifiers;
+            for (int candidate : members) {
+                if (candidate == best || !clusterIdentifiers[candidate].equals(titleIdentifiers)) {
+                    continue;
+                }
+                int agreement = agreement(signature, clusterSignatures[candidate]);
+                if (agreement > bestAgreement || (agreement == bestAgreement && best >= 0 && candidate < best)) {
+                    best = candidate;
+                    bestAgreement = agreement;
+                }
+            }
+        }
+        return best;
+    }
+    
+    /**
+     * Enregistre le titre représentatif d'un nouveau groupe
+     * @param cluster Identifiant du groupe (dense, dans l'ordre de création)
+     * @param title Titre brut
+     */
+    void add(int cluster, String title) {
+        String canonical = canonicalize(title);
+        int[] signature = signature(canonical);
+        String titleIdentifiers = identifiersOf(canonical);
+        
+        // Remplir les tables avant de publier le groupe
+        int[][] clusterSignatures = signatures;
+        String[] clusterIdentifiers = identifiers;
+        if (cluster >= clusterSignatures.length) {
+            int capacity = SymbolTable.capacityFor(cluster, clusterSignatures.length);
+            clusterSignatures = Arrays.copyOf(clusterSignatures, capacity);
+            clusterIdentifiers = Arrays.copyOf(clusterIdentifiers, capacity);
+        }
+        clusterSignatures[cluster] = signature;
+        clusterIdentifiers[cluster] = titleIdentifiers;
+        signatures = clusterSignatures;
+        identifiers = clusterIdentifiers;
+        
+        if (canonical.isEmpty() || clustersByCanonical.containsKey(canonical)) {
+            return;
+        }
+        
+        int identifiersHash = titleIdentifiers.hashCode();
+        for (int band = 0; band < BANDS; band++) {
+            long key = bucketKey(signature, band, identifiersHash);
+            int[] members = buckets.get(key);
+            if (members == null) {
+                members = new int[] {cluster};
+            } else {
+                members = Arrays.copyOf(members, members.length + 1);
+                members[members.length - 1] = cluster;
+            }
+            buckets.put(key, members);
+        }
+        clustersByCanonical.put(canonical, cluster);
+    }
+    
+    /**
+     * Vide l'index
+     */
+    void clear() {
+        clustersByCanonical.clear();
+        buckets.clear();
+        signatures = new int[16][];
+        identifiers = new String[16];
+    }
+    
+    private static List<String> tokenize(String text) {
+        List<String> tokens = new ArrayList<>();
+        int start = -1;
+        for (int i = 0; i <= text.length(); i++) {
+            boolean letterOrDigit = i < text.length() && Character.isLetterOrDigit(text.charAt(i));
+            if (letterOrDigit && start < 0) {
+                start = i;
+            } else if (!letterOrDigit && start >= 0) {
+                String token = text.substring(start, i);
+                if (!STOP_WORDS.contains(token)) {
+                    tokens.add(token);
+                }
+                start = -1;
+            }
+        }
+        return tokens;
+    }
+    
+    /**
+     * Retourne les identifiants d'un titre canonique : mots contenant un chiffre et lettres isolées, triés
+     * @param canonical Forme canonique
+     * @return Identifiants séparés par des espaces
+     */
+    private static String identifiersOf(String canonical) {
+        List<String> found = new ArrayList<>();
+        for (String token : canonical.split(" ")) {
+            boolean identifier = token.length() == 1;
+            for (int i = 0; i < token.length() && !identifier; i++) {
+                identifier = Character.isDigit(token.charAt(i));
+            }
+            if (identifier) {
+                found.add(token);
+            }
+        }
+        Collections.sort(found);
+        StringBuilder joined = new StringBuilder();
+        for (String token : found) {
+            joined.append(token).append(' ');
+        }
+        return joined.toString();
+    }
+    
+    /**
+     * Calcule la signature MinHash des trigrammes d'un titre canonique
+     * Le titre est encadré d'espaces pour que les débuts et fins de mots comptent.
+     * @param canonical Forme canonique
+     * @return Minimum de chaque fonction de hachage sur les trigrammes
+     */
+    private static int[] signature(String canonical) {
+        int[] signature = new int[SIGNATURE_SIZE];
+        Arrays.fill(signature, Integer.MAX_VALUE);
+        
+        String padded = " " + canonical + " ";
+        for (int i = 0; i + 3 <= padded.length(); i++) {
+            long shingle = mix((padded.charAt(i) * 31L + padded.charAt(i + 1)) * 31L + padded.charAt(i + 2));
+            for (int h = 0; h < SIGNATURE_SIZE; h++) {
+                int value = (int) ((MULTIPLIERS[h] * shingle + ADDENDS[h]) >>> 33);
+                if (value < signature[h]) {
+                    signature[h] = value;
+                }
+            }
+        }
+        return signature;
+    }
+    
+    private static long mix(long value) {
+        value ^= value >>> 33;
+        value *= 0xFF51AFD7ED558CCDL;
+        value ^= value >>> 33;
+        return value;
+    }
+    
+    private static long bucketKey(int[] signature, int band, int identifiersHash) {
+        long hash = ((long) identifiersHash << 8) | band;
+        for (int row = band * ROWS; row < (band + 1) * ROWS; row++) {
+            hash = hash * 0x9E3779B97F4A7C15L + signature[row];
+        }
+        return mix(hash);
+    }
+    
+    private static int agreement(int[] a, int[] b) {
+        int equal = 0;
+        for (int i = 0; i < SIGNATURE_SIZE; i++) {
+            if (a[i] == b[i]) {
+                equal++;
+            }
+        }
+        return equal;
+    }
+}
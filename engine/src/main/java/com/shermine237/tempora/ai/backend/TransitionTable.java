@@ -0,0 +1,347 @@
+package com.shermine237.tempora.ai.backend;
+
+import java.util.Arrays;
+import java.util.BitSet;
+
+/**
+ * Table creuse des enchaînements entre tâches (identifiants de titre)
+ * Au premier ordre, une ligne par tâche X compte les tâches Y qui la suivent ; au second
+ * ordre, une ligne par couple (W, X) compte les tâches qui suivent W puis X. Chaque ligne
+ * ne garde que ses k successeurs les plus fréquents (algorithme Space-Saving) : un nouveau
+ * successeur remplace le moins fréquent et hérite de son compteur, ce qui borne la mémoire
+ * d'une ligne sans jamais sous-estimer un successeur retenu. Les lignes du second ordre sont
+ * regroupées par tâche courante X, qui garde de même au plus k tâches précédentes W : la
+ * mémoire est bornée par tâche, et une copie figée ne duplique que les tableaux indexés par
+ * titre. Les lignes sont partagées avec les copies figées et dupliquées avant toute modification.
+ */
+final class TransitionTable {
+    
+    // Nombre de successeurs conservés par ligne
+    static final int DEFAULT_ROW_CAPACITY = 8;
+    
+    private final int rowCapacity;
+    
+    // Lignes du premier ordre, indexées par identifiant de titre
+    private Row[] firstOrder = new Row[0];
+    
+    // Lignes du second ordre, regroupées par identifiant de la tâche courante
+    private Contexts[] secondOrder = new Contexts[0];
+    
+    // Tâches dont les lignes appartiennent à cette table ; les autres sont partagées avec une copie figée
+    private BitSet ownedRows = new BitSet();
+    private BitSet ownedContexts = new BitSet();
+    
+    TransitionTable() {
+        this(DEFAULT_ROW_CAPACITY);
+    }
+    
+    TransitionTable(int rowCapacity) {
+        this.rowCapacity = rowCapacity;
+    }
+    
+    /**
+     * Crée une copie figée de la table (les lignes sont partagées en copie sur écriture)
+     * @return Copie de la table
+     */
+    TransitionTable snapshot() {
+        TransitionTable copy = new TransitionTable(rowCapacity);
+        copy.firstOrder = firstOrder.clone();
+        copy.secondOrder = secondOrder.clone();
+        ownedRows.clear();
+        ownedContexts.clear();
+        return copy;
+    }
+    
+    /**
+     * Compte un enchaînement
+     * @param previous Tâche précédant la tâche courante, ou -1 si inconnue
+     * @param current Tâche courante
+     * @param next Tâche qui suit la tâche courante
+     * @param delayMinutes Délai entre la fin de la tâche courante et le début de la suivante
+     */
+    void add(int previous, int current, int next, int delayMinutes) {
+        if (current >= firstOrder.length) {
+            int capacity = SymbolTable.capacityFor(current, firstOrder.length);
+            firstOrder = Arrays.copyOf(firstOrder, capacity);
+            secondOrder = Arrays.copyOf(secondOrder, capacity);
+        }
+        if (firstOrder[current] == null) {
+            firstOrder[current] = new Row(rowCapacity);
+            ownedRows.set(current);
+        } else if (!ownedRows.get(current)) {
+            firstOrder[current] = firstOrder[current].copy();
+            ownedRows.set(current);
+        }
+        firstOrder[current].add(next, delayMinutes);
+        
+        if (previous < 0) {
+            return;
+        }
+        if (secondOrder[current] == null) {
+            secondOrder[current] = new Contexts(rowCapacity);
+            ownedContexts.set(current);
+        } else if (!ownedContexts.get(current)) {
+            secondOrder[current] = secondOrder[current].copy();
+            ownedContexts.set(current);
+        }
+        secondOrder[current].rowFor(previous).add(next, delayMinutes);
+    }
+    
+    /**
+     * Retourne les successeurs d'une tâche
+     * @param current Tâche courante
+     * @return Ligne du premier ordre, ou null si la tâche n'a jamais été suivie
+     */
+    Row row(int current) {
+        return current >= 0 && current < firstOrder.length ? firstOrder[current] : null;
+    }
+    
+    /**
+     * Retourne les successeurs d'un enchaînement de deux tâches
+     * @param previous Tâche précédente
+     * @param current Tâche courante
+     * @return Ligne du second ordre, ou null si l'enchaînement n'a jamais été suivi
+     */
+    Row row(int previous, int current) {
+        if (previous < 0 || current < 0 || current >= secondOrder.length || secondOrder[current] == null) {
+            return null;
+        }
+        return secondOrder[current].find(previous);
+    }
+    
+    void write(CheckpointBuffer out) {
+        out.putInt(firstOrder.length);
+        for (int i = 0; i < firstOrder.length; i++) {
+            out.putInt(firstOrder[i] != null ? 1 : 0);
+            if (firstOrder[i] != null) {
+                firstOrder[i].write(out);
+            }
+            out.putInt(secondOrder[i] != null ? 1 : 0);
+            if (secondOrder[i] != null) {
+                secondOrder[i].write(out);
+            }
+        }
+    }
+    
+    void read(CheckpointBuffer in) {
+        int count = in.getInt();
+        firstOrder = new Row[count];
+        secondOrder = new Contexts[count];
+        for (int i = 0; i < count; i++) {
+            if (in.getInt() != 0) {
+                firstOrder[i] = Row.read(in);
+            }
+            if (in.getInt() != 0) {
+                secondOrder[i] = Contexts.read(in);
+            }
+        }
+        ownedRows = new BitSet();
+        ownedContexts = new BitSet();
+    }
+    
+    /**
+     * Lignes du second ordre d'une tâche courante : au plus k tâches précédentes
+     * Quand toutes les places sont prises, la ligne comptant le moins d'enchaînements
+     * cède la sienne à la nouvelle tâche précédente.
+     */
+    private static final class Contexts {
+        
+        private final int[] previous;
+        private final Row[] rows;
+        private int size;
+        
+        Contexts(int capacity) {
+            previous = new int[capacity];
+            rows = new Row[capacity];
+        }
+        
+        Row find(int previousId) {
+            for (int i = 0; i < size; i++) {
+                if (previous[i] == previousId) {
+                    return rows[i];
+                }
+            }
+            return null;
+        }
+        
+        Row rowFor(int previousId) {
+            Row row = find(previousId);
+            if (row != null) {
+                return row;
+            }
+            
+            int slot;
+            if (size < rows.length) {
+                slot = size++;
+            } else {
+                slot = 0;
+                for (int i = 1; i < size; i++) {
+                    if (rows[i].getTotal() < rows[slot].getTotal()) {
+                        slot = i;
+                    }
+                }
+            }
+            previous[slot] = previousId;
+            rows[slot] = new Row(rows.length);
+            return rows[slot];
+        }
+        
+        Contexts copy() {
+            Contexts copy = new Contexts(rows.length);
+            System.arraycopy(previous, 0, copy.previous, 0, size);
+            for (int i = 0; i < size; i++) {
+                copy.rows[i] = rows[i].copy();
+            }
+            copy.size = size;
+            return copy;
+        }
+        
+        void write(CheckpointBuffer out) {
+            out.putInt(rows.length);
+            out.putInt(size);
+            for (int i = 0; i < size; i++) {
+                out.putInt(previous[i]);
+                rows[i].write(out);
+            }
+        }
+        
+        static Contexts read(CheckpointBuffer in) {
+            Contexts contexts = new Contexts(in.getInt());
+            contexts.size = in.getInt();
+            for (int i = 0; i < contexts.size; i++) {
+                contexts.previous[i] = in.getInt();
+                contexts.rows[i] = Row.read(in);
+            }
+            return contexts;
+        }
+    }
+    
+    /**
+     * Ligne de la table : au plus k successeurs avec leur compteur et leur délai cumulé
+     */
+    static final class Row {
+        
+        private final int[] successors;
+        private final int[] counts;
+        private final long[] delayTotals;
+        private final int[] delaySamples;
+        private int size;
+        private int total;
+        
+        Row(int capacity) {
+            successors = new int[capacity];
+            counts = new int[capacity];
+            delayTotals = new long[capacity];
+            delaySamples = new int[capacity];
+        }
+        
+        void add(int next, int delayMinutes) {
+            total++;
+            
+            int slot = -1;
+            for (int i = 0; i < size; i++) {
+                if (successors[i] == next) {
+                    slot = i;
+                    break;
+                }
+            }
+            
+            if (slot < 0) {
+                if (size < successors.length) {
+                    slot = size++;
+                } else {
+                    // Remplacer le successeur le moins fréquent, qui lègue son compteur
+                    slot = 0;
+                    for (int i = 1; i < size; i++) {
+                        if (counts[i] < counts[slot]) {
+                            slot = i;
+                        }
+                    }
+                    delayTotals[slot] = 0;
+                    delaySamples[slot] = 0;
+                }
+                successors[slot] = next;
+            }
+            
+            counts[slot]++;
+            delayTotals[slot] += delayMinutes;
+            delaySamples[slot]++;
+        }
+        
+        /**
+         * Retourne l'emplacement du successeur le plus fréquent
+         * @return Emplacement, ou -1 si la ligne est vide
+         */
+        int best() {
+            int best = -1;
+            for (int i = 0; i < size; i++) {
+                if (best < 0 || counts[i] > counts[best]
+                        || (counts[i] == counts[best] && successors[i] < successors[best])) {
+                    best = i;
+                }
+            }
+            return best;
+        }
+        
+        int getSuccessor(int slot) {
+            return successors[slot];
+        }
+        
+        int getCount(int slot) {
+            return counts[slot];
+        }
+        
+        /**
+         * Retourne le délai moyen observé avant un successeur
+         * @param slot Emplacement du successeur
+         * @return Délai en minutes
+         */
+        int getMeanDelay(int slot) {
+            return (int) Math.round((double) delayTotals[slot] / delaySamples[slot]);
+        }
+        
+        /**
+         * Retourne le nombre total d'enchaînements comptés par la ligne
+         * @return Nombre d'enchaînements
+         */
+        int getTotal() {
+            return total;
+        }
+        
+        Row copy() {
+            Row copy = new Row(successors.length);
+            System.arraycopy(successors, 0, copy.successors, 0, size);
+            System.arraycopy(counts, 0, copy.counts, 0, size);
+            System.arraycopy(delayTotals, 0, copy.delayTotals, 0, size);
+            System.arraycopy(delaySamples, 0, copy.delaySamples, 0, size);
+            copy.size = size;
+            copy.total = total;
+            return copy;
+        }
+        
+        void write(CheckpointBuffer out) {
+            out.putInt(successors.length);
+            out.putInt(size);
+            out.putInt(total);
+            for (int i = 0; i < size; i++) {
+                out.putInt(successors[i]);
+                out.putInt(counts[i]);
+                out.putLong(delayTotals[i]);
+                out.putInt(delaySamples[i]);
+            }
+        }
+        
+        static Row read(CheckpointBuffer in) {
+            Row row = new Row(in.getInt());
+            row.size = in.getInt();
+            row.total = in.getInt();
+            for (int i = 0; i < row.size; i++) {
+                row.successors[i] = in.getInt();
+                row.counts[i] = in.getInt();
+                row.delayTotals[i] = in.getLong();
+                row.delaySamples[i] = in.getInt();
+            }
+            return row;
+        }
+    }
+}
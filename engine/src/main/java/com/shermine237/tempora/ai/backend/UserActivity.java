@@ -14,6 +14,7 @@ public class UserActivity {
     private Date endTime;
     private float productivityScore; // Score de 0 à 5
     private boolean completed;
+    private boolean durationMeasured = true; // Faux si les heures ne mesurent pas le temps passé
     
     /**
      * Constructeur
@@ -93,4 +94,18 @@ public class UserActivity {
     public void setCompleted(boolean completed) {
         this.completed = completed;
     }
+    
+    /**
+     * Indique si l'écart entre début et fin mesure le temps réellement passé sur l'activité
+     * Une complétion enregistrée hors planning (début = date prévue, fin = heure de complétion)
+     * ne mesure rien : elle ne doit pas alimenter les estimations de durée.
+     * @return true si la durée est mesurée
+     */
+    public boolean isDurationMeasured() {
+        return durationMeasured;
+    }
+    
+    public void setDurationMeasured(boolean durationMeasured) {
+        this.durationMeasured = durationMeasured;
+    }
 }
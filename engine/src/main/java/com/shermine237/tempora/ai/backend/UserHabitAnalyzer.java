@@ -0,0 +1,594 @@
+package com.shermine237.tempora.ai.backend;
+
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+
+/**
+ * Analyseur d'habitudes utilisateur
+ * Cette classe est responsable de l'analyse des habitudes de l'utilisateur
+ * pour déterminer ses périodes de productivité, ses préférences, etc.
+ */
+public class UserHabitAnalyzer {
+    
+    // Demi-vie par défaut des statistiques : une habitude d'il y a un mois compte deux fois moins
+    public static final int DEFAULT_HALF_LIFE_DAYS = 30;
+    
+    // Longueur maximale des fenêtres glissantes (7, 30 ou 90 derniers jours)
+    public static final int MAX_WINDOW_DAYS = 90;
+    
+    // Nombre minimal de durées observées pour se fier aux quantiles d'une tâche
+    public static final int MIN_DURATION_SAMPLES = 3;
+    
+    // Résultats d'analyse, moyennes à décroissance exponentielle tenues à jour à chaque activité
+    private DecayingStats productivityByDayOfWeek; // 0=Dimanche, 1=Lundi, etc.
+    private DecayingStats productivityByHourOfDay; // 0-23 heures
+    private DecayingStats productivityByTaskCategory; // Indexé par identifiant de catégorie
+    
+    // Distribution des durées par titre et par catégorie (moyenne, variance et quantiles),
+    // indexée par identifiant
+    private DurationEstimator[] taskDurations;
+    private DurationEstimator[] categoryDurations;
+    
+    // Productivité des derniers jours (sans décroissance)
+    private RollingWindow recentProductivity;
+    
+    // Instant de l'activité la plus récente, référence du classement des intervalles
+    private long latestActivityMillis;
+    
+    private long halfLifeMillis = DEFAULT_HALF_LIFE_DAYS * TimeBuckets.DAY_MILLIS;
+    private double decayRate = DecayingStats.decayRate(halfLifeMillis);
+    
+    // Nouvelles structures pour l'apprentissage avancé, indexées par identifiant de titre
+    private int[] taskCompletionCounts; // Nombre de fois qu'une tâche a été complétée
+    private int[] taskPostponementCounts; // Nombre de fois qu'une tâche a été reportée
+    private PreferenceHistogram[] preferredDaysForTasks; // Jours de complétion de chaque tâche (7 cases)
+    private PreferenceHistogram[] preferredHoursForTasks; // Heures de complétion de chaque tâche (24 cases)
+    
+    // Titres et catégories dont les estimateurs et histogrammes appartiennent à cet analyseur ;
+    // les autres sont partagés avec une copie figée et dupliqués avant toute modification
+    private BitSet ownedTitles = new BitSet();
+    private BitSet ownedCategories = new BitSet();
+    
+    // Dictionnaire des titres et catégories (partagé avec les autres analyseurs du moteur)
+    private final SymbolTable symbols;
+    
+    private final TimeBuckets timeBuckets = TimeBuckets.getDefault();
+    
+    /**
+     * Constructeur avec un dictionnaire propre
+     */
+    public UserHabitAnalyzer() {
+        this(new SymbolTable());
+    }
+    
+    /**
+     * Constructeur
+     * @param symbols Dictionnaire des titres et catégories
+     */
+    public UserHabitAnalyzer(SymbolTable symbols) {
+        this.symbols = symbols;
+        productivityByDayOfWeek = new DecayingStats(7);
+        productivityByHourOfDay = new DecayingStats(24);
+        recentProductivity = new RollingWindow(MAX_WINDOW_DAYS);
+        productivityByTaskCategory = new DecayingStats(0);
+        taskDurations = new DurationEstimator[0];
+        categoryDurations = new DurationEstimator[0];
+        
+        // Initialiser les nouvelles structures
+        taskCompletionCounts = new int[0];
+        taskPostponementCounts = new int[0];
+        preferredDaysForTasks = new PreferenceHistogram[0];
+        preferredHoursForTasks = new PreferenceHistogram[0];
+    }
+    
+    /**
+     * Crée une copie figée de l'état d'analyse
+     * La copie peut être lue depuis plusieurs threads pendant que l'analyseur continue
+     * d'apprendre. Les petits agrégats sont dupliqués ; les estimateurs de durée et les
+     * histogrammes sont partagés (copie sur écriture) : l'analyseur duplique une entrée
+     * partagée avant de la modifier, si bien que la copie ne coûte qu'un tableau de
+     * références par structure. Le dictionnaire, qui ne fait que s'agrandir, est partagé.
+     * La copie ne doit pas être modifiée tant qu'elle est lue.
+     * @return Copie de l'analyseur
+     */
+    public UserHabitAnalyzer snapshot() {
+        UserHabitAnalyzer copy = new UserHabitAnalyzer(symbols);
+        copy.setHalfLifeMillis(halfLifeMillis);
+        copy.productivityByDayOfWeek = productivityByDayOfWeek.copy();
+        copy.productivityByHourOfDay = productivityByHourOfDay.copy();
+        copy.recentProductivity = recentProductivity.copy();
+        copy.latestActivityMillis = latestActivityMillis;
+        copy.productivityByTaskCategory = productivityByTaskCategory.copy();
+        copy.taskCompletionCounts = taskCompletionCounts.clone();
+        copy.taskPostponementCounts = taskPostponementCounts.clone();
+        
+        // Entrées partagées : chacun des deux analyseurs les dupliquera avant de les modifier
+        copy.taskDurations = taskDurations.clone();
+        copy.categoryDurations = categoryDurations.clone();
+        copy.preferredDaysForTasks = preferredDaysForTasks.clone();
+        copy.preferredHoursForTasks = preferredHoursForTasks.clone();
+        ownedTitles.clear();
+        ownedCategories.clear();
+        
+        return copy;
+    }
+    
+    /**
+     * Prépare les entrées d'un titre à être modifiées
+     * Les entrées encore partagées avec une copie figée sont d'abord dupliquées.
+     * @param titleId Identifiant du titre
+     */
+    private void ownTitle(int titleId) {
+        if (ownedTitles.get(titleId)) {
+            return;
+        }
+        if (titleId < taskDurations.length && taskDurations[titleId] != null) {
+            taskDurations[titleId] = taskDurations[titleId].copy();
+        }
+        if (titleId < preferredDaysForTasks.length && preferredDaysForTasks[titleId] != null) {
+            preferredDaysForTasks[titleId] = preferredDaysForTasks[titleId].copy();
+        }
+        if (titleId < preferredHoursForTasks.length && preferredHoursForTasks[titleId] != null) {
+            preferredHoursForTasks[titleId] = preferredHoursForTasks[titleId].copy();
+        }
+        ownedTitles.set(titleId);
+    }
+    
+    /**
+     * Prépare les entrées d'une catégorie à être modifiées
+     * @param categoryId Identifiant de la catégorie
+     */
+    private void ownCategory(int categoryId) {
+        if (ownedCategories.get(categoryId)) {
+            return;
+        }
+        if (categoryId < categoryDurations.length && categoryDurations[categoryId] != null) {
+            categoryDurations[categoryId] = categoryDurations[categoryId].copy();
+        }
+        ownedCategories.set(categoryId);
+    }
+    
+    /**
+     * Définit la demi-vie des statistiques pour les prochaines activités
+     * @param halfLifeMillis Demi-vie en millisecondes (0 pour des moyennes sans décroissance)
+     */
+    public void setHalfLifeMillis(long halfLifeMillis) {
+        this.halfLifeMillis = halfLifeMillis;
+        this.decayRate = DecayingStats.decayRate(halfLifeMillis);
+    }
+    
+    public long getHalfLifeMillis() {
+        return halfLifeMillis;
+    }
+    
+    /**
+     * Ajoute une activité utilisateur à analyser
+     * @param activity Activité utilisateur
+     */
+    public void addUserActivity(UserActivity activity) {
+        analyzeActivity(activity);
+    }
+    
+    /**
+     * Ajoute un lot d'activités utilisateur à analyser
+     * Les agrégats sont mis à jour en un seul passage ; des activités triées par heure de
+     * début évitent les corrections de décroissance des observations arrivées en retard.
+     * @param activities Activités utilisateur
+     */
+    public void addUserActivities(Collection<UserActivity> activities) {
+        for (UserActivity activity : activities) {
+            analyzeActivity(activity);
+        }
+    }
+    
+    /**
+     * Écrit l'état d'analyse dans un point de reprise
+     * Les titres et catégories y figurent par identifiant : le dictionnaire est écrit à part.
+     * @param out Tampon de destination
+     */
+    void writeState(CheckpointBuffer out) {
+        productivityByDayOfWeek.write(out);
+        productivityByHourOfDay.write(out);
+        recentProductivity.write(out);
+        out.putLong(latestActivityMillis);
+        
+        productivityByTaskCategory.write(out);
+        writeEstimators(out, taskDurations);
+        writeEstimators(out, categoryDurations);
+        
+        writeCounts(out, taskCompletionCounts);
+        writeCounts(out, taskPostponementCounts);
+        writeHistograms(out, preferredDaysForTasks);
+        writeHistograms(out, preferredHoursForTasks);
+    }
+    
+    /**
+     * Remplace l'état d'analyse par celui d'un point de reprise
+     * @param in Tampon source
+     */
+    void readState(CheckpointBuffer in) {
+        productivityByDayOfWeek = DecayingStats.read(in);
+        productivityByHourOfDay = DecayingStats.read(in);
+        recentProductivity = RollingWindow.read(in);
+        latestActivityMillis = in.getLong();
+        
+        productivityByTaskCategory = DecayingStats.read(in);
+        taskDurations = readEstimators(in);
+        categoryDurations = readEstimators(in);
+        
+        taskCompletionCounts = readCounts(in);
+        taskPostponementCounts = readCounts(in);
+        preferredDaysForTasks = readHistograms(in);
+        preferredHoursForTasks = readHistograms(in);
+        ownedTitles = new BitSet();
+        ownedCategories = new BitSet();
+    }
+    
+    private static void writeEstimators(CheckpointBuffer out, DurationEstimator[] estimators) {
+        out.putInt(estimators.length);
+        for (DurationEstimator estimator : estimators) {
+            out.putInt(estimator != null ? 1 : 0);
+            if (estimator != null) {
+                estimator.write(out);
+            }
+        }
+    }
+    
+    private static DurationEstimator[] readEstimators(CheckpointBuffer in) {
+        DurationEstimator[] estimators = new DurationEstimator[in.getInt()];
+        for (int i = 0; i < estimators.length; i++) {
+            if (in.getInt() != 0) {
+                estimators[i] = DurationEstimator.read(in);
+            }
+        }
+        return estimators;
+    }
+    
+    private static void writeCounts(CheckpointBuffer out, int[] counts) {
+        out.putInt(counts.length);
+        for (int count : counts) {
+            out.putInt(count);
+        }
+    }
+    
+    private static int[] readCounts(CheckpointBuffer in) {
+        int[] counts = new int[in.getInt()];
+        for (int i = 0; i < counts.length; i++) {
+            counts[i] = in.getInt();
+        }
+        return counts;
+    }
+    
+    private static void writeHistograms(CheckpointBuffer out, PreferenceHistogram[] histograms) {
+        out.putInt(histograms.length);
+        for (PreferenceHistogram histogram : histograms) {
+            out.putInt(histogram != null ? 1 : 0);
+            if (histogram != null) {
+                histogram.write(out);
+            }
+        }
+    }
+    
+    private static PreferenceHistogram[] readHistograms(CheckpointBuffer in) {
+        PreferenceHistogram[] histograms = new PreferenceHistogram[in.getInt()];
+        for (int i = 0; i < histograms.length; i++) {
+            if (in.getInt() != 0) {
+                histograms[i] = PreferenceHistogram.read(in);
+            }
+        }
+        return histograms;
+    }
+    
+    /**
+     * Analyse une activité utilisateur
+     * Chaque agrégat est mis à jour en temps constant, en atténuant les observations anciennes.
+     * @param activity Activité à analyser
+     */
+    private void analyzeActivity(UserActivity activity) {
+        // Extraire le jour de la semaine
+        long startMillis = activity.getStartTime().getTime();
+        int dayOfWeek = timeBuckets.dayOfWeek(startMillis) - 1; // 0=Dimanche, 1=Lundi, etc.
+        int hourOfDay = timeBuckets.hourOfDay(startMillis);
+        int titleId = symbols.internTitle(activity.getTitle());
+        int categoryId = symbols.internCategory(activity.getCategory());
+        latestActivityMillis = Math.max(latestActivityMillis, startMillis);
+        
+        // Mettre à jour les scores de productivité
+        float productivityScore = activity.getProductivityScore();
+        if (productivityScore > 0) {
+            // Jour de la semaine
+            productivityByDayOfWeek.add(dayOfWeek, productivityScore, startMillis, decayRate);
+            
+            // Heure de la journée
+            productivityByHourOfDay.add(hourOfDay, productivityScore, startMillis, decayRate);
+            
+            // Catégorie de tâche
+            productivityByTaskCategory.ensureSize(categoryId + 1);
+            productivityByTaskCategory.add(categoryId, productivityScore, startMillis, decayRate);
+            
+            // Fenêtre glissante des derniers jours
+            recentProductivity.add(timeBuckets.epochDay(startMillis), productivityScore);
+        }
+        
+        // Mettre à jour la distribution des durées (par titre et par catégorie)
+        if (!activity.isDurationMeasured()) {
+            return;
+        }
+        long durationMinutes = (activity.getEndTime().getTime() - startMillis) / (60 * 1000);
+        ownTitle(titleId);
+        ownCategory(categoryId);
+        taskDurations = estimatorFor(taskDurations, titleId);
+        taskDurations[titleId].add(durationMinutes, startMillis, decayRate);
+        categoryDurations = estimatorFor(categoryDurations, categoryId);
+        categoryDurations[categoryId].add(durationMinutes, startMillis, decayRate);
+    }
+    
+    /**
+     * Crée au besoin l'estimateur de durée d'un identifiant
+     * @param estimators Estimateurs indexés par identifiant
+     * @param id Identifiant
+     * @return Tableau (éventuellement agrandi) contenant l'estimateur
+     */
+    private static DurationEstimator[] estimatorFor(DurationEstimator[] estimators, int id) {
+        if (id >= estimators.length) {
+            estimators = Arrays.copyOf(estimators, SymbolTable.capacityFor(id, estimators.length));
+        }
+        if (estimators[id] == null) {
+            estimators[id] = new DurationEstimator();
+        }
+        return estimators;
+    }
+    
+    /**
+     * Retourne l'estimateur de durée d'un identifiant
+     * @param estimators Estimateurs indexés par identifiant
+     * @param id Identifiant (UNKNOWN accepté)
+     * @return Estimateur, ou null si aucune donnée
+     */
+    private static DurationEstimator estimatorOf(DurationEstimator[] estimators, int id) {
+        return id >= 0 && id < estimators.length ? estimators[id] : null;
+    }
+    
+    /**
+     * Retourne le compteur d'un identifiant
+     * @param counts Compteurs indexés par identifiant
+     * @param id Identifiant (UNKNOWN accepté)
+     * @return Valeur du compteur (0 si aucune donnée)
+     */
+    private static int countOf(int[] counts, int id) {
+        return id >= 0 && id < counts.length ? counts[id] : 0;
+    }
+    
+    /**
+     * Retourne le dictionnaire des titres et catégories
+     * @return Dictionnaire partagé
+     */
+    public SymbolTable getSymbolTable() {
+        return symbols;
+    }
+    
+    /**
+     * Retourne le jour de la semaine le plus productif
+     * @return Jour de la semaine (0=Dimanche, 1=Lundi, etc.)
+     */
+    public int getMostProductiveDay() {
+        return productivityByDayOfWeek.argmax(latestActivityMillis, decayRate);
+    }
+    
+    /**
+     * Retourne l'heure de la journée la plus productive
+     * @return Heure de la journée (0-23)
+     */
+    public int getMostProductiveHour() {
+        return productivityByHourOfDay.argmax(latestActivityMillis, decayRate);
+    }
+    
+    /**
+     * Retourne la productivité moyenne des derniers jours (fenêtre glissante, sans décroissance)
+     * @param days Nombre de jours, par exemple 7, 30 ou 90 (au plus MAX_WINDOW_DAYS)
+     * @param now Date de référence (dernier jour inclus)
+     * @return Score moyen (0-5) ou -1.0 si aucune donnée
+     */
+    public float getRecentProductivity(int days, java.util.Date now) {
+        if (days <= 0 || days > MAX_WINDOW_DAYS) {
+            throw new IllegalArgumentException("Fenêtre de 1 à " + MAX_WINDOW_DAYS + " jours: " + days);
+        }
+        return (float) recentProductivity.mean(days, timeBuckets.epochDay(now.getTime()));
+    }
+    
+    /**
+     * Prédit la durée d'une tâche en fonction de son titre et de sa catégorie
+     * @param taskTitle Titre de la tâche
+     * @param category Catégorie de la tâche
+     * @return Durée prédite en minutes
+     */
+    public int predictTaskDuration(String taskTitle, String category) {
+        // Si nous avons déjà des données pour cette tâche spécifique
+        DurationEstimator taskDuration = estimatorOf(taskDurations, symbols.lookupTitle(taskTitle));
+        if (taskDuration != null) {
+            return (int) Math.round(taskDuration.getMean());
+        }
+        
+        // Sinon, utiliser la moyenne des durées pour cette catégorie
+        DurationEstimator categoryDuration = estimatorOf(categoryDurations, symbols.lookupCategory(category));
+        if (categoryDuration != null) {
+            return (int) Math.round(categoryDuration.getMean());
+        }
+        
+        // Valeur par défaut si aucune donnée n'est disponible
+        return 60; // 1 heure par défaut
+    }
+    
+    /**
+     * Prédit un quantile de la durée d'une tâche (par exemple 0.8 pour une durée
+     * suffisante dans 80 % des cas) en fonction de son titre et de sa catégorie
+     * @param taskTitle Titre de la tâche
+     * @param category Catégorie de la tâche
+     * @param quantile Rang entre 0 et 1
+     * @return Durée prédite en minutes
+     */
+    public int predictTaskDuration(String taskTitle, String category, double quantile) {
+        DurationEstimator taskDuration = estimatorOf(taskDurations, symbols.lookupTitle(taskTitle));
+        if (taskDuration != null) {
+            return (int) Math.round(taskDuration.getQuantile(quantile));
+        }
+        
+        DurationEstimator categoryDuration = estimatorOf(categoryDurations, symbols.lookupCategory(category));
+        if (categoryDuration != null) {
+            return (int) Math.round(categoryDuration.getQuantile(quantile));
+        }
+        
+        return 60;
+    }
+    
+    /**
+     * Retourne un quantile de la durée observée d'une tâche précise
+     * @param taskTitle Titre de la tâche
+     * @param quantile Rang entre 0 et 1 (0.5, 0.8, 0.95...)
+     * @return Durée en minutes, ou -1 si moins de MIN_DURATION_SAMPLES observations
+     */
+    public int getTaskDurationQuantile(String taskTitle, double quantile) {
+        DurationEstimator taskDuration = estimatorOf(taskDurations, symbols.lookupTitle(taskTitle));
+        if (taskDuration == null || taskDuration.getCount() < MIN_DURATION_SAMPLES) {
+            return -1;
+        }
+        return (int) Math.round(taskDuration.getQuantile(quantile));
+    }
+    
+    /**
+     * Retourne l'écart type de la durée observée d'une tâche
+     * @param taskTitle Titre de la tâche
+     * @return Écart type en minutes, ou -1.0 si aucune donnée
+     */
+    public float getTaskDurationStandardDeviation(String taskTitle) {
+        DurationEstimator taskDuration = estimatorOf(taskDurations, symbols.lookupTitle(taskTitle));
+        return taskDuration != null ? (float) taskDuration.getStandardDeviation() : -1.0f;
+    }
+    
+    /**
+     * Génère un conseil de productivité basé sur l'analyse des habitudes
+     * @return Conseil de productivité
+     */
+    public String generateProductivityTip() {
+        int bestDay = getMostProductiveDay();
+        int bestHour = getMostProductiveHour();
+        
+        String[] dayNames = {"dimanche", "lundi", "mardi", "mercredi", "jeudi", "vendredi", "samedi"};
+        
+        return String.format(
+                "Vous êtes plus productif(ve) le %s vers %dh. Planifiez vos tâches importantes à ce moment.",
+                dayNames[bestDay], bestHour);
+    }
+    
+    /**
+     * Enregistre qu'une tâche a été complétée
+     * @param taskTitle Titre de la tâche
+     * @param category Catégorie de la tâche
+     * @param completionDate Date de complétion
+     */
+    public void recordTaskCompletion(String taskTitle, String category, java.util.Date completionDate) {
+        int titleId = symbols.internTitle(taskTitle);
+        
+        // Incrémenter le compteur de complétion
+        taskCompletionCounts = increment(taskCompletionCounts, titleId);
+        
+        // Enregistrer le jour et l'heure de complétion comme préférés
+        long completionMillis = completionDate.getTime();
+        int dayOfWeek = timeBuckets.dayOfWeek(completionMillis) - 1; // 0=Dimanche, 1=Lundi, etc.
+        int hourOfDay = timeBuckets.hourOfDay(completionMillis);
+        
+        // Jours préférés
+        ownTitle(titleId);
+        preferredDaysForTasks = histogramFor(preferredDaysForTasks, titleId, 7);
+        preferredDaysForTasks[titleId].add(dayOfWeek);
+        
+        // Heures préférées
+        preferredHoursForTasks = histogramFor(preferredHoursForTasks, titleId, 24);
+        preferredHoursForTasks[titleId].add(hourOfDay);
+    }
+    
+    /**
+     * Enregistre qu'une tâche a été reportée
+     * @param taskTitle Titre de la tâche
+     */
+    public void recordTaskPostponement(String taskTitle) {
+        // Incrémenter le compteur de report
+        taskPostponementCounts = increment(taskPostponementCounts, symbols.internTitle(taskTitle));
+    }
+    
+    /**
+     * Incrémente le compteur d'un identifiant
+     * @param counts Compteurs indexés par identifiant
+     * @param id Identifiant
+     * @return Tableau (éventuellement agrandi) des compteurs
+     */
+    private static int[] increment(int[] counts, int id) {
+        if (id >= counts.length) {
+            counts = Arrays.copyOf(counts, SymbolTable.capacityFor(id, counts.length));
+        }
+        counts[id]++;
+        return counts;
+    }
+    
+    /**
+     * Crée au besoin l'histogramme de préférences d'un identifiant
+     * @param histograms Histogrammes indexés par identifiant
+     * @param id Identifiant
+     * @param size Nombre de cases d'un histogramme
+     * @return Tableau (éventuellement agrandi) contenant l'histogramme
+     */
+    private static PreferenceHistogram[] histogramFor(PreferenceHistogram[] histograms, int id, int size) {
+        if (id >= histograms.length) {
+            histograms = Arrays.copyOf(histograms, SymbolTable.capacityFor(id, histograms.length));
+        }
+        if (histograms[id] == null) {
+            histograms[id] = new PreferenceHistogram(size);
+        }
+        return histograms;
+    }
+    
+    /**
+     * Retourne la case favorite d'un histogramme de préférences
+     * @param histograms Histogrammes indexés par identifiant
+     * @param id Identifiant (UNKNOWN accepté)
+     * @return Case favorite, ou -1 si aucune donnée
+     */
+    private static int bestOf(PreferenceHistogram[] histograms, int id) {
+        return id >= 0 && id < histograms.length && histograms[id] != null ? histograms[id].getBest() : -1;
+    }
+    
+    /**
+     * Obtient le jour préféré pour une tâche spécifique
+     * @param taskTitle Titre de la tâche
+     * @return Jour préféré (0=Dimanche, 1=Lundi, etc.) ou -1 si aucune donnée
+     */
+    public int getPreferredDayForTask(String taskTitle) {
+        return bestOf(preferredDaysForTasks, symbols.lookupTitle(taskTitle));
+    }
+    
+    /**
+     * Obtient l'heure préférée pour une tâche spécifique
+     * @param taskTitle Titre de la tâche
+     * @return Heure préférée (0-23) ou -1 si aucune donnée
+     */
+    public int getPreferredHourForTask(String taskTitle) {
+        return bestOf(preferredHoursForTasks, symbols.lookupTitle(taskTitle));
+    }
+    
+    /**
+     * Obtient le taux de réussite d'une tâche
+     * @param taskTitle Titre de la tâche
+     * @return Taux de réussite (0.0-1.0) ou -1.0 si aucune donnée
+     */
+    public float getTaskSuccessRate(String taskTitle) {
+        int titleId = symbols.lookupTitle(taskTitle);
+        int completions = countOf(taskCompletionCounts, titleId);
+        int postponements = countOf(taskPostponementCounts, titleId);
+        
+        if (completions + postponements == 0) {
+            return -1.0f;
+        }
+        return (float) completions / (completions + postponements);
+    }
+}
@@ -50,6 +50,25 @@ public class UserPreferences {
         scheduleDifficultTasksInMorning = true;
     }
     
+    /**
+     * Constructeur par copie
+     * @param other Préférences à copier
+     */
+    public UserPreferences(UserPreferences other) {
+        workStartHours = new HashMap<>(other.workStartHours);
+        workEndHours = new HashMap<>(other.workEndHours);
+        
+        includeBreakfast = other.includeBreakfast;
+        includeLunch = other.includeLunch;
+        includeDinner = other.includeDinner;
+        
+        includeBreaks = other.includeBreaks;
+        breakDurationMinutes = other.breakDurationMinutes;
+        workDurationBeforeBreak = other.workDurationBeforeBreak;
+        
+        scheduleDifficultTasksInMorning = other.scheduleDifficultTasksInMorning;
+    }
+    
     /**
      * Définit l'heure de début de travail pour un jour spécifique
      * @param dayOfWeek Jour de la semaine (0=Dimanche, 1=Lundi, etc.)
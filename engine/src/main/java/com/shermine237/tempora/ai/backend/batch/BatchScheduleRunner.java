@@ -0,0 +1,286 @@
+package com.shermine237.tempora.ai.backend.batch;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.shermine237.tempora.ai.backend.EngineLog;
+import com.shermine237.tempora.ai.backend.EngineLogger;
+import com.shermine237.tempora.ai.backend.Schedule;
+import com.shermine237.tempora.ai.backend.ScheduleItem;
+import com.shermine237.tempora.ai.backend.SchedulingEngine;
+import com.shermine237.tempora.ai.backend.Task;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.text.ParseException;
+import java.text.SimpleDateFormat;
+import java.util.ArrayList;
+import java.util.Calendar;
+import java.util.Collections;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Génération de plannings par lots, en dehors de l'application
+ * Lit les historiques de nombreux utilisateurs (un fichier JSON chacun), entraîne
+ * un moteur par utilisateur et génère ses plannings sur une période. Les utilisateurs
+ * sont traités en parallèle ; les journées d'un même utilisateur le sont séquentiellement.
+ * Un fichier de résultat est écrit par utilisateur dans le répertoire de sortie.
+ */
+public class BatchScheduleRunner {
+    
+    private static final String TAG = "BatchScheduleRunner";
+    private static final String DATE_TIME_FORMAT = "yyyy-MM-dd'T'HH:mm";
+    
+    private final Gson gson = new GsonBuilder().setDateFormat(DATE_TIME_FORMAT).create();
+    
+    private Path outputDirectory = Paths.get("schedules");
+    private Date firstDay = new Date();
+    private int days = 7;
+    private int threads = Runtime.getRuntime().availableProcessors();
+    private long solverTimeBudgetMillis;
+    
+    public static void main(String[] args) {
+        BatchScheduleRunner runner = new BatchScheduleRunner();
+        List<Path> inputs = new ArrayList<>();
+        boolean verbose = false;
+        
+        try {
+            for (int i = 0; i < args.length; i++) {
+                switch (args[i]) {
+                    case "--out":
+                        runner.setOutputDirectory(Paths.get(args[++i]));
+                        break;
+                    case "--from":
+                        runner.setFirstDay(new SimpleDateFormat("yyyy-MM-dd").parse(args[++i]));
+                        break;
+                    case "--days":
+                        runner.setDays(Integer.parseInt(args[++i]));
+                        break;
+                    case "--threads":
+                        runner.setThreads(Integer.parseInt(args[++i]));
+                        break;
+                    case "--solver-budget":
+                        runner.setSolverTimeBudgetMillis(Long.parseLong(args[++i]));
+                        break;
+                    case "--verbose":
+                        verbose = true;
+                        break;
+                    default:
+                        inputs.add(Paths.get(args[i]));
+                        break;
+                }
+            }
+        } catch (ArrayIndexOutOfBoundsException | NumberFormatException | ParseException e) {
+            inputs.clear();
+        }
+        
+        if (inputs.isEmpty()) {
+            System.err.println("Usage : BatchScheduleRunner [--out <répertoire>] [--from <yyyy-MM-dd>] [--days <n>]"
+                    + " [--threads <n>] [--solver-budget <ms>] [--verbose] <fichier.json|répertoire>...");
+            System.exit(2);
+        }
+        
+        // Sans --verbose, seuls les avertissements et les erreurs du moteur sont affichés
+        EngineLog.setLogger(new EngineLog.StreamLogger(System.err, verbose ? EngineLogger.DEBUG : EngineLogger.WARN));
+        
+        try {
+            Summary summary = runner.run(inputs);
+            System.out.println(summary);
+            System.exit(summary.failedUsers == 0 ? 0 : 1);
+        } catch (IOException e) {
+            EngineLog.e(TAG, "Erreur lors de la lecture des historiques", e);
+            System.exit(1);
+        }
+    }
+    
+    public void setOutputDirectory(Path outputDirectory) {
+        this.outputDirectory = outputDirectory;
+    }
+    
+    public void setFirstDay(Date firstDay) {
+        this.firstDay = firstDay;
+    }
+    
+    public void setDays(int days) {
+        this.days = Math.max(1, days);
+    }
+    
+    public void setThreads(int threads) {
+        this.threads = Math.max(1, threads);
+    }
+    
+    public void setSolverTimeBudgetMillis(long solverTimeBudgetMillis) {
+        this.solverTimeBudgetMillis = solverTimeBudgetMillis;
+    }
+    
+    /**
+     * Traite tous les historiques
+     * Chaque fichier n'est lu qu'au moment de son traitement : la mémoire utilisée
+     * dépend du nombre de threads, pas du nombre d'utilisateurs.
+     * @param inputs Fichiers JSON, ou répertoires contenant des fichiers JSON
+     * @return Bilan du traitement
+     * @throws IOException Si un répertoire d'entrée ne peut pas être lu
+     */
+    public Summary run(List<Path> inputs) throws IOException {
+        List<Path> files = listHistoryFiles(inputs);
+        Files.createDirectories(outputDirectory);
+        
+        Calendar calendar = Calendar.getInstance();
+        calendar.setTime(firstDay);
+        final Date from = calendar.getTime();
+        calendar.add(Calendar.DAY_OF_MONTH, days - 1);
+        final Date to = calendar.getTime();
+        
+        long startNanos = System.nanoTime();
+        Summary summary = new Summary();
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            CompletionService<Integer> completion = new ExecutorCompletionService<>(executor);
+            for (final Path file : files) {
+                completion.submit(() -> processUser(file, from, to));
+            }
+            
+            for (int i = 0; i < files.size(); i++) {
+                try {
+                    summary.scheduledTasks += completion.take().get();
+                    summary.processedUsers++;
+                } catch (ExecutionException e) {
+                    summary.failedUsers++;
+                    EngineLog.e(TAG, "Échec du traitement d'un utilisateur", e.getCause());
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            executor.shutdownNow();
+        }
+        summary.elapsedMillis = (System.nanoTime() - startNanos) / 1000000L;
+        
+        return summary;
+    }
+    
+    /**
+     * Génère et écrit les plannings d'un utilisateur
+     * @param file Fichier d'historique
+     * @param from Premier jour
+     * @param to Dernier jour
+     * @return Nombre de tâches placées
+     * @throws IOException En cas d'erreur de lecture ou d'écriture
+     */
+    private int processUser(Path file, Date from, Date to) throws IOException {
+        UserHistory history;
+        try (Reader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            history = gson.fromJson(reader, UserHistory.class);
+        } catch (RuntimeException e) {
+            throw new IOException("Historique invalide : " + file, e);
+        }
+        if (history == null) {
+            throw new IOException("Historique vide : " + file);
+        }
+        
+        String userId = history.userId;
+        if (userId == null || userId.isEmpty()) {
+            String fileName = file.getFileName().toString();
+            int extension = fileName.lastIndexOf('.');
+            userId = extension > 0 ? fileName.substring(0, extension) : fileName;
+        }
+        
+        SchedulingEngine engine = new SchedulingEngine();
+        if (history.preferences != null) {
+            engine.initialize(history.preferences);
+        }
+        engine.setSolverTimeBudget(solverTimeBudgetMillis);
+        
+        if (history.activities != null) {
+            engine.addUserActivities(history.activities);
+        }
+        
+        List<Task> tasks = history.tasks != null ? history.tasks : new ArrayList<Task>();
+        List<Schedule> schedules = engine.generateSchedules(from, to, tasks, null, null);
+        
+        try (Writer writer = Files.newBufferedWriter(outputDirectory.resolve(userId + ".json"), StandardCharsets.UTF_8)) {
+            gson.toJson(new UserHistory.Result(userId, schedules), writer);
+        }
+        
+        int scheduledTasks = 0;
+        for (Schedule schedule : schedules) {
+            for (ScheduleItem item : schedule.getItems()) {
+                if ("task".equals(item.getType())) {
+                    scheduledTasks++;
+                }
+            }
+        }
+        return scheduledTasks;
+    }
+    
+    /**
+     * Développe les répertoires d'entrée en fichiers JSON, dans l'ordre alphabétique
+     * @param inputs Fichiers ou répertoires
+     * @return Fichiers à traiter
+     * @throws IOException Si un répertoire ne peut pas être lu
+     */
+    private List<Path> listHistoryFiles(List<Path> inputs) throws IOException {
+        List<Path> files = new ArrayList<>();
+        for (Path input : inputs) {
+            if (!Files.isDirectory(input)) {
+                files.add(input);
+                continue;
+            }
+            
+            List<Path> directoryFiles = new ArrayList<>();
+            try (DirectoryStream<Path> stream = Files.newDirectoryStream(input, "*.json")) {
+                for (Path file : stream) {
+                    directoryFiles.add(file);
+                }
+            }
+            Collections.sort(directoryFiles);
+            files.addAll(directoryFiles);
+        }
+        return files;
+    }
+    
+    /**
+     * Bilan d'un traitement par lots
+     */
+    public static class Summary {
+        
+        private int processedUsers;
+        private int failedUsers;
+        private long scheduledTasks;
+        private long elapsedMillis;
+        
+        public int getProcessedUsers() {
+            return processedUsers;
+        }
+        
+        public int getFailedUsers() {
+            return failedUsers;
+        }
+        
+        public long getScheduledTasks() {
+            return scheduledTasks;
+        }
+        
+        public long getElapsedMillis() {
+            return elapsedMillis;
+        }
+        
+        @Override
+        public String toString() {
+            double usersPerSecond = elapsedMillis > 0 ? processedUsers * 1000.0 / elapsedMillis : processedUsers;
+            return String.format("%d utilisateurs traités (%d échecs), %d tâches planifiées en %d ms (%.1f utilisateurs/s)",
+                    processedUsers, failedUsers, scheduledTasks, elapsedMillis, usersPerSecond);
+        }
+    }
+}
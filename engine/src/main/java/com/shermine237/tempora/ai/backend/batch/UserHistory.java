@@ -0,0 +1,35 @@
+package com.shermine237.tempora.ai.backend.batch;
+
+import com.shermine237.tempora.ai.backend.Schedule;
+import com.shermine237.tempora.ai.backend.Task;
+import com.shermine237.tempora.ai.backend.UserActivity;
+import com.shermine237.tempora.ai.backend.UserPreferences;
+
+import java.util.List;
+
+/**
+ * Historique d'un utilisateur lu par le traitement par lots
+ * Un fichier JSON par utilisateur : préférences, activités passées et tâches à planifier.
+ * Les champs reprennent ceux des classes du moteur ; les dates sont au format yyyy-MM-dd'T'HH:mm.
+ */
+class UserHistory {
+    
+    String userId;
+    UserPreferences preferences;
+    List<UserActivity> activities;
+    List<Task> tasks;
+    
+    /**
+     * Résultat écrit pour un utilisateur
+     */
+    static class Result {
+        
+        final String userId;
+        final List<Schedule> schedules;
+        
+        Result(String userId, List<Schedule> schedules) {
+            this.userId = userId;
+            this.schedules = schedules;
+        }
+    }
+}
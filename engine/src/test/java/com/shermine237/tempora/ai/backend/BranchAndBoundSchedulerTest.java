@@ -0,0 +1,197 @@
+package com.shermine237.tempora.ai.backend;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests du solveur par séparation et évaluation, comparé au planning glouton
+ */
+public class BranchAndBoundSchedulerTest {
+    
+    private static final long DAY_START = 1700000000000L;
+    private static final int WORK_START = 9 * 60;
+    private static final int WORK_END = 18 * 60;
+    private static final long UNSCHEDULED_PENALTY = 24L * 60;
+    
+    @Test
+    public void difficultTask_waitsForTheProductiveHour() {
+        List<Task> tasks = Arrays.asList(task(1, 3, 5, 60, null));
+        int[] durations = {60};
+        Schedule greedy = greedy(tasks, durations);
+        
+        Schedule improved = solver().improve(greedy, tasks, durations, workHours(), DAY_START, 14);
+        
+        assertEquals(14 * 60, start(improved, 1));
+        assertEquals(0, cost(improved, tasks, durations, 14));
+        assertTrue(cost(greedy, tasks, durations, 14) > 0);
+    }
+    
+    @Test
+    public void urgentTask_isMovedBeforeALongerOne() {
+        List<Task> tasks = Arrays.asList(
+                task(1, 1, 0, 120, null),
+                task(2, 5, 0, 30, minute(10 * 60)));
+        int[] durations = {120, 30};
+        Schedule greedy = greedy(tasks, durations);
+        
+        Schedule improved = solver().improve(greedy, tasks, durations, workHours(), DAY_START, -1);
+        
+        assertEquals(WORK_START, start(improved, 2));
+        assertEquals(WORK_START + 30, start(improved, 1));
+        assertEquals(0, cost(improved, tasks, durations, -1));
+    }
+    
+    @Test
+    public void optimalGreedySchedule_isKept() {
+        List<Task> tasks = Arrays.asList(task(1, 3, 0, 60, null), task(2, 3, 0, 60, null));
+        int[] durations = {60, 60};
+        Schedule greedy = greedy(tasks, durations);
+        
+        assertSame(greedy, solver().improve(greedy, tasks, durations, workHours(), DAY_START, -1));
+    }
+    
+    @Test
+    public void solution_isNeverWorseThanAnyOrderPlacedAsEarlyAsPossible() {
+        Random random = new Random(42);
+        for (int round = 0; round < 20; round++) {
+            int count = 3 + random.nextInt(3);
+            List<Task> tasks = new ArrayList<>();
+            int[] durations = new int[count];
+            for (int i = 0; i < count; i++) {
+                durations[i] = 30 + 15 * random.nextInt(8);
+                Date due = random.nextBoolean() ? minute(WORK_START + 60 + random.nextInt(6 * 60)) : null;
+                tasks.add(task(i + 1, 1 + random.nextInt(5), random.nextInt(6), durations[i], due));
+            }
+            int productiveHour = 9 + random.nextInt(8);
+            Schedule greedy = greedy(tasks, durations);
+            
+            Schedule improved = solver().improve(greedy, tasks, durations, workHours(), DAY_START, productiveHour);
+            
+            long cost = cost(improved, tasks, durations, productiveHour);
+            assertTrue(cost <= cost(greedy, tasks, durations, productiveHour));
+            assertTrue(cost <= bestEarliestOrder(tasks, durations, productiveHour, new int[count], 0,
+                    new boolean[count]));
+            assertNoOverlap(improved);
+        }
+    }
+    
+    private static BranchAndBoundScheduler solver() {
+        return new BranchAndBoundScheduler(2000);
+    }
+    
+    private static DayTimeline workHours() {
+        DayTimeline blocked = new DayTimeline();
+        blocked.set(0, WORK_START);
+        blocked.set(WORK_END, DayTimeline.MINUTES_PER_DAY);
+        return blocked;
+    }
+    
+    private static Task task(int id, int priority, int difficulty, int duration, Date due) {
+        Task task = new Task("Tâche " + id, "", due, priority, difficulty, duration, "Travail");
+        task.setId(id);
+        return task;
+    }
+    
+    private static Date minute(int minuteOfDay) {
+        return new Date(DAY_START + minuteOfDay * 60000L);
+    }
+    
+    /**
+     * Planning glouton : tâches dans l'ordre de la liste, au plus tôt
+     */
+    private static Schedule greedy(List<Task> tasks, int[] durations) {
+        List<ScheduleItem> items = new ArrayList<>();
+        int start = WORK_START;
+        for (int i = 0; i < tasks.size(); i++) {
+            if (start + durations[i] > WORK_END) {
+                continue;
+            }
+            ScheduleItem item = new ScheduleItem(tasks.get(i).getTitle(), "", "task",
+                    start, start + durations[i], durations[i]);
+            item.setTaskId(tasks.get(i).getId());
+            items.add(item);
+            start += durations[i];
+        }
+        return new Schedule(new Date(DAY_START), items);
+    }
+    
+    /**
+     * Meilleur coût parmi tous les ordres de tâches placées au plus tôt, bout à bout
+     */
+    private static long bestEarliestOrder(List<Task> tasks, int[] durations, int productiveHour,
+                                          int[] order, int depth, boolean[] used) {
+        if (depth == tasks.size()) {
+            List<ScheduleItem> items = new ArrayList<>();
+            int start = WORK_START;
+            for (int i : order) {
+                if (start + durations[i] > WORK_END) {
+                    continue;
+                }
+                ScheduleItem item = new ScheduleItem(tasks.get(i).getTitle(), "", "task",
+                        start, start + durations[i], durations[i]);
+                item.setTaskId(tasks.get(i).getId());
+                items.add(item);
+                start += durations[i];
+            }
+            return cost(new Schedule(new Date(DAY_START), items), tasks, durations, productiveHour);
+        }
+        long best = Long.MAX_VALUE;
+        for (int i = 0; i < tasks.size(); i++) {
+            if (!used[i]) {
+                used[i] = true;
+                order[depth] = i;
+                best = Math.min(best, bestEarliestOrder(tasks, durations, productiveHour, order, depth + 1, used));
+                used[i] = false;
+            }
+        }
+        return best;
+    }
+    
+    /**
+     * Coût d'un planning, selon la définition du solveur
+     */
+    private static long cost(Schedule schedule, List<Task> tasks, int[] durations, int productiveHour) {
+        long cost = 0;
+        for (int i = 0; i < tasks.size(); i++) {
+            Task task = tasks.get(i);
+            int weight = Math.max(task.getPriority(), 1);
+            int start = start(schedule, task.getId());
+            if (start < 0) {
+                cost += weight * UNSCHEDULED_PENALTY;
+                continue;
+            }
+            if (task.getDueDate() != null) {
+                long due = (task.getDueDate().getTime() - DAY_START) / 60000L;
+                cost += Math.max(start + durations[i] - due, 0) * weight;
+            }
+            if (productiveHour >= 0) {
+                cost += (long) task.getDifficulty() * Math.abs(start / 60 - productiveHour);
+            }
+        }
+        return cost;
+    }
+    
+    private static int start(Schedule schedule, int taskId) {
+        for (ScheduleItem item : schedule.getItems()) {
+            if (item.getTaskId() == taskId) {
+                return item.getStartMinute();
+            }
+        }
+        return -1;
+    }
+    
+    private static void assertNoOverlap(Schedule schedule) {
+        DayTimeline used = workHours();
+        for (ScheduleItem item : schedule.getItems()) {
+            assertTrue(used.isClear(item.getStartMinute(), item.getEndMinute()));
+            used.set(item.getStartMinute(), item.getEndMinute());
+        }
+    }
+}
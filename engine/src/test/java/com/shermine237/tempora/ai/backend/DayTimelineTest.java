@@ -0,0 +1,107 @@
+package com.shermine237.tempora.ai.backend;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests de la ligne de temps à la minute (bitset de 1440 minutes)
+ */
+public class DayTimelineTest {
+    
+    @Test
+    public void setAndClear_acrossWordBoundaries() {
+        DayTimeline timeline = new DayTimeline();
+        timeline.set(60, 200);
+        
+        assertFalse(timeline.get(59));
+        assertTrue(timeline.get(60));
+        assertTrue(timeline.get(127));
+        assertTrue(timeline.get(128));
+        assertTrue(timeline.get(199));
+        assertFalse(timeline.get(200));
+        assertEquals(140, timeline.count());
+        
+        timeline.clear(100, 130);
+        assertEquals(110, timeline.count());
+        assertTrue(timeline.isClear(100, 130));
+        assertTrue(timeline.isSet(60, 100));
+        assertFalse(timeline.isSet(60, 101));
+    }
+    
+    @Test
+    public void set_clampsToTheDay() {
+        DayTimeline timeline = new DayTimeline();
+        timeline.set(-30, 10);
+        timeline.set(DayTimeline.MINUTES_PER_DAY - 5, DayTimeline.MINUTES_PER_DAY + 30);
+        
+        assertEquals(15, timeline.count());
+        assertTrue(timeline.get(DayTimeline.MINUTES_PER_DAY - 1));
+        assertFalse(timeline.get(DayTimeline.MINUTES_PER_DAY));
+        assertEquals(-1, timeline.nextClearMinute(DayTimeline.MINUTES_PER_DAY - 5));
+    }
+    
+    @Test
+    public void nextSetAndClearMinute() {
+        DayTimeline timeline = new DayTimeline();
+        assertEquals(-1, timeline.nextSetMinute(0));
+        assertEquals(0, timeline.nextClearMinute(0));
+        
+        timeline.set(500, 700);
+        assertEquals(500, timeline.nextSetMinute(0));
+        assertEquals(600, timeline.nextSetMinute(600));
+        assertEquals(700, timeline.nextClearMinute(500));
+        assertEquals(-1, timeline.nextSetMinute(700));
+    }
+    
+    @Test
+    public void findFirstClearRun_skipsShortGaps() {
+        DayTimeline timeline = new DayTimeline();
+        timeline.set(0, 480);
+        timeline.set(500, 600);
+        timeline.set(630, 720);
+        
+        assertEquals(480, timeline.findFirstClearRun(0, 20));
+        assertEquals(600, timeline.findFirstClearRun(0, 30));
+        assertEquals(720, timeline.findFirstClearRun(0, 31));
+        assertEquals(-1, timeline.findFirstClearRun(0, DayTimeline.MINUTES_PER_DAY));
+    }
+    
+    @Test
+    public void setOperations() {
+        DayTimeline a = new DayTimeline();
+        DayTimeline b = new DayTimeline();
+        a.set(100, 200);
+        b.set(150, 250);
+        
+        assertTrue(a.intersects(b));
+        
+        DayTimeline union = new DayTimeline(a);
+        union.or(b);
+        assertEquals(150, union.count());
+        
+        DayTimeline intersection = new DayTimeline(a);
+        intersection.and(b);
+        assertEquals(50, intersection.count());
+        assertTrue(intersection.isSet(150, 200));
+        
+        DayTimeline difference = new DayTimeline(a);
+        difference.andNot(b);
+        assertEquals(50, difference.count());
+        assertTrue(difference.isSet(100, 150));
+        assertFalse(difference.intersects(b));
+    }
+    
+    @Test
+    public void toFreeSlotIndex_indexesClearRuns() {
+        DayTimeline timeline = new DayTimeline();
+        timeline.set(540, 600);
+        timeline.set(720, 780);
+        
+        FreeSlotIndex index = timeline.toFreeSlotIndex(480, 1080);
+        assertEquals(60 + 120 + 300, index.getFreeMinutes());
+        assertEquals(480, index.findEarliestFit(480, 60));
+        assertEquals(600, index.findEarliestFit(480, 61));
+        assertEquals(780, index.findEarliestFit(480, 121));
+    }
+}
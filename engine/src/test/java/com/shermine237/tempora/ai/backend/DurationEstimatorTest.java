@@ -0,0 +1,143 @@
+package com.shermine237.tempora.ai.backend;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests de l'estimateur en flux des durées : quantiles, moments, fusion et décroissance
+ */
+public class DurationEstimatorTest {
+    
+    private static final long START = 1700000000000L;
+    private static final long DAY_MILLIS = 24L * 60 * 60 * 1000;
+    private static final double HALF_LIFE_WEEK = Math.log(2) / (7 * DAY_MILLIS);
+    
+    @Test
+    public void quantiles_stayWithinTheSketchAccuracy() {
+        Random random = new Random(1);
+        double[] durations = new double[5000];
+        DurationEstimator estimator = new DurationEstimator();
+        for (int i = 0; i < durations.length; i++) {
+            durations[i] = Math.exp(3.5 + 0.6 * random.nextGaussian()) + 1;
+            estimator.add(durations[i], START + i * 60000L, 0.0);
+        }
+        Arrays.sort(durations);
+        
+        for (double quantile : new double[] {0.1, 0.5, 0.8, 0.95, 0.99}) {
+            double exact = durations[(int) Math.ceil(quantile * durations.length) - 1];
+            double estimated = estimator.getQuantile(quantile);
+            assertEquals("P" + (int) (quantile * 100), exact, estimated, exact * 0.02);
+        }
+    }
+    
+    @Test
+    public void meanAndVariance_matchATwoPassComputation() {
+        double[] durations = {30, 45, 60, 25, 90, 35, 40};
+        DurationEstimator estimator = new DurationEstimator();
+        double sum = 0;
+        for (int i = 0; i < durations.length; i++) {
+            estimator.add(durations[i], START + i * DAY_MILLIS, 0.0);
+            sum += durations[i];
+        }
+        double mean = sum / durations.length;
+        double squares = 0;
+        for (double duration : durations) {
+            squares += (duration - mean) * (duration - mean);
+        }
+        
+        assertEquals(durations.length, estimator.getCount());
+        assertEquals(mean, estimator.getMean(), 1e-9);
+        assertEquals(squares / durations.length, estimator.getVariance(), 1e-9);
+    }
+    
+    @Test
+    public void merge_matchesASingleEstimatorOverBothStreams() {
+        for (double decayRate : new double[] {0.0, HALF_LIFE_WEEK}) {
+            Random random = new Random(3);
+            DurationEstimator single = new DurationEstimator();
+            DurationEstimator first = new DurationEstimator();
+            DurationEstimator second = new DurationEstimator();
+            for (int i = 0; i < 400; i++) {
+                double duration = 20 + random.nextInt(100);
+                long millis = START + i * (DAY_MILLIS / 4);
+                single.add(duration, millis, decayRate);
+                (i < 250 ? first : second).add(duration, millis, decayRate);
+            }
+            
+            DurationEstimator merged = first.copy();
+            merged.merge(second, decayRate);
+            
+            assertEquals(single.getCount(), merged.getCount());
+            assertEquals(single.getMean(), merged.getMean(), 1e-6);
+            assertEquals(single.getVariance(), merged.getVariance(), 1e-6 * single.getVariance());
+            for (double quantile : new double[] {0.25, 0.5, 0.8, 0.95}) {
+                assertEquals(single.getQuantile(quantile), merged.getQuantile(quantile), 1e-9);
+            }
+            assertEquals(250, first.getCount());
+        }
+    }
+    
+    @Test
+    public void merge_intoAnEmptyEstimatorCopiesIt() {
+        DurationEstimator source = new DurationEstimator();
+        source.add(30, START, HALF_LIFE_WEEK);
+        source.add(60, START + DAY_MILLIS, HALF_LIFE_WEEK);
+        
+        DurationEstimator empty = new DurationEstimator();
+        empty.merge(source, HALF_LIFE_WEEK);
+        source.merge(new DurationEstimator(), HALF_LIFE_WEEK);
+        
+        assertEquals(2, empty.getCount());
+        assertEquals(source.getMean(), empty.getMean(), 0.0);
+        assertEquals(source.getQuantile(0.8), empty.getQuantile(0.8), 0.0);
+    }
+    
+    @Test
+    public void decay_letsRecentDurationsDominate() {
+        DurationEstimator estimator = new DurationEstimator();
+        long millis = START;
+        for (int i = 0; i < 60; i++, millis += DAY_MILLIS) {
+            estimator.add(30, millis, HALF_LIFE_WEEK);
+        }
+        for (int i = 0; i < 14; i++, millis += DAY_MILLIS) {
+            estimator.add(90, millis, HALF_LIFE_WEEK);
+        }
+        
+        assertEquals(90, estimator.getQuantile(0.5), 90 * 0.02);
+        assertTrue(estimator.getMean() > 60);
+    }
+    
+    @Test
+    public void longHistory_movesTheLandmarkWithoutOverflow() {
+        // Dix ans d'observations : les poids dépasseraient exp(300) sans changement de repère
+        DurationEstimator estimator = new DurationEstimator();
+        for (int day = 0; day < 3650; day++) {
+            estimator.add(day < 3640 ? 45 : 120, START + day * DAY_MILLIS, HALF_LIFE_WEEK);
+        }
+        
+        assertFalse(Double.isNaN(estimator.getMean()) || Double.isInfinite(estimator.getMean()));
+        assertFalse(Double.isNaN(estimator.getVariance()) || Double.isInfinite(estimator.getVariance()));
+        assertEquals(120, estimator.getQuantile(0.5), 120 * 0.02);
+    }
+    
+    @Test
+    public void checkpoint_restoresTheSameDistribution() {
+        DurationEstimator estimator = new DurationEstimator();
+        for (int i = 0; i < 50; i++) {
+            estimator.add(15 + i * 3, START + i * DAY_MILLIS, HALF_LIFE_WEEK);
+        }
+        
+        CheckpointBuffer out = new CheckpointBuffer(256);
+        estimator.write(out);
+        DurationEstimator restored = DurationEstimator.read(new CheckpointBuffer(out.toByteBuffer()));
+        
+        assertEquals(estimator.getCount(), restored.getCount());
+        assertEquals(estimator.getMean(), restored.getMean(), 0.0);
+        assertEquals(estimator.getVariance(), restored.getVariance(), 0.0);
+        assertEquals(estimator.getQuantile(0.8), restored.getQuantile(0.8), 0.0);
+    }
+}
@@ -0,0 +1,129 @@
+package com.shermine237.tempora.ai.backend;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.Date;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests de l'enregistrement et de la restauration des points de reprise
+ */
+public class EngineCheckpointTest {
+    
+    private static final long HOUR_MILLIS = 60 * 60 * 1000L;
+    private static final int HEADER_SIZE = 4 + 4 + 8 + 4 + 4;
+    
+    private File file;
+    
+    @Before
+    public void createFile() throws IOException {
+        file = File.createTempFile("engine", ".checkpoint");
+    }
+    
+    @After
+    public void deleteFile() {
+        file.delete();
+        new File(file.getPath() + ".tmp").delete();
+    }
+    
+    @Test
+    public void restoredEngine_answersLikeTheOriginal() throws IOException {
+        SchedulingEngine original = trainedEngine();
+        long watermark = 5000000000L; // Au-delà d'un int : le filigrane reste un long
+        EngineCheckpoint.save(original, watermark, file);
+        
+        SchedulingEngine restored = new SchedulingEngine();
+        assertEquals(watermark, EngineCheckpoint.restore(restored, file));
+        
+        assertEquals(original.predictTaskDuration("Rapport", "Travail"),
+                restored.predictTaskDuration("Rapport", "Travail"));
+        assertEquals(original.predictTaskDuration("Réunion d'équipe", "Travail"),
+                restored.predictTaskDuration("Reunion equipe", "Travail"));
+        assertEquals(original.getHabitAnalyzer().getMostProductiveHour(),
+                restored.getHabitAnalyzer().getMostProductiveHour());
+        assertEquals(original.getSymbolTable().getTitleCount(), restored.getSymbolTable().getTitleCount());
+        assertFalse(new File(file.getPath() + ".tmp").exists());
+    }
+    
+    @Test
+    public void restoredEngine_savesTheSameBytes() throws IOException {
+        EngineCheckpoint.save(trainedEngine(), 42, file);
+        byte[] saved = Files.readAllBytes(file.toPath());
+        
+        SchedulingEngine restored = new SchedulingEngine();
+        EngineCheckpoint.restore(restored, file);
+        EngineCheckpoint.save(restored, 42, file);
+        
+        assertTrue(Arrays.equals(saved, Files.readAllBytes(file.toPath())));
+    }
+    
+    @Test
+    public void corruptedContent_isRejectedByItsCrc() throws IOException {
+        EngineCheckpoint.save(trainedEngine(), 42, file);
+        try (RandomAccessFile raw = new RandomAccessFile(file, "rw")) {
+            long position = HEADER_SIZE + (raw.length() - HEADER_SIZE) / 2;
+            raw.seek(position);
+            int value = raw.read();
+            raw.seek(position);
+            raw.write(value ^ 0x01);
+        }
+        
+        SchedulingEngine engine = new SchedulingEngine();
+        assertEquals(EngineCheckpoint.NO_CHECKPOINT, EngineCheckpoint.restore(engine, file));
+        assertEquals(0, engine.getSymbolTable().getTitleCount());
+    }
+    
+    @Test
+    public void truncatedFile_isRejected() throws IOException {
+        EngineCheckpoint.save(trainedEngine(), 42, file);
+        try (RandomAccessFile raw = new RandomAccessFile(file, "rw")) {
+            raw.setLength(raw.length() - 1);
+        }
+        
+        assertEquals(EngineCheckpoint.NO_CHECKPOINT, EngineCheckpoint.restore(new SchedulingEngine(), file));
+    }
+    
+    @Test
+    public void otherVersion_isRejected() throws IOException {
+        EngineCheckpoint.save(trainedEngine(), 42, file);
+        try (RandomAccessFile raw = new RandomAccessFile(file, "rw")) {
+            raw.seek(4);
+            raw.write(EngineCheckpoint.VERSION + 1);
+        }
+        
+        assertEquals(EngineCheckpoint.NO_CHECKPOINT, EngineCheckpoint.restore(new SchedulingEngine(), file));
+    }
+    
+    @Test
+    public void missingFile_isIgnored() throws IOException {
+        file.delete();
+        
+        assertEquals(EngineCheckpoint.NO_CHECKPOINT, EngineCheckpoint.restore(new SchedulingEngine(), file));
+    }
+    
+    private static SchedulingEngine trainedEngine() {
+        SchedulingEngine engine = new SchedulingEngine();
+        for (int day = 0; day < 30; day++) {
+            engine.addUserActivity(activity("Rapport", day * 24 + 9, 60 + day % 4 * 15));
+            engine.addUserActivity(activity("Réunion d'équipe", day * 24 + 14, 45));
+            if (day % 7 == 0) {
+                engine.addUserActivity(activity("Revue hebdomadaire", day * 24 + 16, 30));
+            }
+        }
+        return engine;
+    }
+    
+    private static UserActivity activity(String title, int hoursAfterStart, int durationMinutes) {
+        long start = 1700000000000L + hoursAfterStart * HOUR_MILLIS;
+        return new UserActivity(title, "", "Travail", new Date(start),
+                new Date(start + durationMinutes * 60 * 1000L), 4, true);
+    }
+}
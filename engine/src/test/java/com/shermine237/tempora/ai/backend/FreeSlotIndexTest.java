@@ -0,0 +1,106 @@
+package com.shermine237.tempora.ai.backend;
+
+import org.junit.Test;
+
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests de l'index des créneaux libres
+ */
+public class FreeSlotIndexTest {
+    
+    @Test
+    public void release_mergesAdjacentAndOverlappingSlots() {
+        FreeSlotIndex index = new FreeSlotIndex();
+        index.release(480, 540);
+        index.release(600, 660);
+        index.release(540, 600);
+        index.release(650, 700);
+        
+        assertEquals(1, index.getSlotCount());
+        assertEquals(220, index.getFreeMinutes());
+        assertTrue(index.isFree(480, 700));
+    }
+    
+    @Test
+    public void reserve_splitsSlots() {
+        FreeSlotIndex index = FreeSlotIndex.forRange(480, 1080);
+        index.reserve(720, 780);
+        
+        assertEquals(2, index.getSlotCount());
+        assertEquals(540, index.getFreeMinutes());
+        assertFalse(index.isFree(700, 730));
+        assertEquals(720, index.slotEndAt(600));
+        assertEquals(-1, index.slotEndAt(750));
+        assertEquals(780, index.nextFreeMinute(720));
+    }
+    
+    @Test
+    public void findEarliestFit_skipsSlotsThatAreTooShort() {
+        FreeSlotIndex index = new FreeSlotIndex();
+        index.release(480, 500);
+        index.release(510, 540);
+        index.release(600, 700);
+        index.release(800, 1000);
+        
+        assertEquals(480, index.findEarliestFit(0, 20));
+        assertEquals(490, index.findEarliestFit(490, 10));
+        assertEquals(510, index.findEarliestFit(490, 30));
+        assertEquals(600, index.findEarliestFit(490, 31));
+        assertEquals(800, index.findEarliestFit(0, 101));
+        assertEquals(850, index.findEarliestFit(850, 150));
+        assertEquals(-1, index.findEarliestFit(850, 151));
+        assertEquals(-1, index.findEarliestFit(0, 201));
+    }
+    
+    @Test
+    public void findBestFitAndLargestSlot() {
+        FreeSlotIndex index = new FreeSlotIndex();
+        index.release(480, 600);
+        index.release(700, 730);
+        index.release(800, 850);
+        
+        assertEquals(700, index.findBestFit(30));
+        assertEquals(800, index.findBestFit(31));
+        assertEquals(480, index.findLargestSlot());
+        assertEquals(-1, index.findBestFit(121));
+    }
+    
+    @Test
+    public void release_isClampedToTheDay() {
+        FreeSlotIndex index = new FreeSlotIndex();
+        index.release(-60, 30);
+        index.release(DayTimeline.MINUTES_PER_DAY - 10, DayTimeline.MINUTES_PER_DAY + 60);
+        
+        assertEquals(40, index.getFreeMinutes());
+        assertEquals(DayTimeline.MINUTES_PER_DAY - 10, index.findEarliestFit(31, 10));
+    }
+    
+    @Test
+    public void findEarliestFit_matchesAScanOfTheTimeline() {
+        Random random = new Random(7);
+        FreeSlotIndex index = new FreeSlotIndex();
+        DayTimeline busy = new DayTimeline();
+        busy.set(0, DayTimeline.MINUTES_PER_DAY);
+        
+        for (int step = 0; step < 3000; step++) {
+            int start = random.nextInt(DayTimeline.MINUTES_PER_DAY);
+            int end = Math.min(DayTimeline.MINUTES_PER_DAY, start + 1 + random.nextInt(120));
+            if (random.nextInt(3) == 0) {
+                index.reserve(start, end);
+                busy.set(start, end);
+            } else {
+                index.release(start, end);
+                busy.clear(start, end);
+            }
+            
+            int notBefore = random.nextInt(DayTimeline.MINUTES_PER_DAY);
+            int duration = 1 + random.nextInt(180);
+            assertEquals("étape " + step, busy.findFirstClearRun(notBefore, duration),
+                    index.findEarliestFit(notBefore, duration));
+            assertEquals(DayTimeline.MINUTES_PER_DAY - busy.count(), index.getFreeMinutes());
+        }
+    }
+}
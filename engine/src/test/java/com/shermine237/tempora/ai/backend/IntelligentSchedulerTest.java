@@ -0,0 +1,252 @@
+package com.shermine237.tempora.ai.backend;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Calendar;
+import java.util.Date;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests de la génération et de la réparation incrémentale d'un planning
+ */
+public class IntelligentSchedulerTest {
+    
+    @Test
+    public void completedBeforeItsSlot_staysInTheScheduleAndFreesItsMinutes() {
+        Schedule schedule = schedule(false,
+                task(1, "Rapport", 540, 600),
+                task(2, "Lecture", 600, 660));
+        
+        List<ScheduleItem> changed = scheduler().repairSchedule(schedule,
+                ScheduleDelta.taskCompleted(1, 500), null, 0);
+        
+        ScheduleItem report = find(schedule, 1);
+        assertNotNull(report);
+        assertTrue(report.isCompleted());
+        assertEquals(540, report.getStartMinute());
+        assertEquals(540, report.getEndMinute());
+        assertTrue(changed.contains(report));
+        
+        // Le créneau libéré est repris par la tâche suivante
+        assertEquals(540, find(schedule, 2).getStartMinute());
+        assertEquals(600, find(schedule, 2).getEndMinute());
+    }
+    
+    @Test
+    public void completedDuringItsSlot_isShortenedToWhatItUsed() {
+        Schedule schedule = schedule(false,
+                task(1, "Rapport", 540, 600),
+                task(2, "Lecture", 600, 660));
+        
+        scheduler().repairSchedule(schedule, ScheduleDelta.taskCompleted(1, 570), null, 0);
+        
+        ScheduleItem report = find(schedule, 1);
+        assertTrue(report.isCompleted());
+        assertEquals(540, report.getStartMinute());
+        assertEquals(570, report.getEndMinute());
+        assertEquals(570, find(schedule, 2).getStartMinute());
+    }
+    
+    @Test
+    public void completedAfterItsSlot_changesNothingButTheFlag() {
+        Schedule schedule = schedule(false,
+                task(1, "Rapport", 540, 600),
+                task(2, "Lecture", 600, 660));
+        
+        List<ScheduleItem> changed = scheduler().repairSchedule(schedule,
+                ScheduleDelta.taskCompleted(1, 620), null, 0);
+        
+        assertEquals(1, changed.size());
+        assertEquals(600, find(schedule, 1).getEndMinute());
+        assertEquals(600, find(schedule, 2).getStartMinute());
+    }
+    
+    @Test
+    public void resizedMovableTask_pushesTheFollowingTasks() {
+        Schedule schedule = schedule(false,
+                task(1, "Rapport", 540, 600),
+                task(2, "Lecture", 600, 660));
+        
+        scheduler().repairSchedule(schedule, ScheduleDelta.taskResized(1, 90), null, 0);
+        
+        assertEquals(540, find(schedule, 1).getStartMinute());
+        assertEquals(630, find(schedule, 1).getEndMinute());
+        assertEquals(630, find(schedule, 2).getStartMinute());
+    }
+    
+    @Test
+    public void resizedFixedTask_isClampedToTheNextFixedItem() {
+        Schedule schedule = schedule(true,
+                task(1, "Rapport", 660, 690),
+                meal(720, 780));
+        
+        List<ScheduleItem> changed = scheduler().repairSchedule(schedule,
+                ScheduleDelta.taskResized(1, 120), null, 0);
+        
+        ScheduleItem report = find(schedule, 1);
+        assertEquals(660, report.getStartMinute());
+        assertEquals(720, report.getEndMinute());
+        assertEquals(60, report.getDurationMinutes());
+        assertTrue(changed.contains(report));
+    }
+    
+    @Test
+    public void resizedFixedTask_isClampedToTheNextEvent() {
+        Schedule schedule = schedule(true, task(1, "Rapport", 600, 630));
+        DayTimeline busyTime = new DayTimeline();
+        busyTime.set(645, 700);
+        
+        scheduler().repairSchedule(schedule, ScheduleDelta.taskResized(1, 90), busyTime, 0);
+        
+        assertEquals(645, find(schedule, 1).getEndMinute());
+    }
+    
+    @Test
+    public void resizedFixedTask_isRejectedWhenItsSlotIsTaken() {
+        ScheduleItem report = task(1, "Rapport", 720, 750);
+        report.setManuallyScheduled(true);
+        Schedule schedule = schedule(false, meal(720, 780), report);
+        
+        List<ScheduleItem> changed = scheduler().repairSchedule(schedule,
+                ScheduleDelta.taskResized(1, 60), null, 0);
+        
+        assertTrue(changed.isEmpty());
+        assertEquals(750, report.getEndMinute());
+        assertEquals(30, report.getDurationMinutes());
+    }
+    
+    @Test
+    public void removedTask_letsTheFollowingTasksMoveUp() {
+        Schedule schedule = schedule(false,
+                task(1, "Rapport", 540, 600),
+                task(2, "Lecture", 600, 660));
+        
+        scheduler().repairSchedule(schedule, ScheduleDelta.taskRemoved(1), null, 0);
+        
+        assertNull(find(schedule, 1));
+        assertEquals(540, find(schedule, 2).getStartMinute());
+    }
+    
+    @Test
+    public void taskThatNoLongerFits_isReportedAndRemoved() {
+        Schedule schedule = schedule(false,
+                task(1, "Rapport", 540, 600),
+                task(2, "Lecture", 600, 1050));
+        ScheduleItem reading = find(schedule, 2);
+        
+        List<ScheduleItem> changed = scheduler().repairSchedule(schedule,
+                ScheduleDelta.taskResized(1, 120), null, 0);
+        
+        assertNull(find(schedule, 2));
+        assertTrue(changed.contains(reading));
+        assertEquals(660, find(schedule, 1).getEndMinute());
+    }
+    
+    @Test
+    public void addedTask_alreadyInTheSchedule_changesNothing() {
+        Schedule schedule = schedule(false, task(1, "Rapport", 540, 600));
+        Task report = new Task("Rapport", "", null, 3, 2, 60, "Travail");
+        report.setId(1);
+        
+        List<ScheduleItem> changed = scheduler().repairSchedule(schedule,
+                ScheduleDelta.taskAdded(report), null, 0);
+        
+        assertTrue(changed.isEmpty());
+        assertEquals(1, schedule.getItems().size());
+    }
+    
+    @Test
+    public void largeBacklog_onlyTasksThatFitReachTheSolver() {
+        IntelligentScheduler scheduler = scheduler();
+        scheduler.setSolverTimeBudgetMillis(100);
+        List<Task> tasks = new ArrayList<>();
+        for (int i = 0; i < 2000; i++) {
+            Task task = new Task("Tâche " + i, "", null, 1 + i % 5, i % 4, 30 + 15 * (i % 6), "Travail");
+            task.setId(i + 1);
+            tasks.add(task);
+        }
+        
+        Schedule schedule = scheduler.generateSchedule(monday(), tasks);
+        
+        DayTimeline used = new DayTimeline();
+        int taskCount = 0;
+        for (ScheduleItem item : schedule.getItems()) {
+            assertTrue(used.isClear(item.getStartMinute(), item.getEndMinute()));
+            used.set(item.getStartMinute(), item.getEndMinute());
+            if ("task".equals(item.getType())) {
+                taskCount++;
+            }
+        }
+        assertTrue(taskCount > 0);
+        assertTrue(taskCount < 20);
+    }
+    
+    @Test
+    public void parseTime_acceptsOneOrTwoDigitHours() {
+        assertEquals(9 * 60 + 30, IntelligentScheduler.parseTime("9:30"));
+        assertEquals(9 * 60 + 30, IntelligentScheduler.parseTime("09:30"));
+        assertEquals(0, IntelligentScheduler.parseTime("0:00"));
+        assertEquals(23 * 60 + 59, IntelligentScheduler.parseTime("23:59"));
+    }
+    
+    @Test
+    public void parseTime_rejectsMalformedTimes() {
+        for (String time : new String[] {null, "", "9", "930", ":30", "9:3", "9:300", "123:00", "9h30", "ab:cd",
+                "9:-5", "24:00", "12:60", " 9:30"}) {
+            assertEquals(String.valueOf(time), -1, IntelligentScheduler.parseTime(time));
+        }
+    }
+    
+    @Test
+    public void manualSlot_mustBeFreeAndWithinWorkHours() {
+        IntelligentScheduler scheduler = scheduler();
+        Schedule schedule = schedule(false, task(1, "Rapport", 600, 660));
+        
+        assertTrue(scheduler.isSlotAvailable(schedule, 540, 600));
+        assertFalse(scheduler.isSlotAvailable(schedule, 630, 690));
+        assertFalse(scheduler.isSlotAvailable(schedule, 480, 540));
+    }
+    
+    private static IntelligentScheduler scheduler() {
+        return new IntelligentScheduler(new UserHabitAnalyzer(), new UserPreferences());
+    }
+    
+    private static Date monday() {
+        Calendar monday = Calendar.getInstance();
+        monday.clear();
+        monday.set(2026, Calendar.OCTOBER, 12);
+        return monday.getTime();
+    }
+    
+    private static Schedule schedule(boolean approved, ScheduleItem... items) {
+        List<ScheduleItem> list = new ArrayList<>();
+        for (ScheduleItem item : items) {
+            list.add(item);
+        }
+        Schedule schedule = new Schedule(monday(), list);
+        schedule.setApproved(approved);
+        return schedule;
+    }
+    
+    private static ScheduleItem task(int taskId, String title, int start, int end) {
+        ScheduleItem item = new ScheduleItem(title, "", "task", start, end, end - start);
+        item.setTaskId(taskId);
+        return item;
+    }
+    
+    private static ScheduleItem meal(int start, int end) {
+        return new ScheduleItem("Déjeuner", "", "meal", start, end, end - start);
+    }
+    
+    private static ScheduleItem find(Schedule schedule, int taskId) {
+        for (ScheduleItem item : schedule.getItems()) {
+            if ("task".equals(item.getType()) && item.getTaskId() == taskId) {
+                return item;
+            }
+        }
+        return null;
+    }
+}
@@ -0,0 +1,112 @@
+package com.shermine237.tempora.ai.backend;
+
+import org.junit.Test;
+
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests de la détection de période par autocorrélation
+ */
+public class OccurrenceSeriesTest {
+    
+    private static final int FIRST_DAY = 20000;
+    private static final int MIN_OCCURRENCES = 3;
+    
+    @Test
+    public void detect_findsRegularPeriods() {
+        for (int period : new int[] {2, 3, 7, 14, 21}) {
+            OccurrenceSeries.Recurrence recurrence = every(period, 365).detect(MIN_OCCURRENCES);
+            assertNotNull("période " + period, recurrence);
+            assertEquals("période " + period, period, recurrence.periodDays);
+            assertTrue("période " + period, recurrence.score > 0.5f);
+        }
+    }
+    
+    @Test
+    public void detect_rejectsDailySeries() {
+        assertNull(every(1, 365).detect(MIN_OCCURRENCES));
+        
+        // Quelques jours manqués ne font pas d'une tâche quotidienne une tâche périodique
+        OccurrenceSeries series = new OccurrenceSeries();
+        for (int day = 0; day < 365; day++) {
+            if (day % 30 != 29) {
+                series.add(FIRST_DAY + day);
+            }
+        }
+        assertNull(series.detect(MIN_OCCURRENCES));
+    }
+    
+    @Test
+    public void detect_rejectsShortSeries() {
+        assertNull(every(7, 14).detect(MIN_OCCURRENCES));
+    }
+    
+    @Test
+    public void detect_prefersFortnightOverWeekMultiples() {
+        OccurrenceSeries.Recurrence recurrence = every(14, 365).detect(MIN_OCCURRENCES);
+        assertNotNull(recurrence);
+        assertEquals(14, recurrence.periodDays);
+    }
+    
+    @Test
+    public void detect_toleratesMissingOccurrences() {
+        // Deux semaines de vacances et une semaine oubliée : la période reste d'une semaine
+        OccurrenceSeries series = new OccurrenceSeries();
+        for (int week = 0; week < 52; week++) {
+            if (week != 20 && week != 21 && week != 37) {
+                series.add(FIRST_DAY + 7 * week);
+            }
+        }
+        OccurrenceSeries.Recurrence recurrence = series.detect(MIN_OCCURRENCES);
+        assertNotNull(recurrence);
+        assertEquals(7, recurrence.periodDays);
+    }
+    
+    @Test
+    public void add_beforeOriginShiftsTheSeries() {
+        OccurrenceSeries series = new OccurrenceSeries();
+        for (int day = 364; day >= 0; day -= 3) {
+            series.add(FIRST_DAY + day);
+        }
+        assertEquals(FIRST_DAY + 364, series.getLastDay());
+        assertEquals(3, series.detect(MIN_OCCURRENCES).periodDays);
+    }
+    
+    @Test
+    public void autocorrelation_matchesDirectSum() {
+        Random random = new Random(42);
+        double[] values = new double[300];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = random.nextBoolean() ? 1 : 0;
+        }
+        
+        double[] autocorrelation = OccurrenceSeries.autocorrelation(values);
+        for (int lag = 0; lag < values.length; lag++) {
+            double expected = 0;
+            for (int i = 0; i + lag < values.length; i++) {
+                expected += values[i] * values[i + lag];
+            }
+            assertEquals("décalage " + lag, expected, autocorrelation[lag], 1e-6);
+        }
+    }
+    
+    @Test
+    public void copy_isIndependent() {
+        OccurrenceSeries series = every(2, 60);
+        OccurrenceSeries copy = series.copy();
+        copy.add(FIRST_DAY + 200);
+        
+        assertEquals(FIRST_DAY + 58, series.getLastDay());
+        assertEquals(FIRST_DAY + 200, copy.getLastDay());
+    }
+    
+    private static OccurrenceSeries every(int period, int days) {
+        OccurrenceSeries series = new OccurrenceSeries();
+        for (int day = 0; day < days; day += period) {
+            series.add(FIRST_DAY + day);
+        }
+        return series;
+    }
+}
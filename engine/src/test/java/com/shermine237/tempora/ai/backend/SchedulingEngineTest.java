@@ -0,0 +1,87 @@
+package com.shermine237.tempora.ai.backend;
+
+import org.junit.Test;
+
+import java.util.Date;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests de la publication de l'état du moteur
+ */
+public class SchedulingEngineTest {
+    
+    private static final long HOUR_MILLIS = 60 * 60 * 1000L;
+    
+    @Test
+    public void reads_seeTheLatestWrites() {
+        SchedulingEngine engine = new SchedulingEngine();
+        engine.addUserActivity(activity("Rapport", 0, 90));
+        
+        assertEquals(90, engine.predictTaskDuration("Rapport", "Travail"));
+        
+        engine.addUserActivity(activity("Rapport", 24, 90));
+        engine.addUserActivity(activity("Rapport", 48, 90));
+        assertEquals(90, engine.getPerformanceAnalyzer().getAverageDurationForTask("Rapport"));
+    }
+    
+    @Test
+    public void publishedSnapshots_areNotModifiedByLaterWrites() {
+        SchedulingEngine engine = new SchedulingEngine();
+        engine.addUserActivity(activity("Lecture", 0, 30));
+        TaskPerformanceAnalyzer before = engine.getPerformanceAnalyzer();
+        
+        engine.addUserActivity(activity("Lecture", 24, 90));
+        
+        assertEquals(30, before.getAverageDurationForTask("Lecture"));
+        assertEquals(60, engine.getPerformanceAnalyzer().getAverageDurationForTask("Lecture"));
+    }
+    
+    @Test
+    public void reads_withoutWrites_reuseTheSameSnapshot() {
+        SchedulingEngine engine = new SchedulingEngine();
+        engine.addUserActivity(activity("Lecture", 0, 30));
+        
+        assertSame(engine.getHabitAnalyzer(), engine.getHabitAnalyzer());
+        assertSame(engine.getScheduler(), engine.getScheduler());
+    }
+    
+    @Test
+    public void unmeasuredDurations_doNotFeedTheEstimates() {
+        SchedulingEngine engine = new SchedulingEngine();
+        for (int day = 0; day < 5; day++) {
+            engine.addUserActivity(activity("Rapport", day * 24 + 9, 30));
+        }
+        for (int day = 5; day < 10; day++) {
+            // Complétion hors planning : du début prévu à l'heure de complétion
+            UserActivity completion = activity("Rapport", day * 24 + 9, 600);
+            completion.setDurationMeasured(false);
+            engine.addUserActivity(completion);
+        }
+        
+        assertEquals(30, engine.predictTaskDuration("Rapport", "Travail"));
+        assertEquals(30, engine.getHabitAnalyzer().getTaskDurationQuantile("Rapport", 0.8), 1);
+    }
+    
+    @Test
+    public void riskAdjustedDuration_keepsTheEstimateAndBoundsTheMargin() {
+        SchedulingEngine engine = new SchedulingEngine();
+        for (int day = 0; day < 5; day++) {
+            engine.addUserActivity(activity("Rapport", day * 24 + 9, 300));
+            engine.addUserActivity(activity("Lecture", day * 24 + 14, 20));
+        }
+        
+        assertEquals(120, engine.getScheduler().estimateDuration(task("Rapport", 60)));
+        assertEquals(60, engine.getScheduler().estimateDuration(task("Lecture", 60)));
+    }
+    
+    private static Task task(String title, int estimatedDuration) {
+        return new Task(title, "", null, 3, 3, estimatedDuration, "Travail");
+    }
+    
+    private static UserActivity activity(String title, int hoursAfterStart, int durationMinutes) {
+        long start = 1700000000000L + hoursAfterStart * HOUR_MILLIS;
+        return new UserActivity(title, "", "Travail", new Date(start),
+                new Date(start + durationMinutes * 60 * 1000L), 4, true);
+    }
+}
@@ -0,0 +1,123 @@
+package com.shermine237.tempora.ai.backend;
+
+import org.junit.Test;
+
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests du dictionnaire des titres et du regroupement MinHash/LSH des titres quasi identiques
+ */
+public class SymbolTableTest {
+    
+    @Test
+    public void intern_normalizesCaseAndSpaces() {
+        SymbolTable symbols = new SymbolTable();
+        int id = symbols.internTitle("Répondre aux emails");
+        
+        assertEquals(id, symbols.internTitle("  répondre   AUX emails "));
+        assertEquals(id, symbols.lookupTitle("RÉPONDRE AUX EMAILS"));
+        assertEquals("Répondre aux emails", symbols.getTitle(id));
+        assertEquals(1, symbols.getTitleCount());
+    }
+    
+    @Test
+    public void intern_groupsNearDuplicateTitles() {
+        SymbolTable symbols = new SymbolTable();
+        int id = symbols.internTitle("Réunion d'équipe");
+        
+        assertEquals(id, symbols.internTitle("Reunion equipe"));
+        assertEquals(id, symbols.internTitle("réunion de l'équipe"));
+        assertEquals("Réunion d'équipe", symbols.getTitle(id));
+        assertEquals(1, symbols.getTitleCount());
+    }
+    
+    @Test
+    public void intern_ignoresUnaccentedPrepositions() {
+        SymbolTable symbols = new SymbolTable();
+        int id = symbols.internTitle("Appeler maman");
+        
+        assertEquals(id, symbols.internTitle("Appeler à maman"));
+        assertEquals(id, symbols.internTitle("appeler a maman"));
+        assertEquals(1, symbols.getTitleCount());
+    }
+    
+    @Test
+    public void intern_keepsDistinctTitlesApart() {
+        SymbolTable symbols = new SymbolTable();
+        int meeting = symbols.internTitle("Réunion d'équipe");
+        int sport = symbols.internTitle("Séance de sport");
+        int chapter3 = symbols.internTitle("Rédiger chapitre 3");
+        int chapter4 = symbols.internTitle("Rédiger chapitre 4");
+        
+        assertNotEquals(meeting, sport);
+        assertNotEquals(chapter3, chapter4);
+        assertEquals(4, symbols.getTitleCount());
+    }
+    
+    @Test
+    public void lookup_findsTheGroupOfAnUnseenVariantWithoutRegisteringIt() {
+        SymbolTable symbols = new SymbolTable();
+        int id = symbols.internTitle("Préparer la présentation client");
+        
+        assertEquals(id, symbols.lookupTitle("preparer presentation client"));
+        assertEquals(SymbolTable.UNKNOWN, symbols.lookupTitle("Faire les courses"));
+        assertEquals(1, symbols.getTitleCount());
+    }
+    
+    @Test
+    public void categories_areComparedExactly() {
+        SymbolTable symbols = new SymbolTable();
+        int work = symbols.internCategory("Travail");
+        
+        assertEquals(work, symbols.lookupCategory("travail"));
+        assertEquals(SymbolTable.UNKNOWN, symbols.lookupCategory("Travaux"));
+    }
+    
+    @Test
+    public void checkpoint_roundTripKeepsIdsAndGroups() {
+        SymbolTable symbols = new SymbolTable();
+        int meeting = symbols.internTitle("Réunion d'équipe");
+        symbols.internTitle("Reunion equipe");
+        int sport = symbols.internTitle("Séance de sport");
+        symbols.internCategory("Travail");
+        
+        CheckpointBuffer out = new CheckpointBuffer(256);
+        symbols.writeState(out);
+        SymbolTable restored = new SymbolTable();
+        restored.readState(new CheckpointBuffer(out.toByteBuffer()));
+        
+        assertEquals(meeting, restored.lookupTitle("Reunion equipe"));
+        assertEquals(sport, restored.lookupTitle("Séance de sport"));
+        assertEquals(0, restored.lookupCategory("Travail"));
+        assertEquals(2, restored.getTitleCount());
+    }
+    
+    @Test
+    public void lookups_runWhileTitlesAreInterned() throws InterruptedException {
+        SymbolTable symbols = new SymbolTable();
+        int meeting = symbols.internTitle("Réunion d'équipe");
+        AtomicReference<Throwable> failure = new AtomicReference<>();
+        
+        Thread reader = new Thread(() -> {
+            try {
+                for (int i = 0; i < 20000; i++) {
+                    if (symbols.lookupTitle("Reunion equipe hebdo") != meeting) {
+                        throw new AssertionError("groupe perdu");
+                    }
+                    symbols.lookupTitle("Tâche " + (i % 500) + " inconnue");
+                }
+            } catch (Throwable t) {
+                failure.set(t);
+            }
+        });
+        reader.start();
+        for (int i = 0; i < 2000; i++) {
+            symbols.internTitle("Tâche " + i);
+        }
+        reader.join();
+        
+        assertNull(failure.get());
+    }
+}
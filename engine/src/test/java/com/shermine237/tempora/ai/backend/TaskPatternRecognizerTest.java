@@ -0,0 +1,190 @@
+package com.shermine237.tempora.ai.backend;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Calendar;
+import java.util.Date;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests de la reconnaissance de modèles de tâches
+ */
+public class TaskPatternRecognizerTest {
+    
+    @Test
+    public void everyOtherDay_isDescribedAsPeriodic() {
+        TaskPatternRecognizer recognizer = new TaskPatternRecognizer();
+        recognizer.analyzeTaskHistory(every("Footing", 2, 120, 7));
+        
+        assertEquals("Tous les 2 jours", recognizer.getPatternDescription("Footing"));
+    }
+    
+    @Test
+    public void dailyTask_isDescribedAsDaily() {
+        TaskPatternRecognizer recognizer = new TaskPatternRecognizer();
+        recognizer.analyzeTaskHistory(every("Méditation", 1, 120, 7));
+        
+        assertEquals("Tous les jours à 7h", recognizer.getPatternDescription("Méditation"));
+    }
+    
+    @Test
+    public void weeklyTask_isDescribedByPeriod() {
+        TaskPatternRecognizer recognizer = new TaskPatternRecognizer();
+        recognizer.analyzeTaskHistory(every("Courses", 7, 180, 18));
+        
+        assertEquals("Toutes les semaines", recognizer.getPatternDescription("Courses"));
+        assertTrue(recognizer.hasRecurringPattern("Courses"));
+    }
+    
+    @Test
+    public void predictedDays_matchThePeriodInsideAndBeyondTheHorizon() {
+        TaskPatternRecognizer recognizer = new TaskPatternRecognizer();
+        List<UserActivity> history = every("Arrosage", 3, 90, 18);
+        recognizer.analyzeTaskHistory(history);
+        
+        TimeBuckets timeBuckets = TimeBuckets.getDefault();
+        int lastDay = timeBuckets.epochDay(history.get(history.size() - 1).getStartTime().getTime());
+        int today = timeBuckets.epochDay(System.currentTimeMillis());
+        
+        // Alterner des jours dans l'horizon de l'index et au-delà
+        for (int offset = 0; offset < 200; offset++) {
+            int day = offset % 2 == 0 ? today + offset / 2 : today + OccurrenceTimeline.HORIZON_DAYS + offset;
+            boolean expected = (day - lastDay) % 3 == 0;
+            Date date = new Date(timeBuckets.startOfEpochDay(day) + 12 * TimeBuckets.HOUR_MILLIS);
+            
+            assertEquals("jour " + day, expected, recognizer.isPredictedOn("Arrosage", date));
+            assertEquals("jour " + day, expected, recognizer.getTasksPredictedOn(date).contains("Arrosage"));
+        }
+    }
+    
+    @Test
+    public void predictedDays_beforeTheLastOccurrenceAreNotPredicted() {
+        TaskPatternRecognizer recognizer = new TaskPatternRecognizer();
+        recognizer.analyzeTaskHistory(every("Arrosage", 3, 90, 18));
+        
+        Date longAgo = new Date(System.currentTimeMillis() - 400 * TimeBuckets.DAY_MILLIS);
+        assertFalse(recognizer.isPredictedOn("Arrosage", longAgo));
+        assertTrue(recognizer.getTasksPredictedOn(longAgo).isEmpty());
+        assertFalse(recognizer.isPredictedOn("Inconnue", longAgo));
+    }
+    
+    @Test
+    public void singleTaskHistory_predictsTheUsualSuccessor() {
+        TaskPatternRecognizer recognizer = new TaskPatternRecognizer();
+        for (int day = 0; day < 3; day++) {
+            recognizer.analyzeTaskHistory(chain(day, 10, "Café", "Emails"));
+        }
+        
+        TaskPatternRecognizer.TaskPattern pattern = recognizer.predictNextTask("Café");
+        assertEquals("Emails", pattern.getNextTaskTitle());
+        assertEquals(10, pattern.getDelayMinutes());
+        assertEquals(1f, pattern.getConfidence(), 0f);
+        assertNull(recognizer.predictNextTask("Emails"));
+    }
+    
+    @Test
+    public void twoTaskHistory_tellsApartTheSameTaskAfterDifferentOnes() {
+        TaskPatternRecognizer recognizer = new TaskPatternRecognizer();
+        for (int day = 0; day < 6; day += 2) {
+            recognizer.analyzeTaskHistory(chain(day, 5, "Café", "Emails", "Rapport"));
+            recognizer.analyzeTaskHistory(chain(day + 1, 5, "Sport", "Emails", "Douche"));
+        }
+        
+        assertEquals("Rapport", recognizer.predictNextTask("Café", "Emails").getNextTaskTitle());
+        assertEquals("Douche", recognizer.predictNextTask("Sport", "Emails").getNextTaskTitle());
+        assertEquals(0.5f, recognizer.predictNextTask("Emails").getConfidence(), 0f);
+    }
+    
+    @Test
+    public void unknownTwoTaskHistory_fallsBackToTheLastTask() {
+        TaskPatternRecognizer recognizer = new TaskPatternRecognizer();
+        for (int day = 0; day < 3; day++) {
+            recognizer.analyzeTaskHistory(chain(day, 5, "Sport", "Café", "Emails"));
+        }
+        
+        assertEquals("Emails", recognizer.predictNextTask("Rapport", "Café").getNextTaskTitle());
+        assertEquals("Emails", recognizer.predictNextTask(null, "Café").getNextTaskTitle());
+        assertEquals("Emails", recognizer.predictNextTask("Sport", "Café").getNextTaskTitle());
+    }
+    
+    @Test
+    public void longDelay_breaksTheChain() {
+        TaskPatternRecognizer withinDelay = new TaskPatternRecognizer();
+        TaskPatternRecognizer beyondDelay = new TaskPatternRecognizer();
+        for (int day = 0; day < 3; day++) {
+            withinDelay.analyzeTaskHistory(chain(day, 240, "Café", "Emails"));
+            beyondDelay.analyzeTaskHistory(chain(day, 241, "Café", "Emails"));
+        }
+        
+        assertEquals("Emails", withinDelay.predictNextTask("Café").getNextTaskTitle());
+        assertNull(beyondDelay.predictNextTask("Café"));
+    }
+    
+    @Test
+    public void earlierActivity_isSkippedWithoutBreakingTheChain() {
+        TaskPatternRecognizer recognizer = new TaskPatternRecognizer();
+        for (int day = 0; day < 3; day++) {
+            List<UserActivity> activities = chain(day, 10, "Café", "Emails");
+            
+            // Activité arrivée en retard, commencée avant le café
+            Date start = new Date(activities.get(0).getStartTime().getTime() - TimeBuckets.HOUR_MILLIS);
+            Date end = new Date(start.getTime() + 30 * TimeBuckets.MINUTE_MILLIS);
+            recognizer.addActivity(activities.get(0));
+            recognizer.addActivity(new UserActivity("Lecture", "", "Loisirs", start, end, 4, true));
+            recognizer.addActivity(activities.get(1));
+        }
+        
+        TaskPatternRecognizer.TaskPattern pattern = recognizer.predictNextTask("Café");
+        assertEquals("Emails", pattern.getNextTaskTitle());
+        assertEquals(1f, pattern.getConfidence(), 0f);
+        assertNull(recognizer.predictNextTask("Lecture"));
+    }
+    
+    /**
+     * Construit une journée de tâches de 30 minutes, séparées par un délai fixe, à partir de 9h
+     * @param day Jour, compté à partir d'une date fixe
+     * @param delayMinutes Délai entre la fin d'une tâche et le début de la suivante
+     * @param titles Titres des tâches, dans l'ordre
+     * @return Activités dans l'ordre chronologique
+     */
+    private static List<UserActivity> chain(int day, int delayMinutes, String... titles) {
+        TimeBuckets timeBuckets = TimeBuckets.getDefault();
+        long start = timeBuckets.startOfEpochDay(20000 + day) + 9 * TimeBuckets.HOUR_MILLIS;
+        List<UserActivity> activities = new ArrayList<>();
+        for (String title : titles) {
+            long end = start + 30 * TimeBuckets.MINUTE_MILLIS;
+            activities.add(new UserActivity(title, "", "Travail", new Date(start), new Date(end), 4, true));
+            start = end + delayMinutes * TimeBuckets.MINUTE_MILLIS;
+        }
+        return activities;
+    }
+    
+    /**
+     * Construit un historique de tâches régulières, terminé la veille
+     * @param title Titre des tâches
+     * @param period Période en jours
+     * @param days Durée de l'historique en jours
+     * @param hourOfDay Heure de début des tâches
+     * @return Activités dans l'ordre chronologique
+     */
+    static List<UserActivity> every(String title, int period, int days, int hourOfDay) {
+        Calendar calendar = Calendar.getInstance();
+        calendar.set(Calendar.HOUR_OF_DAY, hourOfDay);
+        calendar.set(Calendar.MINUTE, 0);
+        calendar.set(Calendar.SECOND, 0);
+        calendar.set(Calendar.MILLISECOND, 0);
+        calendar.add(Calendar.DAY_OF_YEAR, -days);
+        
+        List<UserActivity> activities = new ArrayList<>();
+        for (int day = 0; day < days; day += period) {
+            Date start = calendar.getTime();
+            Date end = new Date(start.getTime() + 30 * 60 * 1000L);
+            activities.add(new UserActivity(title, "", "Santé", start, end, 4, true));
+            calendar.add(Calendar.DAY_OF_YEAR, period);
+        }
+        return activities;
+    }
+}
@@ -0,0 +1,85 @@
+package com.shermine237.tempora.ai.backend;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests de la file de sélection des tâches et du changement de palier d'urgence
+ */
+public class TaskSelectionQueueTest {
+    
+    private static final long NOW = 1700000000000L;
+    private static final long DAY_MILLIS = 24L * 60 * 60 * 1000;
+    
+    @Test
+    public void urgencyTier_changesOneMillisecondAfterItsBoundary() {
+        Task task = task(1, 0, NOW + 10 * DAY_MILLIS);
+        long due = task.getDueDate().getTime();
+        
+        assertEquals(2, TaskSelectionQueue.score(task, due - 8 * DAY_MILLIS));
+        assertEquals(3, TaskSelectionQueue.score(task, due - 8 * DAY_MILLIS + 1));
+        assertEquals(3, TaskSelectionQueue.score(task, due - 4 * DAY_MILLIS));
+        assertEquals(5, TaskSelectionQueue.score(task, due - 4 * DAY_MILLIS + 1));
+        assertEquals(5, TaskSelectionQueue.score(task, due - 2 * DAY_MILLIS));
+        assertEquals(7, TaskSelectionQueue.score(task, due - 2 * DAY_MILLIS + 1));
+        
+        assertEquals(due - 8 * DAY_MILLIS + 1, TaskSelectionQueue.nextUrgencyChange(task, NOW));
+        assertEquals(due - 2 * DAY_MILLIS + 1, TaskSelectionQueue.nextUrgencyChange(task, due - 4 * DAY_MILLIS + 1));
+        assertEquals(Long.MAX_VALUE, TaskSelectionQueue.nextUrgencyChange(task, due - 2 * DAY_MILLIS + 1));
+    }
+    
+    @Test
+    public void expiredTier_letsAnUrgentTaskOvertake() {
+        Task important = task(3, 0, 0);
+        Task urgent = task(1, 0, NOW + 10 * DAY_MILLIS);
+        long due = urgent.getDueDate().getTime();
+        
+        TaskSelectionQueue early = new TaskSelectionQueue(Arrays.asList(important, urgent), NOW);
+        assertSame(important, early.pollBest(due - 2 * DAY_MILLIS));
+        
+        // Le palier "1 jour" n'est atteint qu'après la construction de la file
+        TaskSelectionQueue late = new TaskSelectionQueue(Arrays.asList(important, urgent), NOW);
+        assertSame(urgent, late.pollBest(due - 2 * DAY_MILLIS + 1));
+        assertSame(important, late.pollBest(due));
+        assertTrue(late.isEmpty());
+    }
+    
+    @Test
+    public void pollBest_matchesAFullRescanAsTimeAdvances() {
+        Random random = new Random(7);
+        List<Task> tasks = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            long due = random.nextInt(4) == 0 ? 0 : NOW + (long) (random.nextDouble() * 12 * DAY_MILLIS);
+            tasks.add(task(1 + random.nextInt(5), random.nextInt(6), due));
+        }
+        
+        TaskSelectionQueue queue = new TaskSelectionQueue(tasks, NOW);
+        List<Task> remaining = new ArrayList<>(tasks);
+        long now = NOW;
+        while (!remaining.isEmpty()) {
+            now += random.nextInt((int) (DAY_MILLIS / 8));
+            
+            // Meilleur score, le premier dans l'ordre fourni en cas d'égalité
+            Task expected = null;
+            for (Task task : remaining) {
+                if (expected == null || TaskSelectionQueue.score(task, now) > TaskSelectionQueue.score(expected, now)) {
+                    expected = task;
+                }
+            }
+            assertSame(expected, queue.pollBest(now));
+            remaining.remove(expected);
+        }
+        assertTrue(queue.isEmpty());
+    }
+    
+    private static Task task(int priority, int difficulty, long due) {
+        return new Task("Tâche", "", due != 0 ? new Date(due) : null, priority, difficulty, 30, "Travail");
+    }
+}
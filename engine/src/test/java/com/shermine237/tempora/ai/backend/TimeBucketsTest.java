@@ -0,0 +1,126 @@
+package com.shermine237.tempora.ai.backend;
+
+import org.junit.Test;
+
+import java.util.Calendar;
+import java.util.TimeZone;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests du découpage des instants en champs de calendrier, autour des changements d'heure
+ */
+public class TimeBucketsTest {
+    
+    private static final TimeZone PARIS = TimeZone.getTimeZone("Europe/Paris");
+    
+    @Test
+    public void fields_matchCalendarOverAWholeYear() {
+        for (String id : new String[] {"Europe/Paris", "America/New_York", "Australia/Lord_Howe", "Asia/Kolkata"}) {
+            TimeZone timeZone = TimeZone.getTimeZone(id);
+            TimeBuckets buckets = new TimeBuckets(timeZone);
+            long from = utc(2026, Calendar.JANUARY, 1, 0, 0);
+            for (long millis = from; millis < from + 366 * TimeBuckets.DAY_MILLIS; millis += 7 * TimeBuckets.MINUTE_MILLIS) {
+                assertFields(timeZone, buckets, millis);
+            }
+        }
+    }
+    
+    @Test
+    public void springForward_skipsTheMissingHour() {
+        TimeBuckets buckets = new TimeBuckets(PARIS);
+        long change = utc(2026, Calendar.MARCH, 29, 1, 0);
+        
+        assertEquals(1, buckets.hourOfDay(change - 1));
+        assertEquals(2 * 60 - 1, buckets.minuteOfDay(change - 1));
+        assertEquals(3, buckets.hourOfDay(change));
+        assertEquals(2 * TimeBuckets.HOUR_MILLIS, buckets.getOffset(change));
+        assertEquals(TimeBuckets.HOUR_MILLIS, buckets.getOffset(change - 1));
+    }
+    
+    @Test
+    public void fallBack_repeatsTheSameHour() {
+        TimeBuckets buckets = new TimeBuckets(PARIS);
+        long change = utc(2026, Calendar.OCTOBER, 25, 1, 0);
+        
+        assertEquals(2, buckets.hourOfDay(change - 1));
+        assertEquals(2, buckets.hourOfDay(change));
+        assertEquals(buckets.epochDay(change - 1), buckets.epochDay(change));
+        
+        // La journée du changement dure 25 heures
+        int day = buckets.epochDay(change);
+        assertEquals(25 * TimeBuckets.HOUR_MILLIS, buckets.startOfEpochDay(day + 1) - buckets.startOfEpochDay(day));
+    }
+    
+    @Test
+    public void startOfDay_matchesCalendarMidnightAroundChanges() {
+        TimeBuckets buckets = new TimeBuckets(PARIS);
+        int first = buckets.epochDay(utc(2026, Calendar.MARCH, 27, 12, 0));
+        for (int day = first; day < first + 5; day++) {
+            assertEquals(midnight(PARIS, day), buckets.startOfEpochDay(day));
+        }
+        
+        int autumn = buckets.epochDay(utc(2026, Calendar.OCTOBER, 23, 12, 0));
+        for (int day = autumn; day < autumn + 5; day++) {
+            assertEquals(midnight(PARIS, day), buckets.startOfEpochDay(day));
+        }
+    }
+    
+    @Test
+    public void missingMidnight_dayStartsAtTheChange() {
+        // Le 4 novembre 2018, São Paulo passait de 00:00 à 01:00
+        TimeZone saoPaulo = TimeZone.getTimeZone("America/Sao_Paulo");
+        TimeBuckets buckets = new TimeBuckets(saoPaulo);
+        long change = utc(2018, Calendar.NOVEMBER, 4, 3, 0);
+        int day = buckets.epochDay(change);
+        
+        assertEquals(change, buckets.startOfEpochDay(day));
+        assertEquals(60, buckets.minuteOfDay(change));
+        assertEquals(day, buckets.epochDay(buckets.startOfEpochDay(day)));
+    }
+    
+    @Test
+    public void table_extendsBackwardAndForward() {
+        TimeBuckets buckets = new TimeBuckets(PARIS);
+        long[] instants = {
+                utc(2026, Calendar.JULY, 1, 10, 0),
+                utc(1995, Calendar.MARCH, 26, 0, 59),
+                utc(1995, Calendar.MARCH, 26, 1, 0),
+                utc(2045, Calendar.OCTOBER, 29, 0, 59),
+                utc(2045, Calendar.OCTOBER, 29, 1, 0),
+                utc(2026, Calendar.MARCH, 29, 1, 0)
+        };
+        for (long millis : instants) {
+            assertFields(PARIS, buckets, millis);
+        }
+    }
+    
+    private static void assertFields(TimeZone timeZone, TimeBuckets buckets, long millis) {
+        Calendar calendar = Calendar.getInstance(timeZone);
+        calendar.setTimeInMillis(millis);
+        String at = timeZone.getID() + " " + millis;
+        
+        assertEquals(at, calendar.get(Calendar.HOUR_OF_DAY), buckets.hourOfDay(millis));
+        assertEquals(at, calendar.get(Calendar.HOUR_OF_DAY) * 60 + calendar.get(Calendar.MINUTE),
+                buckets.minuteOfDay(millis));
+        assertEquals(at, calendar.get(Calendar.DAY_OF_WEEK), buckets.dayOfWeek(millis));
+        assertEquals(at, calendar.get(Calendar.DAY_OF_MONTH), buckets.dayOfMonth(millis));
+    }
+    
+    private static long midnight(TimeZone timeZone, int epochDay) {
+        Calendar utc = Calendar.getInstance(TimeZone.getTimeZone("UTC"));
+        utc.setTimeInMillis(epochDay * TimeBuckets.DAY_MILLIS);
+        
+        Calendar calendar = Calendar.getInstance(timeZone);
+        calendar.clear();
+        calendar.set(utc.get(Calendar.YEAR), utc.get(Calendar.MONTH), utc.get(Calendar.DAY_OF_MONTH));
+        return calendar.getTimeInMillis();
+    }
+    
+    private static long utc(int year, int month, int day, int hour, int minute) {
+        Calendar calendar = Calendar.getInstance(TimeZone.getTimeZone("UTC"));
+        calendar.clear();
+        calendar.set(year, month, day, hour, minute);
+        return calendar.getTimeInMillis();
+    }
+}
@@ -0,0 +1,98 @@
+package com.shermine237.tempora.ai.backend;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests de la table des enchaînements : premier et second ordre, remplacements Space-Saving
+ */
+public class TransitionTableTest {
+    
+    private static final int NONE = -1;
+    
+    @Test
+    public void firstOrder_countsSuccessorsAndTheirMeanDelay() {
+        TransitionTable table = new TransitionTable();
+        table.add(NONE, 1, 2, 10);
+        table.add(NONE, 1, 2, 20);
+        table.add(NONE, 1, 3, 5);
+        
+        TransitionTable.Row row = table.row(1);
+        int best = row.best();
+        assertEquals(2, row.getSuccessor(best));
+        assertEquals(2, row.getCount(best));
+        assertEquals(15, row.getMeanDelay(best));
+        assertEquals(3, row.getTotal());
+        assertNull(table.row(2));
+        assertNull(table.row(NONE, 1));
+    }
+    
+    @Test
+    public void secondOrder_keepsEachPreviousTaskApart() {
+        TransitionTable table = new TransitionTable();
+        for (int i = 0; i < 2; i++) {
+            table.add(7, 1, 2, 0);
+            table.add(8, 1, 3, 0);
+        }
+        
+        assertEquals(2, table.row(7, 1).getSuccessor(table.row(7, 1).best()));
+        assertEquals(3, table.row(8, 1).getSuccessor(table.row(8, 1).best()));
+        assertEquals(4, table.row(1).getTotal());
+        assertNull(table.row(9, 1));
+    }
+    
+    @Test
+    public void fullRow_replacesTheLeastFrequentSuccessor() {
+        TransitionTable table = new TransitionTable(2);
+        for (int i = 0; i < 3; i++) {
+            table.add(NONE, 1, 2, 0);
+        }
+        table.add(NONE, 1, 3, 100);
+        table.add(NONE, 1, 4, 10);
+        
+        // Le nouveau successeur hérite du compteur du successeur remplacé, pas de ses délais
+        TransitionTable.Row row = table.row(1);
+        assertEquals(2, row.getSuccessor(0));
+        assertEquals(4, row.getSuccessor(1));
+        assertEquals(2, row.getCount(1));
+        assertEquals(10, row.getMeanDelay(1));
+        assertEquals(5, row.getTotal());
+        
+        // À égalité, le plus petit identifiant l'emporte
+        table.add(NONE, 1, 4, 10);
+        assertEquals(2, row.getSuccessor(row.best()));
+        table.add(NONE, 1, 4, 10);
+        assertEquals(4, row.getSuccessor(row.best()));
+    }
+    
+    @Test
+    public void fullContexts_replaceTheLeastUsedPreviousTask() {
+        TransitionTable table = new TransitionTable(2);
+        for (int i = 0; i < 3; i++) {
+            table.add(7, 1, 2, 0);
+        }
+        table.add(8, 1, 2, 0);
+        table.add(9, 1, 3, 0);
+        
+        assertNull(table.row(8, 1));
+        assertEquals(3, table.row(7, 1).getTotal());
+        assertEquals(1, table.row(9, 1).getTotal());
+        assertEquals(3, table.row(9, 1).getSuccessor(table.row(9, 1).best()));
+    }
+    
+    @Test
+    public void snapshot_isNotChangedByLaterAdds() {
+        TransitionTable table = new TransitionTable();
+        table.add(7, 1, 2, 0);
+        TransitionTable snapshot = table.snapshot();
+        
+        table.add(7, 1, 3, 0);
+        table.add(NONE, 4, 5, 0);
+        
+        assertEquals(1, snapshot.row(1).getTotal());
+        assertEquals(1, snapshot.row(7, 1).getTotal());
+        assertNull(snapshot.row(4));
+        assertEquals(2, table.row(7, 1).getTotal());
+    }
+}